@@ -0,0 +1,10 @@
+package com.barbatech.natomada.auth.application.exceptions;
+
+/**
+ * Exception thrown when password hashing is shed under load
+ */
+public class PasswordHashingBusyException extends AuthException {
+    public PasswordHashingBusyException() {
+        super("Muitas requisições de autenticação. Tente novamente em instantes");
+    }
+}
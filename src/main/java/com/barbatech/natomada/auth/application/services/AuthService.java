@@ -2,17 +2,16 @@ package com.barbatech.natomada.auth.application.services;
 
 import com.barbatech.natomada.auth.application.dtos.*;
 import com.barbatech.natomada.auth.application.exceptions.*;
-import com.barbatech.natomada.auth.domain.entities.OtpToken;
 import com.barbatech.natomada.auth.domain.entities.PasswordResetToken;
-import com.barbatech.natomada.auth.domain.entities.RefreshToken;
 import com.barbatech.natomada.auth.domain.entities.User;
 import com.barbatech.natomada.auth.domain.enums.OtpDeliveryMethod;
 import com.barbatech.natomada.auth.infrastructure.config.JwtProperties;
-import com.barbatech.natomada.auth.infrastructure.repositories.OtpTokenRepository;
+import com.barbatech.natomada.auth.infrastructure.config.OtpProperties;
 import com.barbatech.natomada.auth.infrastructure.repositories.PasswordResetTokenRepository;
-import com.barbatech.natomada.auth.infrastructure.repositories.RefreshTokenRepository;
 import com.barbatech.natomada.auth.infrastructure.repositories.UserRepository;
 import com.barbatech.natomada.auth.infrastructure.security.JwtUtil;
+import com.barbatech.natomada.auth.infrastructure.tokens.RedisOtpStore;
+import com.barbatech.natomada.auth.infrastructure.tokens.RedisRefreshTokenStore;
 import com.barbatech.natomada.infrastructure.email.EmailService;
 import com.barbatech.natomada.infrastructure.events.auth.UserLoggedInEvent;
 import com.barbatech.natomada.infrastructure.events.auth.UserLoggedOutEvent;
@@ -26,8 +25,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.Random;
 import java.util.UUID;
 
 /**
@@ -38,13 +37,16 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AuthService {
 
+    private static final SecureRandom OTP_RANDOM = new SecureRandom();
+
     private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RedisRefreshTokenStore refreshTokenStore;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
-    private final OtpTokenRepository otpTokenRepository;
+    private final RedisOtpStore otpStore;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final JwtProperties jwtProperties;
+    private final OtpProperties otpProperties;
     private final EventPublisher eventPublisher;
     private final EmailService emailService;
     private final IntegrafluxSmsService smsService;
@@ -112,21 +114,21 @@ public class AuthService {
             throw new InvalidCredentialsException();
         }
 
+        // Rehash with the current BCrypt cost when the stored hash is cheaper (opt-in, see PasswordHashingProperties)
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(dto.getPassword()));
+            userRepository.save(user);
+            log.info("Upgraded password hash cost for user: {}", user.getId());
+        }
+
         // Generate access token
         String accessToken = jwtUtil.generateAccessToken(user.getId(), user.getEmail());
 
         // Generate refresh token
         String refreshTokenStr = jwtUtil.generateRefreshToken();
 
-        // Save refresh token (expires in 7 days)
-        LocalDateTime expiresAt = LocalDateTime.now().plusDays(7);
-        RefreshToken refreshToken = RefreshToken.builder()
-            .user(user)
-            .token(refreshTokenStr)
-            .expiresAt(expiresAt)
-            .build();
-
-        refreshTokenRepository.save(refreshToken);
+        // Save refresh token in Redis; it expires with jwt.refresh-expires-in
+        refreshTokenStore.save(user.getId(), refreshTokenStr);
 
         log.info("User logged in successfully: {}", user.getId());
 
@@ -151,11 +153,10 @@ public class AuthService {
     /**
      * Logout user by invalidating refresh tokens
      */
-    @Transactional
     public MessageResponseDto logout(Long userId) {
         log.info("User {} logging out", userId);
 
-        refreshTokenRepository.deleteAllByUserId(userId);
+        refreshTokenStore.revokeAll(userId);
 
         // Publish USER_LOGGED_OUT event
         UserLoggedOutEvent logoutEvent = UserLoggedOutEvent.of(userId);
@@ -167,22 +168,17 @@ public class AuthService {
     /**
      * Refresh access token using refresh token
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public LoginResponseDto refreshToken(String refreshTokenStr) {
         log.info("Refreshing access token");
 
-        // Find refresh token
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(refreshTokenStr)
-            .orElseThrow(() -> new InvalidTokenException("Refresh token inválido ou expirado"));
-
-        // Check if expired
-        if (refreshToken.isExpired()) {
-            refreshTokenRepository.delete(refreshToken);
-            throw new InvalidTokenException(messageService.getMessage("token.refresh.expired"));
-        }
+        // Expired and revoked tokens are gone from the store
+        Long userId = refreshTokenStore.findUserId(refreshTokenStr)
+            .orElseThrow(() -> new InvalidTokenException(messageService.getMessage("token.refresh.expired")));
 
         // Get user
-        User user = refreshToken.getUser();
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new InvalidTokenException(messageService.getMessage("token.refresh.expired")));
 
         // Generate new access token
         String accessToken = jwtUtil.generateAccessToken(user.getId(), user.getEmail());
@@ -306,7 +302,7 @@ public class AuthService {
         passwordResetTokenRepository.save(resetToken);
 
         // Invalidate all refresh tokens for security
-        refreshTokenRepository.deleteAllByUserId(user.getId());
+        refreshTokenStore.revokeAll(user.getId());
 
         log.info("Password reset successfully for user: {}", user.getId());
 
@@ -315,9 +311,8 @@ public class AuthService {
 
     /**
      * Send OTP via email or SMS
-     * Generates a 6-digit code and stores it in database
+     * Generates a 6-digit code and stores it in Redis, replacing any pending one
      */
-    @Transactional
     public MessageResponseDto sendOtp(SendOtpRequestDto dto) {
         String recipient = dto.getDeliveryMethod() == OtpDeliveryMethod.EMAIL
             ? dto.getEmail()
@@ -333,27 +328,16 @@ public class AuthService {
             throw new IllegalArgumentException(messageService.getMessage("sms.required.for.sms.verification"));
         }
 
-        // Delete any existing OTPs for this recipient
-        if (dto.getDeliveryMethod() == OtpDeliveryMethod.EMAIL) {
-            otpTokenRepository.deleteByEmail(dto.getEmail());
-        } else {
-            otpTokenRepository.deleteByPhoneNumber(dto.getPhoneNumber());
+        // Don't spend an email or SMS on a code that couldn't be verified anyway
+        if (otpStore.isLocked(dto.getDeliveryMethod(), recipient)) {
+            throw new InvalidTokenException(messageService.getMessage("otp.too.many.attempts"));
         }
 
         // Generate 6-digit OTP code
         String otpCode = generateOtpCode();
 
-        // Create OTP token (expires in 5 minutes)
-        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(5);
-        OtpToken otpToken = OtpToken.builder()
-            .deliveryMethod(dto.getDeliveryMethod())
-            .phoneNumber(dto.getPhoneNumber())
-            .email(dto.getEmail())
-            .code(otpCode)
-            .expiresAt(expiresAt)
-            .build();
-
-        otpTokenRepository.save(otpToken);
+        // Save OTP in Redis; it expires with otp.ttl
+        otpStore.save(dto.getDeliveryMethod(), recipient, otpCode);
 
         // Send OTP based on delivery method
         if (dto.getDeliveryMethod() == OtpDeliveryMethod.EMAIL) {
@@ -375,11 +359,12 @@ public class AuthService {
             String body = String.format(
                 "Olá!\n\n" +
                 "Seu código de verificação é: %s\n\n" +
-                "Este código expira em 5 minutos.\n\n" +
+                "Este código expira em %d minutos.\n\n" +
                 "Se você não solicitou este código, ignore este email.\n\n" +
                 "Atenciosamente,\n" +
                 "Equipe NaTomada",
-                otpCode
+                otpCode,
+                otpProperties.getTtl().toMinutes()
             );
 
             emailService.sendEmail(email, subject, body);
@@ -387,7 +372,7 @@ public class AuthService {
         } catch (Exception e) {
             log.error("Failed to send OTP email to: {}", email, e);
             // For development, log the code
-            log.warn("OTP Code for {}: {} (expires in 5 minutes) - Email sending failed", email, otpCode);
+            log.warn("OTP Code for {}: {} (expires in {}) - Email sending failed", email, otpCode, otpProperties.getTtl());
         }
     }
 
@@ -401,7 +386,7 @@ public class AuthService {
         } catch (Exception e) {
             log.error("Failed to send OTP SMS to: {}", phoneNumber, e);
             // For development/testing, also log the code if SMS fails
-            log.warn("OTP Code for {}: {} (expires in 5 minutes) - SMS sending failed", phoneNumber, otpCode);
+            log.warn("OTP Code for {}: {} (expires in {}) - SMS sending failed", phoneNumber, otpCode, otpProperties.getTtl());
             // Don't throw exception - allow process to continue
             // In production, you might want to throw here depending on requirements
         }
@@ -411,7 +396,7 @@ public class AuthService {
      * Verify OTP and authenticate user
      * Supports both email and SMS verification
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public LoginResponseDto verifyOtp(VerifyOtpRequestDto dto) {
         String recipient = dto.getDeliveryMethod() == OtpDeliveryMethod.EMAIL
             ? dto.getEmail()
@@ -427,29 +412,14 @@ public class AuthService {
             throw new IllegalArgumentException(messageService.getMessage("sms.required.for.sms.verification"));
         }
 
-        // Find the latest valid OTP
-        OtpToken otpToken;
-        if (dto.getDeliveryMethod() == OtpDeliveryMethod.EMAIL) {
-            otpToken = otpTokenRepository.findLatestValidOtpByEmail(
-                dto.getEmail(),
-                LocalDateTime.now()
-            ).orElseThrow(() -> new InvalidTokenException("Código OTP inválido ou expirado"));
-        } else {
-            otpToken = otpTokenRepository.findLatestValidOtpByPhoneNumber(
-                dto.getPhoneNumber(),
-                LocalDateTime.now()
-            ).orElseThrow(() -> new InvalidTokenException("Código OTP inválido ou expirado"));
-        }
-
-        // Verify the OTP code
-        if (!otpToken.getCode().equals(dto.getCode())) {
-            throw new InvalidTokenException(messageService.getMessage("otp.invalid"));
+        // Verify the OTP code; a match consumes it, a miss counts against the recipient
+        switch (otpStore.verify(dto.getDeliveryMethod(), recipient, dto.getCode())) {
+            case VERIFIED -> { }
+            case INVALID -> throw new InvalidTokenException(messageService.getMessage("otp.invalid"));
+            case LOCKED -> throw new InvalidTokenException(messageService.getMessage("otp.too.many.attempts"));
+            default -> throw new InvalidTokenException("Código OTP inválido ou expirado");
         }
 
-        // Mark OTP as verified
-        otpToken.markAsVerified();
-        otpTokenRepository.save(otpToken);
-
         // Find user by email or phone
         User user;
         if (dto.getDeliveryMethod() == OtpDeliveryMethod.EMAIL) {
@@ -468,15 +438,8 @@ public class AuthService {
         String accessToken = jwtUtil.generateAccessToken(user.getId(), user.getEmail());
         String refreshTokenStr = jwtUtil.generateRefreshToken();
 
-        // Save refresh token (expires in 7 days)
-        LocalDateTime refreshExpiresAt = LocalDateTime.now().plusDays(7);
-        RefreshToken refreshToken = RefreshToken.builder()
-            .user(user)
-            .token(refreshTokenStr)
-            .expiresAt(refreshExpiresAt)
-            .build();
-
-        refreshTokenRepository.save(refreshToken);
+        // Save refresh token in Redis; it expires with jwt.refresh-expires-in
+        refreshTokenStore.save(user.getId(), refreshTokenStr);
 
         log.info("User logged in successfully via {} OTP: {}", dto.getDeliveryMethod(), user.getId());
 
@@ -502,8 +465,7 @@ public class AuthService {
      * Generate a random 6-digit OTP code
      */
     private String generateOtpCode() {
-        Random random = new Random();
-        int code = 100000 + random.nextInt(900000); // Generates 100000-999999
+        int code = 100000 + OTP_RANDOM.nextInt(900000); // Generates 100000-999999
         return String.valueOf(code);
     }
 
@@ -515,13 +477,4 @@ public class AuthService {
         log.info("Cleaning up expired password reset tokens");
         passwordResetTokenRepository.deleteExpiredTokens(LocalDateTime.now());
     }
-
-    /**
-     * Clean up expired OTP tokens (can be scheduled)
-     */
-    @Transactional
-    public void cleanupExpiredOtps() {
-        log.info("Cleaning up expired OTP tokens");
-        otpTokenRepository.deleteExpiredOtps(LocalDateTime.now());
-    }
 }
@@ -1,60 +0,0 @@
-package com.barbatech.natomada.auth.domain.entities;
-
-import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
-
-import java.time.LocalDateTime;
-
-/**
- * Domain Entity: RefreshToken
- *
- * Represents a refresh token for authentication.
- */
-@Entity
-@Table(name = "refresh_tokens", indexes = {
-    @Index(name = "idx_refresh_token_token", columnList = "token"),
-    @Index(name = "idx_refresh_token_user_id", columnList = "user_id"),
-    @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")
-})
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class RefreshToken {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_refresh_token_user"))
-    private User user;
-
-    @Column(nullable = false, unique = true, length = 255)
-    private String token;
-
-    @Column(name = "expires_at", nullable = false)
-    private LocalDateTime expiresAt;
-
-    @CreationTimestamp
-    @Column(name = "created_at", nullable = false, updatable = false)
-    private LocalDateTime createdAt;
-
-    /**
-     * Checks if the token is still valid
-     */
-    public boolean isValid() {
-        return expiresAt.isAfter(LocalDateTime.now());
-    }
-
-    /**
-     * Checks if the token has expired
-     */
-    public boolean isExpired() {
-        return expiresAt.isBefore(LocalDateTime.now()) || expiresAt.isEqual(LocalDateTime.now());
-    }
-}
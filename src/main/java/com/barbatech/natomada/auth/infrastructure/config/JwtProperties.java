@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * JWT configuration properties
  */
@@ -13,4 +15,6 @@ import org.springframework.context.annotation.Configuration;
 public class JwtProperties {
     private String secret;
     private Long expiresIn; // milliseconds
+    private Duration refreshExpiresIn = Duration.ofDays(7);
+    private int verifiedCacheSize = 10_000; // verified access tokens remembered until they expire
 }
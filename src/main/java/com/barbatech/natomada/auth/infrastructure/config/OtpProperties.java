@@ -0,0 +1,19 @@
+package com.barbatech.natomada.auth.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * OTP configuration properties
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "otp")
+public class OtpProperties {
+    private Duration ttl = Duration.ofMinutes(5);
+    private int maxAttempts = 5; // wrong codes per email/phone before it is locked out
+    private Duration attemptWindow = Duration.ofMinutes(15); // wrong codes are counted for this long, across resends
+}
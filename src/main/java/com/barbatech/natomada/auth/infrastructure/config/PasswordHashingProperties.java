@@ -0,0 +1,21 @@
+package com.barbatech.natomada.auth.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Password hashing configuration properties
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "auth.password-hashing")
+public class PasswordHashingProperties {
+    private int strength = 10; // BCrypt cost
+    private boolean upgradeOnLogin = false; // rehash stored hashes below the cost on login
+    private int threads = 0; // 0 = half the available cores
+    private int queueCapacity = 64;
+    private Duration maxQueueTime = Duration.ofMillis(500); // hashes waiting longer are shed with 429
+}
@@ -1,6 +1,8 @@
 package com.barbatech.natomada.auth.infrastructure.config;
 
+import com.barbatech.natomada.auth.infrastructure.security.BoundedPasswordEncoder;
 import com.barbatech.natomada.auth.infrastructure.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,7 +11,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -49,6 +50,13 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.POST, "/api/auth/validate-reset-token").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/auth/reset-password").permitAll()
 
+                // Station photos (public images, loaded by image views without auth headers)
+                .requestMatchers(HttpMethod.GET, "/api/stations/*/photos/*").permitAll()
+
+                // Station shard peer endpoints (authenticated by shared token in the controller)
+                .requestMatchers(HttpMethod.GET, "/internal/stations/**").permitAll()
+                .requestMatchers(HttpMethod.POST, "/internal/stations/route").permitAll()
+
                 // Actuator endpoints
                 .requestMatchers("/actuator/health", "/actuator/info", "/actuator/**").permitAll()
 
@@ -60,9 +68,12 @@ public class SecurityConfig {
         return http.build();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    /**
+     * BCrypt on a bounded pool of its own, so login spikes can't take every request thread
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(properties, meterRegistry);
     }
 
     @Bean
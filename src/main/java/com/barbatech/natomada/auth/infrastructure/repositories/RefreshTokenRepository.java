@@ -1,34 +0,0 @@
-package com.barbatech.natomada.auth.infrastructure.repositories;
-
-import com.barbatech.natomada.auth.domain.entities.RefreshToken;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
-import org.springframework.stereotype.Repository;
-
-import java.util.Optional;
-
-/**
- * Repository for RefreshToken entity
- */
-@Repository
-public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-
-    /**
-     * Find refresh token by token string
-     */
-    Optional<RefreshToken> findByToken(String token);
-
-    /**
-     * Delete all refresh tokens for a user
-     */
-    @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.user.id = :userId")
-    void deleteAllByUserId(@Param("userId") Long userId);
-
-    /**
-     * Check if token exists
-     */
-    boolean existsByToken(String token);
-}
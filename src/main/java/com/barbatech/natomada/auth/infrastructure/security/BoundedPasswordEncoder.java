@@ -0,0 +1,146 @@
+package com.barbatech.natomada.auth.infrastructure.security;
+
+import com.barbatech.natomada.auth.application.exceptions.PasswordHashingBusyException;
+import com.barbatech.natomada.auth.infrastructure.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt on a dedicated, bounded pool instead of request threads
+ *
+ * A login spike can otherwise put every core into BCrypt and starve the rest
+ * of the API. Hashes run on a fixed-size pool (half the cores by default)
+ * behind a bounded queue, and are shed with PasswordHashingBusyException (429) when:
+ * - the queue is full,
+ * - the queue already holds more work than the pool clears within the
+ *   queue-time SLO, going by the running average hash time, or
+ * - a hash waited longer than the SLO before a thread picked it up.
+ *
+ * Metrics: auth.password.hash (per operation), auth.password.queue (wait
+ * before hashing), auth.password.rejected and auth.password.queue.size.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final double AVERAGE_WEIGHT = 0.1;
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final long maxQueueNanos;
+    private final boolean upgradeOnLogin;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueTimer;
+    private final Counter rejected;
+
+    private final AtomicLong averageHashNanos = new AtomicLong();
+
+    public BoundedPasswordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(properties.getStrength());
+        this.threads = properties.getThreads() > 0
+            ? properties.getThreads()
+            : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.maxQueueNanos = properties.getMaxQueueTime().toNanos();
+        this.upgradeOnLogin = properties.isUpgradeOnLogin();
+
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash").tag("operation", "matches").register(meterRegistry);
+        this.queueTimer = Timer.builder("auth.password.queue").register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected").register(meterRegistry);
+        Gauge.builder("auth.password.queue.size", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+
+        log.info("Password hashing: BCrypt cost {} on {} threads, queue {}, max queue time {}, upgrade on login {}",
+            properties.getStrength(), threads, properties.getQueueCapacity(), properties.getMaxQueueTime(), upgradeOnLogin);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    /**
+     * Whether a stored hash has a lower cost than the configured one (only parses the hash).
+     * Always false unless upgrade-on-login is enabled, since every upgrade costs a second hash.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return upgradeOnLogin && delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Supplier<T> hash, Timer timer) {
+        // Shed up front when the work already queued would outlast the SLO
+        if ((double) averageHashNanos.get() * executor.getQueue().size() / threads > maxQueueNanos) {
+            throw busy();
+        }
+
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long waited = System.nanoTime() - queuedAt;
+                queueTimer.record(waited, TimeUnit.NANOSECONDS);
+                if (waited > maxQueueNanos) {
+                    throw busy();
+                }
+
+                long started = System.nanoTime();
+                T result = hash.get();
+                long took = System.nanoTime() - started;
+                timer.record(took, TimeUnit.NANOSECONDS);
+                averageHashNanos.accumulateAndGet(took,
+                    (average, sample) -> average == 0 ? sample : average + Math.round((sample - average) * AVERAGE_WEIGHT));
+                return result;
+            });
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private PasswordHashingBusyException busy() {
+        rejected.increment();
+        return new PasswordHashingBusyException();
+    }
+}
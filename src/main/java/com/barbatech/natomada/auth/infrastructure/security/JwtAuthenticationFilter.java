@@ -15,7 +15,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
 
 /**
  * JWT Authentication Filter
@@ -26,6 +26,8 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final List<SimpleGrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
     private final JwtUtil jwtUtil;
 
     @Override
@@ -50,19 +52,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = extractJwtFromRequest(request);
 
             if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                Long userId = jwtUtil.extractUserId(jwt);
+                // Verifies signature and expiry in one parse, or answers from the verified-token cache
+                Long userId = jwtUtil.verify(jwt).userId();
 
-                if (!jwtUtil.isTokenExpired(jwt)) {
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            userId.toString(),
-                            null,
-                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        userId.toString(),
+                        null,
+                        AUTHORITIES);
 
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                    log.debug("JWT authentication successful for user: {}", userId);
-                }
+                log.debug("JWT authentication successful for user: {}", userId);
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
@@ -2,21 +2,32 @@ package com.barbatech.natomada.auth.infrastructure.security;
 
 import com.barbatech.natomada.auth.infrastructure.config.JwtProperties;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
  * JWT utility class for token generation and validation
+ *
+ * The signing key and parser are built once. Access tokens verified by the
+ * authentication filter are remembered by SHA-256 digest until they expire,
+ * so a client reusing its token pays for one signature check per token
+ * instead of one per request.
  */
 @Component
 @RequiredArgsConstructor
@@ -24,12 +35,23 @@ public class JwtUtil {
 
     private final JwtProperties jwtProperties;
 
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
     /**
-     * Get the signing key from the secret
+     * Identity carried by a verified access token
+     *
+     * @param expiresAt Expiration, epoch milliseconds
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public record VerifiedToken(Long userId, long expiresAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     /**
@@ -61,10 +83,41 @@ public class JwtUtil {
             .claims(claims)
             .issuedAt(now)
             .expiration(expiryDate)
-            .signWith(getSigningKey())
+            .signWith(signingKey)
             .compact();
     }
 
+    /**
+     * Verify an access token once and read its user, answering repeats from the verified-token cache
+     *
+     * @throws io.jsonwebtoken.JwtException When the token is malformed, badly signed or expired
+     * @throws NumberFormatException When the subject isn't a user id
+     */
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                return cached;
+            }
+            verifiedTokens.remove(digest);
+        }
+
+        // The parser rejects expired tokens, so one parse both verifies and checks expiry
+        Claims claims = extractAllClaims(token);
+        VerifiedToken verified = new VerifiedToken(Long.parseLong(claims.getSubject()), claims.getExpiration().getTime());
+
+        if (verifiedTokens.size() >= jwtProperties.getVerifiedCacheSize()) {
+            verifiedTokens.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (verifiedTokens.size() >= jwtProperties.getVerifiedCacheSize()) {
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(digest, verified);
+        return verified;
+    }
+
     /**
      * Extract user ID from token
      */
@@ -99,11 +152,19 @@ public class JwtUtil {
      * Extract all claims from token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-            .verifyWith(getSigningKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Cache key of a token; a collision-resistant digest, since a hit stands in for signature verification
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     /**
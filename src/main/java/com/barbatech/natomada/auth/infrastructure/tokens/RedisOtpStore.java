@@ -0,0 +1,132 @@
+package com.barbatech.natomada.auth.infrastructure.tokens;
+
+import com.barbatech.natomada.auth.domain.enums.OtpDeliveryMethod;
+import com.barbatech.natomada.auth.infrastructure.config.OtpProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * OTP codes stored in Redis, expiring natively
+ *
+ * Keys:
+ * - natomada:auth:otp:{email|sms}:{recipient}            SHA-256 of the pending code, with the OTP's TTL
+ * - natomada:auth:otp:attempts:{email|sms}:{recipient}   wrong codes entered within the attempt window
+ *
+ * A new code replaces the pending one, but the attempt counter survives
+ * resends, so requesting codes doesn't reset the guessing budget, and no code
+ * is sent to a recipient that is locked out. Checking a
+ * code is one script: compare, then delete on a match or count the miss, so
+ * a code can't be used twice by concurrent requests.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisOtpStore {
+
+    private static final String CODE_PREFIX = "natomada:auth:otp:";
+    private static final String ATTEMPTS_PREFIX = "natomada:auth:otp:attempts:";
+
+    /**
+     * KEYS[1] code, KEYS[2] attempts; ARGV[1] code hash, ARGV[2] max attempts, ARGV[3] attempt window (ms).
+     * Returns 1 verified, 0 wrong code, -1 no pending code, -2 locked out.
+     */
+    private static final RedisScript<Long> VERIFY = new DefaultRedisScript<>("""
+        local attempts = tonumber(redis.call('GET', KEYS[2]) or '0')
+        if attempts >= tonumber(ARGV[2]) then
+            return -2
+        end
+        local code = redis.call('GET', KEYS[1])
+        if not code then
+            return -1
+        end
+        if code == ARGV[1] then
+            redis.call('DEL', KEYS[1], KEYS[2])
+            return 1
+        end
+        attempts = redis.call('INCR', KEYS[2])
+        if attempts == 1 then
+            redis.call('PEXPIRE', KEYS[2], ARGV[3])
+        end
+        if attempts >= tonumber(ARGV[2]) then
+            redis.call('DEL', KEYS[1])
+        end
+        return 0
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final OtpProperties otpProperties;
+
+    /**
+     * Outcome of checking a code
+     */
+    public enum Verification {
+        VERIFIED,
+        INVALID,
+        EXPIRED,
+        LOCKED
+    }
+
+    /**
+     * Store a new code for a recipient, replacing the pending one
+     */
+    public void save(OtpDeliveryMethod method, String recipient, String code) {
+        redisTemplate.opsForValue().set(CODE_PREFIX + identity(method, recipient), hash(code), otpProperties.getTtl());
+    }
+
+    /**
+     * Whether the recipient used up its attempts within the attempt window
+     */
+    public boolean isLocked(OtpDeliveryMethod method, String recipient) {
+        String attempts = redisTemplate.opsForValue().get(ATTEMPTS_PREFIX + identity(method, recipient));
+        return attempts != null && Long.parseLong(attempts) >= otpProperties.getMaxAttempts();
+    }
+
+    /**
+     * Check a code, consuming it when it matches
+     */
+    public Verification verify(OtpDeliveryMethod method, String recipient, String code) {
+        String identity = identity(method, recipient);
+        Long result = redisTemplate.execute(VERIFY,
+            List.of(CODE_PREFIX + identity, ATTEMPTS_PREFIX + identity),
+            hash(code),
+            String.valueOf(otpProperties.getMaxAttempts()),
+            String.valueOf(otpProperties.getAttemptWindow().toMillis()));
+
+        if (result == null) {
+            return Verification.EXPIRED;
+        }
+        return switch (result.intValue()) {
+            case 1 -> Verification.VERIFIED;
+            case 0 -> Verification.INVALID;
+            case -2 -> {
+                log.warn("OTP attempts exhausted for {}", identity);
+                yield Verification.LOCKED;
+            }
+            default -> Verification.EXPIRED;
+        };
+    }
+
+    private static String identity(OtpDeliveryMethod method, String recipient) {
+        return method.name().toLowerCase(Locale.ROOT) + ":" + recipient.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String hash(String code) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(code.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
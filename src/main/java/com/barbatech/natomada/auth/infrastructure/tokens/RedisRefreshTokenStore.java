@@ -0,0 +1,97 @@
+package com.barbatech.natomada.auth.infrastructure.tokens;
+
+import com.barbatech.natomada.auth.infrastructure.config.JwtProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Refresh tokens stored in Redis, expiring natively
+ *
+ * Keys:
+ * - natomada:auth:refresh:{sha256}        user ID of a refresh token, with the token's TTL
+ * - natomada:auth:refresh:user:{userId}   sorted set of the user's token hashes, scored by expiry
+ *
+ * Only token digests are stored, so a Redis dump doesn't leak usable tokens.
+ * A token is valid while both its key and its entry in the user's set exist,
+ * so revoking every session of a user is a single UNLINK of the set.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisRefreshTokenStore {
+
+    private static final String TOKEN_PREFIX = "natomada:auth:refresh:";
+    private static final String USER_PREFIX = "natomada:auth:refresh:user:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final JwtProperties jwtProperties;
+
+    /**
+     * Store a new refresh token for a user, pruning the user's expired ones
+     */
+    public void save(Long userId, String token) {
+        String hash = hash(token);
+        Duration ttl = jwtProperties.getRefreshExpiresIn();
+        long now = System.currentTimeMillis();
+        String userKey = USER_PREFIX + userId;
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+                redis.opsForValue().set(TOKEN_PREFIX + hash, userId.toString(), ttl);
+                redis.opsForZSet().removeRangeByScore(userKey, 0, now);
+                redis.opsForZSet().add(userKey, hash, now + ttl.toMillis());
+                redis.expire(userKey, ttl);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * User a refresh token belongs to, if it is neither expired nor revoked
+     */
+    public Optional<Long> findUserId(String token) {
+        String hash = hash(token);
+        String userId = redisTemplate.opsForValue().get(TOKEN_PREFIX + hash);
+        if (userId == null) {
+            return Optional.empty();
+        }
+
+        Double expiresAt = redisTemplate.opsForZSet().score(USER_PREFIX + userId, hash);
+        if (expiresAt == null || expiresAt <= System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        return Optional.of(Long.parseLong(userId));
+    }
+
+    /**
+     * Revoke every refresh token of a user; the orphaned token keys lapse with their TTL
+     */
+    public void revokeAll(Long userId) {
+        redisTemplate.unlink(USER_PREFIX + userId);
+        log.debug("Revoked refresh tokens of user {}", userId);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.barbatech.natomada.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary content negotiation
+ *
+ * Clients that send "Accept: application/x-jackson-smile" or
+ * "Accept: application/cbor" get the same payload in a compact binary
+ * encoding. Smile back-references repeated property names and short string
+ * values (operator names, connector types, usage types), which is where most
+ * of the station list payload goes. JSON stays the default.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    public static final MediaType APPLICATION_CBOR = new MediaType("application", "cbor");
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper(objectMapper)));
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper(objectMapper)));
+    }
+
+    /**
+     * Smile mapper sharing the JSON mapper configuration (modules, date format)
+     */
+    public static ObjectMapper smileMapper(ObjectMapper jsonMapper) {
+        SmileFactory smileFactory = SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+        return jsonMapper.copyWith(smileFactory);
+    }
+
+    /**
+     * CBOR mapper sharing the JSON mapper configuration (modules, date format)
+     */
+    public static ObjectMapper cborMapper(ObjectMapper jsonMapper) {
+        return jsonMapper.copyWith(new CBORFactory());
+    }
+}
@@ -4,6 +4,7 @@ import com.barbatech.natomada.infrastructure.events.BaseEvent;
 import com.barbatech.natomada.infrastructure.events.cars.VehicleAddedEvent;
 import com.barbatech.natomada.infrastructure.events.cars.VehicleImageUploadedEvent;
 import com.barbatech.natomada.infrastructure.events.cars.VehicleRemovedEvent;
+import com.barbatech.natomada.stations.application.services.StationRankingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -25,6 +26,8 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class VehicleEventsListener {
 
+    private final StationRankingService stationRankingService;
+
     @KafkaListener(
         topics = "natomada.vehicles.events",
         groupId = "${spring.kafka.consumer.group-id}",
@@ -64,8 +67,9 @@ public class VehicleEventsListener {
         // TODO: Update user's vehicle count
         log.info("🚗 User {} added vehicle: {}", event.getUserId(), event.getCarName());
 
-        // TODO: Trigger recommendations for compatible charging stations
-        log.info("🔌 Finding compatible charging stations for: {}", event.getCarName());
+        // Personalized rankings score connector compatibility with the new vehicle
+        stationRankingService.invalidate(event.getUserId());
+        log.info("🔌 Refreshed station ranking profile for userId: {}", event.getUserId());
 
         // TODO: Send push notification
         log.info("📱 Notification: Vehicle '{}' added successfully", event.getNickname());
@@ -81,8 +85,9 @@ public class VehicleEventsListener {
         // TODO: Archive vehicle data
         log.info("📦 Archiving vehicle data for userVehicleId: {}", event.getUserVehicleId());
 
-        // TODO: Update recommendations
-        log.info("🔄 Updating charging station recommendations for userId: {}", event.getUserId());
+        // Personalized rankings score connector compatibility with the remaining vehicles
+        stationRankingService.invalidate(event.getUserId());
+        log.info("🔄 Refreshed station ranking profile for userId: {}", event.getUserId());
 
         // TODO: Send confirmation notification
         log.info("✅ Vehicle removed successfully for userId: {}", event.getUserId());
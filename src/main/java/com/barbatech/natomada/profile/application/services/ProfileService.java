@@ -3,8 +3,8 @@ package com.barbatech.natomada.profile.application.services;
 import com.barbatech.natomada.auth.application.dtos.MessageResponseDto;
 import com.barbatech.natomada.auth.application.exceptions.UserNotFoundException;
 import com.barbatech.natomada.auth.domain.entities.User;
-import com.barbatech.natomada.auth.infrastructure.repositories.RefreshTokenRepository;
 import com.barbatech.natomada.auth.infrastructure.repositories.UserRepository;
+import com.barbatech.natomada.auth.infrastructure.tokens.RedisRefreshTokenStore;
 import com.barbatech.natomada.infrastructure.storage.S3StorageService;
 import com.barbatech.natomada.profile.application.dtos.*;
 import com.barbatech.natomada.profile.domain.entities.UserSettings;
@@ -28,7 +28,7 @@ public class ProfileService {
 
     private final UserRepository userRepository;
     private final UserSettingsRepository userSettingsRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RedisRefreshTokenStore refreshTokenStore;
     private final PasswordEncoder passwordEncoder;
     private final S3StorageService s3StorageService;
 
@@ -130,7 +130,7 @@ public class ProfileService {
         userRepository.save(user);
 
         // Invalidate all refresh tokens
-        refreshTokenRepository.deleteAllByUserId(userId);
+        refreshTokenStore.revokeAll(userId);
 
         return MessageResponseDto.builder()
             .message("Senha alterada com sucesso. Por favor, faça login novamente.")
@@ -0,0 +1,61 @@
+package com.barbatech.natomada.stations.application.dtos;
+
+import com.barbatech.natomada.stations.application.mappers.StationFieldSet;
+import com.barbatech.natomada.stations.application.services.ChargingEstimateService;
+import com.barbatech.natomada.stations.infrastructure.index.StationFilter;
+import com.barbatech.natomada.stations.infrastructure.index.StationSort;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A nearby stations search, as parsed from the request
+ */
+@Data
+@Builder
+public class NearbySearch {
+
+    private Double latitude;
+
+    private Double longitude;
+
+    /**
+     * Search radius in meters
+     */
+    private Integer radius;
+
+    /**
+     * Maximum number of stations, or null for the default page size
+     */
+    private Integer limit;
+
+    /**
+     * Fields to compute for each station
+     */
+    @Builder.Default
+    private StationFieldSet fieldSet = StationFieldSet.ALL;
+
+    /**
+     * Expected arrival for likelyFreeAtEta, or null for now
+     */
+    private Instant eta;
+
+    /**
+     * Attribute filter, or null for none
+     */
+    private StationFilter filter;
+
+    @Builder.Default
+    private StationSort sort = StationSort.DISTANCE;
+
+    /**
+     * The user to personalize for, or null
+     */
+    private Long userId;
+
+    /**
+     * The car and charge window to estimate chargingMinutes for, or null
+     */
+    private ChargingEstimateService.Charge charge;
+}
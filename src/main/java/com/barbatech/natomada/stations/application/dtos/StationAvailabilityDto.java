@@ -0,0 +1,36 @@
+package com.barbatech.natomada.stations.application.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for the live connector availability of a station, pushed to subscribers
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationAvailabilityDto {
+
+    private String stationId;
+    private List<ConnectorAvailabilityDto> connectors;
+    private Long fetchedAt; // epoch milliseconds
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ConnectorAvailabilityDto {
+        private String type;
+        private BigDecimal maxChargeRateKw;
+        private Integer count;
+        private Integer availableCount;
+        private Integer outOfServiceCount;
+        private String availabilityLastUpdate;
+    }
+}
@@ -0,0 +1,21 @@
+package com.barbatech.natomada.stations.application.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a single station change returned by delta sync
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationChangeDto {
+
+    private Long version;
+    private String type; // ADDED, UPDATED or REMOVED
+    private String ocmId;
+    private StationResponseDto station; // null for REMOVED
+}
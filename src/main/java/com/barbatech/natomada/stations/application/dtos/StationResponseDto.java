@@ -1,5 +1,7 @@
 package com.barbatech.natomada.stations.application.dtos;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,7 +13,10 @@ import java.util.List;
 
 /**
  * DTO for station response
+ *
+ * Top-level properties can be trimmed per request with a sparse fieldset (see StationFieldSet)
  */
+@JsonFilter("stationFields")
 @Data
 @Builder
 @NoArgsConstructor
@@ -34,19 +39,31 @@ public class StationResponseDto {
     private Boolean isOperational;
     private Integer totalConnectors;
     private String connectors; // JSON string
+    private BigDecimal maxPowerKw; // Highest rated connector power, null when unknown
     private OperatorDto operator;
     private UsageTypeDto usageType;
     private String usageCost;
+    private CostDto cost; // Parsed from usageCost, null when it says nothing about price
     private RatingDto rating;
     private Integer totalReviews;
     private String openingHours; // JSON string
     private Boolean isOpen24h;
     private List<String> photoUrls; // List of complete photo URLs (Google Places)
     private List<String> amenities; // List of amenities from Google Places
+    private Double likelyFreeAtEta; // 0-1 chance a connector is free at the ETA, from past availability
+    private Integer chargingMinutes; // Time to charge the requester's car across their charge window, when asked for
+    private Double distanceAlongRouteMeters; // Driving distance from the route start, route searches only
+    private Double distanceFromRouteMeters; // Straight-line distance off the route, route searches only
     private LocalDateTime lastVerifiedAt;
     private Boolean isRecentlyVerified;
     private LocalDateTime lastSyncAt;
 
+    /**
+     * Content fingerprint, used for HTTP validators only
+     */
+    @JsonIgnore
+    private String contentHash;
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -80,4 +97,16 @@ public class StationResponseDto {
         private Integer googleCount;
         private BigDecimal combined;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CostDto {
+        private BigDecimal perKwh;
+        private BigDecimal perMinute;
+        private BigDecimal sessionFee;
+        private Boolean free;
+        private BigDecimal confidence; // 0-1, how reliably usageCost was understood
+    }
 }
@@ -0,0 +1,23 @@
+package com.barbatech.natomada.stations.application.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for delta sync response
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationSyncResponseDto {
+
+    private List<StationChangeDto> changes;
+    private Long cursor; // Cursor sent by the client
+    private Long nextCursor; // Cursor to send on the next sync
+    private Boolean hasMore; // True when another page is available right away
+}
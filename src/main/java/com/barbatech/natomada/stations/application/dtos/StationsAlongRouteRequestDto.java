@@ -0,0 +1,55 @@
+package com.barbatech.natomada.stations.application.dtos;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * DTO for searching stations along a route, for routes too long for a query string
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationsAlongRouteRequestDto {
+
+    @NotBlank(message = "Polyline é obrigatória")
+    private String polyline;
+
+    /**
+     * Maximum distance from the route in meters, on each side (default 2000)
+     */
+    @Min(value = 100, message = "Largura mínima é 100 metros")
+    @Max(value = 20000, message = "Largura máxima é 20km")
+    private Integer width;
+
+    /**
+     * Maximum number of stations, from the start of the route (default 50)
+     */
+    @Min(value = 1, message = "Limite mínimo é 1")
+    @Max(value = 200, message = "Limite máximo é 200")
+    private Integer limit;
+
+    private String fields;
+
+    @Min(value = 0, message = "Minutos até a chegada devem estar entre 0 e 1440")
+    @Max(value = 1440, message = "Minutos até a chegada devem estar entre 0 e 1440")
+    private Integer etaMinutes;
+
+    private OffsetDateTime openAt;
+
+    private List<String> amenities;
+
+    @DecimalMin(value = "0.0", message = "Preço máximo por kWh não pode ser negativo")
+    private Double maxCostPerKwh;
+
+    private Boolean free;
+
+    @DecimalMin(value = "0.0", message = "Potência mínima não pode ser negativa")
+    private Double minPowerKw;
+}
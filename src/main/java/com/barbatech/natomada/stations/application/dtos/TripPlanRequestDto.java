@@ -0,0 +1,48 @@
+package com.barbatech.natomada.stations.application.dtos;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for planning a trip, for routes too long for a query string
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripPlanRequestDto {
+
+    @NotBlank(message = "Polyline é obrigatória")
+    private String polyline;
+
+    /**
+     * The user's vehicle (default: primary vehicle)
+     */
+    private Long vehicleId;
+
+    /**
+     * State of charge at departure, in percent (default 80)
+     */
+    @Min(value = 1, message = "Carga na partida deve estar entre 1 e 100%")
+    @Max(value = 100, message = "Carga na partida deve estar entre 1 e 100%")
+    private Integer startSoc;
+
+    /**
+     * State of charge wanted at the destination, in percent (default 10)
+     */
+    @Min(value = 0, message = "Carga na chegada deve estar entre 0 e 80%")
+    @Max(value = 80, message = "Carga na chegada deve estar entre 0 e 80%")
+    private Integer arrivalSoc;
+
+    /**
+     * Maximum distance from stops to the route in meters (default: stations.trip.corridor-width-meters)
+     */
+    @Min(value = 100, message = "Largura mínima é 100 metros")
+    @Max(value = 20000, message = "Largura máxima é 20km")
+    private Integer width;
+}
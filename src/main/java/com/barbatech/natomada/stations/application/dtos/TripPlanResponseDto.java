@@ -0,0 +1,40 @@
+package com.barbatech.natomada.stations.application.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for an EV trip plan: the charging stops minimizing total trip time.
+ * States of charge are in percent of the battery.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripPlanResponseDto {
+
+    private Boolean feasible; // false when no combination of stops reaches the destination
+    private Long distanceMeters;
+    private Long drivingMinutes;
+    private Long chargingMinutes;
+    private Long totalMinutes;
+    private Integer arrivalSoc;
+    private List<ChargingStopDto> stops;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChargingStopDto {
+        private StationResponseDto station;
+        private Long distanceAlongRouteMeters;
+        private Integer arrivalSoc;
+        private Integer departureSoc;
+        private Long chargingMinutes;
+        private Double chargingPowerKw;
+    }
+}
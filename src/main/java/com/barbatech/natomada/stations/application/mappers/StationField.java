@@ -0,0 +1,113 @@
+package com.barbatech.natomada.stations.application.mappers;
+
+import com.barbatech.natomada.stations.application.dtos.StationResponseDto;
+import com.barbatech.natomada.stations.domain.entities.Station;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Selectable top-level fields of StationResponseDto.
+ *
+ * Each field knows how to compute itself from a Station, so a projection
+ * only pays for the fields it selects (nested builders, JSON parsing).
+ */
+public enum StationField {
+    ID("id", (m, s, b) -> b.id(s.getId())),
+    OCM_ID("ocmId", (m, s, b) -> b.ocmId(s.getOcmId())),
+    OCM_UUID("ocmUuid", (m, s, b) -> b.ocmUuid(s.getOcmUuid())),
+    GOOGLE_PLACE_ID("googlePlaceId", (m, s, b) -> b.googlePlaceId(s.getGooglePlaceId())),
+    NAME("name", (m, s, b) -> b.name(s.getName())),
+    ADDRESS("address", (m, s, b) -> b.address(s.getAddress())),
+    CITY("city", (m, s, b) -> b.city(s.getCity())),
+    STATE("state", (m, s, b) -> b.state(s.getState())),
+    POSTAL_CODE("postalCode", (m, s, b) -> b.postalCode(s.getPostalCode())),
+    COUNTRY("country", (m, s, b) -> b.country(s.getCountry())),
+    LATITUDE("latitude", (m, s, b) -> b.latitude(s.getLatitude())),
+    LONGITUDE("longitude", (m, s, b) -> b.longitude(s.getLongitude())),
+    PHONE("phone", (m, s, b) -> b.phone(s.getPhone())),
+    IS_OPERATIONAL("isOperational", (m, s, b) -> b.isOperational(s.getIsOperational())),
+    TOTAL_CONNECTORS("totalConnectors", (m, s, b) -> b.totalConnectors(s.getTotalConnectors())),
+    CONNECTORS("connectors", (m, s, b) -> b.connectors(s.getConnectors())),
+    MAX_POWER_KW("maxPowerKw", (m, s, b) -> b.maxPowerKw(s.getMaxPowerKw())),
+    OPERATOR("operator", (m, s, b) -> b.operator(StationResponseDto.OperatorDto.builder()
+        .name(s.getOperatorName())
+        .website(s.getOperatorWebsite())
+        .phone(s.getOperatorPhone())
+        .email(s.getOperatorEmail())
+        .build())),
+    USAGE_TYPE("usageType", (m, s, b) -> b.usageType(StationResponseDto.UsageTypeDto.builder()
+        .title(s.getUsageType())
+        .requiresMembership(s.getRequiresMembership())
+        .payAtLocation(s.getPayAtLocation())
+        .requiresAccessKey(s.getRequiresAccessKey())
+        .build())),
+    USAGE_COST("usageCost", (m, s, b) -> b.usageCost(s.getUsageCost())),
+    COST("cost", (m, s, b) -> b.cost(s.getCostConfidence() == null ? null : StationResponseDto.CostDto.builder()
+        .perKwh(s.getCostPerKwh())
+        .perMinute(s.getCostPerMinute())
+        .sessionFee(s.getSessionFee())
+        .free(s.getIsFree())
+        .confidence(s.getCostConfidence())
+        .build())),
+    RATING("rating", (m, s, b) -> b.rating(StationResponseDto.RatingDto.builder()
+        .ocm(s.getOcmRating())
+        .ocmCount(s.getOcmReviewCount())
+        .google(s.getGoogleRating())
+        .googleCount(s.getGoogleReviewCount())
+        .combined(s.getCombinedRating())
+        .build())),
+    TOTAL_REVIEWS("totalReviews", (m, s, b) -> b.totalReviews(s.getTotalReviews())),
+    OPENING_HOURS("openingHours", (m, s, b) -> b.openingHours(s.getOpeningHours())),
+    IS_OPEN_24H("isOpen24h", (m, s, b) -> b.isOpen24h(s.getIsOpen24h())),
+    PHOTO_URLS("photoUrls", (m, s, b) -> b.photoUrls(m.photoUrls(s))),
+    AMENITIES("amenities", (m, s, b) -> b.amenities(m.amenities(s))),
+    LIKELY_FREE_AT_ETA("likelyFreeAtEta", (m, s, b) -> b.likelyFreeAtEta(s.getLikelyFreeAtEta())),
+    CHARGING_MINUTES("chargingMinutes", (m, s, b) -> b.chargingMinutes(s.getChargingMinutes())),
+    DISTANCE_ALONG_ROUTE("distanceAlongRouteMeters", (m, s, b) -> b.distanceAlongRouteMeters(s.getDistanceAlongRouteMeters())),
+    DISTANCE_FROM_ROUTE("distanceFromRouteMeters", (m, s, b) -> b.distanceFromRouteMeters(s.getDistanceFromRouteMeters())),
+    LAST_VERIFIED_AT("lastVerifiedAt", (m, s, b) -> b.lastVerifiedAt(s.getLastVerifiedAt())),
+    IS_RECENTLY_VERIFIED("isRecentlyVerified", (m, s, b) -> b.isRecentlyVerified(s.getIsRecentlyVerified())),
+    LAST_SYNC_AT("lastSyncAt", (m, s, b) -> b.lastSyncAt(s.getLastSyncAt()));
+
+    private static final Map<String, StationField> BY_PROPERTY = new HashMap<>();
+
+    static {
+        for (StationField field : values()) {
+            BY_PROPERTY.put(field.property, field);
+        }
+    }
+
+    private final String property;
+    private final FieldWriter writer;
+
+    StationField(String property, FieldWriter writer) {
+        this.property = property;
+        this.writer = writer;
+    }
+
+    /**
+     * JSON property name in StationResponseDto
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    void write(StationResponseMapper mapper, Station station, StationResponseDto.StationResponseDtoBuilder builder) {
+        writer.write(mapper, station, builder);
+    }
+
+    /**
+     * Find a field by its JSON property name
+     *
+     * @return The field, or null if the name is unknown
+     */
+    public static StationField fromProperty(String property) {
+        return BY_PROPERTY.get(property);
+    }
+
+    @FunctionalInterface
+    interface FieldWriter {
+        void write(StationResponseMapper mapper, Station station, StationResponseDto.StationResponseDtoBuilder builder);
+    }
+}
@@ -0,0 +1,141 @@
+package com.barbatech.natomada.stations.application.mappers;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Compiled sparse fieldset for station responses (?fields=id,name,latitude)
+ *
+ * A fieldset is compiled once per distinct "fields" value into the list of
+ * field writers to run and the Jackson filter that drops every other
+ * property, so unrequested fields are neither computed nor serialized.
+ */
+@Slf4j
+public final class StationFieldSet {
+
+    /**
+     * Jackson filter ID declared on StationResponseDto
+     */
+    public static final String FILTER_ID = "stationFields";
+
+    /**
+     * Every field, no filtering
+     */
+    public static final StationFieldSet ALL = new StationFieldSet(StationField.values(), null);
+
+    private static final int MAX_CACHED_FIELDSETS = 256;
+    private static final Map<String, StationFieldSet> COMPILED = new ConcurrentHashMap<>();
+
+    private final StationField[] fields;
+    private final FilterProvider filters;
+
+    private StationFieldSet(StationField[] fields, FilterProvider filters) {
+        this.fields = fields;
+        this.filters = filters;
+    }
+
+    /**
+     * Get the compiled fieldset for a comma separated list of field names.
+     * Unknown names are ignored; a blank or fully unknown list selects all fields.
+     */
+    public static StationFieldSet parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        StationFieldSet compiled = COMPILED.get(fields);
+        if (compiled != null) {
+            return compiled;
+        }
+
+        compiled = compile(fields);
+        if (COMPILED.size() < MAX_CACHED_FIELDSETS) {
+            COMPILED.putIfAbsent(fields, compiled);
+        }
+        return compiled;
+    }
+
+    private static StationFieldSet compile(String fields) {
+        EnumSet<StationField> selected = EnumSet.noneOf(StationField.class);
+
+        for (String name : fields.split(",")) {
+            StationField field = StationField.fromProperty(name.trim());
+            if (field != null) {
+                selected.add(field);
+            } else if (!name.isBlank()) {
+                log.debug("Ignoring unknown station field: {}", name.trim());
+            }
+        }
+
+        if (selected.isEmpty() || selected.size() == StationField.values().length) {
+            return ALL;
+        }
+
+        Set<String> properties = selected.stream()
+            .map(StationField::getProperty)
+            .collect(Collectors.toSet());
+
+        FilterProvider filters = new SimpleFilterProvider()
+            .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(properties));
+
+        return new StationFieldSet(selected.toArray(new StationField[0]), filters);
+    }
+
+    /**
+     * Fields to compute, in declaration order
+     */
+    StationField[] fields() {
+        return fields;
+    }
+
+    /**
+     * Whether every field is selected
+     */
+    public boolean isAll() {
+        return filters == null;
+    }
+
+    /**
+     * Whether a field is selected
+     */
+    public boolean contains(StationField field) {
+        for (StationField selected : fields) {
+            if (selected == field) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether every selected field is among the given ones
+     */
+    public boolean isSubsetOf(Set<StationField> available) {
+        for (StationField field : fields) {
+            if (!available.contains(field)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Wrap a response body so the HTTP message converter applies this fieldset
+     */
+    public MappingJacksonValue wrap(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (filters != null) {
+            value.setFilters(filters);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,111 @@
+package com.barbatech.natomada.stations.application.mappers;
+
+import com.barbatech.natomada.stations.application.dtos.StationResponseDto;
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.domain.enums.Amenity;
+import com.barbatech.natomada.stations.infrastructure.photos.StationPhotoProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps Station entities to response DTOs, optionally restricted to a sparse fieldset
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StationResponseMapper {
+
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private final StationPhotoProperties photoProperties;
+
+    /**
+     * Map Station entity to a full response DTO
+     */
+    public StationResponseDto toResponse(Station station) {
+        return toResponse(station, StationFieldSet.ALL);
+    }
+
+    /**
+     * Map Station entity to a response DTO computing only the selected fields
+     */
+    public StationResponseDto toResponse(Station station, StationFieldSet fieldSet) {
+        StationResponseDto.StationResponseDtoBuilder builder = StationResponseDto.builder();
+        for (StationField field : fieldSet.fields()) {
+            field.write(this, station, builder);
+        }
+        return builder.contentHash(station.getContentHash()).build();
+    }
+
+    /**
+     * Parse photo references from JSON and convert to photo proxy URLs
+     */
+    List<String> photoUrls(Station station) {
+        List<String> photoUrls = new ArrayList<>();
+        if (station.getPhotoReferences() != null && station.getOcmId() != null) {
+            try {
+                List<String> photoRefs = objectMapper.readValue(station.getPhotoReferences(), STRING_LIST);
+
+                String baseUrl = photoBaseUrl();
+                for (int i = 0; i < photoRefs.size(); i++) {
+                    photoUrls.add(buildPhotoUrl(baseUrl, station.getOcmId(), i, photoRefs.get(i)));
+                }
+            } catch (Exception e) {
+                log.warn("Error parsing photo references for station {}: {}", station.getName(), e.getMessage());
+            }
+        }
+        return photoUrls;
+    }
+
+    /**
+     * Amenity names, from the bitmask when set, else parsed from JSON
+     */
+    List<String> amenities(Station station) {
+        if (station.getAmenityMask() != null && station.getAmenityMask() != 0) {
+            return Amenity.keys(station.getAmenityMask());
+        }
+
+        List<String> amenities = new ArrayList<>();
+        if (station.getAmenities() != null) {
+            try {
+                amenities = objectMapper.readValue(station.getAmenities(), STRING_LIST);
+            } catch (Exception e) {
+                log.warn("Error parsing amenities for station {}: {}", station.getName(), e.getMessage());
+            }
+        }
+        return amenities;
+    }
+
+    /**
+     * Photo proxy URL. The version changes with the photo reference, so
+     * clients and CDNs can cache each URL for as long as the proxy allows.
+     */
+    private String buildPhotoUrl(String baseUrl, String stationId, int index, String photoReference) {
+        String version = DigestUtils.md5DigestAsHex(photoReference.getBytes(StandardCharsets.UTF_8)).substring(0, 8);
+        return baseUrl + "/api/stations/" + stationId + "/photos/" + index + "?v=" + version;
+    }
+
+    /**
+     * Configured public URL, else the host of the current request (relative outside requests)
+     */
+    private String photoBaseUrl() {
+        if (photoProperties.getPublicBaseUrl() != null && !photoProperties.getPublicBaseUrl().isBlank()) {
+            return photoProperties.getPublicBaseUrl();
+        }
+        if (RequestContextHolder.getRequestAttributes() != null) {
+            return ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
+        }
+        return "";
+    }
+}
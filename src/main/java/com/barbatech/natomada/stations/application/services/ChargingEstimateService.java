@@ -0,0 +1,114 @@
+package com.barbatech.natomada.stations.application.services;
+
+import com.barbatech.natomada.cars.domain.entities.Car;
+import com.barbatech.natomada.cars.domain.entities.UserVehicle;
+import com.barbatech.natomada.cars.infrastructure.repositories.UserVehicleRepository;
+import com.barbatech.natomada.infrastructure.i18n.MessageSourceService;
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.domain.enums.ConnectorType;
+import com.barbatech.natomada.stations.infrastructure.connectors.StationConnectorParser;
+import com.barbatech.natomada.stations.infrastructure.trip.ChargingCurve;
+import com.barbatech.natomada.stations.infrastructure.trip.VehicleBattery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service estimating how long a user's car takes to charge at stations
+ *
+ * Combines the car's battery capacity and peak DC power with the fastest
+ * connector of each station the car plugs into (OpenChargeMap powerKW, Google
+ * maxChargeRateKw), through the tapered ChargingCurve. A whole result set is
+ * estimated in one pass: the curve is read once per charge window, and each
+ * station costs a memoized connector lookup and a division.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChargingEstimateService {
+
+    private static final ConnectorType[] CONNECTOR_TYPES = ConnectorType.values();
+
+    private final UserVehicleRepository userVehicleRepository;
+    private final StationConnectorParser connectorParser;
+    private final MessageSourceService messageService;
+
+    /**
+     * A car charging from one state of charge to another (percent)
+     */
+    public record Charge(VehicleBattery battery, int fromSoc, int toSoc) {
+    }
+
+    /**
+     * Battery of one of the user's vehicles
+     *
+     * @param vehicleId The vehicle, or null for the primary one
+     * @return The battery, or empty when vehicleId is null and the user has no vehicle
+     * @throws IllegalArgumentException When the user has no vehicle with this id
+     */
+    @Transactional(readOnly = true)
+    public Optional<VehicleBattery> findBattery(Long userId, Long vehicleId) {
+        if (vehicleId != null) {
+            return Optional.of(userVehicleRepository.findByIdAndUserId(vehicleId, userId)
+                .map(vehicle -> battery(vehicle.getCar()))
+                .orElseThrow(() -> new IllegalArgumentException(messageService.getMessage("vehicle.not.found"))));
+        }
+        // Vehicles come primary first
+        return userVehicleRepository.findByUserIdWithCar(userId).stream()
+            .findFirst()
+            .map(UserVehicle::getCar)
+            .map(this::battery);
+    }
+
+    /**
+     * Set chargingMinutes on the stations the car can charge at
+     *
+     * @param charge The car and charge window, or null to estimate nothing
+     */
+    public void applyChargingMinutes(List<Station> stations, Charge charge) {
+        if (charge == null || stations.isEmpty()) {
+            return;
+        }
+
+        double unitMinutes = ChargingCurve.unitMinutes(charge.fromSoc(), charge.toSoc()) * charge.battery().capacityKwh();
+        for (Station station : stations) {
+            double powerKw = powerKw(station, charge.battery());
+            if (powerKw > 0) {
+                station.setChargingMinutes((int) Math.ceil(unitMinutes / powerKw));
+            }
+        }
+    }
+
+    /**
+     * Peak power the car draws at a station: its fastest connector the car plugs into, capped by the car
+     *
+     * @return The power, or NaN when the station's power is unknown or the car can't plug in
+     */
+    public double powerKw(Station station, VehicleBattery battery) {
+        double stationKw = Double.NaN;
+        if (battery.connectorMask() == 0) {
+            if (station.getMaxPowerKw() != null) {
+                stationKw = station.getMaxPowerKw().doubleValue();
+            }
+        } else {
+            double[] byType = connectorParser.parse(station.getConnectors()).powerByType();
+            for (ConnectorType type : CONNECTOR_TYPES) {
+                if (type.in(battery.connectorMask()) && byType[type.ordinal()] > 0) {
+                    stationKw = Double.isNaN(stationKw) ? byType[type.ordinal()] : Math.max(stationKw, byType[type.ordinal()]);
+                }
+            }
+        }
+        return stationKw > 0 ? Math.min(stationKw, battery.peakPowerKw()) : Double.NaN;
+    }
+
+    private VehicleBattery battery(Car car) {
+        return new VehicleBattery(
+            car.getBatteryCapacity().doubleValue(),
+            car.getFastChargingPower(),
+            ConnectorType.fromTitle(car.getConnector()).compatibleMask());
+    }
+}
@@ -5,7 +5,8 @@ import com.barbatech.natomada.auth.application.exceptions.UserNotFoundException;
 import com.barbatech.natomada.auth.domain.entities.User;
 import com.barbatech.natomada.auth.infrastructure.repositories.UserRepository;
 import com.barbatech.natomada.stations.application.dtos.FavoriteResponseDto;
-import com.barbatech.natomada.stations.application.dtos.StationResponseDto;
+import com.barbatech.natomada.stations.application.mappers.StationFieldSet;
+import com.barbatech.natomada.stations.application.mappers.StationResponseMapper;
 import com.barbatech.natomada.stations.domain.entities.Favorite;
 import com.barbatech.natomada.stations.domain.entities.Station;
 import com.barbatech.natomada.stations.infrastructure.repositories.FavoriteRepository;
@@ -35,18 +36,28 @@ public class FavoritesService {
     private final UserRepository userRepository;
     private final EventPublisher eventPublisher;
     private final MessageSourceService messageService;
+    private final StationResponseMapper stationResponseMapper;
+    private final StationRankingService stationRankingService;
 
     /**
      * Get all favorites for a user
      */
     @Transactional(readOnly = true)
     public List<FavoriteResponseDto> getUserFavorites(Long userId) {
+        return getUserFavorites(userId, StationFieldSet.ALL);
+    }
+
+    /**
+     * Get all favorites for a user, computing only the selected station fields
+     */
+    @Transactional(readOnly = true)
+    public List<FavoriteResponseDto> getUserFavorites(Long userId, StationFieldSet fieldSet) {
         log.info("Getting favorites for user: {}", userId);
 
         List<Favorite> favorites = favoriteRepository.findByUserIdWithStation(userId);
 
         return favorites.stream()
-            .map(this::mapToResponse)
+            .map(favorite -> mapToResponse(favorite, fieldSet))
             .collect(Collectors.toList());
     }
 
@@ -80,6 +91,7 @@ public class FavoritesService {
             .build();
 
         favoriteRepository.save(favorite);
+        stationRankingService.invalidate(userId);
 
         log.info("Station {} added to favorites for user {}", stationId, userId);
 
@@ -110,6 +122,7 @@ public class FavoritesService {
         }
 
         favoriteRepository.deleteByUserIdAndStationId(userId, stationId);
+        stationRankingService.invalidate(userId);
 
         log.info("Station {} removed from favorites for user {}", stationId, userId);
 
@@ -137,14 +150,14 @@ public class FavoritesService {
     /**
      * Map Favorite entity to response DTO
      */
-    private FavoriteResponseDto mapToResponse(Favorite favorite) {
+    private FavoriteResponseDto mapToResponse(Favorite favorite, StationFieldSet fieldSet) {
         Station station = favorite.getStation();
 
         return FavoriteResponseDto.builder()
             .id(favorite.getId())
             .userId(favorite.getUser().getId())
             .stationId(station.getId())
-            .station(mapStationToResponse(station))
+            .station(stationResponseMapper.toResponse(station, fieldSet))
             .notes(favorite.getNotes())
             .lastVisitedAt(favorite.getLastVisitedAt())
             .visitCount(favorite.getVisitCount())
@@ -153,56 +166,6 @@ public class FavoritesService {
             .build();
     }
 
-    /**
-     * Map Station entity to response DTO
-     */
-    private StationResponseDto mapStationToResponse(Station station) {
-        return StationResponseDto.builder()
-            .id(station.getId())
-            .ocmId(station.getOcmId())
-            .ocmUuid(station.getOcmUuid())
-            .googlePlaceId(station.getGooglePlaceId())
-            .name(station.getName())
-            .address(station.getAddress())
-            .city(station.getCity())
-            .state(station.getState())
-            .postalCode(station.getPostalCode())
-            .country(station.getCountry())
-            .latitude(station.getLatitude())
-            .longitude(station.getLongitude())
-            .phone(station.getPhone())
-            .isOperational(station.getIsOperational())
-            .totalConnectors(station.getTotalConnectors())
-            .connectors(station.getConnectors())
-            .operator(StationResponseDto.OperatorDto.builder()
-                .name(station.getOperatorName())
-                .website(station.getOperatorWebsite())
-                .phone(station.getOperatorPhone())
-                .email(station.getOperatorEmail())
-                .build())
-            .usageType(StationResponseDto.UsageTypeDto.builder()
-                .title(station.getUsageType())
-                .requiresMembership(station.getRequiresMembership())
-                .payAtLocation(station.getPayAtLocation())
-                .requiresAccessKey(station.getRequiresAccessKey())
-                .build())
-            .usageCost(station.getUsageCost())
-            .rating(StationResponseDto.RatingDto.builder()
-                .ocm(station.getOcmRating())
-                .ocmCount(station.getOcmReviewCount())
-                .google(station.getGoogleRating())
-                .googleCount(station.getGoogleReviewCount())
-                .combined(station.getCombinedRating())
-                .build())
-            .totalReviews(station.getTotalReviews())
-            .openingHours(station.getOpeningHours())
-            .isOpen24h(station.getIsOpen24h())
-            .lastVerifiedAt(station.getLastVerifiedAt())
-            .isRecentlyVerified(station.getIsRecentlyVerified())
-            .lastSyncAt(station.getLastSyncAt())
-            .build();
-    }
-
     /**
      * Response DTO for checking if station is favorite
      */
@@ -0,0 +1,309 @@
+package com.barbatech.natomada.stations.application.services;
+
+import com.barbatech.natomada.stations.application.dtos.StationAvailabilityDto;
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.availability.RedisAvailabilityFeed;
+import com.barbatech.natomada.stations.infrastructure.availability.StationAvailabilityProperties;
+import com.barbatech.natomada.stations.infrastructure.external.ExternalStationMapper;
+import com.barbatech.natomada.stations.infrastructure.external.google.GooglePlacesService;
+import com.barbatech.natomada.stations.infrastructure.external.google.dtos.PlacesV1Response;
+import com.barbatech.natomada.stations.infrastructure.repositories.StationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for live connector availability subscriptions (Server-Sent Events)
+ *
+ * Subscribers are grouped per station: each watched station has one poller,
+ * whatever the number of subscribers, and the poll itself is shared across
+ * nodes through RedisAvailabilityFeed. Subscribers get the last known state
+ * when they subscribe and afterwards only changes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StationAvailabilityService {
+
+    static final String EVENT_NAME = "availability";
+
+    private final StationRepository stationRepository;
+    private final GooglePlacesService googlePlacesService;
+    private final ExternalStationMapper externalStationMapper;
+    private final RedisAvailabilityFeed availabilityFeed;
+    private final StationAvailabilityProperties properties;
+    private final StationOccupancyService stationOccupancyService;
+
+    private final Map<String, StationWatch> watches = new ConcurrentHashMap<>();
+    private ExecutorService pollExecutor;
+    private ScheduledExecutorService pollScheduler;
+
+    @PostConstruct
+    void start() {
+        pollExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getPollConcurrency()));
+
+        // Polls wait on upstream calls and subscriber writes, so they get their own thread
+        // instead of holding up the jobs of the shared @Scheduled thread
+        long interval = properties.getPollInterval().toMillis();
+        pollScheduler = Executors.newSingleThreadScheduledExecutor();
+        pollScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (Exception e) {
+                log.error("Error polling availability: {}", e.getMessage(), e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        pollScheduler.shutdownNow();
+        pollExecutor.shutdownNow();
+    }
+
+    /**
+     * Subscribe to the availability of a set of stations
+     *
+     * @param stationIds Station IDs (format: "ocm_123456" or "gpl_{placeId}")
+     * @return An emitter receiving "availability" events
+     */
+    public SseEmitter subscribe(List<String> stationIds) {
+        Subscription subscription = new Subscription(new SseEmitter(properties.getSubscriptionTimeout().toMillis()));
+        subscription.emitter.onCompletion(() -> unsubscribe(subscription));
+        subscription.emitter.onTimeout(() -> unsubscribe(subscription));
+        subscription.emitter.onError(error -> unsubscribe(subscription));
+
+        // Only stations matched to a Google place have live availability
+        Set<String> ocmIds = new LinkedHashSet<>();
+        for (String stationId : stationIds) {
+            ocmIds.add(stationId.contains("_") ? stationId : "ocm_" + stationId);
+        }
+        Map<String, String> placeIds = new HashMap<>();
+        for (Station station : stationRepository.findByOcmIdIn(ocmIds)) {
+            if (station.getGooglePlaceId() != null && station.getRemovedAt() == null) {
+                placeIds.put(station.getOcmId(), station.getGooglePlaceId());
+            }
+        }
+
+        List<StationWatch> watched = new ArrayList<>();
+        for (Map.Entry<String, String> place : placeIds.entrySet()) {
+            StationWatch watch = watches.compute(place.getKey(), (ocmId, existing) -> {
+                StationWatch current = existing != null ? existing : new StationWatch(ocmId, place.getValue());
+                current.subscribers.add(subscription);
+                return current;
+            });
+            subscription.ocmIds.add(place.getKey());
+            watched.add(watch);
+        }
+        log.info("Availability subscription for {} stations ({} with live data), {} stations watched",
+                 ocmIds.size(), watched.size(), watches.size());
+
+        sendInitialState(subscription, watched);
+        return subscription.emitter;
+    }
+
+    /**
+     * Poll watched stations and push changes to their subscribers
+     *
+     * Upstream fetches still running after fetchTimeout are skipped; the station is polled again next interval.
+     */
+    void poll() {
+        if (watches.isEmpty()) {
+            return;
+        }
+
+        List<StationWatch> current = new ArrayList<>(watches.values());
+        Map<String, StationAvailabilityDto> shared;
+        try {
+            shared = availabilityFeed.findAll(current.stream().map(StationWatch::ocmId).toList());
+        } catch (Exception e) {
+            log.warn("Could not read shared availability: {}", e.getMessage());
+            shared = Collections.emptyMap();
+        }
+
+        // Refresh stale stations upstream, once per interval across all nodes
+        long staleBefore = System.currentTimeMillis() - properties.getPollInterval().toMillis();
+        Map<String, CompletableFuture<StationAvailabilityDto>> fetches = new HashMap<>();
+        for (StationWatch watch : current) {
+            StationAvailabilityDto snapshot = shared.get(watch.ocmId);
+            if ((snapshot == null || snapshot.getFetchedAt() <= staleBefore) && tryLease(watch.ocmId)) {
+                fetches.put(watch.ocmId, CompletableFuture.supplyAsync(() -> fetch(watch), pollExecutor)
+                    .completeOnTimeout(null, properties.getFetchTimeout().toMillis(), TimeUnit.MILLISECONDS));
+            }
+        }
+
+        Set<Subscription> notified = new HashSet<>();
+        for (StationWatch watch : current) {
+            StationAvailabilityDto snapshot = shared.get(watch.ocmId);
+            CompletableFuture<StationAvailabilityDto> fetch = fetches.get(watch.ocmId);
+            if (fetch != null) {
+                StationAvailabilityDto fetched = fetch.join();
+                if (fetched != null) {
+                    availabilityFeed.save(fetched);
+                    stationOccupancyService.record(fetched);
+                    snapshot = fetched;
+                }
+            }
+
+            if (snapshot != null && watch.changedTo(snapshot)) {
+                for (Subscription subscription : watch.subscribers) {
+                    subscription.send(snapshot);
+                    notified.add(subscription);
+                }
+            }
+        }
+
+        // Keep idle connections open through proxies, and find the ones clients dropped
+        for (StationWatch watch : current) {
+            for (Subscription subscription : watch.subscribers) {
+                if (notified.add(subscription)) {
+                    subscription.heartbeat();
+                }
+            }
+        }
+    }
+
+    private void sendInitialState(Subscription subscription, List<StationWatch> watched) {
+        List<String> unknown = watched.stream()
+            .filter(watch -> watch.last == null)
+            .map(StationWatch::ocmId)
+            .toList();
+        Map<String, StationAvailabilityDto> shared = Collections.emptyMap();
+        if (!unknown.isEmpty()) {
+            try {
+                shared = availabilityFeed.findAll(unknown);
+            } catch (Exception e) {
+                log.warn("Could not read shared availability: {}", e.getMessage());
+            }
+        }
+
+        for (StationWatch watch : watched) {
+            StationAvailabilityDto snapshot = watch.last;
+            if (snapshot == null && shared.containsKey(watch.ocmId)) {
+                snapshot = shared.get(watch.ocmId);
+                watch.changedTo(snapshot);
+            }
+            if (snapshot != null) {
+                subscription.send(snapshot);
+            }
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        for (String ocmId : subscription.ocmIds) {
+            watches.computeIfPresent(ocmId, (id, watch) -> {
+                watch.subscribers.remove(subscription);
+                return watch.subscribers.isEmpty() ? null : watch;
+            });
+        }
+    }
+
+    private boolean tryLease(String ocmId) {
+        try {
+            return availabilityFeed.tryLease(ocmId);
+        } catch (Exception e) {
+            log.warn("Could not take availability lease, polling locally: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private StationAvailabilityDto fetch(StationWatch watch) {
+        PlacesV1Response.Place place = googlePlacesService.getEvChargeOptionsV1(watch.placeId);
+        if (place == null) {
+            return null;
+        }
+
+        List<StationAvailabilityDto.ConnectorAvailabilityDto> connectors = new ArrayList<>();
+        if (place.getEvChargeOptions() != null && place.getEvChargeOptions().getConnectorAggregation() != null) {
+            for (PlacesV1Response.ConnectorAggregation aggregation : place.getEvChargeOptions().getConnectorAggregation()) {
+                connectors.add(StationAvailabilityDto.ConnectorAvailabilityDto.builder()
+                    .type(externalStationMapper.normalizeConnectorType(aggregation.getType()))
+                    .maxChargeRateKw(aggregation.getMaxChargeRateKw())
+                    .count(aggregation.getCount())
+                    .availableCount(aggregation.getAvailableCount())
+                    .outOfServiceCount(aggregation.getOutOfServiceCount())
+                    .availabilityLastUpdate(aggregation.getAvailabilityLastUpdateTime())
+                    .build());
+            }
+        }
+
+        return StationAvailabilityDto.builder()
+            .stationId(watch.ocmId)
+            .connectors(connectors)
+            .fetchedAt(System.currentTimeMillis())
+            .build();
+    }
+
+    /**
+     * A watched station: its Google place, subscribers and the last state pushed to them
+     */
+    private static final class StationWatch {
+        private final String ocmId;
+        private final String placeId;
+        private final Set<Subscription> subscribers = ConcurrentHashMap.newKeySet();
+        private volatile StationAvailabilityDto last;
+
+        StationWatch(String ocmId, String placeId) {
+            this.ocmId = ocmId;
+            this.placeId = placeId;
+        }
+
+        String ocmId() {
+            return ocmId;
+        }
+
+        /**
+         * Record a new state, returning whether its connectors differ from the last one
+         */
+        synchronized boolean changedTo(StationAvailabilityDto snapshot) {
+            if (last != null && Objects.equals(last.getConnectors(), snapshot.getConnectors())) {
+                return false;
+            }
+            last = snapshot;
+            return true;
+        }
+    }
+
+    /**
+     * One client connection and the stations it watches
+     */
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private final Set<String> ocmIds = ConcurrentHashMap.newKeySet();
+
+        Subscription(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void send(StationAvailabilityDto availability) {
+            try {
+                emitter.send(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .id(availability.getStationId() + ":" + availability.getFetchedAt())
+                    .data(availability));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+
+        synchronized void heartbeat() {
+            try {
+                emitter.send(SseEmitter.event().comment("keepalive"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package com.barbatech.natomada.stations.application.services;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.domain.entities.StationSource;
+import com.barbatech.natomada.stations.domain.enums.StationSourceType;
+import com.barbatech.natomada.stations.infrastructure.external.ExternalStationMapper;
+import com.barbatech.natomada.stations.infrastructure.external.google.dtos.PlacesV1Response;
+import com.barbatech.natomada.stations.infrastructure.index.GeoMath;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * Entity resolution of stations fetched from OpenChargeMap and Google Places
+ *
+ * Runs once per ingest batch instead of matching in every request:
+ * 1. OCM listings are clustered DBSCAN-style (every point is a core point):
+ *    two listings are neighbours when they are at the same spot with the same
+ *    operator, or close by with similar names, and never when their operators
+ *    differ. Each cluster becomes one canonical station with the connectors
+ *    of all its listings.
+ * 2. Each Google place enriches the closest cluster at the same spot or close
+ *    by with a similar name (places carry no operator).
+ * 3. Unmatched Google EV stations are clustered the same way and become
+ *    Google-only stations (gpl_{placeId}).
+ *
+ * Canonical stations carry links to every source record resolved into them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StationEntityResolver {
+
+    /**
+     * Listings this close with the same operator are the same site whatever their names
+     */
+    static final double SAME_SITE_METERS = 30;
+
+    /**
+     * Listings further apart are never the same site
+     */
+    static final double MATCH_RADIUS_METERS = 150;
+
+    static final double MIN_NAME_SIMILARITY = 0.4;
+
+    /**
+     * Similarity when a name carries no information (e.g. "Charging Station")
+     */
+    private static final double UNKNOWN_NAME_SIMILARITY = 0.5;
+
+    private static final String EV_STATION_TYPE = "electric_vehicle_charging_station";
+
+    private static final Set<String> GENERIC_NAME_TOKENS = Set.of(
+        "ev", "charging", "charger", "chargers", "charge", "station", "stations", "electric", "vehicle",
+        "eletroposto", "estacao", "recarga", "carregador", "carregadores", "carregamento",
+        "veiculo", "veiculos", "eletrico", "eletricos", "posto", "ponto",
+        "de", "do", "da", "dos", "das", "the", "and", "e"
+    );
+
+    private final ExternalStationMapper externalStationMapper;
+
+    /**
+     * Resolve a batch of OCM stations and Google places into canonical stations
+     *
+     * @param ocmStations Stations built from OpenChargeMap, closest first
+     * @param places Google Places v1 results around the same area
+     * @return Canonical stations (OCM order, Google-only ones last) and the IDs they supersede
+     */
+    public Resolution resolve(List<Station> ocmStations, List<PlacesV1Response.Place> places) {
+        int size = ocmStations.size();
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        String[] names = new String[size];
+        String[] operators = new String[size];
+        for (int i = 0; i < size; i++) {
+            Station station = ocmStations.get(i);
+            boolean located = station.getLatitude() != null && station.getLongitude() != null;
+            latitudes[i] = located ? station.getLatitude().doubleValue() : Double.NaN;
+            longitudes[i] = located ? station.getLongitude().doubleValue() : Double.NaN;
+            names[i] = normalizeName(station.getName());
+            operators[i] = normalizeName(station.getOperatorName());
+        }
+
+        // 1. Merge duplicate OCM listings
+        int[] labels = cluster(latitudes, longitudes, names, operators);
+        Map<Integer, List<Integer>> clusters = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            clusters.computeIfAbsent(labels[i], label -> new ArrayList<>()).add(i);
+        }
+
+        List<Station> stations = new ArrayList<>(clusters.size());
+        Set<String> superseded = new LinkedHashSet<>();
+        int[] canonicalOf = new int[size];
+
+        for (List<Integer> members : clusters.values()) {
+            int canonical = members.get(0);
+            for (int member : members) {
+                if (isPreferred(ocmStations.get(member), ocmStations.get(canonical))) {
+                    canonical = member;
+                }
+            }
+
+            Station station = ocmStations.get(canonical);
+            List<StationSource> sources = new ArrayList<>(members.size() + 1);
+            for (int member : members) {
+                canonicalOf[member] = stations.size();
+                Station listing = ocmStations.get(member);
+                if (listing.getOcmId() != null) {
+                    sources.add(source(StationSourceType.OCM, listing.getOcmId()));
+                }
+                if (member != canonical) {
+                    fillGaps(station, listing);
+                    if (listing.getOcmId() != null) {
+                        superseded.add(listing.getOcmId());
+                    }
+                }
+            }
+            station.setSources(sources);
+            stations.add(station);
+        }
+
+        // 2. Enrich each canonical station with its closest matching Google place
+        List<PlacesV1Response.Place> located = places == null ? List.of() : places.stream()
+            .filter(place -> place.getId() != null && place.getLocation() != null
+                && place.getLocation().getLatitude() != null && place.getLocation().getLongitude() != null)
+            .toList();
+
+        PlacesV1Response.Place[] matchedPlace = new PlacesV1Response.Place[stations.size()];
+        double[] matchedDistance = new double[stations.size()];
+        List<PlacesV1Response.Place> unmatched = new ArrayList<>();
+
+        for (PlacesV1Response.Place place : located) {
+            double placeLat = place.getLocation().getLatitude();
+            double placeLon = place.getLocation().getLongitude();
+            String placeName = normalizeName(place.getDisplayName() != null ? place.getDisplayName().getText() : null);
+
+            int best = -1;
+            double bestDistance = Double.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                double distance = GeoMath.distanceMeters(placeLat, placeLon, latitudes[i], longitudes[i]);
+                // NaN comparisons are false, so unlocated stations are skipped
+                if (distance < bestDistance && matchesPlace(distance, placeName, names[i])) {
+                    best = i;
+                    bestDistance = distance;
+                }
+            }
+
+            if (best < 0) {
+                unmatched.add(place);
+                continue;
+            }
+
+            // A Google-only station may exist from before OpenChargeMap listed the site
+            superseded.add(ExternalStationMapper.GOOGLE_STATION_PREFIX + place.getId());
+
+            int station = canonicalOf[best];
+            if (matchedPlace[station] == null || bestDistance < matchedDistance[station]) {
+                matchedPlace[station] = place;
+                matchedDistance[station] = bestDistance;
+            }
+        }
+
+        for (int i = 0; i < matchedPlace.length; i++) {
+            if (matchedPlace[i] != null) {
+                Station station = stations.get(i);
+                externalStationMapper.enrichWithGooglePlacesV1(station, matchedPlace[i]);
+                station.getSources().add(source(StationSourceType.GOOGLE, matchedPlace[i].getId()));
+            }
+        }
+
+        // 3. Google EV stations with no OpenChargeMap listing
+        stations.addAll(resolveGoogleOnly(unmatched, superseded));
+
+        // A listing can't be both served and superseded
+        for (Station station : stations) {
+            superseded.remove(station.getOcmId());
+        }
+
+        if (!superseded.isEmpty()) {
+            log.debug("Entity resolution: {} OCM stations and {} places -> {} stations, {} superseded",
+                      size, located.size(), stations.size(), superseded.size());
+        }
+        return new Resolution(stations, superseded);
+    }
+
+    private List<Station> resolveGoogleOnly(List<PlacesV1Response.Place> places, Set<String> superseded) {
+        List<PlacesV1Response.Place> evStations = places.stream()
+            .filter(this::isEvStation)
+            .toList();
+        if (evStations.isEmpty()) {
+            return List.of();
+        }
+
+        int size = evStations.size();
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        String[] names = new String[size];
+        for (int i = 0; i < size; i++) {
+            PlacesV1Response.Place place = evStations.get(i);
+            latitudes[i] = place.getLocation().getLatitude();
+            longitudes[i] = place.getLocation().getLongitude();
+            names[i] = normalizeName(place.getDisplayName() != null ? place.getDisplayName().getText() : null);
+        }
+
+        String[] operators = new String[size];
+        Arrays.fill(operators, "");
+
+        int[] labels = cluster(latitudes, longitudes, names, operators);
+        Map<Integer, List<Integer>> clusters = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            clusters.computeIfAbsent(labels[i], label -> new ArrayList<>()).add(i);
+        }
+
+        List<Station> stations = new ArrayList<>(clusters.size());
+        for (List<Integer> members : clusters.values()) {
+            // The most reviewed listing is the one Google keeps up to date
+            PlacesV1Response.Place canonical = members.stream()
+                .map(evStations::get)
+                .max(Comparator.comparingInt(place -> place.getUserRatingCount() != null ? place.getUserRatingCount() : 0))
+                .orElseThrow();
+
+            Station station = externalStationMapper.fromGooglePlacesV1(canonical);
+            List<StationSource> sources = new ArrayList<>(members.size());
+            for (int member : members) {
+                PlacesV1Response.Place place = evStations.get(member);
+                sources.add(source(StationSourceType.GOOGLE, place.getId()));
+                if (place != canonical) {
+                    superseded.add(ExternalStationMapper.GOOGLE_STATION_PREFIX + place.getId());
+                }
+            }
+            station.setSources(sources);
+            stations.add(station);
+        }
+        return stations;
+    }
+
+    /**
+     * DBSCAN-style clustering with every point as a core point: the clusters
+     * are the connected components of the neighbour relation. Neighbours are
+     * looked up in a grid of MATCH_RADIUS_METERS cells, so large batches
+     * (offline exports) stay close to linear.
+     *
+     * @param names Normalized names (see normalizeName)
+     * @param operators Normalized operator names, empty when unknown
+     * @return Cluster label per point; points without coordinates get their own label
+     */
+    static int[] cluster(double[] latitudes, double[] longitudes, String[] names, String[] operators) {
+        int size = latitudes.length;
+        int[] labels = new int[size];
+        Arrays.fill(labels, -1);
+
+        double maxAbsLatitude = 0;
+        for (double latitude : latitudes) {
+            if (!Double.isNaN(latitude)) {
+                maxAbsLatitude = Math.max(maxAbsLatitude, Math.abs(latitude));
+            }
+        }
+        double latStep = MATCH_RADIUS_METERS / GeoMath.METERS_PER_DEGREE;
+        double lonStep = Math.min(360, GeoMath.longitudeDelta(maxAbsLatitude, MATCH_RADIUS_METERS));
+
+        Map<Long, List<Integer>> grid = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (!Double.isNaN(latitudes[i]) && !Double.isNaN(longitudes[i])) {
+                grid.computeIfAbsent(cell(latitudes[i], longitudes[i], latStep, lonStep), key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        int label = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            if (labels[i] >= 0) {
+                continue;
+            }
+            labels[i] = label;
+            if (Double.isNaN(latitudes[i]) || Double.isNaN(longitudes[i])) {
+                label++;
+                continue;
+            }
+
+            queue.add(i);
+            while (!queue.isEmpty()) {
+                int point = queue.poll();
+                int row = (int) Math.floor(latitudes[point] / latStep);
+                int column = (int) Math.floor(longitudes[point] / lonStep);
+
+                for (int dRow = -1; dRow <= 1; dRow++) {
+                    for (int dColumn = -1; dColumn <= 1; dColumn++) {
+                        List<Integer> candidates = grid.get(key(row + dRow, column + dColumn));
+                        if (candidates == null) {
+                            continue;
+                        }
+                        for (int candidate : candidates) {
+                            if (labels[candidate] >= 0) {
+                                continue;
+                            }
+                            double distance = GeoMath.distanceMeters(
+                                latitudes[point], longitudes[point], latitudes[candidate], longitudes[candidate]);
+                            if (isNeighbour(distance, names[point], names[candidate], operators[point], operators[candidate])) {
+                                labels[candidate] = label;
+                                queue.add(candidate);
+                            }
+                        }
+                    }
+                }
+            }
+            label++;
+        }
+        return labels;
+    }
+
+    /**
+     * Whether two listings are the same site. Two networks often share a parking lot,
+     * so listings of different operators are never merged, and listings at the same
+     * spot still need the same operator or a similar name.
+     *
+     * @param operator Normalized operator name, empty when unknown
+     */
+    static boolean isNeighbour(double distanceMeters, String name, String otherName, String operator, String otherOperator) {
+        if (distanceMeters > MATCH_RADIUS_METERS) {
+            return false;
+        }
+        if (!operator.isEmpty() && !otherOperator.isEmpty()) {
+            if (nameSimilarity(operator, otherOperator) < MIN_NAME_SIMILARITY) {
+                return false;
+            }
+            if (distanceMeters <= SAME_SITE_METERS) {
+                return true;
+            }
+        }
+        return nameSimilarity(name, otherName) >= MIN_NAME_SIMILARITY;
+    }
+
+    /**
+     * Whether a Google place describes a listing: at the same spot, or close by with a similar name
+     */
+    static boolean matchesPlace(double distanceMeters, String placeName, String name) {
+        if (distanceMeters <= SAME_SITE_METERS) {
+            return true;
+        }
+        return distanceMeters <= MATCH_RADIUS_METERS && nameSimilarity(placeName, name) >= MIN_NAME_SIMILARITY;
+    }
+
+    /**
+     * Lowercase, unaccented, meaningful name tokens ("Eletroposto Shell - Av. Paulista" -> "shell av paulista")
+     */
+    static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        String plain = Normalizer.normalize(name, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}", "")
+            .toLowerCase(Locale.ROOT);
+
+        StringJoiner tokens = new StringJoiner(" ");
+        for (String token : plain.split("[^a-z0-9]+")) {
+            if (!token.isEmpty() && !GENERIC_NAME_TOKENS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens.toString();
+    }
+
+    /**
+     * Similarity of two normalized names in [0, 1]: 1 when one name's tokens
+     * contain the other's ("shell" / "shell recharge"), otherwise the Dice
+     * coefficient of their character bigrams
+     */
+    static double nameSimilarity(String name, String otherName) {
+        if (name.isEmpty() || otherName.isEmpty()) {
+            return UNKNOWN_NAME_SIMILARITY;
+        }
+        if (name.equals(otherName)) {
+            return 1.0;
+        }
+
+        Set<String> tokens = new HashSet<>(Arrays.asList(name.split(" ")));
+        Set<String> otherTokens = new HashSet<>(Arrays.asList(otherName.split(" ")));
+        if (tokens.containsAll(otherTokens) || otherTokens.containsAll(tokens)) {
+            return 1.0;
+        }
+
+        Map<String, Integer> bigrams = bigrams(name);
+        Map<String, Integer> otherBigrams = bigrams(otherName);
+        int total = 0, shared = 0;
+        for (int count : bigrams.values()) {
+            total += count;
+        }
+        for (Map.Entry<String, Integer> entry : otherBigrams.entrySet()) {
+            total += entry.getValue();
+            shared += Math.min(entry.getValue(), bigrams.getOrDefault(entry.getKey(), 0));
+        }
+        return total == 0 ? 0 : 2.0 * shared / total;
+    }
+
+    private static Map<String, Integer> bigrams(String name) {
+        String compact = name.replace(" ", "");
+        Map<String, Integer> bigrams = new HashMap<>();
+        for (int i = 0; i + 1 < compact.length(); i++) {
+            bigrams.merge(compact.substring(i, i + 2), 1, Integer::sum);
+        }
+        return bigrams;
+    }
+
+    private static long cell(double latitude, double longitude, double latStep, double lonStep) {
+        return key((int) Math.floor(latitude / latStep), (int) Math.floor(longitude / lonStep));
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Canonical listing of a cluster: most connectors, then the oldest OCM ID
+     */
+    private boolean isPreferred(Station candidate, Station current) {
+        int candidateConnectors = candidate.getTotalConnectors() != null ? candidate.getTotalConnectors() : 0;
+        int currentConnectors = current.getTotalConnectors() != null ? current.getTotalConnectors() : 0;
+        if (candidateConnectors != currentConnectors) {
+            return candidateConnectors > currentConnectors;
+        }
+        return ocmNumber(candidate) < ocmNumber(current);
+    }
+
+    private long ocmNumber(Station station) {
+        try {
+            return Long.parseLong(station.getOcmId().replace("ocm_", ""));
+        } catch (RuntimeException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Connectors of both listings, and details a duplicate listing knows and the canonical one doesn't
+     */
+    private void fillGaps(Station canonical, Station duplicate) {
+        externalStationMapper.mergeListingConnectors(canonical, duplicate);
+        if (canonical.getPhone() == null) canonical.setPhone(duplicate.getPhone());
+        if (canonical.getCity() == null) canonical.setCity(duplicate.getCity());
+        if (canonical.getState() == null) canonical.setState(duplicate.getState());
+        if (canonical.getPostalCode() == null) canonical.setPostalCode(duplicate.getPostalCode());
+        if (canonical.getOperatorName() == null) canonical.setOperatorName(duplicate.getOperatorName());
+        if (canonical.getOperatorWebsite() == null) canonical.setOperatorWebsite(duplicate.getOperatorWebsite());
+        if (canonical.getOperatorPhone() == null) canonical.setOperatorPhone(duplicate.getOperatorPhone());
+        if (canonical.getOperatorEmail() == null) canonical.setOperatorEmail(duplicate.getOperatorEmail());
+        if (canonical.getUsageType() == null) canonical.setUsageType(duplicate.getUsageType());
+        if (canonical.getUsageCost() == null) {
+            canonical.setUsageCost(duplicate.getUsageCost());
+            canonical.setCostPerKwh(duplicate.getCostPerKwh());
+            canonical.setCostPerMinute(duplicate.getCostPerMinute());
+            canonical.setSessionFee(duplicate.getSessionFee());
+            canonical.setIsFree(duplicate.getIsFree());
+            canonical.setCostConfidence(duplicate.getCostConfidence());
+        }
+    }
+
+    /**
+     * Text search also returns businesses around chargers; only actual chargers become stations
+     */
+    private boolean isEvStation(PlacesV1Response.Place place) {
+        return place.getEvChargeOptions() != null
+            || EV_STATION_TYPE.equals(place.getPrimaryType())
+            || (place.getTypes() != null && place.getTypes().contains(EV_STATION_TYPE));
+    }
+
+    private StationSource source(StationSourceType type, String sourceId) {
+        return StationSource.builder()
+            .sourceType(type)
+            .sourceId(sourceId)
+            .build();
+    }
+
+    /**
+     * Canonical stations and the station IDs (OCM duplicates, Google-only stations
+     * now listed by OCM) they replace
+     */
+    public record Resolution(List<Station> stations, Set<String> supersededIds) {}
+}
@@ -0,0 +1,248 @@
+package com.barbatech.natomada.stations.application.services;
+
+import com.barbatech.natomada.stations.application.dtos.StationAvailabilityDto;
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.availability.AvailabilityHistoryStore;
+import com.barbatech.natomada.stations.infrastructure.availability.StationOccupancyProperties;
+import com.barbatech.natomada.stations.infrastructure.connectors.StationConnectorParser;
+import com.barbatech.natomada.stations.infrastructure.connectors.StationConnectors;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for connector availability history and occupancy prediction
+ *
+ * Every availability fetched from Google is kept as a sample, batch-inserted
+ * into a month-partitioned table and rolled up hourly into per-station,
+ * per-hour-of-week histograms. Nearby results read one histogram row per
+ * station to say how likely a connector is free at the user's ETA.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StationOccupancyService {
+
+    static final int HOURS_PER_WEEK = 7 * 24;
+
+    /**
+     * Neighbouring hours count half, since arrival times are approximate
+     */
+    static final double NEIGHBOUR_WEIGHT = 0.5;
+
+    private final AvailabilityHistoryStore historyStore;
+    private final StationOccupancyProperties properties;
+    private final StationConnectorParser connectorParser;
+
+    private final Queue<AvailabilityHistoryStore.Sample> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    @PostConstruct
+    void preparePartitions() {
+        if (properties.isEnabled()) {
+            maintainPartitions();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Record the availability of stations just enriched by Google
+     */
+    public void recordFromStations(List<Station> stations) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        for (Station station : stations) {
+            if (station.getOcmId() == null || station.getGooglePlaceId() == null || station.getConnectors() == null) {
+                continue;
+            }
+            StationConnectors connectors = connectorParser.parse(station.getConnectors());
+            if (connectors.observed()) {
+                enqueue(station.getOcmId(), connectors.total(), connectors.available(), connectors.outOfService());
+            }
+        }
+    }
+
+    /**
+     * Record availability polled for live subscriptions
+     */
+    public void record(StationAvailabilityDto availability) {
+        if (!properties.isEnabled() || availability.getConnectors() == null) {
+            return;
+        }
+
+        int total = 0, available = 0, outOfService = 0;
+        boolean observed = false;
+        for (StationAvailabilityDto.ConnectorAvailabilityDto connector : availability.getConnectors()) {
+            if (connector.getAvailableCount() == null) {
+                continue;
+            }
+            int outOfServiceCount = Objects.requireNonNullElse(connector.getOutOfServiceCount(), 0);
+            int count = Objects.requireNonNullElse(connector.getCount(), 0);
+            total += Math.max(count, connector.getAvailableCount() + outOfServiceCount);
+            available += connector.getAvailableCount();
+            outOfService += outOfServiceCount;
+            observed = true;
+        }
+        if (observed) {
+            enqueue(availability.getStationId(), total, available, outOfService);
+        }
+    }
+
+    /**
+     * Set likelyFreeAtEta on stations that have enough history for the hour of arrival
+     *
+     * @param eta Expected arrival, or null for now
+     */
+    public void applyLikelyFree(List<Station> stations, Instant eta) {
+        if (!properties.isEnabled() || stations.isEmpty()) {
+            return;
+        }
+
+        int hour = hourOfWeek((eta != null ? eta : Instant.now()).atZone(ZoneId.of(properties.getZone())));
+        int previous = (hour + HOURS_PER_WEEK - 1) % HOURS_PER_WEEK;
+        int next = (hour + 1) % HOURS_PER_WEEK;
+
+        List<String> ocmIds = stations.stream().map(Station::getOcmId).filter(Objects::nonNull).toList();
+        Map<String, double[]> totals = new HashMap<>(); // samples, weighted samples, weighted free samples
+        try {
+            for (AvailabilityHistoryStore.HourBucket bucket : historyStore.findBuckets(ocmIds, List.of(previous, hour, next))) {
+                double weight = bucket.hourOfWeek() == hour ? 1.0 : NEIGHBOUR_WEIGHT;
+                double[] sums = totals.computeIfAbsent(bucket.ocmId(), id -> new double[3]);
+                sums[0] += bucket.samples();
+                sums[1] += weight * bucket.samples();
+                sums[2] += weight * bucket.freeSamples();
+            }
+        } catch (Exception e) {
+            log.warn("Could not read occupancy histograms: {}", e.getMessage());
+            return;
+        }
+
+        for (Station station : stations) {
+            double[] sums = totals.get(station.getOcmId());
+            if (sums != null && sums[0] >= properties.getMinSamples()) {
+                station.setLikelyFreeAtEta(freeChance(sums[1], sums[2]));
+            }
+        }
+    }
+
+    /**
+     * Batch-insert buffered samples
+     */
+    @Scheduled(fixedDelayString = "${stations.occupancy.flush-interval:PT10S}")
+    public void flush() {
+        List<AvailabilityHistoryStore.Sample> batch = new ArrayList<>(properties.getBatchSize());
+        AvailabilityHistoryStore.Sample sample;
+        while ((sample = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(sample);
+            if (batch.size() == properties.getBatchSize()) {
+                insert(batch);
+                batch = new ArrayList<>(properties.getBatchSize());
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(batch);
+        }
+    }
+
+    /**
+     * Roll samples of the hours that have ended into the histograms.
+     * Waits a few minutes past the hour so samples still buffered on other nodes are in.
+     */
+    @Scheduled(cron = "${stations.occupancy.rollup-cron:0 5 * * * *}")
+    public void rollUp() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        LocalDateTime until = LocalDateTime.now().minusMinutes(5).truncatedTo(ChronoUnit.HOURS);
+        try {
+            LocalDateTime from = historyStore.rollUpUntil(until);
+            if (from != null) {
+                log.info("Rolled up availability samples from {} to {}", from, until);
+            }
+        } catch (Exception e) {
+            log.error("Error rolling up availability samples: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create next months' sample partitions and drop the expired ones
+     */
+    @Scheduled(cron = "${stations.occupancy.partition-cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        YearMonth current = YearMonth.now();
+        try {
+            historyStore.createPartitions(current, 3);
+            List<String> dropped = historyStore.dropPartitionsBefore(current.minusMonths(properties.getRetentionMonths()));
+            if (!dropped.isEmpty()) {
+                log.info("Dropped expired availability partitions: {}", dropped);
+            }
+        } catch (Exception e) {
+            log.error("Error maintaining availability partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Hour of the week, 0 = Monday 00h
+     */
+    static int hourOfWeek(ZonedDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * 24 + time.getHour();
+    }
+
+    /**
+     * Chance that a connector is free, smoothed so few samples stay near 50%
+     */
+    static double freeChance(double samples, double freeSamples) {
+        return Math.round((freeSamples + 1) / (samples + 2) * 100) / 100.0;
+    }
+
+    private void enqueue(String ocmId, int total, int available, int outOfService) {
+        if (pendingCount.incrementAndGet() > properties.getMaxPending()) {
+            pendingCount.decrementAndGet();
+            log.warn("Availability sample buffer full, dropping sample for station {}", ocmId);
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        pending.add(new AvailabilityHistoryStore.Sample(
+            ocmId,
+            now,
+            hourOfWeek(ZonedDateTime.now(ZoneId.of(properties.getZone()))),
+            total,
+            available,
+            outOfService
+        ));
+    }
+
+    private void insert(List<AvailabilityHistoryStore.Sample> batch) {
+        try {
+            historyStore.insertBatch(batch);
+        } catch (Exception e) {
+            log.error("Error inserting {} availability samples: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.barbatech.natomada.stations.application.services;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.external.google.GooglePlacesService;
+import com.barbatech.natomada.stations.infrastructure.photos.DiskPhotoCache;
+import com.barbatech.natomada.stations.infrastructure.photos.StationPhotoProperties;
+import com.barbatech.natomada.stations.infrastructure.repositories.StationRepository;
+import com.barbatech.natomada.stations.infrastructure.shard.ShardedStationSearch;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service for station photos proxied from Google
+ *
+ * Each photo reference is downloaded once per width bucket into the disk
+ * cache, so clients never see the API key and repeated views cost no
+ * Google photo requests.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StationPhotoService {
+
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {};
+
+    /**
+     * Widths photos are fetched at; requests are rounded up to one of them so variants stay few
+     */
+    static final int[] WIDTH_BUCKETS = {200, 400, 800, 1600};
+    static final int DEFAULT_WIDTH = 800;
+
+    private final StationRepository stationRepository;
+    private final ShardedStationSearch shardedStationSearch;
+    private final GooglePlacesService googlePlacesService;
+    private final DiskPhotoCache photoCache;
+    private final StationPhotoProperties properties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Photo n of a station, from the cache or fetched from Google
+     *
+     * @param stationId The station ID (format: "ocm_123456" or "gpl_{placeId}")
+     * @param index Position in the station's photo list
+     * @param width Requested width in pixels, rounded up to a bucket
+     * @return The cached photo, or empty if the station or photo doesn't exist
+     */
+    public Optional<DiskPhotoCache.CachedPhoto> getPhoto(String stationId, int index, Integer width) {
+        String reference = findPhotoReference(stationId, index);
+        if (reference == null) {
+            return Optional.empty();
+        }
+
+        int bucket = widthBucket(width);
+        try {
+            return Optional.ofNullable(photoCache.get(
+                bucket + ":" + reference,
+                () -> googlePlacesService.fetchPhoto(reference, bucket)
+            ));
+        } catch (IOException e) {
+            log.error("Error caching photo {} of station {}: {}", index, stationId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Photo URLs change with the photo, so responses can be cached for long
+     */
+    public CacheControl cacheControl() {
+        return CacheControl.maxAge(properties.getMaxAge()).cachePublic().immutable();
+    }
+
+    /**
+     * Smallest bucket at least as wide as requested (the largest for anything above it)
+     */
+    static int widthBucket(Integer width) {
+        if (width == null) {
+            return DEFAULT_WIDTH;
+        }
+        for (int bucket : WIDTH_BUCKETS) {
+            if (width <= bucket) {
+                return bucket;
+            }
+        }
+        return WIDTH_BUCKETS[WIDTH_BUCKETS.length - 1];
+    }
+
+    private String findPhotoReference(String stationId, int index) {
+        String ocmId = stationId.contains("_") ? stationId : "ocm_" + stationId;
+        Station station = stationRepository.findByOcmId(ocmId)
+            .orElseGet(() -> shardedStationSearch.findByOcmId(ocmId));
+        if (station == null || station.getPhotoReferences() == null) {
+            return null;
+        }
+
+        try {
+            List<String> references = objectMapper.readValue(station.getPhotoReferences(), STRING_LIST);
+            return index >= 0 && index < references.size() ? references.get(index) : null;
+        } catch (Exception e) {
+            log.warn("Error parsing photo references for station {}: {}", stationId, e.getMessage());
+            return null;
+        }
+    }
+}
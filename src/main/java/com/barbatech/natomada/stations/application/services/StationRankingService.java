@@ -0,0 +1,230 @@
+package com.barbatech.natomada.stations.application.services;
+
+import com.barbatech.natomada.cars.domain.entities.UserVehicle;
+import com.barbatech.natomada.cars.infrastructure.repositories.UserVehicleRepository;
+import com.barbatech.natomada.stations.application.dtos.StationAvailabilityDto;
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.domain.enums.ConnectorType;
+import com.barbatech.natomada.stations.infrastructure.availability.RedisAvailabilityFeed;
+import com.barbatech.natomada.stations.infrastructure.connectors.StationConnectorParser;
+import com.barbatech.natomada.stations.infrastructure.index.GeoMath;
+import com.barbatech.natomada.stations.infrastructure.ranking.StationRankingProperties;
+import com.barbatech.natomada.stations.infrastructure.repositories.FavoriteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for personalized ranking of nearby stations
+ *
+ * Each candidate gets a weighted score from its distance, rating, connector
+ * compatibility with the user's vehicle, favorites affinity and live
+ * availability, and the best `limit` are kept with a bounded min-heap.
+ * A user's vehicle and favorites are cached per node for a short TTL, so a
+ * ranked search costs one batched availability read plus arithmetic.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StationRankingService {
+
+    /**
+     * Score of a feature nothing is known about, so it neither helps nor hurts
+     */
+    static final double NEUTRAL = 0.5;
+
+    private final FavoriteRepository favoriteRepository;
+    private final UserVehicleRepository userVehicleRepository;
+    private final RedisAvailabilityFeed availabilityFeed;
+    private final StationRankingProperties properties;
+    private final StationConnectorParser connectorParser;
+
+    private final Map<Long, UserProfile> profiles = new ConcurrentHashMap<>();
+
+    /**
+     * What ranking needs to know about a user
+     *
+     * @param connectorMask ConnectorType mask the primary vehicle can plug into, 0 if unknown
+     */
+    public record UserProfile(int connectorMask, Set<Long> favoriteStationIds, Set<String> favoriteOcmIds,
+                              Set<String> favoriteOperators, long expiresAt) {
+
+        static final UserProfile ANONYMOUS = new UserProfile(0, Set.of(), Set.of(), Set.of(), Long.MAX_VALUE);
+    }
+
+    /**
+     * How many candidates to fetch for a ranked page of `limit` stations
+     */
+    public int candidateCount(int limit) {
+        return Math.max(limit, Math.min(properties.getMaxCandidates(), limit * properties.getCandidateFactor()));
+    }
+
+    /**
+     * Best `limit` candidates for a user, best first
+     *
+     * @param userId The user to personalize for, or null to rank on distance, rating and availability only
+     */
+    public List<Station> rank(List<Station> candidates, double latitude, double longitude, double radiusMeters,
+                              int limit, Long userId) {
+        if (candidates.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        UserProfile profile = userId != null ? profile(userId) : UserProfile.ANONYMOUS;
+        Map<String, StationAvailabilityDto> live = liveAvailability(candidates);
+
+        // Min-heap of the best so far: a candidate only enters by beating the worst kept one
+        Comparator<Scored> order = Comparator.comparingDouble(Scored::score)
+            .thenComparing(Comparator.comparingDouble(Scored::distance).reversed());
+        PriorityQueue<Scored> best = new PriorityQueue<>(limit + 1, order);
+
+        for (Station station : candidates) {
+            if (station.getLatitude() == null || station.getLongitude() == null) {
+                continue;
+            }
+            double distance = GeoMath.distanceMeters(latitude, longitude,
+                station.getLatitude().doubleValue(), station.getLongitude().doubleValue());
+            Scored scored = new Scored(station, score(station, profile, distance, radiusMeters, live.get(station.getOcmId())), distance);
+
+            if (best.size() < limit) {
+                best.add(scored);
+            } else if (order.compare(scored, best.peek()) > 0) {
+                best.poll();
+                best.add(scored);
+            }
+        }
+
+        List<Scored> ranked = new ArrayList<>(best);
+        ranked.sort(order.reversed());
+        List<Station> stations = new ArrayList<>(ranked.size());
+        for (Scored scored : ranked) {
+            stations.add(scored.station());
+        }
+        return stations;
+    }
+
+    /**
+     * Forget a user's cached profile, after their favorites or vehicles change
+     */
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            profiles.remove(userId);
+        }
+    }
+
+    /**
+     * Weighted 0-1 score of one station
+     */
+    double score(Station station, UserProfile profile, double distance, double radiusMeters, StationAvailabilityDto live) {
+        double proximity = radiusMeters > 0 ? 1 - Math.min(1, distance / radiusMeters) : 1;
+        double rating = station.getCombinedRating() != null ? Math.min(1, station.getCombinedRating().doubleValue() / 5) : NEUTRAL;
+
+        double weights = properties.getDistanceWeight() + properties.getRatingWeight() + properties.getCompatibilityWeight()
+            + properties.getFavoriteWeight() + properties.getAvailabilityWeight();
+        double score = properties.getDistanceWeight() * proximity
+            + properties.getRatingWeight() * rating
+            + properties.getCompatibilityWeight() * compatibility(station, profile)
+            + properties.getFavoriteWeight() * affinity(station, profile)
+            + properties.getAvailabilityWeight() * availability(station, profile, live);
+        return weights > 0 ? score / weights : 0;
+    }
+
+    private double compatibility(Station station, UserProfile profile) {
+        int stationMask = connectorParser.parse(station.getConnectors()).mask();
+        if (profile.connectorMask() == 0 || stationMask == 0) {
+            return NEUTRAL;
+        }
+        return (stationMask & profile.connectorMask()) != 0 ? 1 : 0;
+    }
+
+    private double affinity(Station station, UserProfile profile) {
+        if ((station.getId() != null && profile.favoriteStationIds().contains(station.getId()))
+            || (station.getOcmId() != null && profile.favoriteOcmIds().contains(station.getOcmId()))) {
+            return 1;
+        }
+        return station.getOperatorName() != null && profile.favoriteOperators().contains(station.getOperatorName()) ? NEUTRAL : 0;
+    }
+
+    /**
+     * Free share of the connectors the user can use from the live feed, else the predicted chance at the ETA
+     */
+    private double availability(Station station, UserProfile profile, StationAvailabilityDto live) {
+        if (live != null && live.getConnectors() != null) {
+            int total = 0, available = 0;
+            for (StationAvailabilityDto.ConnectorAvailabilityDto connector : live.getConnectors()) {
+                if (connector.getAvailableCount() == null) {
+                    continue;
+                }
+                if (profile.connectorMask() != 0 && !ConnectorType.fromTitle(connector.getType()).in(profile.connectorMask())) {
+                    continue;
+                }
+                int outOfService = Objects.requireNonNullElse(connector.getOutOfServiceCount(), 0);
+                total += Math.max(Objects.requireNonNullElse(connector.getCount(), 0), connector.getAvailableCount() + outOfService);
+                available += connector.getAvailableCount();
+            }
+            if (total > 0) {
+                return (double) available / total;
+            }
+        }
+        return station.getLikelyFreeAtEta() != null ? station.getLikelyFreeAtEta() : NEUTRAL;
+    }
+
+    private Map<String, StationAvailabilityDto> liveAvailability(List<Station> stations) {
+        try {
+            return availabilityFeed.findAll(stations.stream().map(Station::getOcmId).filter(Objects::nonNull).toList());
+        } catch (Exception e) {
+            log.debug("Ranking without live availability: {}", e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Cached profile of a user, reloaded once expired
+     */
+    UserProfile profile(Long userId) {
+        long now = System.currentTimeMillis();
+        UserProfile cached = profiles.get(userId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached;
+        }
+
+        UserProfile loaded = loadProfile(userId, now + properties.getProfileTtl().toMillis());
+        if (profiles.size() >= properties.getMaxProfiles()) {
+            profiles.values().removeIf(profile -> profile.expiresAt() <= now);
+            if (profiles.size() >= properties.getMaxProfiles()) {
+                profiles.clear();
+            }
+        }
+        profiles.put(userId, loaded);
+        return loaded;
+    }
+
+    private UserProfile loadProfile(Long userId, long expiresAt) {
+        try {
+            Set<Long> stationIds = new HashSet<>();
+            Set<String> ocmIds = new HashSet<>();
+            Set<String> operators = new HashSet<>();
+            for (Object[] favorite : favoriteRepository.findFavoriteKeysByUserId(userId)) {
+                if (favorite[0] != null) stationIds.add((Long) favorite[0]);
+                if (favorite[1] != null) ocmIds.add((String) favorite[1]);
+                if (favorite[2] != null) operators.add((String) favorite[2]);
+            }
+
+            // Vehicles come primary first
+            List<UserVehicle> vehicles = userVehicleRepository.findByUserIdWithCar(userId);
+            int connectorMask = vehicles.isEmpty() ? 0
+                : ConnectorType.fromTitle(vehicles.get(0).getCar().getConnector()).compatibleMask();
+
+            return new UserProfile(connectorMask, stationIds, ocmIds, operators, expiresAt);
+        } catch (Exception e) {
+            log.warn("Could not load ranking profile for user {}: {}", userId, e.getMessage());
+            return new UserProfile(0, Set.of(), Set.of(), Set.of(), expiresAt);
+        }
+    }
+
+    private record Scored(Station station, double score, double distance) {
+    }
+}
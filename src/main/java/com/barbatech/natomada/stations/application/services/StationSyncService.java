@@ -0,0 +1,537 @@
+package com.barbatech.natomada.stations.application.services;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.domain.entities.StationChange;
+import com.barbatech.natomada.stations.domain.entities.StationSource;
+import com.barbatech.natomada.stations.domain.enums.StationChangeType;
+import com.barbatech.natomada.stations.domain.enums.StationSourceType;
+import com.barbatech.natomada.stations.infrastructure.index.OpeningSchedule;
+import com.barbatech.natomada.stations.infrastructure.repositories.StationChangeRepository;
+import com.barbatech.natomada.stations.infrastructure.repositories.StationRepository;
+import com.barbatech.natomada.stations.infrastructure.repositories.StationSourceRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service that persists stations fetched from external APIs and keeps the
+ * station change log used by the delta sync endpoint
+ *
+ * Searches only prepare what they fetched and queue it (see StationIngestQueue);
+ * writes and the change log lock stay off the request path.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StationSyncService {
+
+    private static final long CHANGE_LOG_LOCK_KEY = 0x5354_4348L; // "STCH"
+    private static final TypeReference<List<String>> WEEKDAY_TEXT = new TypeReference<>() {};
+
+    private final StationRepository stationRepository;
+    private final StationChangeRepository stationChangeRepository;
+    private final StationSourceRepository stationSourceRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Stations fetched by one search, waiting to be ingested
+     *
+     * @param supersededIds IDs of stations merged into the fetched ones
+     */
+    public record Fetch(List<Station> stations, Set<String> supersededIds) {
+    }
+
+    /**
+     * Ready fetched stations to be served before they are ingested.
+     *
+     * Fills the NOT NULL defaults and opening intervals ingest would, keeps the
+     * stored Google enrichment when this fetch wasn't enriched, swaps listings
+     * merged earlier for their canonical station and fingerprints the rest, so
+     * responses and validators match what ingest will store. Only reads, so
+     * the request path never waits on the change log lock.
+     *
+     * @return The same stations in the same order, merged listings replaced by their canonical station
+     */
+    @Transactional(readOnly = true)
+    public List<Station> prepare(List<Station> fetched) {
+        if (fetched == null || fetched.isEmpty()) {
+            return fetched;
+        }
+
+        Set<String> ocmIds = fetched.stream()
+            .map(Station::getOcmId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<String, Station> existing = stationRepository.findByOcmIdIn(ocmIds).stream()
+            .collect(Collectors.toMap(Station::getOcmId, Function.identity()));
+        Map<String, Station> mergedInto = findMergedInto(fetched, existing);
+
+        List<Station> result = new ArrayList<>(fetched.size());
+        for (Station fresh : fetched) {
+            Station canonical = mergedInto.get(fresh.getOcmId());
+            if (isPersistable(fresh) && canonical != null && fresh.getRemovedAt() == null) {
+                result.add(canonical);
+                continue;
+            }
+
+            if (isPersistable(fresh)) {
+                applyRequiredDefaults(fresh);
+                applyOpeningSchedule(fresh);
+                Station current = existing.get(fresh.getOcmId());
+                if (current != null) {
+                    fresh.setId(current.getId());
+                    if (fresh.getGooglePlaceId() == null && current.getGooglePlaceId() != null) {
+                        copyEnrichment(current, fresh);
+                    }
+                }
+            }
+            fresh.setContentHash(fingerprint(fresh));
+            result.add(fresh);
+        }
+        return result;
+    }
+
+    /**
+     * Ingest the searches queued since the last flush, holding the change log lock once for all of them
+     */
+    @Transactional
+    public void ingestAll(List<Fetch> fetches) {
+        stationChangeRepository.lockChangeLog(CHANGE_LOG_LOCK_KEY);
+        for (Fetch fetch : fetches) {
+            apply(fetch.stations(), fetch.supersededIds());
+        }
+    }
+
+    /**
+     * Upsert resolved stations, remove the stations they supersede and link
+     * each station to the source records resolved into it.
+     *
+     * A fetched OCM listing that an earlier resolution merged into another
+     * live station is replaced by that station instead of being re-added.
+     *
+     * @param fetched Canonical stations from StationEntityResolver
+     * @param supersededIds IDs of stations merged into the fetched ones
+     * @return The same stations in the same order, persisted ones replaced by their saved entity
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Station> ingest(List<Station> fetched, Set<String> supersededIds) {
+        if (fetched == null || fetched.isEmpty()) {
+            return fetched;
+        }
+
+        // Lock before reading so concurrent ingests of the same station can't both insert it
+        stationChangeRepository.lockChangeLog(CHANGE_LOG_LOCK_KEY);
+        return apply(fetched, supersededIds);
+    }
+
+    private List<Station> apply(List<Station> fetched, Set<String> supersededIds) {
+        Set<String> ocmIds = fetched.stream()
+            .map(Station::getOcmId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toCollection(HashSet::new));
+        ocmIds.addAll(supersededIds);
+
+        Map<String, Station> existing = stationRepository.findByOcmIdIn(ocmIds).stream()
+            .collect(Collectors.toMap(Station::getOcmId, Function.identity()));
+        Map<String, Station> mergedInto = findMergedInto(fetched, existing);
+
+        List<Station> result = new ArrayList<>(fetched.size());
+        int added = 0, updated = 0, removed = 0;
+
+        for (Station fresh : fetched) {
+            if (!isPersistable(fresh)) {
+                result.add(fresh);
+                continue;
+            }
+
+            Station canonical = mergedInto.get(fresh.getOcmId());
+            if (canonical != null && fresh.getRemovedAt() == null) {
+                result.add(canonical);
+                continue;
+            }
+
+            applyRequiredDefaults(fresh);
+            applyOpeningSchedule(fresh);
+            Station current = existing.get(fresh.getOcmId());
+
+            if (current == null) {
+                if (fresh.getRemovedAt() != null) {
+                    // Never seen and already gone - nothing for clients to sync
+                    result.add(fresh);
+                    continue;
+                }
+                fresh.setContentHash(fingerprint(fresh));
+                Station saved = stationRepository.save(fresh);
+                recordChange(saved, StationChangeType.ADDED);
+                existing.put(saved.getOcmId(), saved);
+                result.add(saved);
+                added++;
+                continue;
+            }
+
+            String previousHash = current.getContentHash();
+            copyContent(fresh, current);
+            String hash = fingerprint(current);
+
+            StationChangeType changeType = null;
+            if (fresh.getRemovedAt() != null && current.getRemovedAt() == null) {
+                changeType = StationChangeType.REMOVED;
+                current.setRemovedAt(fresh.getRemovedAt());
+            } else if (fresh.getRemovedAt() == null && current.getRemovedAt() != null) {
+                changeType = StationChangeType.ADDED;
+                current.setRemovedAt(null);
+            } else if (!hash.equals(previousHash)) {
+                changeType = StationChangeType.UPDATED;
+            }
+            current.setContentHash(hash);
+            Station saved = stationRepository.save(current);
+
+            if (changeType != null) {
+                recordChange(saved, changeType);
+                switch (changeType) {
+                    case ADDED -> added++;
+                    case UPDATED -> updated++;
+                    case REMOVED -> removed++;
+                }
+            }
+            result.add(saved);
+        }
+
+        for (String supersededId : supersededIds) {
+            Station current = existing.get(supersededId);
+            if (current != null && current.getRemovedAt() == null) {
+                current.setRemovedAt(LocalDateTime.now());
+                recordChange(stationRepository.save(current), StationChangeType.REMOVED);
+                removed++;
+            }
+        }
+
+        linkSources(fetched, result);
+
+        log.info("Ingested {} stations: {} added, {} updated, {} removed", fetched.size(), added, updated, removed);
+        return result;
+    }
+
+    /**
+     * Find changes after a cursor inside a bounding box, keeping only the
+     * latest change per station so clients apply each station once.
+     *
+     * @return Changes ordered by version, plus whether the page was full
+     */
+    @Transactional(readOnly = true)
+    public ChangesPage findChanges(
+        Double minLatitude,
+        Double maxLatitude,
+        Double minLongitude,
+        Double maxLongitude,
+        Long cursor,
+        Integer limit
+    ) {
+        List<StationChange> changes = stationChangeRepository.findChangesInRegion(
+            cursor,
+            BigDecimal.valueOf(minLatitude),
+            BigDecimal.valueOf(maxLatitude),
+            BigDecimal.valueOf(minLongitude),
+            BigDecimal.valueOf(maxLongitude),
+            PageRequest.of(0, limit)
+        );
+
+        long nextCursor = changes.isEmpty() ? cursor : changes.get(changes.size() - 1).getVersion();
+        boolean hasMore = changes.size() == limit;
+
+        LinkedHashMap<String, StationChange> latest = new LinkedHashMap<>();
+        for (StationChange change : changes) {
+            latest.remove(change.getOcmId());
+            latest.put(change.getOcmId(), change);
+        }
+
+        Set<Long> stationIds = latest.values().stream()
+            .filter(change -> change.getChangeType() != StationChangeType.REMOVED)
+            .map(StationChange::getStationId)
+            .collect(Collectors.toSet());
+
+        Map<Long, Station> stations = stationRepository.findAllById(stationIds).stream()
+            .collect(Collectors.toMap(Station::getId, Function.identity()));
+
+        return new ChangesPage(new ArrayList<>(latest.values()), stations, nextCursor, hasMore);
+    }
+
+    /**
+     * Fingerprint of the client-visible station content.
+     * Sync timestamps are excluded so re-fetching an unchanged station is a no-op.
+     */
+    public String fingerprint(Station station) {
+        StringJoiner joiner = new StringJoiner("\u0001");
+        joiner.add(String.valueOf(station.getName()))
+            .add(String.valueOf(station.getAddress()))
+            .add(String.valueOf(station.getCity()))
+            .add(String.valueOf(station.getState()))
+            .add(String.valueOf(station.getPostalCode()))
+            .add(String.valueOf(station.getCountry()))
+            .add(plain(station.getLatitude()))
+            .add(plain(station.getLongitude()))
+            .add(String.valueOf(station.getPhone()))
+            .add(String.valueOf(station.getGooglePlaceId()))
+            .add(String.valueOf(station.getIsOperational()))
+            .add(String.valueOf(station.getTotalConnectors()))
+            .add(String.valueOf(station.getConnectors()))
+            .add(String.valueOf(station.getOperatorName()))
+            .add(String.valueOf(station.getOperatorWebsite()))
+            .add(String.valueOf(station.getOperatorPhone()))
+            .add(String.valueOf(station.getOperatorEmail()))
+            .add(String.valueOf(station.getUsageType()))
+            .add(String.valueOf(station.getRequiresMembership()))
+            .add(String.valueOf(station.getPayAtLocation()))
+            .add(String.valueOf(station.getRequiresAccessKey()))
+            .add(String.valueOf(station.getUsageCost()))
+            .add(plain(station.getOcmRating()))
+            .add(String.valueOf(station.getOcmReviewCount()))
+            .add(plain(station.getGoogleRating()))
+            .add(String.valueOf(station.getGoogleReviewCount()))
+            .add(plain(station.getCombinedRating()))
+            .add(String.valueOf(station.getTotalReviews()))
+            .add(String.valueOf(station.getOpeningHours()))
+            .add(String.valueOf(station.getIsOpen24h()))
+            .add(String.valueOf(station.getPhotoReferences()))
+            .add(String.valueOf(station.getAmenities()));
+
+        return DigestUtils.md5DigestAsHex(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Live stations that earlier resolutions merged fetched singleton listings into, by OCM ID
+     */
+    private Map<String, Station> findMergedInto(List<Station> fetched, Map<String, Station> existing) {
+        Set<String> singletons = fetched.stream()
+            .filter(station -> station.getOcmId() != null)
+            .filter(station -> station.getSources() == null || station.getSources().size() <= 1)
+            .map(Station::getOcmId)
+            .collect(Collectors.toSet());
+        if (singletons.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Long> canonicalIds = new HashMap<>();
+        for (StationSource link : stationSourceRepository.findBySourceIdIn(singletons)) {
+            Station own = existing.get(link.getSourceId());
+            if (link.getSourceType() == StationSourceType.OCM && (own == null || !link.getStationId().equals(own.getId()))) {
+                canonicalIds.put(link.getSourceId(), link.getStationId());
+            }
+        }
+        if (canonicalIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Station> canonicals = stationRepository.findAllById(new HashSet<>(canonicalIds.values())).stream()
+            .filter(station -> station.getRemovedAt() == null)
+            .collect(Collectors.toMap(Station::getId, Function.identity()));
+
+        Map<String, Station> mergedInto = new HashMap<>();
+        canonicalIds.forEach((ocmId, stationId) -> {
+            Station canonical = canonicals.get(stationId);
+            if (canonical != null) {
+                mergedInto.put(ocmId, canonical);
+            }
+        });
+        return mergedInto;
+    }
+
+    /**
+     * Point every source record of the persisted stations at its canonical station
+     */
+    private void linkSources(List<Station> fetched, List<Station> result) {
+        Map<String, Long> stationIds = new LinkedHashMap<>();
+        Map<String, StationSource> sources = new HashMap<>();
+
+        for (int i = 0; i < fetched.size(); i++) {
+            Station fresh = fetched.get(i);
+            Station saved = result.get(i);
+            if (fresh.getSources() == null || saved.getId() == null || saved.getRemovedAt() != null
+                || !saved.getOcmId().equals(fresh.getOcmId())) {
+                continue;
+            }
+            for (StationSource source : fresh.getSources()) {
+                String key = source.getSourceType() + ":" + source.getSourceId();
+                stationIds.put(key, saved.getId());
+                sources.put(key, source);
+            }
+        }
+        if (stationIds.isEmpty()) {
+            return;
+        }
+
+        Map<String, StationSource> links = new HashMap<>();
+        Set<String> sourceIds = sources.values().stream()
+            .map(StationSource::getSourceId)
+            .collect(Collectors.toSet());
+        for (StationSource link : stationSourceRepository.findBySourceIdIn(sourceIds)) {
+            links.put(link.getSourceType() + ":" + link.getSourceId(), link);
+        }
+
+        List<StationSource> changed = new ArrayList<>();
+        stationIds.forEach((key, stationId) -> {
+            StationSource link = links.get(key);
+            if (link == null) {
+                StationSource source = sources.get(key);
+                link = StationSource.builder()
+                    .sourceType(source.getSourceType())
+                    .sourceId(source.getSourceId())
+                    .build();
+            }
+            if (!stationId.equals(link.getStationId())) {
+                link.setStationId(stationId);
+                changed.add(link);
+            }
+        });
+        stationSourceRepository.saveAll(changed);
+    }
+
+    private void recordChange(Station station, StationChangeType changeType) {
+        StationChange change = stationChangeRepository.save(StationChange.builder()
+            .stationId(station.getId())
+            .ocmId(station.getOcmId())
+            .changeType(changeType)
+            .latitude(station.getLatitude())
+            .longitude(station.getLongitude())
+            .build());
+
+        station.setChangeVersion(change.getVersion());
+    }
+
+    /**
+     * Stations missing NOT NULL columns are served but not persisted
+     */
+    private boolean isPersistable(Station station) {
+        return station.getOcmId() != null
+            && station.getName() != null
+            && station.getAddress() != null
+            && station.getCountry() != null
+            && station.getLatitude() != null
+            && station.getLongitude() != null;
+    }
+
+    /**
+     * External APIs may leave flags unset; the columns are NOT NULL
+     */
+    private void applyRequiredDefaults(Station station) {
+        if (station.getIsOperational() == null) station.setIsOperational(true);
+        if (station.getTotalConnectors() == null) station.setTotalConnectors(0);
+        if (station.getRequiresMembership() == null) station.setRequiresMembership(false);
+        if (station.getPayAtLocation() == null) station.setPayAtLocation(false);
+        if (station.getRequiresAccessKey() == null) station.setRequiresAccessKey(false);
+        if (station.getOcmReviewCount() == null) station.setOcmReviewCount(0);
+        if (station.getGoogleReviewCount() == null) station.setGoogleReviewCount(0);
+        if (station.getTotalReviews() == null) station.setTotalReviews(0);
+        if (station.getIsOpen24h() == null) station.setIsOpen24h(false);
+        if (station.getAmenityMask() == null) station.setAmenityMask(0);
+        if (station.getIsRecentlyVerified() == null) station.setIsRecentlyVerified(false);
+    }
+
+    /**
+     * Parse the weekday text into opening intervals once, so open-at filters read integers.
+     * A schedule covering the whole week marks the station open 24h, and vice versa.
+     */
+    private void applyOpeningSchedule(Station station) {
+        int[] schedule = null;
+        if (station.getOpeningHours() != null) {
+            try {
+                schedule = OpeningSchedule.parse(objectMapper.readValue(station.getOpeningHours(), WEEKDAY_TEXT));
+            } catch (Exception e) {
+                log.debug("Could not parse opening hours of station {}: {}", station.getOcmId(), e.getMessage());
+            }
+        }
+
+        if (Boolean.TRUE.equals(station.getIsOpen24h()) || (schedule != null && OpeningSchedule.isAlwaysOpen(schedule))) {
+            station.setIsOpen24h(true);
+            schedule = OpeningSchedule.ALWAYS.clone();
+        }
+        station.setOpeningIntervals(schedule);
+    }
+
+    /**
+     * Copy everything fetched from external APIs onto the persisted entity.
+     * Google-derived fields are only replaced when this fetch was enriched,
+     * so a failed Google call doesn't wipe (and re-sync) known enrichment.
+     */
+    private void copyContent(Station from, Station to) {
+        to.setOcmUuid(from.getOcmUuid());
+        to.setName(from.getName());
+        to.setAddress(from.getAddress());
+        to.setCity(from.getCity());
+        to.setState(from.getState());
+        to.setPostalCode(from.getPostalCode());
+        to.setCountry(from.getCountry());
+        to.setLatitude(from.getLatitude());
+        to.setLongitude(from.getLongitude());
+        to.setPhone(from.getPhone());
+        to.setIsOperational(from.getIsOperational());
+        to.setTotalConnectors(from.getTotalConnectors());
+        to.setConnectors(from.getConnectors());
+        to.setMaxPowerKw(from.getMaxPowerKw());
+        to.setOperatorName(from.getOperatorName());
+        to.setOperatorWebsite(from.getOperatorWebsite());
+        to.setOperatorPhone(from.getOperatorPhone());
+        to.setOperatorEmail(from.getOperatorEmail());
+        to.setUsageType(from.getUsageType());
+        to.setRequiresMembership(from.getRequiresMembership());
+        to.setPayAtLocation(from.getPayAtLocation());
+        to.setRequiresAccessKey(from.getRequiresAccessKey());
+        to.setUsageCost(from.getUsageCost());
+        to.setCostPerKwh(from.getCostPerKwh());
+        to.setCostPerMinute(from.getCostPerMinute());
+        to.setSessionFee(from.getSessionFee());
+        to.setIsFree(from.getIsFree());
+        to.setCostConfidence(from.getCostConfidence());
+        to.setOcmRating(from.getOcmRating());
+        to.setOcmReviewCount(from.getOcmReviewCount());
+
+        if (from.getGooglePlaceId() != null || to.getGooglePlaceId() == null) {
+            copyEnrichment(from, to);
+        }
+
+        to.setLastVerifiedAt(from.getLastVerifiedAt());
+        to.setIsRecentlyVerified(from.getIsRecentlyVerified());
+        to.setLastSyncAt(from.getLastSyncAt());
+    }
+
+    private void copyEnrichment(Station from, Station to) {
+        to.setGooglePlaceId(from.getGooglePlaceId());
+        to.setGoogleRating(from.getGoogleRating());
+        to.setGoogleReviewCount(from.getGoogleReviewCount());
+        to.setCombinedRating(from.getCombinedRating());
+        to.setTotalReviews(from.getTotalReviews());
+        to.setOpeningHours(from.getOpeningHours());
+        to.setIsOpen24h(from.getIsOpen24h());
+        to.setOpeningIntervals(from.getOpeningIntervals());
+        to.setPhotoReferences(from.getPhotoReferences());
+        to.setAmenities(from.getAmenities());
+        to.setAmenityMask(from.getAmenityMask());
+    }
+
+    private String plain(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros().toPlainString() : "null";
+    }
+
+    /**
+     * A page of the change log with the stations it references
+     */
+    public record ChangesPage(
+        List<StationChange> changes,
+        Map<Long, Station> stations,
+        long nextCursor,
+        boolean hasMore
+    ) {}
+}
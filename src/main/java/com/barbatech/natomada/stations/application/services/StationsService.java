@@ -1,24 +1,48 @@
 package com.barbatech.natomada.stations.application.services;
 
 import com.barbatech.natomada.infrastructure.i18n.MessageSourceService;
+import com.barbatech.natomada.stations.application.dtos.NearbySearch;
+import com.barbatech.natomada.stations.application.dtos.StationChangeDto;
 import com.barbatech.natomada.stations.application.dtos.StationResponseDto;
+import com.barbatech.natomada.stations.application.dtos.StationSyncResponseDto;
+import com.barbatech.natomada.stations.application.mappers.StationField;
+import com.barbatech.natomada.stations.application.mappers.StationFieldSet;
+import com.barbatech.natomada.stations.application.mappers.StationResponseMapper;
 import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.domain.entities.StationChange;
+import com.barbatech.natomada.stations.domain.enums.StationChangeType;
+import com.barbatech.natomada.stations.infrastructure.enrichment.EnrichmentFacet;
+import com.barbatech.natomada.stations.infrastructure.enrichment.RedisStationEnrichmentStore;
+import com.barbatech.natomada.stations.infrastructure.enrichment.StationEnrichment;
 import com.barbatech.natomada.stations.infrastructure.external.ExternalStationMapper;
 import com.barbatech.natomada.stations.infrastructure.external.google.GooglePlacesService;
 import com.barbatech.natomada.stations.infrastructure.external.google.dtos.GooglePlacesResponse;
 import com.barbatech.natomada.stations.infrastructure.external.google.dtos.PlacesV1Response;
 import com.barbatech.natomada.stations.infrastructure.external.opencm.OpenChargeMapService;
 import com.barbatech.natomada.stations.infrastructure.external.opencm.dtos.OpenChargeMapResponse;
+import com.barbatech.natomada.stations.infrastructure.geo.RedisStationGeoIndex;
+import com.barbatech.natomada.stations.infrastructure.index.GeoMath;
+import com.barbatech.natomada.stations.infrastructure.index.OpeningSchedule;
+import com.barbatech.natomada.stations.infrastructure.index.RouteCorridor;
+import com.barbatech.natomada.stations.infrastructure.index.StationFilter;
+import com.barbatech.natomada.stations.infrastructure.index.StationFilterProperties;
+import com.barbatech.natomada.stations.infrastructure.index.StationSort;
+import com.barbatech.natomada.stations.infrastructure.index.StationIndexRegistry;
+import com.barbatech.natomada.stations.infrastructure.offline.OfflineStationProperties;
+import com.barbatech.natomada.stations.infrastructure.shard.ShardedStationSearch;
+import com.barbatech.natomada.stations.infrastructure.sync.StationIngestQueue;
 import com.barbatech.natomada.stations.infrastructure.repositories.StationRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -31,35 +55,80 @@ import java.util.stream.Collectors;
 public class StationsService {
 
     private final StationRepository stationRepository;
+    private final StationSyncService stationSyncService;
+    private final StationIngestQueue stationIngestQueue;
     private final OpenChargeMapService openChargeMapService;
     private final GooglePlacesService googlePlacesService;
     private final ExternalStationMapper externalStationMapper;
+    private final StationEntityResolver stationEntityResolver;
+    private final StationResponseMapper stationResponseMapper;
+    private final StationIndexRegistry stationIndexRegistry;
+    private final ShardedStationSearch shardedStationSearch;
+    private final OfflineStationProperties offlineProperties;
+    private final RedisStationGeoIndex stationGeoIndex;
+    private final RedisStationEnrichmentStore enrichmentStore;
+    private final StationOccupancyService stationOccupancyService;
+    private final StationRankingService stationRankingService;
+    private final ChargingEstimateService chargingEstimateService;
+    private final StationFilterProperties filterProperties;
     private final ObjectMapper objectMapper;
     private final MessageSourceService messageService;
 
-    @Value("${google.places.api.key}")
-    private String googlePlacesApiKey;
-
     /**
      * Get nearby stations from external APIs (OpenChargeMap + Google Places)
      *
      * Strategy:
      * 1. Fetch stations from OpenChargeMap (primary source)
-     * 2. Fetch stations from Google Places (enrichment)
-     * 3. Merge and enrich data
+     * 2. Fetch stations from Google Places (enrichment), unless every station has a fresh stored enrichment
+     * 3. Resolve both into canonical stations (see StationEntityResolver)
      * 4. Return combined results
+     *
+     * Index scans check the search filter per row; upstream results are filtered once resolved,
+     * so a filtered search may return fewer than limit stations.
+     *
+     * Cost ranking compares the prices parsed at ingest; prices below the configured
+     * confidence rank last. Upstream searches rank the closest maxResults stations,
+     * while the index ranks every station within the radius.
+     *
+     * A personalized search fetches a few candidates per result (closest first)
+     * and keeps the best scored ones, see StationRankingService.
      */
     @Transactional(readOnly = true)
-    public List<StationResponseDto> getNearbyStations(
-        Double latitude,
-        Double longitude,
-        Integer radius,
-        Integer limit
-    ) {
+    public List<StationResponseDto> getNearbyStations(NearbySearch search) {
+        Double latitude = search.getLatitude();
+        Double longitude = search.getLongitude();
+        Integer radius = search.getRadius();
+        Integer limit = search.getLimit();
+        StationFieldSet fieldSet = search.getFieldSet();
+        Instant eta = search.getEta();
+        StationSort sort = search.getSort();
+        Long userId = search.getUserId();
+        ChargingEstimateService.Charge charge = search.getCharge();
+
+        StationFilter filter = withCostConfidence(search.getFilter());
+        int pageSize = limit != null ? limit : 50;
+        int maxResults = sort == StationSort.PERSONALIZED ? stationRankingService.candidateCount(pageSize) : pageSize;
+
+        if (offlineProperties.isEnabled()) {
+            List<Station> stations = findInIndex(latitude, longitude, radius, maxResults, filter, sort);
+            stations = personalize(stations, latitude, longitude, radius, pageSize, sort, userId, eta);
+            log.info("Returning {} stations from offline index", stations.size());
+            return toResponses(stations, fieldSet, eta, charge, sort);
+        }
+
+        // Step 0: Another node fetched this search recently - answer from the shared geo-index
+        List<Station> shared = findInGeoIndex(latitude, longitude, radius, maxResults, fieldSet, filter, sort);
+        if (shared != null) {
+            shared = personalize(shared, latitude, longitude, radius, pageSize, sort, userId, eta);
+            log.info("Returning {} stations from shared geo-index", shared.size());
+            return toResponses(shared, fieldSet, eta, charge, sort);
+        }
+
         log.info("Fetching nearby stations from external APIs: lat={}, lon={}, radius={}m, limit={}",
                  latitude, longitude, radius, limit);
 
         List<Station> allStations = new ArrayList<>();
+        boolean fetchedUpstream = false;
 
         // Step 1: Fetch from OpenChargeMap (primary source)
         try {
@@ -67,8 +136,9 @@ public class StationsService {
                 latitude,
                 longitude,
                 radius / 1000, // Convert meters to kilometers
-                limit != null ? limit : 50
+                maxResults
             );
+            fetchedUpstream = !ocmStations.isEmpty();
 
             for (OpenChargeMapResponse ocmStation : ocmStations) {
                 Station station = externalStationMapper.fromOpenChargeMap(ocmStation);
@@ -80,225 +150,237 @@ public class StationsService {
             log.error("Error fetching from OpenChargeMap: {}", e.getMessage(), e);
         }
 
-        // Step 2: Fetch from Google Places API v1 (enrichment source with EV connector data)
+        // Keep serving from the local dataset when OpenChargeMap is down or rate-limiting us
+        if (allStations.isEmpty() && stationIndexRegistry.isLoaded()) {
+            allStations.addAll(findInIndex(latitude, longitude, radius, maxResults, filter, sort));
+            log.warn("OpenChargeMap returned no stations, using {} from offline index", allStations.size());
+        }
+
+        // Once the fetched stations are stored, let the other nodes answer this search from the geo-index
+        Runnable markCovered = fetchedUpstream ? () -> markCoveredInGeoIndex(latitude, longitude, radius, maxResults) : null;
+
+        // Step 2: Reuse stored enrichment when it is fresh for every station and requested field
+        Map<String, StationEnrichment> cached = findFreshEnrichment(allStations, EnrichmentFacet.requiredFor(fieldSet));
+        if (cached != null) {
+            StationEntityResolver.Resolution resolution = stationEntityResolver.resolve(allStations, List.of());
+            for (Station station : resolution.stations()) {
+                enrichmentStore.apply(cached.get(station.getOcmId()), station);
+            }
+            allStations = new ArrayList<>(persistStations(resolution.stations(), resolution.supersededIds(), markCovered));
+            allStations.addAll(findGoogleOnlyStations(latitude, longitude, radius));
+            log.info("Enriched {} stations from stored Google enrichment", resolution.stations().size());
+            return respond(allStations, search, filter, pageSize);
+        }
+
+        // Step 2b: Fetch from Google Places API v1 (enrichment source with EV connector data)
+        List<PlacesV1Response.Place> places = new ArrayList<>();
+        boolean searchedGoogle = false;
         try {
             PlacesV1Response googleResponse = googlePlacesService.searchNearbyV1(
                 latitude,
                 longitude,
                 radius
             );
+            // Failures come back as an empty response; only a real answer may be stored
+            searchedGoogle = googleResponse.getPlaces() != null && !googleResponse.getPlaces().isEmpty();
 
             if (googleResponse.getPlaces() != null) {
                 log.info("Fetched {} places from Google Places v1", googleResponse.getPlaces().size());
-
-                // Try to match Google Places with OpenChargeMap stations by proximity
-                for (PlacesV1Response.Place place : googleResponse.getPlaces()) {
-                    matchAndEnrichStationV1(allStations, place);
-                }
+                places.addAll(withinRadius(googleResponse.getPlaces(), latitude, longitude, radius));
             }
         } catch (Exception e) {
             log.error("Error fetching from Google Places v1: {}", e.getMessage(), e);
         }
 
-        // Step 3: Limit results
-        if (limit != null && allStations.size() > limit) {
-            allStations = allStations.subList(0, limit);
-        }
+        // Step 3: Merge duplicate listings, enrich with Google and add Google-only stations
+        StationEntityResolver.Resolution resolution = stationEntityResolver.resolve(allStations, places);
 
-        log.info("Returning {} total stations", allStations.size());
+        // Step 4: Persist, link sources and record changes for delta sync
+        allStations = persistStations(resolution.stations(), resolution.supersededIds(), markCovered);
+        if (searchedGoogle) {
+            saveEnrichment(resolution.stations());
+            stationOccupancyService.recordFromStations(resolution.stations());
+        }
 
-        return allStations.stream()
-            .map(this::mapToResponse)
-            .collect(Collectors.toList());
+        return respond(allStations, search, filter, pageSize);
     }
 
     /**
-     * Try to match a Google Place with existing stations and enrich them
-     * If no match found, this could be a new station (future enhancement)
+     * Order, filter and limit the resolved stations of a nearby search
+     *
+     * @param filter The search filter carrying the cost confidence threshold
      */
-    private void matchAndEnrichStation(List<Station> stations, GooglePlacesResponse.Place place) {
-        if (place.getGeometry() == null || place.getGeometry().getLocation() == null) {
-            return;
-        }
+    private List<StationResponseDto> respond(List<Station> stations, NearbySearch search, StationFilter filter,
+                                             int limit) {
+        Double latitude = search.getLatitude();
+        Double longitude = search.getLongitude();
+        Integer radius = search.getRadius();
+        StationSort sort = search.getSort();
 
-        BigDecimal placeLat = place.getGeometry().getLocation().getLat();
-        BigDecimal placeLon = place.getGeometry().getLocation().getLng();
+        stations = closestFirst(stations, latitude, longitude);
 
-        // Find closest station within 100m
-        double minDistance = 0.1; // ~100 meters in degrees
-        Station closest = null;
+        if (filter != null && !filter.isEmpty()) {
+            stations = stations.stream().filter(filter::matches).collect(Collectors.toList());
+        }
+        if (sort == StationSort.COST) {
+            stations = cheapestFirst(stations, filter);
+        }
 
-        for (Station station : stations) {
-            if (station.getLatitude() == null || station.getLongitude() == null) {
-                continue;
-            }
+        if (sort == StationSort.PERSONALIZED) {
+            stations = personalize(stations, latitude, longitude, radius, limit, sort, search.getUserId(), search.getEta());
+        } else if (stations.size() > limit) {
+            stations = stations.subList(0, limit);
+        }
 
-            double distance = calculateDistance(
-                station.getLatitude().doubleValue(),
-                station.getLongitude().doubleValue(),
-                placeLat.doubleValue(),
-                placeLon.doubleValue()
-            );
+        log.info("Returning {} total stations", stations.size());
 
-            if (distance < minDistance) {
-                minDistance = distance;
-                closest = station;
-            }
-        }
+        return toResponses(stations, search.getFieldSet(), search.getEta(), search.getCharge(), sort);
+    }
 
-        if (closest != null) {
-            // Enrich existing station with Google data
-            externalStationMapper.enrichWithGooglePlaces(closest, place);
-            log.debug("Enriched station {} with Google Places data", closest.getName());
+    /**
+     * Best scored page of the candidates for a personalized search; other sorts keep their order.
+     * Candidates get their predicted chance of a free connector at the ETA first, which the
+     * ranking falls back to for stations without a live feed.
+     */
+    private List<Station> personalize(List<Station> stations, Double latitude, Double longitude, Integer radius,
+                                      int limit, StationSort sort, Long userId, Instant eta) {
+        if (sort != StationSort.PERSONALIZED) {
+            return stations;
         }
-        // Note: If no match found, we could create a new station from Google data
-        // This is a future enhancement
+        stationOccupancyService.applyLikelyFree(stations, eta);
+        return stationRankingService.rank(stations, latitude, longitude, radius, limit, userId);
     }
 
     /**
-     * Try to match a Google Place v1 with existing stations and enrich them with EV connector data
-     * If no match found, this could be a new station (future enhancement)
+     * Stations by trusted price per kWh, keeping distance order between equal prices
      */
-    private void matchAndEnrichStationV1(List<Station> stations, PlacesV1Response.Place place) {
-        if (place.getLocation() == null) {
-            return;
+    private List<Station> cheapestFirst(List<Station> stations, StationFilter filter) {
+        List<Station> sorted = new ArrayList<>(stations);
+        sorted.sort(Comparator.<Station>comparingDouble(filter::trustedCostPerKwh));
+        return sorted;
+    }
+
+    /**
+     * Filter carrying the configured cost confidence threshold, so cost filters and ranking agree on it
+     */
+    private StationFilter withCostConfidence(StationFilter filter) {
+        StationFilter withThreshold = filter != null ? filter : new StationFilter();
+        if (withThreshold.getMinCostConfidence() == null) {
+            withThreshold.setMinCostConfidence(filterProperties.getMinCostConfidence());
         }
+        return withThreshold;
+    }
 
-        BigDecimal placeLat = place.getLocation().getLatitude();
-        BigDecimal placeLon = place.getLocation().getLongitude();
+    /**
+     * Get stations along a route, in driving order
+     *
+     * The corridor is scanned in one pass over the station index, across shard nodes
+     * when partitioned. Without a loaded index the stored stations of the covering
+     * boxes are placed on the route instead; nothing is fetched upstream per waypoint.
+     *
+     * @param polyline Encoded polyline the corridor was built from, forwarded to shard nodes
+     * @param filter Attribute filter, or null for none
+     */
+    @Transactional(readOnly = true)
+    public List<StationResponseDto> getStationsAlongRoute(
+        String polyline,
+        RouteCorridor corridor,
+        Integer limit,
+        StationFieldSet fieldSet,
+        Instant eta,
+        StationFilter filter
+    ) {
+        List<Station> stations = findStationsAlongRoute(polyline, corridor, limit != null ? limit : 50, withCostConfidence(filter));
 
-        // Find closest station within 150m (same as detail view)
-        double minDistance = 0.15; // ~150 meters in degrees
-        Station closest = null;
+        log.info("Returning {} stations along a {}m route", stations.size(), Math.round(corridor.lengthMeters()));
+        return toResponses(stations, fieldSet, eta, null, StationSort.DISTANCE);
+    }
 
-        for (Station station : stations) {
-            if (station.getLatitude() == null || station.getLongitude() == null) {
+    /**
+     * Stations inside a route corridor in driving order, from the index when loaded, else the database
+     */
+    public List<Station> findStationsAlongRoute(String polyline, RouteCorridor corridor, int limit, StationFilter filter) {
+        return stationIndexRegistry.isLoaded()
+            ? shardedStationSearch.alongRoute(polyline, corridor, limit, filter)
+            : findAlongRouteInDatabase(corridor, limit, filter);
+    }
+
+    /**
+     * Stored stations inside a route corridor, in driving order; all covering boxes are read in one query
+     */
+    private List<Station> findAlongRouteInDatabase(RouteCorridor corridor, int limit, StationFilter filter) {
+        Map<String, Station> placed = new HashMap<>();
+        for (Station station : stationRepository.findLiveInBoxes(corridor.boxes())) {
+            if (station.getLatitude() == null || station.getLongitude() == null || placed.containsKey(station.getOcmId())) {
                 continue;
             }
-
-            double distance = calculateDistance(
-                station.getLatitude().doubleValue(),
-                station.getLongitude().doubleValue(),
-                placeLat.doubleValue(),
-                placeLon.doubleValue()
-            );
-
-            if (distance < minDistance) {
-                minDistance = distance;
-                closest = station;
+            RouteCorridor.Position position = corridor.locate(station.getLatitude().doubleValue(), station.getLongitude().doubleValue());
+            if (position == null || (filter != null && !filter.isEmpty() && !filter.matches(station))) {
+                continue;
             }
+            station.setDistanceAlongRouteMeters((double) Math.round(position.alongMeters()));
+            station.setDistanceFromRouteMeters((double) Math.round(position.offsetMeters()));
+            placed.put(station.getOcmId(), station);
         }
 
-        if (closest != null) {
-            // Enrich existing station with Google Places v1 data (includes EV connectors)
-            externalStationMapper.enrichWithGooglePlacesV1(closest, place);
-            String stationName = place.getDisplayName() != null ? place.getDisplayName().getText() : "Unknown";
-            log.debug("Enriched station {} with Google Places v1 data (including EV connectors)", stationName);
-        }
-        // Note: If no match found, we could create a new station from Google data
-        // This is a future enhancement
+        return placed.values().stream()
+            .sorted(Comparator.comparingDouble(Station::getDistanceAlongRouteMeters)
+                .thenComparingDouble(Station::getDistanceFromRouteMeters))
+            .limit(limit)
+            .collect(Collectors.toList());
     }
 
     /**
-     * Calculate simple distance between two coordinates
-     * Returns distance in degrees (approximate)
+     * Minute of the week (0 = Monday 00:00) of an instant in station local time, for open-at filters
      */
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        double latDiff = lat1 - lat2;
-        double lonDiff = lon1 - lon2;
-        return Math.sqrt(latDiff * latDiff + lonDiff * lonDiff);
+    public int minuteOfWeek(Instant instant) {
+        return OpeningSchedule.minuteOfWeek(instant.atZone(ZoneId.of(filterProperties.getZone())));
     }
 
     /**
-     * Map Station entity to response DTO
+     * Map stations to responses, scoring them from availability history and estimating charging time when requested
+     *
+     * @param sort The search order; personalized results were already scored while ranking
      */
-    private StationResponseDto mapToResponse(Station station) {
-        // Parse photo references from JSON and convert to URLs
-        List<String> photoUrls = new ArrayList<>();
-        if (station.getPhotoReferences() != null) {
-            try {
-                List<String> photoRefs = objectMapper.readValue(
-                    station.getPhotoReferences(),
-                    new TypeReference<List<String>>() {}
-                );
-
-                // Convert photo references to complete URLs
-                photoUrls = photoRefs.stream()
-                    .map(this::buildPhotoUrl)
-                    .collect(Collectors.toList());
-            } catch (Exception e) {
-                log.warn("Error parsing photo references for station {}: {}", station.getName(), e.getMessage());
-            }
+    private List<StationResponseDto> toResponses(List<Station> stations, StationFieldSet fieldSet, Instant eta,
+                                                 ChargingEstimateService.Charge charge, StationSort sort) {
+        if (fieldSet.contains(StationField.LIKELY_FREE_AT_ETA) && sort != StationSort.PERSONALIZED) {
+            stationOccupancyService.applyLikelyFree(stations, eta);
         }
-
-        // Parse amenities from JSON
-        List<String> amenities = new ArrayList<>();
-        if (station.getAmenities() != null) {
-            try {
-                amenities = objectMapper.readValue(
-                    station.getAmenities(),
-                    new TypeReference<List<String>>() {}
-                );
-            } catch (Exception e) {
-                log.warn("Error parsing amenities for station {}: {}", station.getName(), e.getMessage());
-            }
+        if (fieldSet.contains(StationField.CHARGING_MINUTES)) {
+            chargingEstimateService.applyChargingMinutes(stations, charge);
         }
 
-        return StationResponseDto.builder()
-            .id(station.getId())
-            .ocmId(station.getOcmId())
-            .ocmUuid(station.getOcmUuid())
-            .googlePlaceId(station.getGooglePlaceId())
-            .name(station.getName())
-            .address(station.getAddress())
-            .city(station.getCity())
-            .state(station.getState())
-            .postalCode(station.getPostalCode())
-            .country(station.getCountry())
-            .latitude(station.getLatitude())
-            .longitude(station.getLongitude())
-            .phone(station.getPhone())
-            .isOperational(station.getIsOperational())
-            .totalConnectors(station.getTotalConnectors())
-            .connectors(station.getConnectors())
-            .operator(StationResponseDto.OperatorDto.builder()
-                .name(station.getOperatorName())
-                .website(station.getOperatorWebsite())
-                .phone(station.getOperatorPhone())
-                .email(station.getOperatorEmail())
-                .build())
-            .usageType(StationResponseDto.UsageTypeDto.builder()
-                .title(station.getUsageType())
-                .requiresMembership(station.getRequiresMembership())
-                .payAtLocation(station.getPayAtLocation())
-                .requiresAccessKey(station.getRequiresAccessKey())
-                .build())
-            .usageCost(station.getUsageCost())
-            .rating(StationResponseDto.RatingDto.builder()
-                .ocm(station.getOcmRating())
-                .ocmCount(station.getOcmReviewCount())
-                .google(station.getGoogleRating())
-                .googleCount(station.getGoogleReviewCount())
-                .combined(station.getCombinedRating())
-                .build())
-            .totalReviews(station.getTotalReviews())
-            .openingHours(station.getOpeningHours())
-            .isOpen24h(station.getIsOpen24h())
-            .photoUrls(photoUrls)
-            .amenities(amenities)
-            .lastVerifiedAt(station.getLastVerifiedAt())
-            .isRecentlyVerified(station.getIsRecentlyVerified())
-            .lastSyncAt(station.getLastSyncAt())
-            .build();
+        return stations.stream()
+            .map(station -> stationResponseMapper.toResponse(station, fieldSet))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Calculate simple distance between two coordinates
+     * Returns distance in degrees (approximate)
+     */
+    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
+        double latDiff = lat1 - lat2;
+        double lonDiff = lon1 - lon2;
+        return Math.sqrt(latDiff * latDiff + lonDiff * lonDiff);
     }
 
     /**
      * Get station by ID from external APIs (OpenChargeMap + Google Places)
      *
-     * @param stationId The station ID (format: "ocm_123456")
+     * @param stationId The station ID (format: "ocm_123456", or "gpl_{placeId}" for Google-only stations)
      * @return Station details
      */
     public StationResponseDto getStationById(String stationId) {
+        // Google-only stations have no upstream detail endpoint; they are served as last resolved
+        if (stationId.startsWith(ExternalStationMapper.GOOGLE_STATION_PREFIX)) {
+            return stationRepository.findByOcmId(stationId)
+                .filter(station -> station.getRemovedAt() == null)
+                .map(stationResponseMapper::toResponse)
+                .orElseThrow(() -> new RuntimeException(messageService.getMessage("station.not.found")));
+        }
+
         log.info("Fetching station by ID from external APIs: {}", stationId);
 
         // Parse OCM ID from external ID format (e.g., "ocm_188927" -> 188927)
@@ -310,9 +392,15 @@ public class StationsService {
             throw new RuntimeException(messageService.getMessage("station.id.invalid"));
         }
 
-        // Fetch from OpenChargeMap API
-        OpenChargeMapResponse ocmStation = openChargeMapService.getById(ocmId);
+        // Fetch from OpenChargeMap API, or only from the local dataset in offline mode
+        OpenChargeMapResponse ocmStation = offlineProperties.isEnabled() ? null : openChargeMapService.getById(ocmId);
         if (ocmStation == null) {
+            Station indexed = shardedStationSearch.findByOcmId("ocm_" + ocmId);
+            if (indexed != null) {
+                log.info("Serving station {} from offline index", stationId);
+                return stationResponseMapper.toResponse(indexed);
+            }
+
             log.error("Station not found in OpenChargeMap: {}", stationId);
             throw new RuntimeException(messageService.getMessage("station.not.found"));
         }
@@ -320,10 +408,18 @@ public class StationsService {
         // Convert to Station entity
         Station station = externalStationMapper.fromOpenChargeMap(ocmStation);
 
-        // Try to enrich with Google Places data
-        boolean enriched = false;
+        // A fresh stored enrichment already holds everything Google would return
+        Map<String, StationEnrichment> cached = findFreshEnrichment(List.of(station), EnumSet.allOf(EnrichmentFacet.class));
+        if (cached != null) {
+            enrichmentStore.apply(cached.get(station.getOcmId()), station);
+            station = persistStations(List.of(station), Set.of()).get(0);
+            log.info("Serving station {} with stored Google enrichment", stationId);
+            return stationResponseMapper.toResponse(station);
+        }
 
         // Always try Places API v1 for EV connector data (has availability info)
+        Set<String> supersededIds = Set.of();
+        boolean searchedGoogle = false;
         if (station.getLatitude() != null && station.getLongitude() != null) {
             try {
                 log.info("Trying Places API v1 nearby search for station details");
@@ -332,45 +428,32 @@ public class StationsService {
                     station.getLongitude().doubleValue(),
                     150 // 150 meters radius for detail lookup
                 );
+                searchedGoogle = placesV1Response != null && placesV1Response.getPlaces() != null
+                    && !placesV1Response.getPlaces().isEmpty();
 
+                // Same resolution as the list view, so both link the same Google place
                 if (placesV1Response != null && placesV1Response.getPlaces() != null && !placesV1Response.getPlaces().isEmpty()) {
-                    // Find closest match
-                    double minDistance = Double.MAX_VALUE;
-                    PlacesV1Response.Place closestPlace = null;
-
-                    for (PlacesV1Response.Place place : placesV1Response.getPlaces()) {
-                        if (place.getLocation() != null && place.getLocation().getLatitude() != null && place.getLocation().getLongitude() != null) {
-                            double distance = calculateDistance(
-                                station.getLatitude().doubleValue(),
-                                station.getLongitude().doubleValue(),
-                                place.getLocation().getLatitude().doubleValue(),
-                                place.getLocation().getLongitude().doubleValue()
-                            );
-
-                            if (distance < minDistance) {
-                                minDistance = distance;
-                                closestPlace = place;
-                            }
-                        }
-                    }
-
-                    // If within 150 meters, consider it a match (same threshold as list view)
-                    if (closestPlace != null && minDistance < 0.15) {
-                        externalStationMapper.enrichWithGooglePlacesV1(station, closestPlace);
-                        enriched = true;
-                        log.info("Enriched station with Google Places v1 API (distance: {}m)", minDistance * 111000);
-
-                        // If no photos available, try to find nearby business with photos
-                        if (station.getPhotoReferences() == null || station.getPhotoReferences().equals("[]")) {
-                            tryEnrichWithNearbyBusinessPhotos(station);
-                        }
-                    }
+                    StationEntityResolver.Resolution resolution = stationEntityResolver.resolve(
+                        List.of(station), placesV1Response.getPlaces()
+                    );
+                    station = resolution.stations().get(0);
+                    supersededIds = resolution.supersededIds();
                 }
             } catch (Exception e) {
                 log.warn("Could not enrich station with Google Places v1 nearby search: {}", e.getMessage());
             }
         }
 
+        boolean enriched = station.getGooglePlaceId() != null;
+        if (enriched) {
+            log.info("Enriched station with Google Places v1 API (place: {})", station.getGooglePlaceId());
+
+            // If no photos available, try to find nearby business with photos
+            if (station.getPhotoReferences() == null || station.getPhotoReferences().equals("[]")) {
+                tryEnrichWithNearbyBusinessPhotos(station);
+            }
+        }
+
         // Strategy 3: If still no photos and we have coordinates, add Street View as fallback
         if (enriched && station.getLatitude() != null && station.getLongitude() != null) {
             if (station.getPhotoReferences() == null || station.getPhotoReferences().equals("[]")) {
@@ -382,9 +465,286 @@ public class StationsService {
             log.warn("Station {} could not be enriched with Google Places data", station.getName());
         }
 
+        if (searchedGoogle) {
+            saveEnrichment(List.of(station));
+            stationOccupancyService.recordFromStations(List.of(station));
+        }
+        station = persistStations(List.of(station), supersededIds).get(0);
+
         log.info("Found station from APIs: {} (rating: {})", station.getName(), station.getCombinedRating());
 
-        return mapToResponse(station);
+        return stationResponseMapper.toResponse(station);
+    }
+
+    /**
+     * Content hash of a locally stored station synced within maxAge.
+     * Lets conditional requests be answered without calling the external APIs.
+     *
+     * @param stationId The station ID (format: "ocm_123456")
+     * @return The hash, or empty if the station is unknown, removed or stale
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findFreshContentHash(String stationId, Duration maxAge) {
+        String ocmId = stationId.startsWith("ocm_") || stationId.startsWith(ExternalStationMapper.GOOGLE_STATION_PREFIX)
+            ? stationId
+            : "ocm_" + stationId;
+
+        if (offlineProperties.isEnabled()) {
+            return Optional.ofNullable(shardedStationSearch.findByOcmId(ocmId))
+                .map(Station::getContentHash);
+        }
+
+        LocalDateTime freshAfter = LocalDateTime.now().minus(maxAge);
+
+        return stationRepository.findByOcmId(ocmId)
+            .filter(station -> station.getRemovedAt() == null)
+            .filter(station -> station.getLastSyncAt() != null && station.getLastSyncAt().isAfter(freshAfter))
+            .map(Station::getContentHash);
+    }
+
+    /**
+     * Get station changes inside a region since a sync cursor
+     *
+     * Clients keep an offline cache and send back the returned nextCursor,
+     * so each sync only transfers what was added, changed or removed.
+     */
+    public StationSyncResponseDto getStationChanges(
+        Double minLatitude,
+        Double maxLatitude,
+        Double minLongitude,
+        Double maxLongitude,
+        Long cursor,
+        Integer limit
+    ) {
+        log.info("Fetching station changes: bbox=[{},{}]x[{},{}], cursor={}, limit={}",
+                 minLatitude, maxLatitude, minLongitude, maxLongitude, cursor, limit);
+
+        StationSyncService.ChangesPage page = stationSyncService.findChanges(
+            minLatitude, maxLatitude, minLongitude, maxLongitude, cursor, limit
+        );
+
+        List<StationChangeDto> changes = new ArrayList<>(page.changes().size());
+        for (StationChange change : page.changes()) {
+            Station station = page.stations().get(change.getStationId());
+            boolean removed = change.getChangeType() == StationChangeType.REMOVED || station == null;
+
+            changes.add(StationChangeDto.builder()
+                .version(change.getVersion())
+                .type(removed ? StationChangeType.REMOVED.name() : change.getChangeType().name())
+                .ocmId(change.getOcmId())
+                .station(removed ? null : stationResponseMapper.toResponse(station))
+                .build());
+        }
+
+        return StationSyncResponseDto.builder()
+            .changes(changes)
+            .cursor(cursor)
+            .nextCursor(page.nextCursor())
+            .hasMore(page.hasMore())
+            .build();
+    }
+
+    /**
+     * Text search only biases towards the location; keep places that can be inside the search
+     */
+    private List<PlacesV1Response.Place> withinRadius(List<PlacesV1Response.Place> places, double latitude, double longitude, int radius) {
+        double maxDistance = radius + StationEntityResolver.MATCH_RADIUS_METERS;
+        return places.stream()
+            .filter(place -> place.getLocation() != null
+                && place.getLocation().getLatitude() != null && place.getLocation().getLongitude() != null)
+            .filter(place -> GeoMath.distanceMeters(latitude, longitude,
+                place.getLocation().getLatitude(), place.getLocation().getLongitude()) <= maxDistance)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * One entry per station, closest first. Google-only stations are resolved after the
+     * OCM ones, and a listing merged earlier comes back as its canonical station.
+     */
+    private List<Station> closestFirst(List<Station> stations, double latitude, double longitude) {
+        Map<String, Station> unique = new LinkedHashMap<>();
+        for (Station station : stations) {
+            unique.putIfAbsent(station.getOcmId() != null ? station.getOcmId() : "#" + unique.size(), station);
+        }
+
+        return unique.values().stream()
+            .sorted(Comparator.comparingDouble(station -> station.getLatitude() != null && station.getLongitude() != null
+                ? GeoMath.distanceMeters(latitude, longitude, station.getLatitude().doubleValue(), station.getLongitude().doubleValue())
+                : Double.MAX_VALUE))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Best stations from the station index, across shard nodes when partitioned
+     */
+    private List<Station> findInIndex(Double latitude, Double longitude, Integer radius, Integer limit,
+                                      StationFilter filter, StationSort sort) {
+        return shardedStationSearch.nearby(latitude, longitude, radius, limit != null ? limit : 50, filter, sort);
+    }
+
+    /**
+     * Stations from the shared geo-index if this exact search was fetched upstream recently.
+     * Summaries are enough for unfiltered list views by distance; other searches load the persisted stations.
+     *
+     * @return The stations in the requested order, or null when the search must go upstream
+     */
+    private List<Station> findInGeoIndex(Double latitude, Double longitude, Integer radius, int limit,
+                                         StationFieldSet fieldSet, StationFilter filter, StationSort sort) {
+        if (!stationGeoIndex.isEnabled()) {
+            return null;
+        }
+        boolean filtered = filter != null && !filter.isEmpty();
+        boolean byCost = sort == StationSort.COST;
+        boolean byDistance = sort == null || sort == StationSort.DISTANCE;
+
+        try {
+            if (!stationGeoIndex.isCovered(latitude, longitude, radius, limit)) {
+                return null;
+            }
+
+            List<String> ocmIds = stationGeoIndex.search(latitude, longitude, radius, limit);
+            if (!filtered && byDistance && fieldSet.isSubsetOf(RedisStationGeoIndex.SUMMARY_FIELDS)) {
+                return stationGeoIndex.findSummaries(ocmIds);
+            }
+
+            Map<String, Station> persisted = new HashMap<>();
+            for (Station station : stationRepository.findByOcmIdIn(ocmIds)) {
+                persisted.put(station.getOcmId(), station);
+            }
+            List<Station> stations = new ArrayList<>(ocmIds.size());
+            for (String ocmId : ocmIds) {
+                Station station = persisted.get(ocmId);
+                if (station != null && (!filtered || filter.matches(station))) {
+                    stations.add(station);
+                }
+            }
+            return byCost ? cheapestFirst(stations, filter) : stations;
+        } catch (Exception e) {
+            log.warn("Could not read shared geo-index, fetching upstream: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Mark a search as fetched upstream, once its stations are in the geo-index and the database
+     */
+    private void markCoveredInGeoIndex(Double latitude, Double longitude, Integer radius, int limit) {
+        if (!stationGeoIndex.isEnabled()) {
+            return;
+        }
+
+        try {
+            stationGeoIndex.markCovered(latitude, longitude, radius, limit);
+        } catch (Exception e) {
+            log.warn("Could not mark search as covered in geo-index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stored enrichment for every station, or null if any is missing or stale for the
+     * requested facets (then one Google search refreshes them all)
+     */
+    private Map<String, StationEnrichment> findFreshEnrichment(List<Station> stations, Set<EnrichmentFacet> facets) {
+        if (!enrichmentStore.isEnabled() || stations.isEmpty()) {
+            return null;
+        }
+
+        try {
+            List<String> ocmIds = stations.stream().map(Station::getOcmId).filter(Objects::nonNull).toList();
+            if (ocmIds.size() < stations.size()) {
+                return null;
+            }
+            Map<String, StationEnrichment> entries = enrichmentStore.findAll(ocmIds);
+            for (String ocmId : ocmIds) {
+                if (!enrichmentStore.isFresh(entries.get(ocmId), facets)) {
+                    return null;
+                }
+            }
+            return entries;
+        } catch (Exception e) {
+            log.warn("Could not read stored enrichment, calling Google: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Remember the Google enrichment of stations just resolved against Google
+     */
+    private void saveEnrichment(List<Station> stations) {
+        if (!enrichmentStore.isEnabled()) {
+            return;
+        }
+
+        try {
+            enrichmentStore.saveAll(stations);
+        } catch (Exception e) {
+            log.warn("Could not store Google enrichment: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Google-only stations resolved by earlier searches, for searches that skip Google
+     */
+    private List<Station> findGoogleOnlyStations(double latitude, double longitude, int radius) {
+        double latDelta = radius / GeoMath.METERS_PER_DEGREE;
+        double lonDelta = GeoMath.longitudeDelta(latitude, radius);
+        return stationRepository.findLiveByOcmIdPrefixInBox(
+                ExternalStationMapper.GOOGLE_STATION_PREFIX,
+                BigDecimal.valueOf(latitude - latDelta),
+                BigDecimal.valueOf(latitude + latDelta),
+                BigDecimal.valueOf(longitude - lonDelta),
+                BigDecimal.valueOf(longitude + lonDelta))
+            .stream()
+            .filter(station -> GeoMath.distanceMeters(latitude, longitude,
+                station.getLatitude().doubleValue(), station.getLongitude().doubleValue()) <= radius)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Queue resolved stations for persisting, so they get stable IDs and show up in
+     * delta sync, and publish them to the shared geo-index. Ingest happens in the
+     * background (see StationIngestQueue); failures never cost the response.
+     */
+    private List<Station> persistStations(List<Station> stations, Set<String> supersededIds) {
+        return persistStations(stations, supersededIds, null);
+    }
+
+    /**
+     * Persist and publish resolved stations as above
+     *
+     * @param onIngested Runs once the stations are committed, e.g. to mark the search covered; null for none.
+     *                   Skipped when publishing to the geo-index failed.
+     */
+    private List<Station> persistStations(List<Station> stations, Set<String> supersededIds, Runnable onIngested) {
+        List<Station> persisted;
+        try {
+            persisted = stationSyncService.prepare(stations);
+        } catch (Exception e) {
+            log.warn("Could not read stored stations, serving them as fetched: {}", e.getMessage());
+            persisted = stations;
+        }
+
+        // Stations that weren't prepared still need a fingerprint for HTTP validators
+        for (Station station : persisted) {
+            if (station.getContentHash() == null) {
+                station.setContentHash(stationSyncService.fingerprint(station));
+            }
+        }
+
+        // Publish to the geo-index shared by all nodes
+        boolean indexed = true;
+        if (stationGeoIndex.isEnabled()) {
+            try {
+                stationGeoIndex.index(persisted);
+            } catch (Exception e) {
+                log.warn("Could not update shared geo-index: {}", e.getMessage());
+                indexed = false;
+            }
+        }
+
+        // Stations missing from the geo-index must not be answered from it
+        stationIngestQueue.enqueue(stations, supersededIds, indexed ? onIngested : null);
+        return persisted;
     }
 
     /**
@@ -394,10 +754,13 @@ public class StationsService {
         try {
             log.info("Searching for nearby businesses with photos for station: {}", station.getName());
 
+            double stationLat = station.getLatitude().doubleValue();
+            double stationLon = station.getLongitude().doubleValue();
+
             // Search for any nearby place (not just charging stations) within 50 meters
             GooglePlacesResponse nearbyResponse = googlePlacesService.searchNearbyBusiness(
-                station.getLatitude().doubleValue(),
-                station.getLongitude().doubleValue(),
+                stationLat,
+                stationLon,
                 50 // 50 meters - very close proximity
             );
 
@@ -406,10 +769,10 @@ public class StationsService {
                 for (GooglePlacesResponse.Place place : nearbyResponse.getResults()) {
                     if (place.getGeometry() != null && place.getGeometry().getLocation() != null) {
                         double distance = calculateDistance(
-                            station.getLatitude().doubleValue(),
-                            station.getLongitude().doubleValue(),
-                            place.getGeometry().getLocation().getLat().doubleValue(),
-                            place.getGeometry().getLocation().getLng().doubleValue()
+                            stationLat,
+                            stationLon,
+                            place.getGeometry().getLocation().getLat(),
+                            place.getGeometry().getLocation().getLng()
                         );
 
                         // Within 50 meters (0.05 degrees ≈ 5.5km, so 50m ≈ 0.0005)
@@ -451,37 +814,15 @@ public class StationsService {
      */
     private void addStreetViewPhoto(Station station) {
         try {
-            String streetViewUrl = String.format(
-                "https://maps.googleapis.com/maps/api/streetview?size=800x600&location=%s,%s&key=%s",
-                station.getLatitude(),
-                station.getLongitude(),
-                googlePlacesApiKey
-            );
-
-            // Store as a special marker that this is a Street View photo (not a photo reference)
+            // Store as a special marker that this is a Street View photo (not a photo reference);
+            // the photo proxy builds the keyed URL, so the API key never reaches clients
             List<String> photoUrls = new ArrayList<>();
-            photoUrls.add("streetview:" + streetViewUrl);
+            photoUrls.add(GooglePlacesService.STREET_VIEW_PREFIX
+                + station.getLatitude().toPlainString() + "," + station.getLongitude().toPlainString());
             station.setPhotoReferences(objectMapper.writeValueAsString(photoUrls));
             log.info("Added Street View photo for station: {}", station.getName());
         } catch (Exception e) {
             log.warn("Error adding Street View photo: {}", e.getMessage());
         }
     }
-
-    /**
-     * Build complete Google Places Photo URL from photo reference
-     */
-    private String buildPhotoUrl(String photoReference) {
-        // Check if this is a Street View URL (starts with "streetview:")
-        if (photoReference.startsWith("streetview:")) {
-            return photoReference.substring(11); // Remove "streetview:" prefix
-        }
-
-        // Regular Google Places photo
-        return String.format(
-            "https://maps.googleapis.com/maps/api/place/photo?maxwidth=800&photo_reference=%s&key=%s",
-            photoReference,
-            googlePlacesApiKey
-        );
-    }
 }
@@ -0,0 +1,272 @@
+package com.barbatech.natomada.stations.application.services;
+
+import com.barbatech.natomada.infrastructure.i18n.MessageSourceService;
+import com.barbatech.natomada.stations.application.dtos.TripPlanResponseDto;
+import com.barbatech.natomada.stations.application.mappers.StationResponseMapper;
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.index.RouteCorridor;
+import com.barbatech.natomada.stations.infrastructure.index.StationFilter;
+import com.barbatech.natomada.stations.infrastructure.trip.ChargingCurve;
+import com.barbatech.natomada.stations.infrastructure.trip.TripPlannerProperties;
+import com.barbatech.natomada.stations.infrastructure.trip.VehicleBattery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Service for planning EV trips: which chargers to stop at, and how long
+ *
+ * The fast chargers in the route corridor that fit the user's car become the
+ * nodes of a graph between origin and destination. An A* search over
+ * (node, state of charge) states picks the stops and charge targets that
+ * minimize driving plus charging time, with the tapered charging curve and
+ * the power of each station's fastest connector the car plugs into.
+ * Candidates are thinned to the fastest per stretch of route so the search
+ * stays small enough to answer synchronously.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TripPlannerService {
+
+    private static final int PERCENT_STATES = 101;
+
+    private final StationsService stationsService;
+    private final ChargingEstimateService chargingEstimateService;
+    private final StationResponseMapper stationResponseMapper;
+    private final TripPlannerProperties properties;
+    private final MessageSourceService messageService;
+
+    /**
+     * A charger the search may stop at
+     *
+     * @param powerKw Peak power the car draws there
+     */
+    record Candidate(Station station, double alongMeters, double offsetMeters, double powerKw) {
+    }
+
+    record Stop(Candidate candidate, int arrivalSoc, int departureSoc, double chargingMinutes) {
+    }
+
+    record Plan(List<Stop> stops, double distanceMeters, double drivingMinutes, double chargingMinutes, int arrivalSoc) {
+    }
+
+    private record Entry(int state, double cost, double estimate) {
+    }
+
+    /**
+     * Plan the charging stops of a trip
+     *
+     * @param vehicleId The user's vehicle to plan for, or null for their primary vehicle
+     * @param startSoc State of charge at departure (percent)
+     * @param arrivalSoc State of charge wanted at the destination (percent)
+     * @throws IllegalArgumentException When the user has no such vehicle
+     */
+    @Transactional(readOnly = true)
+    public TripPlanResponseDto planTrip(Long userId, Long vehicleId, String polyline, RouteCorridor corridor,
+                                        int startSoc, int arrivalSoc) {
+        VehicleBattery battery = chargingEstimateService.findBattery(userId, vehicleId)
+            .orElseThrow(() -> new IllegalArgumentException(messageService.getMessage("vehicle.not.found")));
+
+        StationFilter filter = StationFilter.builder().minPowerKw(properties.getMinStopPowerKw()).build();
+        List<Station> stations = stationsService.findStationsAlongRoute(
+            polyline, corridor, properties.getMaxFetchedStations(), filter);
+        List<Candidate> candidates = candidates(stations, battery, corridor.lengthMeters());
+
+        long started = System.nanoTime();
+        Plan plan = search(candidates, corridor.lengthMeters(), battery, startSoc, arrivalSoc);
+        log.info("Planned a {}m trip over {} candidates in {}ms: {}", Math.round(corridor.lengthMeters()),
+            candidates.size(), (System.nanoTime() - started) / 1_000_000,
+            plan != null ? plan.stops().size() + " stops" : "infeasible");
+
+        return plan != null ? toResponse(plan) : infeasible(corridor.lengthMeters());
+    }
+
+    /**
+     * Chargers the car can plug into, keeping the fastest (then closest to the road) of each stretch of route
+     */
+    List<Candidate> candidates(List<Station> stations, VehicleBattery battery, double lengthMeters) {
+        int buckets = Math.max(1, properties.getMaxCandidates());
+        double bucketMeters = Math.max(1, lengthMeters / buckets);
+        Map<Integer, Candidate> fastest = new TreeMap<>();
+
+        for (Station station : stations) {
+            double powerKw = chargingEstimateService.powerKw(station, battery);
+            if (!(powerKw >= properties.getMinStopPowerKw()) || station.getDistanceAlongRouteMeters() == null) {
+                continue;
+            }
+
+            double offset = station.getDistanceFromRouteMeters() != null ? station.getDistanceFromRouteMeters() : 0;
+            Candidate candidate = new Candidate(station, station.getDistanceAlongRouteMeters(), offset, powerKw);
+            int bucket = (int) Math.min(buckets - 1, candidate.alongMeters() / bucketMeters);
+            Candidate kept = fastest.get(bucket);
+            if (kept == null || candidate.powerKw() > kept.powerKw()
+                || (candidate.powerKw() == kept.powerKw() && candidate.offsetMeters() < kept.offsetMeters())) {
+                fastest.put(bucket, candidate);
+            }
+        }
+
+        List<Candidate> kept = new ArrayList<>(fastest.values());
+        kept.sort(Comparator.comparingDouble(Candidate::alongMeters));
+        return kept;
+    }
+
+    /**
+     * Fastest plan from origin to destination, or null when none is found.
+     *
+     * Node 0 is the origin, 1..n the candidates in driving order and n + 1 the
+     * destination; a state is a node with the whole percent of charge left on
+     * leaving it. Driving between two nodes costs the stretch of route between
+     * them plus both detours. The estimate (remaining driving time plus the
+     * missing charge at the best power) never overstates, so the first time the
+     * destination is taken off the queue the plan is optimal.
+     */
+    Plan search(List<Candidate> candidates, double lengthMeters, VehicleBattery battery, int startSoc, int arrivalSoc) {
+        int n = candidates.size(), destination = n + 1;
+        double[] along = new double[n + 2], offset = new double[n + 2], power = new double[n + 2];
+        double bestPower = 0;
+        for (int i = 0; i < n; i++) {
+            Candidate candidate = candidates.get(i);
+            along[i + 1] = candidate.alongMeters();
+            offset[i + 1] = candidate.offsetMeters();
+            power[i + 1] = candidate.powerKw();
+            bestPower = Math.max(bestPower, candidate.powerKw());
+        }
+        along[destination] = lengthMeters;
+
+        double percentPerMeter = properties.getConsumptionKwhPerKm() / 1000 / battery.capacityKwh() * 100;
+        double minutesPerMeter = 60 / (properties.getAverageSpeedKmh() * 1000);
+        double minutesPerPercent = bestPower > 0 ? battery.capacityKwh() / 100 / bestPower * 60 : Double.POSITIVE_INFINITY;
+        double overhead = properties.getStopOverhead().toSeconds() / 60.0;
+        int reserve = properties.getReservePercent();
+        int maxCharge = Math.min(100, properties.getMaxChargePercent());
+        int step = Math.max(1, properties.getChargeStepPercent());
+        int lowestArrival = Math.min(reserve, arrivalSoc);
+
+        int states = (n + 2) * PERCENT_STATES;
+        double[] cost = new double[states];
+        int[] parent = new int[states], arrived = new int[states];
+        double[] charged = new double[states];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+
+        PriorityQueue<Entry> open = new PriorityQueue<>(Comparator.comparingDouble(Entry::estimate));
+        int start = Math.max(0, Math.min(100, startSoc));
+        cost[start] = 0;
+        parent[start] = -1;
+        open.add(new Entry(start, 0, 0));
+        int expanded = 0;
+
+        while (!open.isEmpty()) {
+            Entry entry = open.poll();
+            if (entry.cost() > cost[entry.state()]) {
+                continue;
+            }
+            int node = entry.state() / PERCENT_STATES, soc = entry.state() % PERCENT_STATES;
+            if (node == destination) {
+                return toPlan(entry.state(), parent, arrived, charged, candidates, along, offset, minutesPerMeter);
+            }
+            if (++expanded > properties.getMaxExpandedStates()) {
+                log.warn("Trip search gave up after {} states", expanded - 1);
+                return null;
+            }
+
+            double reach = (soc - lowestArrival) / percentPerMeter;
+            for (int next = node + 1; next <= destination && along[next] - along[node] <= reach; next++) {
+                double meters = along[next] - along[node] + offset[node] + offset[next];
+                double left = soc - meters * percentPerMeter;
+                double driving = meters * minutesPerMeter;
+
+                if (next == destination) {
+                    if (left >= arrivalSoc) {
+                        relax(open, cost, parent, arrived, charged, entry, next * PERCENT_STATES + (int) left,
+                            driving, (int) left, 0, 0);
+                    }
+                    continue;
+                }
+                if (left < reserve) {
+                    continue;
+                }
+
+                // Charge to each step above the arrival charge; passing a charger by is the direct edge
+                int arrival = (int) left;
+                double remaining = lengthMeters - along[next];
+                for (int target = (arrival / step + 1) * step; target < maxCharge + step; target += step) {
+                    int departure = Math.min(target, maxCharge);
+                    if (departure <= arrival) {
+                        break;
+                    }
+                    double charging = ChargingCurve.minutes(battery.capacityKwh(), power[next], arrival, departure);
+                    double deficit = Math.max(0, remaining * percentPerMeter + arrivalSoc - departure);
+                    double estimate = remaining * minutesPerMeter + deficit * minutesPerPercent;
+                    relax(open, cost, parent, arrived, charged, entry, next * PERCENT_STATES + departure,
+                        driving + overhead + charging, arrival, charging, estimate);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void relax(PriorityQueue<Entry> open, double[] cost, int[] parent, int[] arrived, double[] charged,
+                              Entry from, int state, double minutes, int arrival, double charging, double estimate) {
+        double reached = from.cost() + minutes;
+        if (reached < cost[state]) {
+            cost[state] = reached;
+            parent[state] = from.state();
+            arrived[state] = arrival;
+            charged[state] = charging;
+            open.add(new Entry(state, reached, reached + estimate));
+        }
+    }
+
+    private Plan toPlan(int goal, int[] parent, int[] arrived, double[] charged, List<Candidate> candidates,
+                        double[] along, double[] offset, double minutesPerMeter) {
+        LinkedList<Stop> stops = new LinkedList<>();
+        double meters = 0, chargingMinutes = 0;
+        for (int state = goal; parent[state] >= 0; state = parent[state]) {
+            int node = state / PERCENT_STATES, previous = parent[state] / PERCENT_STATES;
+            meters += along[node] - along[previous] + offset[node] + offset[previous];
+            if (node <= candidates.size()) {
+                stops.addFirst(new Stop(candidates.get(node - 1), arrived[state], state % PERCENT_STATES, charged[state]));
+                chargingMinutes += charged[state];
+            }
+        }
+        return new Plan(stops, meters, meters * minutesPerMeter, chargingMinutes, arrived[goal]);
+    }
+
+    private TripPlanResponseDto toResponse(Plan plan) {
+        double overhead = properties.getStopOverhead().toSeconds() / 60.0 * plan.stops().size();
+        List<TripPlanResponseDto.ChargingStopDto> stops = new ArrayList<>(plan.stops().size());
+        for (Stop stop : plan.stops()) {
+            stops.add(TripPlanResponseDto.ChargingStopDto.builder()
+                .station(stationResponseMapper.toResponse(stop.candidate().station()))
+                .distanceAlongRouteMeters(Math.round(stop.candidate().alongMeters()))
+                .arrivalSoc(stop.arrivalSoc())
+                .departureSoc(stop.departureSoc())
+                .chargingMinutes((long) Math.ceil(stop.chargingMinutes()))
+                .chargingPowerKw(stop.candidate().powerKw())
+                .build());
+        }
+
+        return TripPlanResponseDto.builder()
+            .feasible(true)
+            .distanceMeters(Math.round(plan.distanceMeters()))
+            .drivingMinutes(Math.round(plan.drivingMinutes()))
+            .chargingMinutes((long) Math.ceil(plan.chargingMinutes()))
+            .totalMinutes(Math.round(plan.drivingMinutes() + plan.chargingMinutes() + overhead))
+            .arrivalSoc(plan.arrivalSoc())
+            .stops(stops)
+            .build();
+    }
+
+    private TripPlanResponseDto infeasible(double lengthMeters) {
+        return TripPlanResponseDto.builder()
+            .feasible(false)
+            .distanceMeters(Math.round(lengthMeters))
+            .drivingMinutes(Math.round(lengthMeters / 1000 / properties.getAverageSpeedKmh() * 60))
+            .stops(List.of())
+            .build();
+    }
+}
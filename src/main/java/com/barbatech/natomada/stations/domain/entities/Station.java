@@ -12,6 +12,7 @@ import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Domain Entity: Station (Charging Station)
@@ -25,7 +26,7 @@ import java.time.LocalDateTime;
     @Index(name = "idx_station_location", columnList = "latitude, longitude")
 })
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Station {
@@ -86,6 +87,10 @@ public class Station {
     @Column(columnDefinition = "jsonb")
     private String connectors;
 
+    // Highest rated connector power (kW), computed from the connectors at ingest
+    @Column(name = "max_power_kw", precision = 6, scale = 1)
+    private BigDecimal maxPowerKw;
+
     // Operator Information
     @Column(name = "operator_name", length = 255)
     private String operatorName;
@@ -119,6 +124,22 @@ public class Station {
     @Column(name = "usage_cost", length = 255)
     private String usageCost;
 
+    // Cost parsed from usageCost at ingest (local currency), with how reliably it was understood (0-1)
+    @Column(name = "cost_per_kwh", precision = 10, scale = 4)
+    private BigDecimal costPerKwh;
+
+    @Column(name = "cost_per_minute", precision = 10, scale = 4)
+    private BigDecimal costPerMinute;
+
+    @Column(name = "session_fee", precision = 10, scale = 2)
+    private BigDecimal sessionFee;
+
+    @Column(name = "is_free")
+    private Boolean isFree;
+
+    @Column(name = "cost_confidence", precision = 3, scale = 2)
+    private BigDecimal costConfidence;
+
     // OCM Ratings
     @Column(name = "ocm_rating", precision = 3, scale = 2)
     private BigDecimal ocmRating;
@@ -152,6 +173,11 @@ public class Station {
     @Column(name = "is_open_24h", nullable = false)
     private Boolean isOpen24h = false;
 
+    // Opening hours parsed at ingest: sorted [open, close) minute-of-week pairs, 0 = Monday 00:00
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "opening_intervals", columnDefinition = "integer[]")
+    private int[] openingIntervals;
+
     // Photo References (JSON)
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "photo_references", columnDefinition = "jsonb")
@@ -162,6 +188,11 @@ public class Station {
     @Column(name = "amenities", columnDefinition = "jsonb")
     private String amenities;
 
+    // Amenities as an Amenity bitmask, so filters are a bitwise AND
+    @Builder.Default
+    @Column(name = "amenity_mask", nullable = false)
+    private Integer amenityMask = 0;
+
     // Metadata
     @Column(name = "last_verified_at")
     private LocalDateTime lastVerifiedAt;
@@ -173,6 +204,35 @@ public class Station {
     @Column(name = "last_sync_at")
     private LocalDateTime lastSyncAt;
 
+    // Delta sync
+    @Column(name = "content_hash", length = 32)
+    private String contentHash;
+
+    @Column(name = "change_version")
+    private Long changeVersion;
+
+    @Column(name = "removed_at")
+    private LocalDateTime removedAt;
+
+    // Entity resolution: source records merged into this station, linked at ingest
+    @Transient
+    private List<StationSource> sources;
+
+    // Chance (0-1) that a connector is free at the requester's ETA, from availability history
+    @Transient
+    private Double likelyFreeAtEta;
+
+    // Minutes to charge the requester's car across their charge window here, from the tapered charging curve
+    @Transient
+    private Integer chargingMinutes;
+
+    // Position along the requester's route, for route corridor searches
+    @Transient
+    private Double distanceAlongRouteMeters;
+
+    @Transient
+    private Double distanceFromRouteMeters;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,55 @@
+package com.barbatech.natomada.stations.domain.entities;
+
+import com.barbatech.natomada.stations.domain.enums.StationChangeType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Domain Entity: StationChange
+ *
+ * Append-only change log entry. The version is a monotonically increasing
+ * cursor that mobile clients use to request only what changed since their
+ * last sync. Coordinates are copied so removals can be filtered by region.
+ */
+@Entity
+@Table(name = "station_changes", indexes = {
+    @Index(name = "idx_station_change_location", columnList = "latitude, longitude"),
+    @Index(name = "idx_station_change_station_id", columnList = "station_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long version;
+
+    @Column(name = "station_id", nullable = false)
+    private Long stationId;
+
+    @Column(name = "ocm_id", nullable = false, length = 255)
+    private String ocmId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private StationChangeType changeType;
+
+    @Column(nullable = false, precision = 10, scale = 7)
+    private BigDecimal latitude;
+
+    @Column(nullable = false, precision = 10, scale = 7)
+    private BigDecimal longitude;
+
+    @CreationTimestamp
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+}
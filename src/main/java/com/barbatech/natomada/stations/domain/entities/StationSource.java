@@ -0,0 +1,55 @@
+package com.barbatech.natomada.stations.domain.entities;
+
+import com.barbatech.natomada.stations.domain.enums.StationSourceType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain Entity: StationSource
+ *
+ * Links a canonical station to an external record resolved into it:
+ * duplicate OCM listings of the same site and the matching Google place.
+ * A source belongs to exactly one station at a time.
+ */
+@Entity
+@Table(name = "station_sources",
+    uniqueConstraints = @UniqueConstraint(name = "uk_station_source", columnNames = {"source_type", "source_id"}),
+    indexes = {
+        @Index(name = "idx_station_source_station_id", columnList = "station_id"),
+        @Index(name = "idx_station_source_source_id", columnList = "source_id")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationSource {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "station_id", nullable = false)
+    private Long stationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source_type", nullable = false, length = 10)
+    private StationSourceType sourceType;
+
+    @Column(name = "source_id", nullable = false, length = 255)
+    private String sourceId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,119 @@
+package com.barbatech.natomada.stations.domain.enums;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Enum representing amenities near a station, as returned by the API ("restroom", "food").
+ * Each amenity owns one bit, so a station's amenities fit in an int mask.
+ *
+ * Masks are persisted (stations.amenity_mask), so new amenities must be appended.
+ */
+public enum Amenity {
+    PARKING("parking"),
+    RESTAURANT("restaurant"),
+    CAFE("cafe"),
+    FOOD("food"),
+    SHOPPING("shopping"),
+    CONVENIENCE_STORE("convenience_store"),
+    GAS_STATION("gas_station"),
+    ATM("atm"),
+    RESTROOM("restroom"),
+    PHARMACY("pharmacy"),
+    HOSPITAL("hospital"),
+    GYM("gym"),
+    SPA("spa"),
+    ENTERTAINMENT("entertainment"),
+    WHEELCHAIR_ACCESSIBLE("wheelchair_accessible");
+
+    private final String key;
+
+    Amenity(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Name of this amenity in API responses and filters
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Bit of this amenity in an amenity mask
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Whether an amenity mask contains this amenity
+     */
+    public boolean in(int mask) {
+        return (mask & mask()) != 0;
+    }
+
+    /**
+     * Amenity by API name, or null if unknown
+     */
+    public static Amenity fromKey(String key) {
+        if (key == null) {
+            return null;
+        }
+        String normalized = key.trim().toLowerCase();
+        for (Amenity amenity : values()) {
+            if (amenity.key.equals(normalized)) {
+                return amenity;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mask of the known amenity names in a collection; unknown names are ignored
+     */
+    public static int maskOf(Collection<String> keys) {
+        int mask = 0;
+        for (String key : keys) {
+            Amenity amenity = fromKey(key);
+            if (amenity != null) {
+                mask |= amenity.mask();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Mask of the amenity names a client filters by; blank names are skipped
+     *
+     * @throws IllegalArgumentException When a name is not a known amenity
+     */
+    public static int parseMask(Collection<String> keys) {
+        int mask = 0;
+        for (String key : keys) {
+            if (key == null || key.isBlank()) {
+                continue;
+            }
+            Amenity amenity = fromKey(key);
+            if (amenity == null) {
+                throw new IllegalArgumentException("Comodidade desconhecida: " + key);
+            }
+            mask |= amenity.mask();
+        }
+        return mask;
+    }
+
+    /**
+     * API names of the amenities in a mask, in declaration order
+     */
+    public static List<String> keys(int mask) {
+        List<String> keys = new ArrayList<>(Integer.bitCount(mask));
+        for (Amenity amenity : values()) {
+            if (amenity.in(mask)) {
+                keys.add(amenity.key);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,79 @@
+package com.barbatech.natomada.stations.domain.enums;
+
+/**
+ * Enum representing normalized EV connector types.
+ * Each type owns one bit, so a station's connectors fit in an int mask.
+ */
+public enum ConnectorType {
+    TYPE_1,
+    TYPE_2,
+    CCS_1,
+    CCS_2,
+    CHADEMO,
+    TESLA,
+    NACS,
+    GB_T,
+    WALL_OUTLET,
+    OTHER;
+
+    /**
+     * Bit of this type in a connector mask
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Whether a connector mask contains this type
+     */
+    public boolean in(int mask) {
+        return (mask & mask()) != 0;
+    }
+
+    /**
+     * Mask of the station connectors a vehicle with this charge port can plug into.
+     * Combined (CCS) ports also take the AC plug they extend; OTHER is unknown, so 0.
+     */
+    public int compatibleMask() {
+        return switch (this) {
+            case CCS_1 -> CCS_1.mask() | TYPE_1.mask();
+            case CCS_2 -> CCS_2.mask() | TYPE_2.mask();
+            case TESLA, NACS -> TESLA.mask() | NACS.mask();
+            case OTHER -> 0;
+            default -> mask();
+        };
+    }
+
+    /**
+     * Normalize a connector title from OpenChargeMap or Google Places
+     * (e.g. "CCS (Type 2)", "Type 2 (Socket Only)", "EV_CONNECTOR_TYPE_CHADEMO")
+     */
+    public static ConnectorType fromTitle(String title) {
+        if (title == null) {
+            return OTHER;
+        }
+
+        String lower = title.toLowerCase().replace("ev_connector_type_", "").replace('_', ' ');
+
+        if (lower.contains("ccs") || lower.contains("combo")) {
+            boolean type1 = lower.contains("type 1") || lower.contains("combo 1")
+                || lower.contains("ccs1") || lower.contains("ccs 1");
+            return type1 ? CCS_1 : CCS_2;
+        } else if (lower.contains("chademo")) {
+            return CHADEMO;
+        } else if (lower.contains("nacs")) {
+            return NACS;
+        } else if (lower.contains("tesla")) {
+            return TESLA;
+        } else if (lower.contains("gb/t") || lower.contains("gbt") || lower.contains("gb t")) {
+            return GB_T;
+        } else if (lower.contains("type 2") || lower.contains("mennekes")) {
+            return TYPE_2;
+        } else if (lower.contains("type 1") || lower.contains("j1772")) {
+            return TYPE_1;
+        } else if (lower.contains("wall") || lower.contains("outlet") || lower.contains("schuko") || lower.contains("nema")) {
+            return WALL_OUTLET;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,21 @@
+package com.barbatech.natomada.stations.domain.enums;
+
+/**
+ * Enum for station change log entry types
+ */
+public enum StationChangeType {
+    /**
+     * Station seen for the first time (or back after a removal)
+     */
+    ADDED,
+
+    /**
+     * Station content changed since the previous version
+     */
+    UPDATED,
+
+    /**
+     * Station removed at the source
+     */
+    REMOVED
+}
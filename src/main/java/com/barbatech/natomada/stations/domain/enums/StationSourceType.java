@@ -0,0 +1,16 @@
+package com.barbatech.natomada.stations.domain.enums;
+
+/**
+ * Enum for the external sources a station is resolved from
+ */
+public enum StationSourceType {
+    /**
+     * OpenChargeMap POI (source ID: ocm_123)
+     */
+    OCM,
+
+    /**
+     * Google Places place (source ID: place ID)
+     */
+    GOOGLE
+}
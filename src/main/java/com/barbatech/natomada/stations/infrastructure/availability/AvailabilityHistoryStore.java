@@ -0,0 +1,178 @@
+package com.barbatech.natomada.stations.infrastructure.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Availability samples and the occupancy histograms rolled up from them, stored in PostgreSQL
+ *
+ * Tables (see V13, V20):
+ * - station_availability_samples    range-partitioned by month of sampled_at, with no DEFAULT partition:
+ *                                   a sample of a month without partition fails its batch
+ * - station_occupancy_histograms    one row per station and hour of the week
+ * - station_occupancy_rollups       how far samples have been rolled up
+ *
+ * Plain JDBC rather than JPA: samples are append-only, have no identity and
+ * are written in large batches.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityHistoryStore {
+
+    private static final String SAMPLES_TABLE = "station_availability_samples";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_y'yyyy'm'MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile(SAMPLES_TABLE + "_y(\\d{4})m(\\d{2})");
+
+    private static final String INSERT_SAMPLE =
+        "INSERT INTO station_availability_samples " +
+        "(ocm_id, sampled_at, hour_of_week, total_count, available_count, out_of_service_count) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Occupancy of a sample: busy connectors over connectors in service (fully busy when none is in service)
+    private static final String ROLL_UP =
+        "INSERT INTO station_occupancy_histograms (ocm_id, hour_of_week, samples, free_samples, occupancy_sum, updated_at) " +
+        "SELECT ocm_id, hour_of_week, COUNT(*), COUNT(*) FILTER (WHERE available_count > 0), " +
+        "       SUM(COALESCE(GREATEST(total_count - available_count - out_of_service_count, 0)::float8 " +
+        "                    / NULLIF(total_count - out_of_service_count, 0), 1)), " +
+        "       CURRENT_TIMESTAMP " +
+        "FROM station_availability_samples " +
+        "WHERE sampled_at >= ? AND sampled_at < ? " +
+        "GROUP BY ocm_id, hour_of_week " +
+        "ON CONFLICT (ocm_id, hour_of_week) DO UPDATE SET " +
+        "    samples = station_occupancy_histograms.samples + EXCLUDED.samples, " +
+        "    free_samples = station_occupancy_histograms.free_samples + EXCLUDED.free_samples, " +
+        "    occupancy_sum = station_occupancy_histograms.occupancy_sum + EXCLUDED.occupancy_sum, " +
+        "    updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * One observation of a station's connectors
+     */
+    public record Sample(String ocmId, LocalDateTime sampledAt, int hourOfWeek, int total, int available, int outOfService) {
+    }
+
+    /**
+     * Histogram bucket of a station for one hour of the week
+     */
+    public record HourBucket(String ocmId, int hourOfWeek, int samples, int freeSamples) {
+    }
+
+    public void insertBatch(List<Sample> samples) {
+        jdbcTemplate.batchUpdate(INSERT_SAMPLE, samples, samples.size(), (statement, sample) -> {
+            statement.setString(1, sample.ocmId());
+            statement.setTimestamp(2, Timestamp.valueOf(sample.sampledAt()));
+            statement.setShort(3, (short) sample.hourOfWeek());
+            statement.setShort(4, clamp(sample.total()));
+            statement.setShort(5, clamp(sample.available()));
+            statement.setShort(6, clamp(sample.outOfService()));
+        });
+    }
+
+    /**
+     * Roll samples taken before a point in time into the histograms, continuing where
+     * the last roll-up stopped. The row lock makes concurrent nodes take turns.
+     *
+     * @return The start of the rolled up window, or null if there was nothing new
+     */
+    @Transactional
+    public LocalDateTime rollUpUntil(LocalDateTime until) {
+        LocalDateTime from = jdbcTemplate.queryForObject(
+            "SELECT rolled_up_until FROM station_occupancy_rollups WHERE id = 1 FOR UPDATE",
+            LocalDateTime.class
+        );
+        if (from == null || !from.isBefore(until)) {
+            return null;
+        }
+
+        jdbcTemplate.update(ROLL_UP, Timestamp.valueOf(from), Timestamp.valueOf(until));
+        jdbcTemplate.update("UPDATE station_occupancy_rollups SET rolled_up_until = ? WHERE id = 1", Timestamp.valueOf(until));
+        return from;
+    }
+
+    /**
+     * Histogram buckets of some stations for some hours of the week
+     */
+    public List<HourBucket> findBuckets(Collection<String> ocmIds, Collection<Integer> hoursOfWeek) {
+        if (ocmIds.isEmpty() || hoursOfWeek.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return namedJdbcTemplate.query(
+            "SELECT ocm_id, hour_of_week, samples, free_samples FROM station_occupancy_histograms " +
+            "WHERE ocm_id IN (:ocmIds) AND hour_of_week IN (:hours)",
+            new MapSqlParameterSource()
+                .addValue("ocmIds", ocmIds)
+                .addValue("hours", hoursOfWeek),
+            (row, rowNum) -> new HourBucket(
+                row.getString("ocm_id"),
+                row.getInt("hour_of_week"),
+                row.getInt("samples"),
+                row.getInt("free_samples")
+            )
+        );
+    }
+
+    /**
+     * Create the monthly partition of each given month if it doesn't exist yet
+     */
+    public void createPartitions(YearMonth first, int months) {
+        for (int i = 0; i < months; i++) {
+            YearMonth month = first.plusMonths(i);
+            jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s%s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                SAMPLES_TABLE, month.format(PARTITION_SUFFIX), SAMPLES_TABLE,
+                month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay()
+            ));
+        }
+    }
+
+    /**
+     * Drop monthly partitions of months before the given one
+     *
+     * @return Names of the dropped partitions
+     */
+    public List<String> dropPartitionsBefore(YearMonth oldestKept) {
+        List<String> partitions = jdbcTemplate.queryForList(
+            "SELECT child.relname FROM pg_inherits " +
+            "JOIN pg_class parent ON parent.oid = pg_inherits.inhparent " +
+            "JOIN pg_class child ON child.oid = pg_inherits.inhrelid " +
+            "WHERE parent.relname = ?",
+            String.class,
+            SAMPLES_TABLE
+        );
+
+        List<String> dropped = new ArrayList<>();
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (matcher.matches()
+                && YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))).isBefore(oldestKept)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                dropped.add(partition);
+            }
+        }
+        return dropped;
+    }
+
+    private static short clamp(int value) {
+        return (short) Math.max(0, Math.min(value, Short.MAX_VALUE));
+    }
+}
@@ -0,0 +1,91 @@
+package com.barbatech.natomada.stations.infrastructure.availability;
+
+import com.barbatech.natomada.stations.application.dtos.StationAvailabilityDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Last polled connector availability, shared by all API nodes through Redis
+ *
+ * Keys:
+ * - natomada:stations:availability:{ocmId}         JSON StationAvailabilityDto
+ * - natomada:stations:availability:lease:{ocmId}   held by the node polling the station this interval
+ *
+ * Whichever node takes the lease polls Google; every node watching the
+ * station reads the result from here, so a station is polled once per
+ * interval no matter how many nodes and subscribers watch it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisAvailabilityFeed {
+
+    private static final String AVAILABILITY_PREFIX = "natomada:stations:availability:";
+    private static final String LEASE_PREFIX = "natomada:stations:availability:lease:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final StationAvailabilityProperties properties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Last polled availability by station, skipping stations without one
+     */
+    public Map<String, StationAvailabilityDto> findAll(Collection<String> stationIds) {
+        if (stationIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<String> ids = new ArrayList<>(stationIds);
+        List<String> values = redisTemplate.opsForValue().multiGet(ids.stream().map(id -> AVAILABILITY_PREFIX + id).toList());
+        if (values == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, StationAvailabilityDto> snapshots = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (values.get(i) == null) {
+                continue;
+            }
+            try {
+                snapshots.put(ids.get(i), objectMapper.readValue(values.get(i), StationAvailabilityDto.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Discarding unreadable availability for station {}: {}", ids.get(i), e.getMessage());
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Claim the poll of a station for this interval
+     *
+     * @return true if this node should call upstream
+     */
+    public boolean tryLease(String stationId) {
+        return Boolean.TRUE.equals(
+            redisTemplate.opsForValue().setIfAbsent(LEASE_PREFIX + stationId, "1", properties.getPollInterval())
+        );
+    }
+
+    public void save(StationAvailabilityDto availability) {
+        try {
+            redisTemplate.opsForValue().set(
+                AVAILABILITY_PREFIX + availability.getStationId(),
+                objectMapper.writeValueAsString(availability),
+                properties.getSnapshotTtl()
+            );
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize availability for station {}: {}", availability.getStationId(), e.getMessage());
+        }
+    }
+}
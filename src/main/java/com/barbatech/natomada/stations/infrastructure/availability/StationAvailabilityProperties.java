@@ -0,0 +1,42 @@
+package com.barbatech.natomada.stations.infrastructure.availability;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for live connector availability
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stations.availability")
+public class StationAvailabilityProperties {
+
+    /**
+     * How often a watched station is polled from Google, across all nodes
+     */
+    private Duration pollInterval = Duration.ofSeconds(30);
+
+    /**
+     * Upstream calls made in parallel per poll
+     */
+    private int pollConcurrency = 8;
+
+    /**
+     * Upstream calls still running after this long are skipped until the next poll;
+     * google.places.timeout bounds the call itself, so keep it shorter than this
+     */
+    private Duration fetchTimeout = Duration.ofSeconds(10);
+
+    /**
+     * How long the last polled availability is kept in Redis
+     */
+    private Duration snapshotTtl = Duration.ofMinutes(10);
+
+    /**
+     * Subscriptions are closed after this long; clients reconnect
+     */
+    private Duration subscriptionTimeout = Duration.ofMinutes(30);
+}
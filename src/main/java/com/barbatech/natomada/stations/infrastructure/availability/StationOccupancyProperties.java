@@ -0,0 +1,48 @@
+package com.barbatech.natomada.stations.infrastructure.availability;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for availability history and occupancy prediction
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stations.occupancy")
+public class StationOccupancyProperties {
+
+    /**
+     * Record availability samples and score stations from them
+     */
+    private boolean enabled = true;
+
+    /**
+     * Zone the hours of the week are counted in
+     */
+    private String zone = "America/Sao_Paulo";
+
+    /**
+     * Samples are buffered in memory and batch-inserted at this interval
+     */
+    private Duration flushInterval = Duration.ofSeconds(10);
+
+    private int batchSize = 500;
+
+    /**
+     * Samples buffered beyond this are dropped (database down)
+     */
+    private int maxPending = 50_000;
+
+    /**
+     * Monthly sample partitions older than this are dropped
+     */
+    private int retentionMonths = 6;
+
+    /**
+     * Samples an hour of the week needs before a station gets a score
+     */
+    private int minSamples = 4;
+}
@@ -0,0 +1,108 @@
+package com.barbatech.natomada.stations.infrastructure.connectors;
+
+import com.barbatech.natomada.stations.domain.enums.ConnectorType;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parses the connectors JSON of stations for ranking, charging estimates and occupancy
+ *
+ * Results are memoized by the JSON itself, since the same listings come back
+ * search after search; the memo is cleared when it grows past its bound.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StationConnectorParser {
+
+    private static final TypeReference<List<Map<String, Object>>> CONNECTOR_LIST = new TypeReference<>() {};
+
+    private static final ConnectorType[] CONNECTOR_TYPES = ConnectorType.values();
+
+    private static final StationConnectors NONE = new StationConnectors(0, new double[CONNECTOR_TYPES.length], false, 0, 0, 0);
+
+    private static final int MAX_PARSED = 50_000;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, StationConnectors> parsed = new ConcurrentHashMap<>();
+
+    /**
+     * Connectors of a connectors JSON; nothing is known for a missing or unreadable one
+     */
+    public StationConnectors parse(String connectors) {
+        if (connectors == null || connectors.isEmpty()) {
+            return NONE;
+        }
+        StationConnectors cached = parsed.get(connectors);
+        if (cached != null) {
+            return cached;
+        }
+
+        StationConnectors result = read(connectors);
+        if (parsed.size() >= MAX_PARSED) {
+            parsed.clear();
+        }
+        parsed.put(connectors, result);
+        return result;
+    }
+
+    private StationConnectors read(String connectors) {
+        int mask = 0;
+        double[] powerByType = new double[CONNECTOR_TYPES.length];
+        int total = 0, available = 0, outOfService = 0;
+        boolean observed = false;
+
+        try {
+            for (Map<String, Object> connector : objectMapper.readValue(connectors, CONNECTOR_LIST)) {
+                Object type = connector.get("type");
+                if (type != null) {
+                    ConnectorType connectorType = ConnectorType.fromTitle(type.toString());
+                    mask |= connectorType.mask();
+                    for (String key : new String[]{"powerKW", "maxChargeRateKw"}) {
+                        if (connector.get(key) instanceof Number power) {
+                            powerByType[connectorType.ordinal()] = Math.max(powerByType[connectorType.ordinal()], power.doubleValue());
+                        }
+                    }
+                }
+
+                Integer availableCount = toInteger(connector.get("availableCount"));
+                if (availableCount == null) {
+                    continue; // no live data for this connector
+                }
+                int outOfServiceCount = Objects.requireNonNullElse(toInteger(connector.get("outOfServiceCount")), 0);
+                int quantity = Objects.requireNonNullElse(toInteger(connector.get("quantity")), 0);
+                total += Math.max(quantity, availableCount + outOfServiceCount);
+                available += availableCount;
+                outOfService += outOfServiceCount;
+                observed = true;
+            }
+        } catch (Exception e) {
+            log.debug("Could not parse connectors: {}", e.getMessage());
+            return NONE;
+        }
+        return new StationConnectors(mask, powerByType, observed, total, available, outOfService);
+    }
+
+    private static Integer toInteger(Object value) {
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Integer.parseInt(text.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.barbatech.natomada.stations.infrastructure.connectors;
+
+/**
+ * What a station's connectors JSON says, parsed once per distinct listing
+ *
+ * @param mask ConnectorType mask of the connectors, 0 if unknown
+ * @param powerByType Highest power per ConnectorType ordinal (OCM powerKW, Google maxChargeRateKw), 0 when unknown.
+ *                    Shared between callers, so it must not be modified.
+ * @param observed Whether any connector carried live availability (Google availableCount)
+ * @param total Connectors counted by the live availability
+ * @param available Available connectors, when observed
+ * @param outOfService Out of service connectors, when observed
+ */
+public record StationConnectors(int mask, double[] powerByType, boolean observed,
+                                int total, int available, int outOfService) {
+}
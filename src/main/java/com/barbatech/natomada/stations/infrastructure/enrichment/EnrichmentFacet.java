@@ -0,0 +1,48 @@
+package com.barbatech.natomada.stations.infrastructure.enrichment;
+
+import com.barbatech.natomada.stations.application.mappers.StationField;
+import com.barbatech.natomada.stations.application.mappers.StationFieldSet;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Parts of the Google enrichment that go stale at different rates
+ */
+public enum EnrichmentFacet {
+    MATCH(StationEnrichmentProperties::getMatchTtl),
+    RATINGS(StationEnrichmentProperties::getRatingsTtl, StationField.RATING, StationField.TOTAL_REVIEWS),
+    PHOTOS(StationEnrichmentProperties::getPhotosTtl, StationField.PHOTO_URLS),
+    AMENITIES(StationEnrichmentProperties::getAmenitiesTtl, StationField.AMENITIES),
+    OPENING_HOURS(StationEnrichmentProperties::getOpeningHoursTtl, StationField.OPENING_HOURS),
+    AVAILABILITY(StationEnrichmentProperties::getAvailabilityTtl, StationField.CONNECTORS, StationField.TOTAL_CONNECTORS);
+
+    private final Function<StationEnrichmentProperties, Duration> ttl;
+    private final StationField[] fields;
+
+    EnrichmentFacet(Function<StationEnrichmentProperties, Duration> ttl, StationField... fields) {
+        this.ttl = ttl;
+        this.fields = fields;
+    }
+
+    public Duration ttl(StationEnrichmentProperties properties) {
+        return ttl.apply(properties);
+    }
+
+    /**
+     * Facets a response needs to be fresh: the match, plus those behind the selected fields
+     */
+    public static Set<EnrichmentFacet> requiredFor(StationFieldSet fieldSet) {
+        Set<EnrichmentFacet> facets = EnumSet.of(MATCH);
+        for (EnrichmentFacet facet : values()) {
+            for (StationField field : facet.fields) {
+                if (fieldSet.contains(field)) {
+                    facets.add(facet);
+                }
+            }
+        }
+        return facets;
+    }
+}
@@ -0,0 +1,224 @@
+package com.barbatech.natomada.stations.infrastructure.enrichment;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.domain.entities.StationSource;
+import com.barbatech.natomada.stations.domain.enums.Amenity;
+import com.barbatech.natomada.stations.domain.enums.StationSourceType;
+import com.barbatech.natomada.stations.infrastructure.external.ExternalStationMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Google enrichment of OCM stations, stored in Redis
+ *
+ * Keys:
+ * - natomada:stations:enrichment:{ocmId}   JSON StationEnrichment
+ *
+ * An entry is written under every OCM listing of a resolved station, so a
+ * duplicate listing finds the enrichment of its canonical station. Each facet
+ * has its own TTL; the key lives as long as the longest of them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisStationEnrichmentStore {
+
+    private static final String ENRICHMENT_PREFIX = "natomada:stations:enrichment:";
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {};
+
+    private final StringRedisTemplate redisTemplate;
+    private final StationEnrichmentProperties properties;
+    private final ExternalStationMapper externalStationMapper;
+    private final ObjectMapper objectMapper;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Stored enrichment by OCM ID, skipping stations without one
+     */
+    public Map<String, StationEnrichment> findAll(Collection<String> ocmIds) {
+        if (ocmIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(ocmIds));
+        List<String> values = redisTemplate.opsForValue().multiGet(ids.stream().map(id -> ENRICHMENT_PREFIX + id).toList());
+        if (values == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, StationEnrichment> entries = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            try {
+                entries.put(ids.get(i), objectMapper.readValue(value, StationEnrichment.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Discarding unreadable enrichment for station {}: {}", ids.get(i), e.getMessage());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Store the Google enrichment of freshly resolved stations; Google-only stations are skipped
+     */
+    public void saveAll(List<Station> stations) {
+        long now = System.currentTimeMillis();
+        Map<String, String> values = new HashMap<>();
+        for (Station station : stations) {
+            if (station.getOcmId() == null || station.getOcmId().startsWith(ExternalStationMapper.GOOGLE_STATION_PREFIX)) {
+                continue;
+            }
+            try {
+                String value = objectMapper.writeValueAsString(toEnrichment(station, now));
+                for (String ocmId : ocmIds(station)) {
+                    values.put(ENRICHMENT_PREFIX + ocmId, value);
+                }
+            } catch (JsonProcessingException e) {
+                log.warn("Could not serialize enrichment for station {}: {}", station.getOcmId(), e.getMessage());
+            }
+        }
+        if (values.isEmpty()) {
+            return;
+        }
+
+        Duration expiry = maxTtl();
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+                values.forEach((key, value) -> redis.opsForValue().set(key, value, expiry));
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Whether an entry can stand in for a Google call for the given facets.
+     * Without a matched place there is nothing but the match to go stale.
+     */
+    public boolean isFresh(StationEnrichment entry, Set<EnrichmentFacet> facets) {
+        if (entry == null) {
+            return false;
+        }
+
+        long age = System.currentTimeMillis() - entry.getFetchedAt();
+        if (entry.getPlaceId() == null) {
+            return age <= EnrichmentFacet.MATCH.ttl(properties).toMillis();
+        }
+        for (EnrichmentFacet facet : facets) {
+            if (age > facet.ttl(properties).toMillis()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Apply a stored enrichment to a station fetched from OpenChargeMap
+     */
+    public void apply(StationEnrichment entry, Station station) {
+        if (entry.getPlaceId() == null) {
+            return;
+        }
+
+        station.setGooglePlaceId(entry.getPlaceId());
+        station.setGoogleRating(entry.getGoogleRating());
+        station.setGoogleReviewCount(entry.getGoogleReviewCount() != null ? entry.getGoogleReviewCount() : 0);
+        externalStationMapper.updateCombinedRating(station);
+
+        if (entry.getOpeningHours() != null) {
+            station.setOpeningHours(entry.getOpeningHours());
+        }
+        if (entry.getPhotoReferences() != null) {
+            station.setPhotoReferences(entry.getPhotoReferences());
+        }
+        if (entry.getAmenities() != null) {
+            station.setAmenities(entry.getAmenities());
+            station.setAmenityMask(entry.getAmenityMask() != null ? entry.getAmenityMask() : amenityMask(entry.getAmenities()));
+        }
+        if (entry.getConnectors() != null) {
+            station.setConnectors(entry.getConnectors());
+            station.setTotalConnectors(entry.getTotalConnectors());
+        }
+    }
+
+    /**
+     * Mask of entries stored before masks were cached
+     */
+    private int amenityMask(String amenities) {
+        try {
+            return Amenity.maskOf(objectMapper.readValue(amenities, STRING_LIST));
+        } catch (JsonProcessingException e) {
+            return 0;
+        }
+    }
+
+    private StationEnrichment toEnrichment(Station station, long fetchedAt) {
+        StationEnrichment.StationEnrichmentBuilder entry = StationEnrichment.builder()
+            .placeId(station.getGooglePlaceId())
+            .fetchedAt(fetchedAt);
+        if (station.getGooglePlaceId() != null) {
+            entry.googleRating(station.getGoogleRating())
+                .googleReviewCount(station.getGoogleReviewCount())
+                .openingHours(station.getOpeningHours())
+                .photoReferences(station.getPhotoReferences())
+                .amenities(station.getAmenities())
+                .amenityMask(station.getAmenityMask())
+                .connectors(station.getConnectors())
+                .totalConnectors(station.getTotalConnectors());
+        }
+        return entry.build();
+    }
+
+    /**
+     * The station's own ID plus every OCM listing merged into it
+     */
+    private static Set<String> ocmIds(Station station) {
+        Set<String> ids = new LinkedHashSet<>();
+        ids.add(station.getOcmId());
+        if (station.getSources() != null) {
+            for (StationSource source : station.getSources()) {
+                if (source.getSourceType() == StationSourceType.OCM && source.getSourceId() != null) {
+                    ids.add(source.getSourceId());
+                }
+            }
+        }
+        return ids;
+    }
+
+    private Duration maxTtl() {
+        Duration max = Duration.ZERO;
+        for (EnrichmentFacet facet : EnrichmentFacet.values()) {
+            Duration ttl = facet.ttl(properties);
+            if (ttl.compareTo(max) > 0) {
+                max = ttl;
+            }
+        }
+        return max;
+    }
+}
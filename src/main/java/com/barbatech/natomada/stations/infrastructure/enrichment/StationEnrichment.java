@@ -0,0 +1,34 @@
+package com.barbatech.natomada.stations.infrastructure.enrichment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Google enrichment of one OCM station as last fetched.
+ * A null placeId records that no Google place matched the station.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationEnrichment {
+
+    private String placeId;
+    private BigDecimal googleRating;
+    private Integer googleReviewCount;
+    private String openingHours;
+    private String photoReferences;
+    private String amenities;
+    private Integer amenityMask;
+    private String connectors;
+    private Integer totalConnectors;
+
+    /**
+     * When Google was called, in epoch milliseconds
+     */
+    private long fetchedAt;
+}
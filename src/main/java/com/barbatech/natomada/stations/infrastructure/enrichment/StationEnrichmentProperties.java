@@ -0,0 +1,42 @@
+package com.barbatech.natomada.stations.infrastructure.enrichment;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the Google enrichment cache
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stations.enrichment")
+public class StationEnrichmentProperties {
+
+    /**
+     * Reuse Google enrichment per OCM station instead of calling Places on every request
+     */
+    private boolean enabled = true;
+
+    /**
+     * Which Google place (or none) an OCM station matches
+     */
+    private Duration matchTtl = Duration.ofDays(1);
+
+    /**
+     * Google rating and review count
+     */
+    private Duration ratingsTtl = Duration.ofDays(7);
+
+    private Duration photosTtl = Duration.ofDays(7);
+
+    private Duration amenitiesTtl = Duration.ofDays(30);
+
+    private Duration openingHoursTtl = Duration.ofDays(1);
+
+    /**
+     * Google EV connector data, which includes live availability
+     */
+    private Duration availabilityTtl = Duration.ofMinutes(5);
+}
@@ -1,9 +1,11 @@
 package com.barbatech.natomada.stations.infrastructure.external;
 
 import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.domain.enums.Amenity;
 import com.barbatech.natomada.stations.infrastructure.external.google.AmenityMapper;
 import com.barbatech.natomada.stations.infrastructure.external.google.dtos.GooglePlacesResponse;
 import com.barbatech.natomada.stations.infrastructure.external.google.dtos.PlacesV1Response;
+import com.barbatech.natomada.stations.infrastructure.external.opencm.UsageCostParser;
 import com.barbatech.natomada.stations.infrastructure.external.opencm.dtos.OpenChargeMapResponse;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,12 +14,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -28,8 +32,14 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class ExternalStationMapper {
 
+    /**
+     * ID prefix of stations only known to Google Places (gpl_{placeId})
+     */
+    public static final String GOOGLE_STATION_PREFIX = "gpl_";
+
     private final ObjectMapper objectMapper;
     private final AmenityMapper amenityMapper;
+    private final UsageCostParser usageCostParser;
 
     /**
      * Convert OpenChargeMap response to Station entity
@@ -45,8 +55,8 @@ public class ExternalStationMapper {
         if (ocm.getAddressInfo() != null) {
             OpenChargeMapResponse.AddressInfo addr = ocm.getAddressInfo();
             station.setName(addr.getTitle() != null ? addr.getTitle() : "Charging Station");
-            station.setLatitude(addr.getLatitude());
-            station.setLongitude(addr.getLongitude());
+            station.setLatitude(toCoordinate(addr.getLatitude()));
+            station.setLongitude(toCoordinate(addr.getLongitude()));
             station.setAddress(buildAddress(addr.getAddressLine1(), addr.getAddressLine2()));
             station.setCity(addr.getTown());
             station.setState(addr.getStateOrProvince());
@@ -78,10 +88,16 @@ public class ExternalStationMapper {
 
         // Cost
         station.setUsageCost(ocm.getUsageCost());
+        applyUsageCost(station, usageCostParser.parse(ocm.getUsageCost()));
 
         // Status
         if (ocm.getStatusType() != null) {
             station.setIsOperational(ocm.getStatusType().getIsOperational());
+
+            // Removed listings are kept by OCM with a dedicated status type
+            if (isRemovedStatus(ocm.getStatusType().getId())) {
+                station.setRemovedAt(LocalDateTime.now());
+            }
         }
 
         // Connectors
@@ -92,8 +108,9 @@ public class ExternalStationMapper {
                 .sum();
             station.setTotalConnectors(totalConnectors);
             try {
-                String connectorsJson = objectMapper.writeValueAsString(mapConnectors(ocm.getConnections()));
-                station.setConnectors(connectorsJson);
+                List<Map<String, Object>> connectors = mapConnectors(ocm.getConnections());
+                station.setConnectors(objectMapper.writeValueAsString(connectors));
+                station.setMaxPowerKw(maxPowerKw(connectors));
             } catch (JsonProcessingException e) {
                 log.error("Error converting connectors to JSON", e);
                 station.setConnectors("[]");
@@ -114,6 +131,54 @@ public class ExternalStationMapper {
         return station;
     }
 
+    /**
+     * Convert a Google Places v1 place with no OpenChargeMap listing to a Station entity
+     */
+    public Station fromGooglePlacesV1(PlacesV1Response.Place place) {
+        Station station = new Station();
+
+        station.setOcmId(place.getId() != null ? GOOGLE_STATION_PREFIX + place.getId() : null);
+        station.setName(place.getDisplayName() != null && place.getDisplayName().getText() != null
+            ? place.getDisplayName().getText()
+            : "Charging Station");
+        station.setAddress(place.getFormattedAddress());
+        station.setCountry(countryFromAddress(place.getFormattedAddress()));
+        station.setPhone(place.getInternationalPhoneNumber());
+        station.setOperatorWebsite(place.getWebsiteUri());
+
+        if (place.getLocation() != null) {
+            station.setLatitude(toCoordinate(place.getLocation().getLatitude()));
+            station.setLongitude(toCoordinate(place.getLocation().getLongitude()));
+        }
+
+        station.setIsOperational(place.getBusinessStatus() == null || "OPERATIONAL".equals(place.getBusinessStatus()));
+        station.setTotalConnectors(0);
+        station.setConnectors("[]");
+        station.setOcmReviewCount(0);
+
+        // Ratings, photos, opening hours, amenities and connectors
+        enrichWithGooglePlacesV1(station, place);
+
+        station.setLastSyncAt(LocalDateTime.now());
+        station.setLastVerifiedAt(LocalDateTime.now());
+
+        return station;
+    }
+
+    /**
+     * Set the structured cost columns from a parsed usage cost
+     */
+    private void applyUsageCost(Station station, UsageCostParser.ParsedCost cost) {
+        if (cost == null) {
+            return;
+        }
+        station.setCostPerKwh(cost.perKwh());
+        station.setCostPerMinute(cost.perMinute());
+        station.setSessionFee(cost.sessionFee());
+        station.setIsFree(cost.free());
+        station.setCostConfidence(cost.confidence());
+    }
+
     /**
      * Enrich station with Google Places data
      */
@@ -169,14 +234,14 @@ public class ExternalStationMapper {
             log.info("No photos available from Google Places for station {} (place_id: {})", station.getName(), place.getPlaceId());
         }
 
-        // Extract amenities from types
-        if (place.getTypes() != null && !place.getTypes().isEmpty()) {
+        // Extract amenities from types, once, as a bitmask for filters
+        int amenityMask = amenityMapper.mapTypesToMask(place.getTypes());
+        if (amenityMask != 0) {
             try {
-                List<String> amenities = amenityMapper.mapTypesToAmenities(place.getTypes());
-                if (!amenities.isEmpty()) {
-                    station.setAmenities(objectMapper.writeValueAsString(amenities));
-                    log.info("Extracted {} amenities for station {}: {}", amenities.size(), station.getName(), amenities);
-                }
+                List<String> amenities = Amenity.keys(amenityMask);
+                station.setAmenityMask(amenityMask);
+                station.setAmenities(objectMapper.writeValueAsString(amenities));
+                log.info("Extracted {} amenities for station {}: {}", amenities.size(), station.getName(), amenities);
             } catch (JsonProcessingException e) {
                 log.error("Error converting amenities to JSON for station {}", station.getName(), e);
             }
@@ -240,14 +305,14 @@ public class ExternalStationMapper {
             }
         }
 
-        // Extract amenities from types
-        if (place.getTypes() != null && !place.getTypes().isEmpty()) {
+        // Extract amenities from types, once, as a bitmask for filters
+        int amenityMask = amenityMapper.mapTypesToMask(place.getTypes());
+        if (amenityMask != 0) {
             try {
-                List<String> amenities = amenityMapper.mapTypesToAmenities(place.getTypes());
-                if (!amenities.isEmpty()) {
-                    station.setAmenities(objectMapper.writeValueAsString(amenities));
-                    log.info("Extracted {} amenities for station {}: {}", amenities.size(), station.getName(), amenities);
-                }
+                List<String> amenities = Amenity.keys(amenityMask);
+                station.setAmenityMask(amenityMask);
+                station.setAmenities(objectMapper.writeValueAsString(amenities));
+                log.info("Extracted {} amenities for station {}: {}", amenities.size(), station.getName(), amenities);
             } catch (JsonProcessingException e) {
                 log.error("Error converting amenities to JSON for station {}", station.getName(), e);
             }
@@ -365,6 +430,7 @@ public class ExternalStationMapper {
             // Update station with merged connector data
             if (!existingConnectors.isEmpty()) {
                 station.setConnectors(objectMapper.writeValueAsString(existingConnectors));
+                station.setMaxPowerKw(maxPowerKw(existingConnectors));
 
                 // Update total connector count
                 int totalCount = existingConnectors.stream()
@@ -391,11 +457,65 @@ public class ExternalStationMapper {
         }
     }
 
+    /**
+     * Add the connectors of a duplicate OCM listing to the canonical one. Connectors of the
+     * same type, power and current are one group listed twice, so the larger quantity wins;
+     * others are added.
+     */
+    public void mergeListingConnectors(Station canonical, Station duplicate) {
+        List<Map<String, Object>> extra = readConnectors(duplicate);
+        if (extra.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> connectors = readConnectors(canonical);
+        for (Map<String, Object> connector : extra) {
+            Map<String, Object> same = connectors.stream()
+                .filter(existing -> Objects.equals(existing.get("type"), connector.get("type"))
+                    && Objects.equals(existing.get("powerKW"), connector.get("powerKW"))
+                    && Objects.equals(existing.get("currentType"), connector.get("currentType")))
+                .findFirst()
+                .orElse(null);
+            if (same == null) {
+                connectors.add(new HashMap<>(connector));
+            } else if (quantity(connector) > quantity(same)) {
+                same.put("quantity", quantity(connector));
+            }
+        }
+
+        try {
+            canonical.setConnectors(objectMapper.writeValueAsString(connectors));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not merge connectors of {} into {}: {}", duplicate.getOcmId(), canonical.getOcmId(), e.getMessage());
+            return;
+        }
+        canonical.setMaxPowerKw(maxPowerKw(connectors));
+        int total = connectors.stream().mapToInt(ExternalStationMapper::quantity).sum();
+        canonical.setTotalConnectors(Math.max(total, canonical.getTotalConnectors() != null ? canonical.getTotalConnectors() : 0));
+    }
+
+    private List<Map<String, Object>> readConnectors(Station station) {
+        if (station.getConnectors() == null || station.getConnectors().isBlank()) {
+            return new ArrayList<>();
+        }
+        try {
+            return objectMapper.readValue(station.getConnectors(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, Map.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not parse connectors of station {}: {}", station.getOcmId(), e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private static int quantity(Map<String, Object> connector) {
+        return connector.get("quantity") instanceof Number quantity ? quantity.intValue() : 1;
+    }
+
     /**
      * Normalize Google Places connector type to standardized format
      * Maps from EV_CONNECTOR_TYPE_J1772 -> J1772
      */
-    private String normalizeConnectorType(String googleType) {
+    public String normalizeConnectorType(String googleType) {
         if (googleType == null) return "Unknown";
 
         // Remove EV_CONNECTOR_TYPE_ prefix
@@ -456,6 +576,13 @@ public class ExternalStationMapper {
         return ocmType; // Return original if no match
     }
 
+    /**
+     * Coordinates travel as doubles; BigDecimal only exists on the entity
+     */
+    private BigDecimal toCoordinate(Double degrees) {
+        return degrees != null ? BigDecimal.valueOf(degrees) : null;
+    }
+
     /**
      * Map OpenChargeMap connections to our connector format
      */
@@ -492,6 +619,39 @@ public class ExternalStationMapper {
         return connectors;
     }
 
+    /**
+     * Highest rated power among connectors (OCM powerKW, Google maxChargeRateKw), or null when none is known
+     */
+    private BigDecimal maxPowerKw(List<Map<String, Object>> connectors) {
+        double max = 0;
+        for (Map<String, Object> connector : connectors) {
+            for (String key : List.of("powerKW", "maxChargeRateKw")) {
+                if (connector.get(key) instanceof Number power) {
+                    max = Math.max(max, power.doubleValue());
+                }
+            }
+        }
+        return max > 0 ? BigDecimal.valueOf(max).setScale(1, RoundingMode.HALF_UP) : null;
+    }
+
+    /**
+     * OCM status types 200 (Removed - Decommissioned) and 210 (Removed - Duplicate Listing)
+     */
+    private boolean isRemovedStatus(Long statusTypeId) {
+        return statusTypeId != null && (statusTypeId == 200L || statusTypeId == 210L);
+    }
+
+    /**
+     * Google formatted addresses end with the country ("..., São Paulo - SP, 01310-100, Brazil")
+     */
+    private String countryFromAddress(String formattedAddress) {
+        if (formattedAddress == null || formattedAddress.isBlank()) {
+            return null;
+        }
+        int comma = formattedAddress.lastIndexOf(',');
+        return formattedAddress.substring(comma + 1).trim();
+    }
+
     /**
      * Build full address from components
      */
@@ -504,7 +664,7 @@ public class ExternalStationMapper {
     /**
      * Calculate combined rating from OCM and Google ratings
      */
-    private void updateCombinedRating(Station station) {
+    public void updateCombinedRating(Station station) {
         BigDecimal ocmRating = station.getOcmRating();
         BigDecimal googleRating = station.getGoogleRating();
         int ocmCount = station.getOcmReviewCount() != null ? station.getOcmReviewCount() : 0;
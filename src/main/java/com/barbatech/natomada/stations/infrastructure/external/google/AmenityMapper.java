@@ -1,79 +1,87 @@
 package com.barbatech.natomada.stations.infrastructure.external.google;
 
+import com.barbatech.natomada.stations.domain.enums.Amenity;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Maps Google Places types to user-friendly amenity names
+ * Maps Google Places types to amenities
  */
 @Component
 public class AmenityMapper {
 
-    // Map of Google Places types to user-friendly amenity names
-    private static final Map<String, String> AMENITY_MAP = Map.ofEntries(
+    // Map of Google Places types to amenities
+    private static final Map<String, Amenity> AMENITY_MAP = Map.ofEntries(
         // Parking
-        Map.entry("parking", "parking"),
+        Map.entry("parking", Amenity.PARKING),
         
         // Food & Drink
-        Map.entry("restaurant", "restaurant"),
-        Map.entry("cafe", "cafe"),
-        Map.entry("food", "food"),
-        Map.entry("meal_takeaway", "food"),
-        Map.entry("bakery", "food"),
+        Map.entry("restaurant", Amenity.RESTAURANT),
+        Map.entry("cafe", Amenity.CAFE),
+        Map.entry("food", Amenity.FOOD),
+        Map.entry("meal_takeaway", Amenity.FOOD),
+        Map.entry("bakery", Amenity.FOOD),
         
         // Shopping
-        Map.entry("shopping_mall", "shopping"),
-        Map.entry("convenience_store", "convenience_store"),
-        Map.entry("supermarket", "shopping"),
-        Map.entry("store", "shopping"),
+        Map.entry("shopping_mall", Amenity.SHOPPING),
+        Map.entry("convenience_store", Amenity.CONVENIENCE_STORE),
+        Map.entry("supermarket", Amenity.SHOPPING),
+        Map.entry("store", Amenity.SHOPPING),
         
         // Services
-        Map.entry("gas_station", "gas_station"),
-        Map.entry("atm", "atm"),
-        Map.entry("bank", "atm"),
+        Map.entry("gas_station", Amenity.GAS_STATION),
+        Map.entry("atm", Amenity.ATM),
+        Map.entry("bank", Amenity.ATM),
         
         // Restrooms (implied by certain types)
-        Map.entry("rest_stop", "restroom"),
-        Map.entry("lodging", "restroom"),
-        Map.entry("hotel", "restroom"),
+        Map.entry("rest_stop", Amenity.RESTROOM),
+        Map.entry("lodging", Amenity.RESTROOM),
+        Map.entry("hotel", Amenity.RESTROOM),
         
         // Medical
-        Map.entry("pharmacy", "pharmacy"),
-        Map.entry("hospital", "hospital"),
-        Map.entry("doctor", "hospital"),
+        Map.entry("pharmacy", Amenity.PHARMACY),
+        Map.entry("hospital", Amenity.HOSPITAL),
+        Map.entry("doctor", Amenity.HOSPITAL),
         
         // Entertainment
-        Map.entry("gym", "gym"),
-        Map.entry("spa", "spa"),
-        Map.entry("movie_theater", "entertainment"),
+        Map.entry("gym", Amenity.GYM),
+        Map.entry("spa", Amenity.SPA),
+        Map.entry("movie_theater", Amenity.ENTERTAINMENT),
         
         // Accessibility
-        Map.entry("wheelchair_accessible", "wheelchair_accessible")
+        Map.entry("wheelchair_accessible", Amenity.WHEELCHAIR_ACCESSIBLE)
     );
 
     /**
-     * Convert Google Places types to user-friendly amenity names
+     * Convert Google Places types to an amenity bitmask (see Amenity)
      *
      * @param types List of Google Places types
-     * @return List of mapped amenity names (deduplicated)
+     * @return Mask of the mapped amenities, 0 if none
      */
-    public List<String> mapTypesToAmenities(List<String> types) {
-        if (types == null || types.isEmpty()) {
-            return new ArrayList<>();
+    public int mapTypesToMask(List<String> types) {
+        if (types == null) {
+            return 0;
         }
 
-        List<String> amenities = new ArrayList<>();
-        
+        int mask = 0;
         for (String type : types) {
-            String amenity = AMENITY_MAP.get(type);
-            if (amenity != null && !amenities.contains(amenity)) {
-                amenities.add(amenity);
+            Amenity amenity = AMENITY_MAP.get(type);
+            if (amenity != null) {
+                mask |= amenity.mask();
             }
         }
-        
-        return amenities;
+        return mask;
+    }
+
+    /**
+     * Convert Google Places types to user-friendly amenity names
+     *
+     * @param types List of Google Places types
+     * @return List of mapped amenity names (deduplicated)
+     */
+    public List<String> mapTypesToAmenities(List<String> types) {
+        return Amenity.keys(mapTypesToMask(types));
     }
 }
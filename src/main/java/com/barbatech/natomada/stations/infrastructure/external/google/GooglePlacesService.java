@@ -4,38 +4,59 @@ import com.barbatech.natomada.stations.infrastructure.external.google.dtos.Googl
 import com.barbatech.natomada.stations.infrastructure.external.google.dtos.GooglePlacesResponse;
 import com.barbatech.natomada.stations.infrastructure.external.google.dtos.PlacesV1Response;
 import com.barbatech.natomada.stations.infrastructure.external.google.dtos.PlacesV1SearchRequest;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 
 /**
  * Service for Google Places API integration
  * Documentation: https://developers.google.com/maps/documentation/places/web-service
+ *
+ * Calls go through a client of its own with connect and read timeouts, so a
+ * hung call can't hold a search or an availability poll thread indefinitely.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class GooglePlacesService {
 
-    private final RestTemplate restTemplate;
+    private RestTemplate restTemplate;
 
     @Value("${google.places.api.key}")
     private String apiKey;
 
+    @Value("${google.places.timeout:5s}")
+    private Duration timeout;
+
+    @PostConstruct
+    public void init() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        restTemplate = new RestTemplate(requestFactory);
+    }
+
     // Old API (Legacy)
     private static final String BASE_URL = "https://maps.googleapis.com/maps/api/place";
     private static final String NEARBY_SEARCH_ENDPOINT = "/nearbysearch/json";
     private static final String DETAILS_ENDPOINT = "/details/json";
+    private static final String PHOTO_ENDPOINT = "/photo";
+
+    // Street View Static API (fallback photos)
+    public static final String STREET_VIEW_PREFIX = "streetview:";
+    private static final String STREET_VIEW_URL = "https://maps.googleapis.com/maps/api/streetview";
 
     // New API v1
     private static final String BASE_URL_V1 = "https://places.googleapis.com/v1";
@@ -47,6 +68,9 @@ public class GooglePlacesService {
         "places.businessStatus,places.evChargeOptions,places.currentOpeningHours," +
         "places.photos,places.internationalPhoneNumber,places.websiteUri";
 
+    // Field mask for availability polling: connector data only
+    private static final String EV_FIELD_MASK = "id,evChargeOptions";
+
     /**
      * Search for nearby EV charging stations
      *
@@ -312,6 +336,76 @@ public class GooglePlacesService {
         }
     }
 
+    /**
+     * Get the EV charge options (connector availability) of a single place
+     *
+     * @param placeId Places v1 place ID
+     * @return The place with only id and evChargeOptions, or null on error
+     */
+    public PlacesV1Response.Place getEvChargeOptionsV1(String placeId) {
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("X-Goog-Api-Key", apiKey);
+            headers.set("X-Goog-FieldMask", EV_FIELD_MASK);
+
+            ResponseEntity<PlacesV1Response.Place> response = restTemplate.exchange(
+                BASE_URL_V1 + "/places/" + placeId,
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                PlacesV1Response.Place.class
+            );
+            return response.getBody();
+        } catch (Exception e) {
+            log.error("Error fetching EV charge options for place {}: {}", placeId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Download a photo scaled by Google to the given width
+     *
+     * Accepts the references stored on stations: Places v1 photo names
+     * (places/{id}/photos/{ref}), legacy photo references and Street View
+     * markers ("streetview:{lat},{lon}", or a full URL for older rows).
+     *
+     * @return The image bytes, or null if Google has no such photo
+     */
+    public byte[] fetchPhoto(String photoReference, int widthPx) {
+        try {
+            URI uri;
+            if (photoReference.startsWith(STREET_VIEW_PREFIX)) {
+                String location = photoReference.substring(STREET_VIEW_PREFIX.length());
+                uri = location.startsWith("http")
+                    ? URI.create(location)
+                    : UriComponentsBuilder.fromUriString(STREET_VIEW_URL)
+                        .queryParam("size", widthPx + "x" + (widthPx * 3 / 4))
+                        .queryParam("location", location)
+                        .queryParam("key", apiKey)
+                        .build()
+                        .toUri();
+            } else if (photoReference.startsWith("places/")) {
+                uri = UriComponentsBuilder.fromUriString(BASE_URL_V1 + "/" + photoReference + "/media")
+                    .queryParam("maxWidthPx", widthPx)
+                    .queryParam("key", apiKey)
+                    .build()
+                    .toUri();
+            } else {
+                uri = UriComponentsBuilder.fromUriString(BASE_URL + PHOTO_ENDPOINT)
+                    .queryParam("maxwidth", widthPx)
+                    .queryParam("photo_reference", photoReference)
+                    .queryParam("key", apiKey)
+                    .build()
+                    .toUri();
+            }
+
+            // Google answers with a redirect to the image, which RestTemplate follows for GET
+            return restTemplate.getForObject(uri, byte[].class);
+        } catch (Exception e) {
+            log.error("Error fetching Google photo {}: {}", photoReference, e.getMessage());
+            return null;
+        }
+    }
+
     private GooglePlacesResponse createEmptyResponse() {
         GooglePlacesResponse response = new GooglePlacesResponse();
         response.setResults(Collections.emptyList());
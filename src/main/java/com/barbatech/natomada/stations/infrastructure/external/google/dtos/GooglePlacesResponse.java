@@ -88,10 +88,10 @@ public class GooglePlacesResponse {
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class Location {
         @JsonProperty("lat")
-        private BigDecimal lat;
+        private Double lat;
 
         @JsonProperty("lng")
-        private BigDecimal lng;
+        private Double lng;
     }
 
     @Data
@@ -82,10 +82,10 @@ public class PlacesV1Response {
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class Location {
         @JsonProperty("latitude")
-        private BigDecimal latitude;
+        private Double latitude;
 
         @JsonProperty("longitude")
-        private BigDecimal longitude;
+        private Double longitude;
     }
 
     @Data
@@ -0,0 +1,166 @@
+package com.barbatech.natomada.stations.infrastructure.external.opencm;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses OpenChargeMap free-text usage cost ("R$ 2,00/kWh + R$ 5,00 por recarga", "Free")
+ * into structured prices, once at ingest.
+ *
+ * Only amounts with a currency or an explicit price unit are read, so "22 kW" or
+ * "24h" are not mistaken for prices. Confidence says how much of the text was
+ * understood: explicit units score high, a bare amount or qualified text low.
+ */
+@Component
+public class UsageCostParser {
+
+    // amount, with an optional currency around it and a price unit after ("por kWh", "/min", "/h")
+    private static final Pattern PRICE = Pattern.compile(
+        "(r\\$|us\\$|\\$|€|£|brl|usd|eur)?\\s*(\\d+(?:[.,]\\d+)*)\\s*(reais|brl)?" +
+        "\\s*(?:(/|\\bpor\\b|\\bper\\b|\\bp/|\\ba cada\\b)\\s*)?" +
+        "(kwh|kw h|minutos?|minutes?|min\\b|horas?|hours?|hr\\b|h\\b)?"
+    );
+
+    private static final List<String> FREE_WORDS = List.of("free", "gratuito", "gratuita", "gratis", "sem custo", "no charge", "sem cobranca");
+    private static final List<String> PAID_WORDS = List.of("pago", "paga", "paid", "pay", "cobrad", "tarifa", "fee");
+    private static final List<String> FEE_WORDS = List.of("taxa", "fee", "sessao", "session", "recarga", "conexao", "connection", "start", "inicio", "uso");
+    private static final List<String> QUALIFIERS = List.of(
+        "varia", "varies", "depend", "consult", "cliente", "customer", "hospede", "guest", "member", "membro",
+        "primeir", "first", "apos", "after", "until", "ate "
+    );
+
+    /**
+     * Structured usage cost. Prices are in the station's local currency; null means not stated.
+     *
+     * @param free Whether charging is free, or null if the text doesn't say
+     * @param confidence 0-1, how reliably the text was understood
+     */
+    public record ParsedCost(BigDecimal perKwh, BigDecimal perMinute, BigDecimal sessionFee, Boolean free, BigDecimal confidence) {
+    }
+
+    /**
+     * Parse a usage cost text
+     *
+     * @return The parsed cost, or null when the text says nothing about price
+     */
+    public ParsedCost parse(String usageCost) {
+        if (usageCost == null || usageCost.isBlank()) {
+            return null;
+        }
+
+        String text = normalize(usageCost);
+        boolean qualified = containsAny(text, QUALIFIERS);
+
+        BigDecimal perKwh = null, perMinute = null, sessionFee = null;
+        boolean bareAmount = false, withoutCurrency = false;
+
+        Matcher matcher = PRICE.matcher(text);
+        while (matcher.find()) {
+            String currency = matcher.group(1) != null ? matcher.group(1) : matcher.group(3);
+            String separator = matcher.group(4);
+            String unit = matcher.group(5);
+            boolean priced = currency != null || (separator != null && unit != null);
+            if (!priced) {
+                continue; // power ratings, hours of operation, counts
+            }
+
+            BigDecimal amount = toAmount(matcher.group(2));
+            if (amount == null) {
+                continue;
+            }
+            withoutCurrency |= currency == null;
+
+            if (unit == null) {
+                String after = text.substring(matcher.end(), Math.min(text.length(), matcher.end() + 24));
+                String before = text.substring(Math.max(0, matcher.start() - 24), matcher.start());
+                if (containsAny(after, FEE_WORDS) || containsAny(before, FEE_WORDS)) {
+                    sessionFee = sessionFee != null ? sessionFee : amount;
+                } else if (perKwh == null) {
+                    perKwh = amount; // most OCM prices in the region are per kWh
+                    bareAmount = true;
+                }
+            } else if (unit.startsWith("kw")) {
+                perKwh = amount;
+                bareAmount = false;
+            } else if (unit.startsWith("min")) {
+                perMinute = amount;
+            } else {
+                perMinute = amount.divide(BigDecimal.valueOf(60), 4, RoundingMode.HALF_UP); // per hour
+            }
+        }
+
+        boolean anyPrice = perKwh != null || perMinute != null || sessionFee != null;
+        boolean freeWord = containsAny(text, FREE_WORDS);
+
+        if (!anyPrice) {
+            if (freeWord) {
+                return new ParsedCost(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, true, confidence(qualified ? 0.6 : 0.9));
+            }
+            if (containsAny(text, PAID_WORDS)) {
+                return new ParsedCost(null, null, null, false, confidence(0.2));
+            }
+            return null;
+        }
+
+        boolean allZero = isZero(perKwh) && isZero(perMinute) && isZero(sessionFee);
+        double confidence = 0.9;
+        if (bareAmount) confidence = 0.3;
+        else if (withoutCurrency) confidence = 0.7;
+        if (qualified || (freeWord && !allZero)) confidence = Math.min(confidence, 0.5);
+
+        return new ParsedCost(perKwh, perMinute, sessionFee, allZero, confidence(confidence));
+    }
+
+    /**
+     * Lower case without accents, so "Sessão" and "sessao" match alike
+     */
+    private static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}", "")
+            .replace('\u00a0', ' ')
+            .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Amount with either decimal separator: "1,50", "1.50", "1.234,56", "1,234.56"
+     */
+    private static BigDecimal toAmount(String number) {
+        int lastComma = number.lastIndexOf(','), lastDot = number.lastIndexOf('.');
+        int decimal = Math.max(lastComma, lastDot);
+        String digits;
+        if (decimal < 0 || number.length() - decimal - 1 == 3 && number.indexOf(number.charAt(decimal)) != decimal) {
+            digits = number.replaceAll("[.,]", ""); // "1.234.567": thousands only
+        } else {
+            digits = number.substring(0, decimal).replaceAll("[.,]", "") + "." + number.substring(decimal + 1);
+        }
+        try {
+            return new BigDecimal(digits).stripTrailingZeros();
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isZero(BigDecimal amount) {
+        return amount == null || amount.signum() == 0;
+    }
+
+    private static boolean containsAny(String text, List<String> words) {
+        for (String word : words) {
+            if (text.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BigDecimal confidence(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
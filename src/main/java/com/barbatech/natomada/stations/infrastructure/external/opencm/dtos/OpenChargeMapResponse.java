@@ -124,10 +124,10 @@ public class OpenChargeMapResponse {
         private Country country;
 
         @JsonProperty("Latitude")
-        private BigDecimal latitude;
+        private Double latitude;
 
         @JsonProperty("Longitude")
-        private BigDecimal longitude;
+        private Double longitude;
 
         @JsonProperty("ContactTelephone1")
         private String contactTelephone1;
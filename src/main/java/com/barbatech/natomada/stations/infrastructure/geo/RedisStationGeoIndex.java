@@ -0,0 +1,234 @@
+package com.barbatech.natomada.stations.infrastructure.geo;
+
+import com.barbatech.natomada.stations.application.mappers.StationField;
+import com.barbatech.natomada.stations.domain.entities.Station;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.domain.geo.GeoReference;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Station geo-index shared by all API nodes, stored in Redis
+ *
+ * Keys:
+ * - natomada:stations:geo                  GEO set of OCM IDs
+ * - natomada:stations:summary:{ocmId}      hash with the fields list views need
+ * - natomada:stations:covered:{lat}:{lon}:{radius}:{limit}  marker (with TTL) for searches fetched from upstream
+ *
+ * Any node that fetched an area from OpenChargeMap publishes it here, so the
+ * other nodes answer the same area from Redis instead of calling upstream again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisStationGeoIndex {
+
+    private static final String GEO_KEY = "natomada:stations:geo";
+    private static final String SUMMARY_PREFIX = "natomada:stations:summary:";
+    private static final String COVERED_PREFIX = "natomada:stations:covered:";
+
+    /**
+     * Response fields that can be built from a summary hash alone
+     * (likelyFreeAtEta is computed per request, never stored)
+     */
+    public static final Set<StationField> SUMMARY_FIELDS = Collections.unmodifiableSet(EnumSet.of(
+        StationField.ID, StationField.OCM_ID, StationField.NAME, StationField.ADDRESS, StationField.CITY,
+        StationField.LATITUDE, StationField.LONGITUDE, StationField.IS_OPERATIONAL, StationField.TOTAL_CONNECTORS,
+        StationField.USAGE_COST, StationField.RATING, StationField.TOTAL_REVIEWS, StationField.LIKELY_FREE_AT_ETA
+    ));
+
+    private final StringRedisTemplate redisTemplate;
+    private final StationGeoProperties properties;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Add or refresh stations in the index; removed stations are dropped
+     */
+    public void index(List<Station> stations) {
+        List<Station> indexable = stations.stream()
+            .filter(station -> station.getOcmId() != null && station.getLatitude() != null && station.getLongitude() != null)
+            .toList();
+        if (indexable.isEmpty()) {
+            return;
+        }
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+                for (Station station : indexable) {
+                    String summaryKey = SUMMARY_PREFIX + station.getOcmId();
+                    if (station.getRemovedAt() != null) {
+                        redis.opsForGeo().remove(GEO_KEY, station.getOcmId());
+                        redis.delete(summaryKey);
+                        continue;
+                    }
+                    Point point = new Point(station.getLongitude().doubleValue(), station.getLatitude().doubleValue());
+                    redis.opsForGeo().add(GEO_KEY, point, station.getOcmId());
+                    redis.delete(summaryKey);
+                    redis.opsForHash().putAll(summaryKey, toSummary(station));
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Remember that a search was fetched from upstream
+     */
+    public void markCovered(double latitude, double longitude, int radiusMeters, int limit) {
+        redisTemplate.opsForValue().set(coveredKey(latitude, longitude, radiusMeters, limit), "1", properties.getCoverageTtl());
+    }
+
+    /**
+     * Whether a search was fetched from upstream by any node within the coverage TTL.
+     * The limit is part of the key because upstream only returned that many stations.
+     */
+    public boolean isCovered(double latitude, double longitude, int radiusMeters, int limit) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(coveredKey(latitude, longitude, radiusMeters, limit)));
+    }
+
+    /**
+     * OCM IDs of the stations within a radius, closest first
+     */
+    public List<String> search(double latitude, double longitude, int radiusMeters, int limit) {
+        GeoResults<RedisGeoCommands.GeoLocation<String>> results = redisTemplate.opsForGeo().search(
+            GEO_KEY,
+            GeoReference.fromCoordinate(longitude, latitude),
+            new Distance(radiusMeters / 1000.0, Metrics.KILOMETERS),
+            RedisGeoCommands.GeoSearchCommandArgs.newGeoSearchArgs().sortAscending().limit(limit)
+        );
+        if (results == null) {
+            return Collections.emptyList();
+        }
+
+        List<String> ocmIds = new ArrayList<>(results.getContent().size());
+        for (GeoResult<RedisGeoCommands.GeoLocation<String>> result : results) {
+            ocmIds.add(result.getContent().getName());
+        }
+        return ocmIds;
+    }
+
+    /**
+     * Load station summaries, keeping the given order and skipping missing ones
+     */
+    public List<Station> findSummaries(List<String> ocmIds) {
+        if (ocmIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Object> hashes = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+                for (String ocmId : ocmIds) {
+                    redis.opsForHash().entries(SUMMARY_PREFIX + ocmId);
+                }
+                return null;
+            }
+        });
+
+        List<Station> stations = new ArrayList<>(hashes.size());
+        for (Object hash : hashes) {
+            if (hash instanceof Map<?, ?> summary && !summary.isEmpty()) {
+                stations.add(fromSummary(summary));
+            }
+        }
+        return stations;
+    }
+
+    private static String coveredKey(double latitude, double longitude, int radiusMeters, int limit) {
+        return String.format(Locale.ROOT, "%s%.4f:%.4f:%d:%d", COVERED_PREFIX, latitude, longitude, radiusMeters, limit);
+    }
+
+    private static Map<String, String> toSummary(Station station) {
+        Map<String, String> summary = new HashMap<>();
+        put(summary, "id", station.getId());
+        put(summary, "ocmId", station.getOcmId());
+        put(summary, "name", station.getName());
+        put(summary, "address", station.getAddress());
+        put(summary, "city", station.getCity());
+        put(summary, "latitude", station.getLatitude().toPlainString());
+        put(summary, "longitude", station.getLongitude().toPlainString());
+        put(summary, "isOperational", station.getIsOperational());
+        put(summary, "totalConnectors", station.getTotalConnectors());
+        put(summary, "usageCost", station.getUsageCost());
+        put(summary, "ocmRating", station.getOcmRating());
+        put(summary, "ocmReviewCount", station.getOcmReviewCount());
+        put(summary, "googleRating", station.getGoogleRating());
+        put(summary, "googleReviewCount", station.getGoogleReviewCount());
+        put(summary, "combinedRating", station.getCombinedRating());
+        put(summary, "totalReviews", station.getTotalReviews());
+        put(summary, "contentHash", station.getContentHash());
+        return summary;
+    }
+
+    private static Station fromSummary(Map<?, ?> summary) {
+        return Station.builder()
+            .id(toLong(summary.get("id")))
+            .ocmId(toText(summary.get("ocmId")))
+            .name(toText(summary.get("name")))
+            .address(toText(summary.get("address")))
+            .city(toText(summary.get("city")))
+            .latitude(toDecimal(summary.get("latitude")))
+            .longitude(toDecimal(summary.get("longitude")))
+            .isOperational(Boolean.parseBoolean(toText(summary.get("isOperational"))))
+            .totalConnectors(toInteger(summary.get("totalConnectors")))
+            .usageCost(toText(summary.get("usageCost")))
+            .ocmRating(toDecimal(summary.get("ocmRating")))
+            .ocmReviewCount(toInteger(summary.get("ocmReviewCount")))
+            .googleRating(toDecimal(summary.get("googleRating")))
+            .googleReviewCount(toInteger(summary.get("googleReviewCount")))
+            .combinedRating(toDecimal(summary.get("combinedRating")))
+            .totalReviews(toInteger(summary.get("totalReviews")))
+            .contentHash(toText(summary.get("contentHash")))
+            .build();
+    }
+
+    private static void put(Map<String, String> summary, String field, Object value) {
+        if (value != null) {
+            summary.put(field, value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString());
+        }
+    }
+
+    private static String toText(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static Long toLong(Object value) {
+        return value != null ? Long.valueOf(value.toString()) : null;
+    }
+
+    private static Integer toInteger(Object value) {
+        return value != null ? Integer.valueOf(value.toString()) : null;
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        return value != null ? new BigDecimal(value.toString()) : null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.barbatech.natomada.stations.infrastructure.geo;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the shared Redis station geo-index
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stations.geo")
+public class StationGeoProperties {
+
+    /**
+     * Answer nearby searches from Redis when the area was fetched recently by any node
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a fetched area counts as covered before upstream APIs are called again
+     */
+    private Duration coverageTtl = Duration.ofMinutes(10);
+}
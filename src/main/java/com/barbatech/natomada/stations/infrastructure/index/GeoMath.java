@@ -0,0 +1,34 @@
+package com.barbatech.natomada.stations.infrastructure.index;
+
+/**
+ * Distance helpers on primitive coordinates
+ */
+public final class GeoMath {
+
+    public static final double METERS_PER_DEGREE = 111_320.0;
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000.0;
+
+    private GeoMath() {
+    }
+
+    /**
+     * Great-circle distance in meters (haversine)
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+            * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Longitude span of a distance at a given latitude, in degrees
+     */
+    public static double longitudeDelta(double latitude, double meters) {
+        double cos = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        return meters / (METERS_PER_DEGREE * cos);
+    }
+}
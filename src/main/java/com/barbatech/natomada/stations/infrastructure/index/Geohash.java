@@ -0,0 +1,85 @@
+package com.barbatech.natomada.stations.infrastructure.index;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Geohash encoding, used to partition stations by region
+ */
+public final class Geohash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {
+    }
+
+    /**
+     * Geohash of a position with the given number of characters
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0, value = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    value = (value << 1) | 1;
+                    minLon = mid;
+                } else {
+                    value <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    value = (value << 1) | 1;
+                    minLat = mid;
+                } else {
+                    value <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32[value]);
+                bit = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * All geohash cells of a precision that intersect a bounding box
+     */
+    public static Set<String> covering(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude, int precision) {
+        int bits = precision * 5;
+        double cellHeight = 180.0 / (1L << (bits / 2));
+        double cellWidth = 360.0 / (1L << ((bits + 1) / 2));
+
+        double fromLat = clamp(minLatitude, -90, 90), toLat = clamp(maxLatitude, -90, 90);
+        double fromLon = clamp(minLongitude, -180, 180), toLon = clamp(maxLongitude, -180, 180);
+
+        Set<String> cells = new TreeSet<>();
+        for (double lat = fromLat; ; lat = Math.min(lat + cellHeight, toLat)) {
+            for (double lon = fromLon; ; lon = Math.min(lon + cellWidth, toLon)) {
+                cells.add(encode(lat, lon, precision));
+                if (lon >= toLon) {
+                    break;
+                }
+            }
+            if (lat >= toLat) {
+                break;
+            }
+        }
+        return cells;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
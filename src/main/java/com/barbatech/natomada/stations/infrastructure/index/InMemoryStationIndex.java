@@ -0,0 +1,139 @@
+package com.barbatech.natomada.stations.infrastructure.index;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Heap-backed StationIndex over a fixed list of stations, bucketed in a lat/lon grid
+ */
+public class InMemoryStationIndex implements StationIndex {
+
+    private static final double CELL_DEGREES = 0.05;
+    private static final int[] EMPTY_CELL = new int[0];
+
+    private final Station[] stations;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final int[] amenityMasks;
+    private final Map<String, Integer> rowsByOcmId;
+    private final Map<Long, int[]> cells;
+
+    /**
+     * Build an index; stations without coordinates are skipped
+     */
+    public InMemoryStationIndex(List<Station> source) {
+        List<Station> located = new ArrayList<>(source.size());
+        for (Station station : source) {
+            if (station.getLatitude() != null && station.getLongitude() != null) {
+                located.add(station);
+            }
+        }
+
+        int size = located.size();
+        this.stations = located.toArray(new Station[0]);
+        this.latitudes = new double[size];
+        this.longitudes = new double[size];
+        this.amenityMasks = new int[size];
+        this.rowsByOcmId = new HashMap<>(size * 2);
+
+        Map<Long, List<Integer>> buckets = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            latitudes[row] = stations[row].getLatitude().doubleValue();
+            longitudes[row] = stations[row].getLongitude().doubleValue();
+            amenityMasks[row] = stations[row].getAmenityMask() != null ? stations[row].getAmenityMask() : 0;
+            if (stations[row].getOcmId() != null) {
+                rowsByOcmId.put(stations[row].getOcmId(), row);
+            }
+            buckets.computeIfAbsent(cellKey(cell(latitudes[row]), cell(longitudes[row])), k -> new ArrayList<>()).add(row);
+        }
+
+        this.cells = new HashMap<>(buckets.size() * 2);
+        buckets.forEach((key, rows) -> cells.put(key, rows.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    @Override
+    public int size() {
+        return stations.length;
+    }
+
+    @Override
+    public int findRow(String ocmId) {
+        Integer row = rowsByOcmId.get(ocmId);
+        return row != null ? row : -1;
+    }
+
+    @Override
+    public double latitude(int row) {
+        return latitudes[row];
+    }
+
+    @Override
+    public double longitude(int row) {
+        return longitudes[row];
+    }
+
+    @Override
+    public boolean isOpenAt(int row, int minuteOfWeek) {
+        return OpeningSchedule.isOpenAt(stations[row], minuteOfWeek);
+    }
+
+    @Override
+    public int amenityMask(int row) {
+        return amenityMasks[row];
+    }
+
+    @Override
+    public double costPerKwh(int row) {
+        return stations[row].getCostPerKwh() != null ? stations[row].getCostPerKwh().doubleValue() : Double.NaN;
+    }
+
+    @Override
+    public double costConfidence(int row) {
+        return stations[row].getCostConfidence() != null ? stations[row].getCostConfidence().doubleValue() : 0;
+    }
+
+    @Override
+    public double maxPowerKw(int row) {
+        return stations[row].getMaxPowerKw() != null ? stations[row].getMaxPowerKw().doubleValue() : Double.NaN;
+    }
+
+    @Override
+    public boolean isFree(int row) {
+        return Boolean.TRUE.equals(stations[row].getIsFree());
+    }
+
+    @Override
+    public Station toStation(int row) {
+        return stations[row].toBuilder().build();
+    }
+
+    @Override
+    public void scan(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude, IntConsumer visitor) {
+        int minLatCell = cell(minLatitude), maxLatCell = cell(maxLatitude);
+        int minLonCell = cell(minLongitude), maxLonCell = cell(maxLongitude);
+
+        for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (int lonCell = minLonCell; lonCell <= maxLonCell; lonCell++) {
+                for (int row : cells.getOrDefault(cellKey(latCell, lonCell), EMPTY_CELL)) {
+                    double lat = latitudes[row], lon = longitudes[row];
+                    if (lat >= minLatitude && lat <= maxLatitude && lon >= minLongitude && lon <= maxLongitude) {
+                        visitor.accept(row);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int cell(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+}
@@ -0,0 +1,226 @@
+package com.barbatech.natomada.stations.infrastructure.index;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Weekly opening schedule as sorted, non-overlapping [open, close) pairs of
+ * minute-of-week (0 = Monday 00:00), parsed once from Google weekday descriptions
+ * ("Monday: 8:00 AM – 10:00 PM") so open-at checks never touch strings.
+ */
+public final class OpeningSchedule {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    /**
+     * Schedule of a station open around the clock
+     */
+    public static final int[] ALWAYS = {0, MINUTES_PER_WEEK};
+
+    private static final Map<String, Integer> DAYS = Map.ofEntries(
+        Map.entry("monday", 0), Map.entry("segunda", 0),
+        Map.entry("tuesday", 1), Map.entry("terca", 1), Map.entry("terça", 1),
+        Map.entry("wednesday", 2), Map.entry("quarta", 2),
+        Map.entry("thursday", 3), Map.entry("quinta", 3),
+        Map.entry("friday", 4), Map.entry("sexta", 4),
+        Map.entry("saturday", 5), Map.entry("sabado", 5), Map.entry("sábado", 5),
+        Map.entry("sunday", 6), Map.entry("domingo", 6)
+    );
+
+    private static final Pattern TIME = Pattern.compile("(\\d{1,2})(?:[:h.](\\d{2}))?\\s*([ap])?\\.?\\s*m?\\.?");
+
+    private OpeningSchedule() {
+    }
+
+    /**
+     * Parse Google weekday descriptions
+     *
+     * @return The schedule, empty when closed all week, or null when no day could be parsed
+     */
+    public static int[] parse(List<String> weekdayDescriptions) {
+        if (weekdayDescriptions == null) {
+            return null;
+        }
+
+        List<int[]> intervals = new ArrayList<>();
+        boolean parsed = false;
+        for (String description : weekdayDescriptions) {
+            parsed |= parseDay(description, intervals);
+        }
+        return parsed ? normalize(intervals) : null;
+    }
+
+    /**
+     * Whether a schedule is open at a minute of the week
+     */
+    public static boolean isOpenAt(int[] schedule, int minuteOfWeek) {
+        for (int i = 0; i + 1 < schedule.length; i += 2) {
+            if (minuteOfWeek < schedule[i]) {
+                return false;
+            }
+            if (minuteOfWeek < schedule[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a station is open at a minute of the week; stations with unknown hours count as open
+     */
+    public static boolean isOpenAt(Station station, int minuteOfWeek) {
+        if (Boolean.TRUE.equals(station.getIsOpen24h())) {
+            return true;
+        }
+        int[] schedule = station.getOpeningIntervals();
+        return schedule == null || isOpenAt(schedule, minuteOfWeek);
+    }
+
+    /**
+     * Whether a schedule covers the whole week
+     */
+    public static boolean isAlwaysOpen(int[] schedule) {
+        return Arrays.equals(schedule, ALWAYS);
+    }
+
+    /**
+     * Minute of the week of a local time, 0 = Monday 00:00
+     */
+    public static int minuteOfWeek(ZonedDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * Add the intervals of one "Day: hours" line
+     *
+     * @return Whether the line was understood
+     */
+    private static boolean parseDay(String description, List<int[]> intervals) {
+        if (description == null) {
+            return false;
+        }
+        // Google separates ranges with en dashes and times with (narrow) no-break spaces
+        String line = description
+            .replace('\u2013', '-').replace('\u2014', '-')
+            .replace('\u202f', ' ').replace('\u2009', ' ').replace('\u00a0', ' ')
+            .toLowerCase(Locale.ROOT)
+            .trim();
+
+        int colon = line.indexOf(':');
+        if (colon < 0) {
+            return false;
+        }
+        Integer day = dayOf(line.substring(0, colon));
+        if (day == null) {
+            return false;
+        }
+        String hours = line.substring(colon + 1).trim();
+        int dayStart = day * MINUTES_PER_DAY;
+
+        if (hours.contains("24 hours") || hours.contains("24 horas")) {
+            intervals.add(new int[]{dayStart, dayStart + MINUTES_PER_DAY});
+            return true;
+        }
+        if (hours.startsWith("closed") || hours.startsWith("fechado")) {
+            return true;
+        }
+
+        boolean understood = false;
+        for (String range : hours.split(",")) {
+            String[] ends = range.split("-");
+            if (ends.length != 2) {
+                continue;
+            }
+            Matcher open = TIME.matcher(ends[0].trim());
+            Matcher close = TIME.matcher(ends[1].trim());
+            if (!open.matches() || !close.matches()) {
+                continue;
+            }
+
+            String closeMeridiem = close.group(3);
+            int closeMinute = minuteOfDay(close, closeMeridiem);
+            // "11:00 - 2:00 PM": the opening time takes the closing meridiem unless that puts it after closing
+            String openMeridiem = open.group(3) != null ? open.group(3) : closeMeridiem;
+            int openMinute = minuteOfDay(open, openMeridiem);
+            if (open.group(3) == null && closeMeridiem != null && openMinute > closeMinute) {
+                openMinute = minuteOfDay(open, "p".equals(closeMeridiem) ? "a" : "p");
+            }
+            if (openMinute < 0 || closeMinute < 0) {
+                continue;
+            }
+            if (closeMinute <= openMinute) {
+                closeMinute += MINUTES_PER_DAY; // closes after midnight
+            }
+
+            intervals.add(new int[]{dayStart + openMinute, dayStart + closeMinute});
+            understood = true;
+        }
+        return understood;
+    }
+
+    private static Integer dayOf(String name) {
+        String day = name.trim();
+        int suffix = day.indexOf('-'); // "segunda-feira"
+        return DAYS.get(suffix > 0 ? day.substring(0, suffix) : day);
+    }
+
+    /**
+     * Minute of the day of a matched time, or -1 when out of range
+     */
+    private static int minuteOfDay(Matcher time, String meridiem) {
+        int hour = Integer.parseInt(time.group(1));
+        int minute = time.group(2) != null ? Integer.parseInt(time.group(2)) : 0;
+        if (meridiem != null) {
+            if (hour < 1 || hour > 12) {
+                return -1;
+            }
+            hour = hour % 12 + ("p".equals(meridiem) ? 12 : 0);
+        }
+        if (hour > 24 || minute > 59 || (hour == 24 && minute > 0)) {
+            return -1;
+        }
+        return hour * 60 + minute;
+    }
+
+    /**
+     * Sort and merge intervals, wrapping Sunday night into Monday morning
+     */
+    private static int[] normalize(List<int[]> intervals) {
+        List<int[]> wrapped = new ArrayList<>(intervals.size() + 1);
+        for (int[] interval : intervals) {
+            if (interval[1] > MINUTES_PER_WEEK) {
+                wrapped.add(new int[]{interval[0], MINUTES_PER_WEEK});
+                wrapped.add(new int[]{0, interval[1] - MINUTES_PER_WEEK});
+            } else {
+                wrapped.add(interval);
+            }
+        }
+        wrapped.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        List<int[]> merged = new ArrayList<>(wrapped.size());
+        for (int[] interval : wrapped) {
+            int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && interval[0] <= last[1]) {
+                last[1] = Math.max(last[1], interval[1]);
+            } else {
+                merged.add(new int[]{interval[0], interval[1]});
+            }
+        }
+
+        int[] schedule = new int[merged.size() * 2];
+        for (int i = 0; i < merged.size(); i++) {
+            schedule[2 * i] = merged.get(i)[0];
+            schedule[2 * i + 1] = merged.get(i)[1];
+        }
+        return schedule;
+    }
+}
@@ -0,0 +1,73 @@
+package com.barbatech.natomada.stations.infrastructure.index;
+
+import java.util.Arrays;
+
+/**
+ * Route geometry as parallel coordinate arrays, decoded from the encoded
+ * polyline format returned by routing APIs (Google, OSRM, Valhalla with precision 5)
+ */
+public record Polyline(double[] latitudes, double[] longitudes) {
+
+    private static final int PRECISION = 5;
+
+    public int size() {
+        return latitudes.length;
+    }
+
+    /**
+     * Decode an encoded polyline with 5 decimal places
+     *
+     * @throws IllegalArgumentException When the text is empty or malformed
+     */
+    public static Polyline decode(String encoded) {
+        return decode(encoded, PRECISION);
+    }
+
+    /**
+     * Decode an encoded polyline with the given number of decimal places
+     *
+     * @throws IllegalArgumentException When the text is empty or malformed
+     */
+    public static Polyline decode(String encoded, int precision) {
+        if (encoded == null || encoded.isEmpty()) {
+            throw new IllegalArgumentException("Empty polyline");
+        }
+
+        double factor = Math.pow(10, precision);
+        double[] latitudes = new double[encoded.length() / 2 + 1];
+        double[] longitudes = new double[latitudes.length];
+        int count = 0, index = 0;
+        long latitude = 0, longitude = 0;
+
+        while (index < encoded.length()) {
+            long[] delta = new long[2];
+            for (int axis = 0; axis < 2; axis++) {
+                long result = 0;
+                int shift = 0, chunk;
+                do {
+                    if (index >= encoded.length() || shift > 30) {
+                        throw new IllegalArgumentException("Malformed polyline at character " + index);
+                    }
+                    chunk = encoded.charAt(index++) - 63;
+                    if (chunk < 0 || chunk > 63) {
+                        throw new IllegalArgumentException("Malformed polyline at character " + (index - 1));
+                    }
+                    result |= (long) (chunk & 0x1f) << shift;
+                    shift += 5;
+                } while (chunk >= 0x20);
+                delta[axis] = (result & 1) != 0 ? ~(result >> 1) : result >> 1;
+            }
+
+            latitude += delta[0];
+            longitude += delta[1];
+            latitudes[count] = latitude / factor;
+            longitudes[count] = longitude / factor;
+            if (Math.abs(latitudes[count]) > 90 || Math.abs(longitudes[count]) > 180) {
+                throw new IllegalArgumentException("Polyline point out of range: " + latitudes[count] + "," + longitudes[count]);
+            }
+            count++;
+        }
+
+        return new Polyline(Arrays.copyOf(latitudes, count), Arrays.copyOf(longitudes, count));
+    }
+}
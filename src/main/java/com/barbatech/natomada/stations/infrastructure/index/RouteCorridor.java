@@ -0,0 +1,229 @@
+package com.barbatech.natomada.stations.infrastructure.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A route buffered by a corridor width, for "stations along my route" searches.
+ *
+ * The route is rasterized once into grid cells about one width wide, each
+ * remembering the route segments passing within the width of it. A search
+ * scans the merged cell boxes in one pass over the index, and placing a
+ * station only measures it against the few segments of its own cell.
+ */
+public final class RouteCorridor {
+
+    /**
+     * Smallest cell side in degrees (~1.1 km), so narrow corridors don't explode into cells
+     */
+    private static final double MIN_CELL_DEGREES = 0.01;
+
+    /**
+     * Routes covering more cells than this are refused
+     */
+    static final int MAX_CELLS = 200_000;
+
+    private final Polyline route;
+    private final double widthMeters;
+    private final double cellDegrees;
+    private final double[] metersAtVertex;
+    private final Map<Long, int[]> segmentsByCell;
+    private final List<Box> boxes;
+
+    /**
+     * Where a point lies relative to the route
+     *
+     * @param alongMeters Distance driven from the route start to the closest route point
+     * @param offsetMeters Distance from the route to the point
+     */
+    public record Position(double alongMeters, double offsetMeters) {
+    }
+
+    /**
+     * Bounding box of a run of covering cells
+     */
+    public record Box(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+    }
+
+    private RouteCorridor(Polyline route, double widthMeters) {
+        this.route = route;
+        this.widthMeters = widthMeters;
+        this.cellDegrees = Math.max(widthMeters / GeoMath.METERS_PER_DEGREE, MIN_CELL_DEGREES);
+        this.metersAtVertex = cumulativeMeters(route);
+        this.segmentsByCell = rasterize();
+        this.boxes = mergeCells();
+    }
+
+    /**
+     * Buffer a route by a width on each side
+     *
+     * @throws IllegalArgumentException When the route is empty, the width isn't positive or the corridor is too large
+     */
+    public static RouteCorridor of(Polyline route, double widthMeters) {
+        if (route == null || route.size() == 0) {
+            throw new IllegalArgumentException("Empty route");
+        }
+        if (!(widthMeters > 0)) {
+            throw new IllegalArgumentException("Corridor width must be positive");
+        }
+        return new RouteCorridor(route, widthMeters);
+    }
+
+    public double widthMeters() {
+        return widthMeters;
+    }
+
+    /**
+     * Driving length of the route
+     */
+    public double lengthMeters() {
+        return metersAtVertex[metersAtVertex.length - 1];
+    }
+
+    /**
+     * Boxes covering the corridor, to be scanned against the index
+     */
+    public List<Box> boxes() {
+        return boxes;
+    }
+
+    /**
+     * Bounding box of the whole corridor
+     */
+    public Box bounds() {
+        double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE, minLon = Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+        for (Box box : boxes) {
+            minLat = Math.min(minLat, box.minLatitude());
+            maxLat = Math.max(maxLat, box.maxLatitude());
+            minLon = Math.min(minLon, box.minLongitude());
+            maxLon = Math.max(maxLon, box.maxLongitude());
+        }
+        return new Box(minLat, maxLat, minLon, maxLon);
+    }
+
+    /**
+     * Position of a point along the route, or null when it is outside the corridor.
+     * A route passing the point more than once places it at the first pass.
+     */
+    public Position locate(double latitude, double longitude) {
+        int[] segments = segmentsByCell.get(cellKey(cell(latitude), cell(longitude)));
+        if (segments == null) {
+            return null;
+        }
+
+        // Local equirectangular projection around the point: exact enough within a corridor width
+        double metersPerLonDegree = GeoMath.METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+        double[] lats = route.latitudes(), lons = route.longitudes();
+        Position best = null;
+
+        for (int segment : segments) {
+            int to = Math.min(segment + 1, lats.length - 1);
+            double ax = (lons[segment] - longitude) * metersPerLonDegree, ay = (lats[segment] - latitude) * GeoMath.METERS_PER_DEGREE;
+            double bx = (lons[to] - longitude) * metersPerLonDegree, by = (lats[to] - latitude) * GeoMath.METERS_PER_DEGREE;
+            double dx = bx - ax, dy = by - ay;
+            double lengthSquared = dx * dx + dy * dy;
+            double t = lengthSquared > 0 ? Math.max(0, Math.min(1, -(ax * dx + ay * dy) / lengthSquared)) : 0;
+
+            double offset = Math.hypot(ax + t * dx, ay + t * dy);
+            if (offset > widthMeters) {
+                continue;
+            }
+            double along = metersAtVertex[segment] + t * (metersAtVertex[to] - metersAtVertex[segment]);
+            if (best == null || along < best.alongMeters()) {
+                best = new Position(along, offset);
+            }
+        }
+        return best;
+    }
+
+    private static double[] cumulativeMeters(Polyline route) {
+        double[] meters = new double[route.size()];
+        for (int i = 1; i < meters.length; i++) {
+            meters[i] = meters[i - 1] + GeoMath.distanceMeters(
+                route.latitudes()[i - 1], route.longitudes()[i - 1], route.latitudes()[i], route.longitudes()[i]);
+        }
+        return meters;
+    }
+
+    /**
+     * Segments passing within the width of each cell. Long segments are walked in
+     * cell-sized steps, so a straight 50 km highway leg only claims the cells along it.
+     */
+    private Map<Long, int[]> rasterize() {
+        double[] lats = route.latitudes(), lons = route.longitudes();
+        int segmentCount = Math.max(1, lats.length - 1);
+        double latBuffer = widthMeters / GeoMath.METERS_PER_DEGREE;
+        Map<Long, int[]> cells = new HashMap<>();
+
+        for (int segment = 0; segment < segmentCount; segment++) {
+            int to = Math.min(segment + 1, lats.length - 1);
+            double dLat = lats[to] - lats[segment], dLon = lons[to] - lons[segment];
+            int steps = Math.max(1, (int) Math.ceil(Math.max(Math.abs(dLat), Math.abs(dLon)) / cellDegrees));
+
+            for (int step = 0; step < steps; step++) {
+                double lat1 = lats[segment] + dLat * step / steps, lat2 = lats[segment] + dLat * (step + 1) / steps;
+                double lon1 = lons[segment] + dLon * step / steps, lon2 = lons[segment] + dLon * (step + 1) / steps;
+                double lonBuffer = GeoMath.longitudeDelta(Math.max(Math.abs(lat1), Math.abs(lat2)), widthMeters);
+
+                long fromLat = cell(Math.min(lat1, lat2) - latBuffer), toLat = cell(Math.max(lat1, lat2) + latBuffer);
+                long fromLon = cell(Math.min(lon1, lon2) - lonBuffer), toLon = cell(Math.max(lon1, lon2) + lonBuffer);
+                for (long latCell = fromLat; latCell <= toLat; latCell++) {
+                    for (long lonCell = fromLon; lonCell <= toLon; lonCell++) {
+                        int[] kept = cells.get(cellKey(latCell, lonCell));
+                        if (kept == null) {
+                            cells.put(cellKey(latCell, lonCell), new int[]{segment});
+                        } else if (kept[kept.length - 1] != segment) {
+                            cells.put(cellKey(latCell, lonCell), append(kept, segment));
+                        }
+                    }
+                }
+                if (cells.size() > MAX_CELLS) {
+                    throw new IllegalArgumentException("Route corridor is too large");
+                }
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Runs of adjacent cells in each latitude row, as scan boxes
+     */
+    private List<Box> mergeCells() {
+        Map<Long, List<Long>> rows = new TreeMap<>();
+        for (long key : segmentsByCell.keySet()) {
+            rows.computeIfAbsent(key >> 32, row -> new ArrayList<>()).add((long) (int) key);
+        }
+
+        List<Box> merged = new ArrayList<>();
+        for (Map.Entry<Long, List<Long>> row : rows.entrySet()) {
+            long[] lonCells = row.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+            double minLat = row.getKey() * cellDegrees, maxLat = (row.getKey() + 1) * cellDegrees;
+            int start = 0;
+            for (int i = 1; i <= lonCells.length; i++) {
+                if (i == lonCells.length || lonCells[i] != lonCells[i - 1] + 1) {
+                    merged.add(new Box(minLat, maxLat, lonCells[start] * cellDegrees, (lonCells[i - 1] + 1) * cellDegrees));
+                    start = i;
+                }
+            }
+        }
+        return merged;
+    }
+
+    private long cell(double degrees) {
+        return (long) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(long latCell, long lonCell) {
+        return (latCell << 32) | (lonCell & 0xffffffffL);
+    }
+
+    private static int[] append(int[] segments, int segment) {
+        int[] grown = Arrays.copyOf(segments, segments.length + 1);
+        grown[segments.length] = segment;
+        return grown;
+    }
+}
@@ -0,0 +1,116 @@
+package com.barbatech.natomada.stations.infrastructure.index;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Attribute filters of a nearby search, checked per row while the index is scanned.
+ * Stations with unknown opening hours are kept: missing data shouldn't hide a charger.
+ * Cost filters are the exception, since a price nobody could read can't be promised:
+ * they only keep stations whose parsed cost reaches minCostConfidence.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationFilter {
+
+    /**
+     * Only stations open at this minute of the week (0 = Monday 00:00, station local time)
+     */
+    private Integer openAtMinute;
+
+    /**
+     * Only stations having all of these amenities (Amenity bitmask)
+     */
+    private Integer amenityMask;
+
+    /**
+     * Only stations charging at most this much per kWh (local currency); free stations count as 0
+     */
+    private Double maxCostPerKwh;
+
+    /**
+     * Only stations known to be free
+     */
+    private Boolean freeOnly;
+
+    /**
+     * Parsed costs below this confidence (0-1) count as unknown, for cost filters and ranking
+     */
+    private Double minCostConfidence;
+
+    /**
+     * Only stations with a connector rated at least this power (kW); unknown power doesn't qualify
+     */
+    private Double minPowerKw;
+
+    public boolean isEmpty() {
+        return openAtMinute == null && (amenityMask == null || amenityMask == 0)
+            && maxCostPerKwh == null && !Boolean.TRUE.equals(freeOnly) && minPowerKw == null;
+    }
+
+    /**
+     * Whether an index row passes the filter, read from primitive columns
+     */
+    public boolean matches(StationIndex index, int row) {
+        return hasAmenities(index.amenityMask(row))
+            && (openAtMinute == null || index.isOpenAt(row, openAtMinute))
+            && hasCost(index.isFree(row), trustedCostPerKwh(index, row), index.costConfidence(row))
+            && hasPower(index.maxPowerKw(row));
+    }
+
+    /**
+     * Whether a materialized station passes the filter
+     */
+    public boolean matches(Station station) {
+        return hasAmenities(station.getAmenityMask() != null ? station.getAmenityMask() : 0)
+            && (openAtMinute == null || OpeningSchedule.isOpenAt(station, openAtMinute))
+            && hasCost(Boolean.TRUE.equals(station.getIsFree()), trustedCostPerKwh(station), confidence(station))
+            && hasPower(station.getMaxPowerKw() != null ? station.getMaxPowerKw().doubleValue() : Double.NaN);
+    }
+
+    /**
+     * Price per kWh of an index row used for ranking, or +Infinity when unknown or not trusted
+     */
+    public double trustedCostPerKwh(StationIndex index, int row) {
+        return trusted(index.costPerKwh(row), index.costConfidence(row));
+    }
+
+    /**
+     * Price per kWh of a materialized station used for ranking, or +Infinity when unknown or not trusted
+     */
+    public double trustedCostPerKwh(Station station) {
+        return trusted(station.getCostPerKwh() != null ? station.getCostPerKwh().doubleValue() : Double.NaN, confidence(station));
+    }
+
+    private boolean hasCost(boolean free, double trustedCost, double confidence) {
+        if (Boolean.TRUE.equals(freeOnly) && !(free && isTrusted(confidence))) {
+            return false;
+        }
+        return maxCostPerKwh == null || trustedCost <= maxCostPerKwh;
+    }
+
+    private double trusted(double cost, double confidence) {
+        return Double.isNaN(cost) || !isTrusted(confidence) ? Double.POSITIVE_INFINITY : cost;
+    }
+
+    private boolean isTrusted(double confidence) {
+        return minCostConfidence == null || confidence >= minCostConfidence;
+    }
+
+    private static double confidence(Station station) {
+        return station.getCostConfidence() != null ? station.getCostConfidence().doubleValue() : 0;
+    }
+
+    private boolean hasPower(double maxPowerKw) {
+        return minPowerKw == null || maxPowerKw >= minPowerKw;
+    }
+
+    private boolean hasAmenities(int mask) {
+        return amenityMask == null || (mask & amenityMask) == amenityMask;
+    }
+}
@@ -0,0 +1,24 @@
+package com.barbatech.natomada.stations.infrastructure.index;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for nearby search filters
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stations.filters")
+public class StationFilterProperties {
+
+    /**
+     * Zone opening hours are read in, since Google gives them in station local time
+     */
+    private String zone = "America/Sao_Paulo";
+
+    /**
+     * Parsed prices below this confidence (0-1) are treated as unknown by cost filters and ranking
+     */
+    private double minCostConfidence = 0.5;
+}
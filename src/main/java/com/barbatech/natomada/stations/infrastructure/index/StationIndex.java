@@ -0,0 +1,204 @@
+package com.barbatech.natomada.stations.infrastructure.index;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.IntConsumer;
+
+/**
+ * Read-only spatial index of stations, addressed by row number.
+ *
+ * Rows keep coordinates as primitives so scans never materialize a Station;
+ * only the rows that make it into a result are turned into entities.
+ */
+public interface StationIndex {
+
+    /**
+     * Number of stations in the index
+     */
+    int size();
+
+    /**
+     * Row of a station by OCM ID (format: "ocm_123456"), or -1 if absent
+     */
+    int findRow(String ocmId);
+
+    double latitude(int row);
+
+    double longitude(int row);
+
+    /**
+     * Whether a row is open at a minute of the week (0 = Monday 00:00).
+     * Rows with unknown opening hours count as open.
+     */
+    boolean isOpenAt(int row, int minuteOfWeek);
+
+    /**
+     * Amenities of a row as an Amenity bitmask
+     */
+    int amenityMask(int row);
+
+    /**
+     * Parsed price per kWh of a row (local currency), or NaN when unknown
+     */
+    double costPerKwh(int row);
+
+    /**
+     * Confidence (0-1) of a row's parsed cost, 0 when unknown
+     */
+    double costConfidence(int row);
+
+    /**
+     * Highest rated connector power of a row (kW), or NaN when unknown
+     */
+    double maxPowerKw(int row);
+
+    /**
+     * Whether a row's usage cost says charging is free
+     */
+    boolean isFree(int row);
+
+    /**
+     * Materialize a row as a new, detached Station the caller may modify
+     */
+    Station toStation(int row);
+
+    /**
+     * Visit every row inside a bounding box
+     */
+    void scan(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude, IntConsumer visitor);
+
+    /**
+     * Find a station by OCM ID
+     *
+     * @return A detached Station, or null if absent
+     */
+    default Station findByOcmId(String ocmId) {
+        int row = findRow(ocmId);
+        return row < 0 ? null : toStation(row);
+    }
+
+    /**
+     * Nearest stations within a radius, closest first.
+     * Keeps a bounded max-heap of the best candidates, so a scan costs O(n log limit).
+     */
+    default List<Station> nearby(double latitude, double longitude, double radiusMeters, int limit) {
+        return nearby(latitude, longitude, radiusMeters, limit, null);
+    }
+
+    /**
+     * Nearest stations within a radius passing a filter, closest first.
+     * The filter is checked on each row before it competes for the heap.
+     *
+     * @param filter Attribute filter, or null for none
+     */
+    default List<Station> nearby(double latitude, double longitude, double radiusMeters, int limit, StationFilter filter) {
+        return nearby(latitude, longitude, radiusMeters, limit, filter, StationSort.DISTANCE);
+    }
+
+    /**
+     * Best stations within a radius passing a filter, in the given order.
+     * Cost ranking reads the parsed price column, with the filter's confidence threshold.
+     *
+     * @param filter Attribute filter, or null for none
+     */
+    default List<Station> nearby(double latitude, double longitude, double radiusMeters, int limit,
+                                 StationFilter filter, StationSort sort) {
+        if (limit <= 0 || size() == 0) {
+            return Collections.emptyList();
+        }
+
+        double latDelta = radiusMeters / GeoMath.METERS_PER_DEGREE;
+        double lonDelta = GeoMath.longitudeDelta(latitude, radiusMeters);
+        boolean byCost = sort == StationSort.COST;
+        StationFilter costs = filter != null ? filter : new StationFilter();
+        Comparator<Hit> order = byCost
+            ? Comparator.comparingDouble(Hit::cost).thenComparingDouble(Hit::distance)
+            : Comparator.comparingDouble(Hit::distance);
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, order.reversed());
+
+        scan(latitude - latDelta, latitude + latDelta, longitude - lonDelta, longitude + lonDelta, row -> {
+            double distance = GeoMath.distanceMeters(latitude, longitude, latitude(row), longitude(row));
+            if (distance > radiusMeters || (filter != null && !filter.matches(this, row))) {
+                return;
+            }
+            Hit hit = new Hit(row, distance, byCost ? costs.trustedCostPerKwh(this, row) : 0);
+            if (best.size() < limit) {
+                best.add(hit);
+            } else if (order.compare(hit, best.peek()) < 0) {
+                best.poll();
+                best.add(hit);
+            }
+        });
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(order);
+
+        List<Station> stations = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            stations.add(toStation(hit.row()));
+        }
+        return stations;
+    }
+
+    /**
+     * Stations inside a route corridor passing a filter, in driving order.
+     * All covering boxes are scanned in one pass; rows in two boxes are placed once,
+     * and a bounded max-heap keeps the first `limit` stations along the route.
+     *
+     * @param filter Attribute filter, or null for none
+     */
+    default List<Station> alongRoute(RouteCorridor corridor, int limit, StationFilter filter) {
+        if (limit <= 0 || size() == 0) {
+            return Collections.emptyList();
+        }
+
+        BitSet seen = new BitSet(size());
+        Comparator<RouteHit> order = Comparator.comparingDouble(RouteHit::along).thenComparingDouble(RouteHit::offset);
+        PriorityQueue<RouteHit> best = new PriorityQueue<>(limit + 1, order.reversed());
+
+        for (RouteCorridor.Box box : corridor.boxes()) {
+            scan(box.minLatitude(), box.maxLatitude(), box.minLongitude(), box.maxLongitude(), row -> {
+                if (seen.get(row)) {
+                    return;
+                }
+                seen.set(row);
+
+                RouteCorridor.Position position = corridor.locate(latitude(row), longitude(row));
+                if (position == null || (filter != null && !filter.matches(this, row))) {
+                    return;
+                }
+                RouteHit hit = new RouteHit(row, position.alongMeters(), position.offsetMeters());
+                if (best.size() < limit) {
+                    best.add(hit);
+                } else if (order.compare(hit, best.peek()) < 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            });
+        }
+
+        List<RouteHit> hits = new ArrayList<>(best);
+        hits.sort(order);
+
+        List<Station> stations = new ArrayList<>(hits.size());
+        for (RouteHit hit : hits) {
+            Station station = toStation(hit.row());
+            station.setDistanceAlongRouteMeters((double) Math.round(hit.along()));
+            station.setDistanceFromRouteMeters((double) Math.round(hit.offset()));
+            stations.add(station);
+        }
+        return stations;
+    }
+
+    record Hit(int row, double distance, double cost) {
+    }
+
+    record RouteHit(int row, double along, double offset) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.barbatech.natomada.stations.infrastructure.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the station index currently being served.
+ * Loaders build a complete index off to the side and publish it in one swap.
+ */
+@Slf4j
+@Component
+public class StationIndexRegistry {
+
+    private final AtomicReference<StationIndex> current = new AtomicReference<>();
+
+    /**
+     * Replace the served index
+     */
+    public void publish(StationIndex index) {
+        current.set(index);
+        log.info("Published station index with {} stations", index.size());
+    }
+
+    /**
+     * The served index, if one has been loaded
+     */
+    public Optional<StationIndex> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    public boolean isLoaded() {
+        return current.get() != null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.barbatech.natomada.stations.infrastructure.index;
+
+import java.util.Locale;
+
+/**
+ * Order of nearby search results
+ */
+public enum StationSort {
+
+    /**
+     * Closest first
+     */
+    DISTANCE,
+
+    /**
+     * Cheapest per kWh first, then closest; stations without a trusted price come last
+     */
+    COST,
+
+    /**
+     * Best match for the user first (see StationRankingService); the index returns the closest candidates
+     */
+    PERSONALIZED;
+
+    /**
+     * Sort by API name ("distance", "cost", "personalized"); null or unknown names sort by distance
+     */
+    public static StationSort fromKey(String key) {
+        if (key != null) {
+            for (StationSort sort : values()) {
+                if (sort.name().equals(key.trim().toUpperCase(Locale.ROOT))) {
+                    return sort;
+                }
+            }
+        }
+        return DISTANCE;
+    }
+}
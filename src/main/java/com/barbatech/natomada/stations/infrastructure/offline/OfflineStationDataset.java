@@ -0,0 +1,104 @@
+package com.barbatech.natomada.stations.infrastructure.offline;
+
+import com.barbatech.natomada.stations.application.services.StationEntityResolver;
+import com.barbatech.natomada.stations.application.services.StationSyncService;
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.external.ExternalStationMapper;
+import com.barbatech.natomada.stations.infrastructure.external.opencm.dtos.OpenChargeMapResponse;
+import com.barbatech.natomada.stations.infrastructure.index.InMemoryStationIndex;
+import com.barbatech.natomada.stations.infrastructure.index.StationIndex;
+import com.barbatech.natomada.stations.infrastructure.index.StationIndexRegistry;
+import com.barbatech.natomada.stations.infrastructure.shard.StationShardMap;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Loads an OpenChargeMap export from disk into the station index at startup
+ *
+ * Accepts the JSON array returned by the OCM /poi endpoint as well as NDJSON
+ * (one POI per line); both are streamed, never held as a whole document.
+ * When stations are sharded, only the partitions this node owns are kept.
+ * Duplicate listings of the same site are merged once, while loading.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OfflineStationDataset {
+
+    private final OfflineStationProperties properties;
+    private final ExternalStationMapper externalStationMapper;
+    private final StationSyncService stationSyncService;
+    private final StationEntityResolver stationEntityResolver;
+    private final StationIndexRegistry stationIndexRegistry;
+    private final StationShardMap stationShardMap;
+    private final ObjectMapper objectMapper;
+
+    @PostConstruct
+    public void loadAtStartup() {
+        if (properties.getDatasetPath() == null || properties.getDatasetPath().isBlank()) {
+            if (properties.isEnabled()) {
+                log.warn("Offline station mode is enabled but stations.offline.dataset-path is not set");
+            }
+            return;
+        }
+
+        try {
+            stationIndexRegistry.publish(load(Path.of(properties.getDatasetPath())));
+        } catch (IOException e) {
+            if (properties.isEnabled()) {
+                throw new IllegalStateException("Could not load offline station dataset: " + properties.getDatasetPath(), e);
+            }
+            log.error("Could not load offline station dataset {}: {}", properties.getDatasetPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Read an export file and build an index from it
+     */
+    public StationIndex load(Path path) throws IOException {
+        long started = System.currentTimeMillis();
+        List<Station> stations = new ArrayList<>();
+        Predicate<Station> owned = stationShardMap.ownedBy(stationShardMap.self());
+        int skipped = 0, foreign = 0;
+
+        try (MappingIterator<OpenChargeMapResponse> iterator = objectMapper
+                .readerFor(OpenChargeMapResponse.class)
+                .readValues(Files.newInputStream(path))) {
+            while (iterator.hasNextValue()) {
+                OpenChargeMapResponse poi = iterator.nextValue();
+                try {
+                    Station station = externalStationMapper.fromOpenChargeMap(poi);
+                    if (stationShardMap.isEnabled() && !owned.test(station)) {
+                        foreign++;
+                        continue;
+                    }
+                    stations.add(station);
+                } catch (Exception e) {
+                    skipped++;
+                    log.debug("Skipping OCM POI {}: {}", poi.getId(), e.getMessage());
+                }
+            }
+        }
+
+        List<Station> resolved = stationEntityResolver.resolve(stations, List.of()).stations();
+        for (Station station : resolved) {
+            station.setContentHash(stationSyncService.fingerprint(station));
+        }
+
+        StationIndex index = new InMemoryStationIndex(resolved);
+        log.info("Loaded {} stations from {} in {}ms ({} skipped, {} duplicates merged, {} owned by other shards)",
+                 index.size(), path, System.currentTimeMillis() - started, skipped, stations.size() - resolved.size(), foreign);
+        return index;
+    }
+}
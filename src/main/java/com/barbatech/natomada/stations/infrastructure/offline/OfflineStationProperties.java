@@ -0,0 +1,25 @@
+package com.barbatech.natomada.stations.infrastructure.offline;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the offline station dataset (OpenChargeMap export)
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stations.offline")
+public class OfflineStationProperties {
+
+    /**
+     * Serve stations only from the local dataset, without calling OpenChargeMap or Google
+     */
+    private boolean enabled = false;
+
+    /**
+     * Path to an OpenChargeMap export (JSON array or NDJSON). When set, the dataset is
+     * loaded at startup and also used as a fallback when OpenChargeMap is unavailable
+     */
+    private String datasetPath;
+}
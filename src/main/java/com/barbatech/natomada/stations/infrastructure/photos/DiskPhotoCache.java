@@ -0,0 +1,217 @@
+package com.barbatech.natomada.stations.infrastructure.photos;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Bounded on-disk LRU cache of photo bytes
+ *
+ * Files are named after a hash of the cache key; an in-memory access-ordered
+ * index tracks sizes and evicts the least recently used files once the cache
+ * grows past its limit. Concurrent misses of the same key share one load.
+ * After a restart the order is rebuilt from file modification times.
+ *
+ * Evicted files are deleted after a grace period rather than at once: the
+ * controller hands paths to the connector's sendfile, which opens them only
+ * after the handler returns. A file stored again in the meantime is kept.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DiskPhotoCache {
+
+    private static final String SUFFIX = ".img";
+
+    private final StationPhotoProperties properties;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, CompletableFuture<CachedPhoto>> loading = new ConcurrentHashMap<>();
+    private final Map<String, Long> evictedAt = new LinkedHashMap<>();
+    private long totalBytes;
+    private Path directory;
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = Path.of(properties.getCacheDir());
+        Files.createDirectories(directory);
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.toList();
+        }
+
+        synchronized (this) {
+            files.stream()
+                .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                .sorted(Comparator.comparing(DiskPhotoCache::lastModified))
+                .forEach(file -> {
+                    try {
+                        entries.put(file.getFileName().toString(), new Entry(Files.size(file), detectContentType(file)));
+                        totalBytes += Files.size(file);
+                    } catch (IOException e) {
+                        log.debug("Skipping cached photo {}: {}", file, e.getMessage());
+                    }
+                });
+            evict();
+        }
+
+        // Leftovers of writes interrupted by a shutdown
+        for (Path file : files) {
+            if (file.getFileName().toString().endsWith(".tmp")) {
+                Files.deleteIfExists(file);
+            }
+        }
+        log.info("Photo cache at {}: {} photos, {} bytes", directory, entries.size(), totalBytes);
+    }
+
+    /**
+     * Cached photo for a key, loading and storing it on a miss
+     *
+     * @param loader Fetches the photo bytes; null or empty means there is no photo
+     * @return The cached photo, or null when the loader had none
+     */
+    public CachedPhoto get(String key, Supplier<byte[]> loader) throws IOException {
+        String name = DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + SUFFIX;
+
+        synchronized (this) {
+            Entry entry = entries.get(name);
+            if (entry != null) {
+                return new CachedPhoto(directory.resolve(name), entry.size(), entry.contentType());
+            }
+        }
+
+        CompletableFuture<CachedPhoto> load = new CompletableFuture<>();
+        CompletableFuture<CachedPhoto> pending = loading.putIfAbsent(name, load);
+        if (pending != null) {
+            return await(pending);
+        }
+
+        try {
+            byte[] bytes = loader.get();
+            CachedPhoto photo = bytes == null || bytes.length == 0 ? null : store(name, bytes);
+            load.complete(photo);
+            return photo;
+        } catch (IOException | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(name);
+        }
+    }
+
+    private CachedPhoto store(String name, byte[] bytes) throws IOException {
+        Path path = directory.resolve(name);
+        Path temp = Files.createTempFile(directory, name, ".tmp");
+        Files.write(temp, bytes);
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        String contentType = detectContentType(bytes);
+        synchronized (this) {
+            Entry previous = entries.put(name, new Entry(bytes.length, contentType));
+            totalBytes += bytes.length - (previous != null ? previous.size() : 0);
+            evict();
+        }
+        return new CachedPhoto(path, bytes.length, contentType);
+    }
+
+    /**
+     * Drop least recently used photos until the cache fits, always keeping the newest one,
+     * and delete the files of photos evicted longer than the grace period ago
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        long maxBytes = properties.getMaxSize().toBytes();
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && entries.size() > 1 && eldest.hasNext()) {
+            Map.Entry<String, Entry> entry = eldest.next();
+            eldest.remove();
+            totalBytes -= entry.getValue().size();
+            evictedAt.remove(entry.getKey());
+            evictedAt.put(entry.getKey(), now);
+        }
+
+        long deleteBefore = now - properties.getEvictionGrace().toMillis();
+        Iterator<Map.Entry<String, Long>> evicted = evictedAt.entrySet().iterator();
+        while (evicted.hasNext()) {
+            Map.Entry<String, Long> entry = evicted.next();
+            if (entry.getValue() > deleteBefore) {
+                break; // in eviction order, so the rest are newer
+            }
+            evicted.remove();
+            if (entries.containsKey(entry.getKey())) {
+                continue; // stored again since
+            }
+            try {
+                Files.deleteIfExists(directory.resolve(entry.getKey()));
+            } catch (IOException e) {
+                log.warn("Could not delete cached photo {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private CachedPhoto await(CompletableFuture<CachedPhoto> pending) throws IOException {
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for photo", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Photo load failed", e.getCause());
+        }
+    }
+
+    private static String detectContentType(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return detectContentType(in.readNBytes(12));
+        }
+    }
+
+    /**
+     * Content type from the image magic number (Google serves JPEG, PNG or WebP)
+     */
+    static String detectContentType(byte[] head) {
+        if (head.length >= 8 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+            return "image/png";
+        }
+        if (head.length >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+            && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "image/webp";
+        }
+        return "image/jpeg";
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private record Entry(long size, String contentType) {}
+
+    /**
+     * A photo file in the cache
+     */
+    public record CachedPhoto(Path path, long size, String contentType) {}
+}
@@ -0,0 +1,42 @@
+package com.barbatech.natomada.stations.infrastructure.photos;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the station photo proxy
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stations.photos")
+public class StationPhotoProperties {
+
+    /**
+     * Directory of the on-disk photo cache
+     */
+    private String cacheDir = System.getProperty("java.io.tmpdir") + "/natomada-photos";
+
+    /**
+     * Total size of cached photos; least recently used ones are deleted beyond it
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(512);
+
+    /**
+     * How long an evicted photo stays on disk, so responses already handed to sendfile can still open it
+     */
+    private Duration evictionGrace = Duration.ofSeconds(30);
+
+    /**
+     * Cache-Control max-age of photo responses (URLs change when the photo does)
+     */
+    private Duration maxAge = Duration.ofDays(30);
+
+    /**
+     * Base URL of photo links in station responses. Empty uses the current request's host
+     */
+    private String publicBaseUrl;
+}
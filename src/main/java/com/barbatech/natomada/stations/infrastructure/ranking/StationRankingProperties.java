@@ -0,0 +1,53 @@
+package com.barbatech.natomada.stations.infrastructure.ranking;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for personalized ranking of nearby stations.
+ * Every feature scores 0-1 and the weights say how much each counts.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stations.ranking")
+public class StationRankingProperties {
+
+    private double distanceWeight = 0.35;
+
+    private double ratingWeight = 0.15;
+
+    /**
+     * Whether the station has a connector the user's primary vehicle can plug into
+     */
+    private double compatibilityWeight = 0.25;
+
+    /**
+     * The station, or its operator, is among the user's favorites
+     */
+    private double favoriteWeight = 0.15;
+
+    /**
+     * Share of compatible connectors free right now, or the predicted chance at the ETA
+     */
+    private double availabilityWeight = 0.10;
+
+    /**
+     * Candidates scored per result, so a better-scored station a bit further away can make the cut
+     */
+    private int candidateFactor = 3;
+
+    private int maxCandidates = 100;
+
+    /**
+     * How long a user's vehicle and favorites are kept in memory before being reloaded
+     */
+    private Duration profileTtl = Duration.ofMinutes(5);
+
+    /**
+     * Cached user profiles beyond this evict the expired ones, or all of them
+     */
+    private int maxProfiles = 10_000;
+}
@@ -25,6 +25,13 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
            "ORDER BY f.createdAt DESC")
     List<Favorite> findByUserIdWithStation(@Param("userId") Long userId);
 
+    /**
+     * Station ID, OCM ID and operator of each favorite of a user, without loading the stations
+     */
+    @Query("SELECT f.station.id, f.station.ocmId, f.station.operatorName FROM Favorite f " +
+           "WHERE f.user.id = :userId")
+    List<Object[]> findFavoriteKeysByUserId(@Param("userId") Long userId);
+
     /**
      * Find favorite by user and station
      */
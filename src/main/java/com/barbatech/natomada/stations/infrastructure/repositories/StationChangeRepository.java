@@ -0,0 +1,43 @@
+package com.barbatech.natomada.stations.infrastructure.repositories;
+
+import com.barbatech.natomada.stations.domain.entities.StationChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repository for StationChange entity
+ */
+@Repository
+public interface StationChangeRepository extends JpaRepository<StationChange, Long> {
+
+    /**
+     * Find changes after a sync cursor inside a bounding box, oldest first
+     */
+    @Query("SELECT c FROM StationChange c WHERE " +
+           "c.version > :cursor AND " +
+           "c.latitude BETWEEN :minLat AND :maxLat AND " +
+           "c.longitude BETWEEN :minLon AND :maxLon " +
+           "ORDER BY c.version ASC")
+    List<StationChange> findChangesInRegion(
+        @Param("cursor") Long cursor,
+        @Param("minLat") BigDecimal minLat,
+        @Param("maxLat") BigDecimal maxLat,
+        @Param("minLon") BigDecimal minLon,
+        @Param("maxLon") BigDecimal maxLon,
+        Pageable pageable
+    );
+
+    /**
+     * Serialize change log writers until the end of the current transaction.
+     * Versions are then committed in allocation order, so a client cursor
+     * can never skip a change that commits late.
+     */
+    @Query(value = "SELECT CAST(pg_advisory_xact_lock(:key) AS VARCHAR)", nativeQuery = true)
+    String lockChangeLog(@Param("key") long key);
+}
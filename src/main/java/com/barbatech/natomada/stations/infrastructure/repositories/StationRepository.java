@@ -1,12 +1,16 @@
 package com.barbatech.natomada.stations.infrastructure.repositories;
 
 import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.index.RouteCorridor;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,13 +18,23 @@ import java.util.Optional;
  * Repository for Station entity
  */
 @Repository
-public interface StationRepository extends JpaRepository<Station, Long> {
+public interface StationRepository extends JpaRepository<Station, Long>, JpaSpecificationExecutor<Station> {
 
     /**
      * Find station by OCM ID (format: ocm_123456)
      */
     Optional<Station> findByOcmId(String ocmId);
 
+    /**
+     * Find stations by a batch of OCM IDs
+     */
+    List<Station> findByOcmIdIn(Collection<String> ocmIds);
+
+    /**
+     * Find all stations that haven't been removed upstream
+     */
+    List<Station> findByRemovedAtIsNull();
+
     /**
      * Find nearby stations using bounding box
      * This is a simplified version - for production, use PostGIS with ST_Distance
@@ -36,6 +50,40 @@ public interface StationRepository extends JpaRepository<Station, Long> {
         @Param("maxLon") BigDecimal maxLon
     );
 
+    /**
+     * Find live stations whose ID starts with a prefix inside a bounding box
+     */
+    @Query("SELECT s FROM Station s WHERE " +
+           "s.ocmId LIKE CONCAT(:prefix, '%') AND s.removedAt IS NULL AND " +
+           "s.latitude BETWEEN :minLat AND :maxLat AND " +
+           "s.longitude BETWEEN :minLon AND :maxLon")
+    List<Station> findLiveByOcmIdPrefixInBox(
+        @Param("prefix") String prefix,
+        @Param("minLat") BigDecimal minLat,
+        @Param("maxLat") BigDecimal maxLat,
+        @Param("minLon") BigDecimal minLon,
+        @Param("maxLon") BigDecimal maxLon
+    );
+
+    /**
+     * Find live stations inside any of a set of bounding boxes, in one query
+     */
+    default List<Station> findLiveInBoxes(List<RouteCorridor.Box> boxes) {
+        if (boxes.isEmpty()) {
+            return List.of();
+        }
+        return findAll((station, query, builder) -> {
+            Predicate[] inBox = boxes.stream()
+                .map(box -> builder.and(
+                    builder.between(station.<BigDecimal>get("latitude"),
+                        BigDecimal.valueOf(box.minLatitude()), BigDecimal.valueOf(box.maxLatitude())),
+                    builder.between(station.<BigDecimal>get("longitude"),
+                        BigDecimal.valueOf(box.minLongitude()), BigDecimal.valueOf(box.maxLongitude()))))
+                .toArray(Predicate[]::new);
+            return builder.and(builder.isNull(station.get("removedAt")), builder.or(inBox));
+        });
+    }
+
     /**
      * Check if station exists by OCM ID
      */
@@ -0,0 +1,20 @@
+package com.barbatech.natomada.stations.infrastructure.repositories;
+
+import com.barbatech.natomada.stations.domain.entities.StationSource;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for StationSource entity
+ */
+@Repository
+public interface StationSourceRepository extends JpaRepository<StationSource, Long> {
+
+    /**
+     * Find the links of a set of OCM IDs / Google place IDs
+     */
+    List<StationSource> findBySourceIdIn(Collection<String> sourceIds);
+}
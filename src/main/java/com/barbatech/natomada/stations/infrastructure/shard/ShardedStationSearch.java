@@ -0,0 +1,331 @@
+package com.barbatech.natomada.stations.infrastructure.shard;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.index.GeoMath;
+import com.barbatech.natomada.stations.infrastructure.index.RouteCorridor;
+import com.barbatech.natomada.stations.infrastructure.index.StationFilter;
+import com.barbatech.natomada.stations.infrastructure.index.StationIndexRegistry;
+import com.barbatech.natomada.stations.infrastructure.index.StationSort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Station index queries across shard nodes
+ *
+ * A nearby search is sent to every node owning a partition under the search
+ * area (border searches touch several) and the partial results are merged in
+ * the requested order. A node failing or timing out only costs its part of the result.
+ * Peer calls use their own client with connect and read timeouts, so a hung
+ * peer can't hold the scatter threads past stations.shards.timeout.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShardedStationSearch {
+
+    public static final String TOKEN_HEADER = "X-Shard-Token";
+
+    private final StationShardMap shardMap;
+    private final StationShardProperties properties;
+    private final StationIndexRegistry stationIndexRegistry;
+    private RestTemplate restTemplate;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4, runnable -> {
+        Thread thread = new Thread(runnable, "station-shard-scatter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getTimeout());
+        requestFactory.setReadTimeout(properties.getTimeout());
+        restTemplate = new RestTemplate(requestFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Nearest stations within a radius across all owning shards, closest first
+     */
+    public List<Station> nearby(double latitude, double longitude, double radiusMeters, int limit) {
+        return nearby(latitude, longitude, radiusMeters, limit, null);
+    }
+
+    /**
+     * Nearest stations within a radius passing a filter across all owning shards, closest first.
+     * Each shard filters during its own scan, so only matching stations travel.
+     *
+     * @param filter Attribute filter, or null for none
+     */
+    public List<Station> nearby(double latitude, double longitude, double radiusMeters, int limit, StationFilter filter) {
+        return nearby(latitude, longitude, radiusMeters, limit, filter, StationSort.DISTANCE);
+    }
+
+    /**
+     * Best stations within a radius passing a filter across all owning shards, in the given order
+     *
+     * @param filter Attribute filter, or null for none
+     */
+    public List<Station> nearby(double latitude, double longitude, double radiusMeters, int limit,
+                                StationFilter filter, StationSort sort) {
+        if (!shardMap.isEnabled()) {
+            return nearbyLocal(latitude, longitude, radiusMeters, limit, filter, sort);
+        }
+
+        double latDelta = radiusMeters / GeoMath.METERS_PER_DEGREE;
+        double lonDelta = GeoMath.longitudeDelta(latitude, radiusMeters);
+        Set<String> owners = shardMap.ownersOf(latitude - latDelta, latitude + latDelta, longitude - lonDelta, longitude + lonDelta);
+
+        List<CompletableFuture<List<Station>>> parts = new ArrayList<>(owners.size());
+        for (String node : owners) {
+            if (node.equals(shardMap.self())) {
+                parts.add(CompletableFuture.completedFuture(nearbyLocal(latitude, longitude, radiusMeters, limit, filter, sort)));
+            } else {
+                parts.add(CompletableFuture.supplyAsync(
+                    () -> nearbyRemote(node, latitude, longitude, radiusMeters, limit, filter, sort), executor));
+            }
+        }
+
+        long deadline = deadline();
+        List<Station> merged = new ArrayList<>();
+        for (CompletableFuture<List<Station>> part : parts) {
+            List<Station> stations = await(part, deadline);
+            if (stations != null) {
+                merged.addAll(stations);
+            }
+        }
+        if (parts.size() == 1) {
+            return merged;
+        }
+
+        Comparator<Station> order = Comparator.comparingDouble(station -> GeoMath.distanceMeters(
+            latitude, longitude, station.getLatitude().doubleValue(), station.getLongitude().doubleValue()));
+        if (sort == StationSort.COST) {
+            StationFilter costs = filter != null ? filter : new StationFilter();
+            order = Comparator.<Station>comparingDouble(costs::trustedCostPerKwh).thenComparing(order);
+        }
+        merged.sort(order);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    /**
+     * Stations inside a route corridor across all shards owning part of it, in driving order.
+     * Each shard rebuilds the corridor from the encoded polyline and scans its own partitions.
+     *
+     * @param polyline Encoded polyline the corridor was built from
+     * @param filter Attribute filter, or null for none
+     */
+    public List<Station> alongRoute(String polyline, RouteCorridor corridor, int limit, StationFilter filter) {
+        if (!shardMap.isEnabled()) {
+            return alongRouteLocal(corridor, limit, filter);
+        }
+
+        RouteCorridor.Box bounds = corridor.bounds();
+        Set<String> owners = shardMap.ownersOf(bounds.minLatitude(), bounds.maxLatitude(), bounds.minLongitude(), bounds.maxLongitude());
+
+        List<CompletableFuture<List<Station>>> parts = new ArrayList<>(owners.size());
+        for (String node : owners) {
+            if (node.equals(shardMap.self())) {
+                parts.add(CompletableFuture.completedFuture(alongRouteLocal(corridor, limit, filter)));
+            } else {
+                parts.add(CompletableFuture.supplyAsync(
+                    () -> alongRouteRemote(node, polyline, corridor.widthMeters(), limit, filter), executor));
+            }
+        }
+
+        long deadline = deadline();
+        List<Station> merged = new ArrayList<>();
+        for (CompletableFuture<List<Station>> part : parts) {
+            List<Station> stations = await(part, deadline);
+            if (stations != null) {
+                merged.addAll(stations);
+            }
+        }
+        if (parts.size() == 1) {
+            return merged;
+        }
+
+        merged.sort(Comparator.comparingDouble(Station::getDistanceAlongRouteMeters)
+            .thenComparingDouble(Station::getDistanceFromRouteMeters));
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    /**
+     * Find a station by OCM ID on this node, then on all peers at once
+     */
+    public Station findByOcmId(String ocmId) {
+        Station local = findLocal(ocmId);
+        if (local != null || !shardMap.isEnabled()) {
+            return local;
+        }
+
+        List<CompletableFuture<Station>> lookups = new ArrayList<>();
+        for (String node : shardMap.nodes()) {
+            if (!node.equals(shardMap.self())) {
+                lookups.add(CompletableFuture.supplyAsync(() -> findRemote(node, ocmId), executor));
+            }
+        }
+
+        long deadline = deadline();
+        Station found = null;
+        for (CompletableFuture<Station> lookup : lookups) {
+            if (found != null) {
+                lookup.cancel(true);
+            } else {
+                found = await(lookup, deadline);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Nearby search on this node's index only
+     */
+    public List<Station> nearbyLocal(double latitude, double longitude, double radiusMeters, int limit,
+                                     StationFilter filter, StationSort sort) {
+        return stationIndexRegistry.current()
+            .map(index -> index.nearby(latitude, longitude, radiusMeters, limit, filter, sort))
+            .orElse(Collections.emptyList());
+    }
+
+    /**
+     * Route corridor search on this node's index only
+     */
+    public List<Station> alongRouteLocal(RouteCorridor corridor, int limit, StationFilter filter) {
+        return stationIndexRegistry.current()
+            .map(index -> index.alongRoute(corridor, limit, filter))
+            .orElse(Collections.emptyList());
+    }
+
+    /**
+     * Lookup on this node's index only
+     */
+    public Station findLocal(String ocmId) {
+        return stationIndexRegistry.current()
+            .map(index -> index.findByOcmId(ocmId))
+            .orElse(null);
+    }
+
+    private List<Station> nearbyRemote(String node, double latitude, double longitude, double radiusMeters, int limit,
+                                       StationFilter filter, StationSort sort) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(shardMap.urlOf(node) + "/internal/stations/nearby")
+            .queryParam("latitude", latitude)
+            .queryParam("longitude", longitude)
+            .queryParam("radius", radiusMeters)
+            .queryParam("limit", limit);
+        withFilter(uri, filter);
+        if (sort == StationSort.COST) {
+            uri.queryParam("sort", "cost");
+        }
+        return fetch(uri);
+    }
+
+    private void withFilter(UriComponentsBuilder uri, StationFilter filter) {
+        if (filter != null && filter.getOpenAtMinute() != null) {
+            uri.queryParam("openAt", filter.getOpenAtMinute());
+        }
+        if (filter != null && filter.getAmenityMask() != null) {
+            uri.queryParam("amenities", filter.getAmenityMask());
+        }
+        if (filter != null && filter.getMaxCostPerKwh() != null) {
+            uri.queryParam("maxCostPerKwh", filter.getMaxCostPerKwh());
+        }
+        if (filter != null && Boolean.TRUE.equals(filter.getFreeOnly())) {
+            uri.queryParam("free", true);
+        }
+        if (filter != null && filter.getMinCostConfidence() != null) {
+            uri.queryParam("minCostConfidence", filter.getMinCostConfidence());
+        }
+        if (filter != null && filter.getMinPowerKw() != null) {
+            uri.queryParam("minPowerKw", filter.getMinPowerKw());
+        }
+    }
+
+    private List<Station> alongRouteRemote(String node, String polyline, double widthMeters, int limit, StationFilter filter) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(shardMap.urlOf(node) + "/internal/stations/route")
+            .queryParam("width", widthMeters)
+            .queryParam("limit", limit);
+        withFilter(uri, filter);
+
+        // The polyline goes in the body: a long route would overflow the peer's request header limit
+        HttpHeaders headers = tokenHeaders();
+        headers.setContentType(MediaType.TEXT_PLAIN);
+        Station[] stations = restTemplate.exchange(uri.build().encode().toUri(), HttpMethod.POST,
+            new HttpEntity<>(polyline, headers), Station[].class).getBody();
+        return stations != null ? Arrays.asList(stations) : Collections.emptyList();
+    }
+
+    private List<Station> fetch(UriComponentsBuilder uri) {
+        URI url = uri.build().encode().toUri();
+        Station[] stations = restTemplate.exchange(url, HttpMethod.GET, authorized(), Station[].class).getBody();
+        return stations != null ? Arrays.asList(stations) : Collections.emptyList();
+    }
+
+    private Station findRemote(String node, String ocmId) {
+        String url = UriComponentsBuilder.fromUriString(shardMap.urlOf(node) + "/internal/stations/{ocmId}")
+            .buildAndExpand(Map.of("ocmId", ocmId))
+            .toUriString();
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, authorized(), Station.class).getBody();
+        } catch (HttpClientErrorException.NotFound e) {
+            return null;
+        }
+    }
+
+    private HttpEntity<Void> authorized() {
+        return new HttpEntity<>(tokenHeaders());
+    }
+
+    private HttpHeaders tokenHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(TOKEN_HEADER, properties.getToken());
+        return headers;
+    }
+
+    private long deadline() {
+        return System.nanoTime() + properties.getTimeout().toNanos();
+    }
+
+    /**
+     * Result of a peer request, waiting no later than a deadline shared by the whole scatter
+     */
+    private <T> T await(CompletableFuture<T> future, long deadline) {
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Station shard request failed: {}", e.getMessage());
+        }
+        future.cancel(true);
+        return null;
+    }
+}
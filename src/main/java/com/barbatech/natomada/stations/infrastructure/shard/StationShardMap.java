@@ -0,0 +1,118 @@
+package com.barbatech.natomada.stations.infrastructure.shard;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.index.Geohash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Assigns geohash partitions to shard nodes
+ *
+ * Partitions without an owner stay on this node, so a deployment without
+ * shard configuration behaves like a single node holding every station.
+ */
+@Slf4j
+@Component
+public class StationShardMap {
+
+    private final StationShardProperties properties;
+
+    /**
+     * (prefix, node) pairs, longest prefix first
+     */
+    private final List<Map.Entry<String, String>> assignments = new ArrayList<>();
+
+    public StationShardMap(StationShardProperties properties) {
+        this.properties = properties;
+
+        properties.getNodes().forEach((nodeId, node) -> {
+            for (String prefix : node.getPartitions()) {
+                assignments.add(Map.entry(prefix.trim().toLowerCase(), nodeId));
+            }
+        });
+        assignments.sort(Comparator.comparingInt((Map.Entry<String, String> entry) -> entry.getKey().length()).reversed());
+
+        if (isEnabled()) {
+            log.info("Station shard map: self={}, {} nodes, {} partition prefixes",
+                     properties.getSelf(), properties.getNodes().size(), assignments.size());
+        }
+    }
+
+    /**
+     * Whether stations are partitioned across several nodes
+     */
+    public boolean isEnabled() {
+        return !properties.getNodes().isEmpty();
+    }
+
+    public String self() {
+        return properties.getSelf();
+    }
+
+    /**
+     * IDs of all configured nodes
+     */
+    public Set<String> nodes() {
+        return properties.getNodes().keySet();
+    }
+
+    /**
+     * Node owning a partition (geohash of at least the partition precision)
+     */
+    public String ownerOf(String geohash) {
+        for (Map.Entry<String, String> assignment : assignments) {
+            if (geohash.startsWith(assignment.getKey())) {
+                return assignment.getValue();
+            }
+        }
+        return properties.getSelf();
+    }
+
+    /**
+     * Node owning a position
+     */
+    public String ownerOf(double latitude, double longitude) {
+        return ownerOf(Geohash.encode(latitude, longitude, properties.getPrecision()));
+    }
+
+    /**
+     * Nodes owning any partition that intersects a bounding box, this node first if included
+     */
+    public Set<String> ownersOf(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+        Set<String> owners = new LinkedHashSet<>();
+        for (String partition : Geohash.covering(minLatitude, maxLatitude, minLongitude, maxLongitude, properties.getPrecision())) {
+            owners.add(ownerOf(partition));
+        }
+        if (owners.remove(self())) {
+            Set<String> ordered = new LinkedHashSet<>();
+            ordered.add(self());
+            ordered.addAll(owners);
+            return ordered;
+        }
+        return owners;
+    }
+
+    /**
+     * Filter that keeps the stations a node owns
+     */
+    public Predicate<Station> ownedBy(String nodeId) {
+        return station -> station.getLatitude() != null && station.getLongitude() != null
+            && nodeId.equals(ownerOf(station.getLatitude().doubleValue(), station.getLongitude().doubleValue()));
+    }
+
+    /**
+     * Base URL of a peer node
+     */
+    public String urlOf(String nodeId) {
+        StationShardProperties.Node node = properties.getNodes().get(nodeId);
+        return node != null ? node.getUrl() : null;
+    }
+}
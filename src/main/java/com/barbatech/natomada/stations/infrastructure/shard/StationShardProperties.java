@@ -0,0 +1,66 @@
+package com.barbatech.natomada.stations.infrastructure.shard;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for the region-partitioned station index
+ *
+ * Example:
+ * stations.shards.self=br
+ * stations.shards.nodes.br.url=http://stations-br:8080
+ * stations.shards.nodes.br.partitions=6,7
+ * stations.shards.nodes.eu.url=http://stations-eu:8080
+ * stations.shards.nodes.eu.partitions=u,g,e
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stations.shards")
+public class StationShardProperties {
+
+    /**
+     * ID of this node in the shard map
+     */
+    private String self = "local";
+
+    /**
+     * Geohash length that defines a partition (2 = cells of roughly 1250 x 625 km)
+     */
+    private int precision = 2;
+
+    /**
+     * Shared secret for the internal peer endpoints
+     */
+    private String token;
+
+    /**
+     * Timeout for a peer request during scatter-gather
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+
+    /**
+     * Shard nodes by ID. Empty means a single node that owns every partition
+     */
+    private Map<String, Node> nodes = new HashMap<>();
+
+    @Data
+    public static class Node {
+
+        /**
+         * Base URL peers use to reach this node
+         */
+        private String url;
+
+        /**
+         * Geohash prefixes owned by this node; the longest matching prefix wins
+         */
+        private List<String> partitions = new ArrayList<>();
+    }
+}
@@ -0,0 +1,354 @@
+package com.barbatech.natomada.stations.infrastructure.snapshot;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.index.StationIndex;
+import com.barbatech.natomada.stations.infrastructure.snapshot.StationSnapshotFormat.ByteColumn;
+import com.barbatech.natomada.stations.infrastructure.snapshot.StationSnapshotFormat.IntColumn;
+import com.barbatech.natomada.stations.infrastructure.snapshot.StationSnapshotFormat.LongColumn;
+import com.barbatech.natomada.stations.infrastructure.snapshot.StationSnapshotFormat.ShortColumn;
+import com.barbatech.natomada.stations.infrastructure.snapshot.StationSnapshotFormat.StringColumn;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.IntConsumer;
+
+/**
+ * StationIndex over a memory-mapped snapshot file (see StationSnapshotFormat)
+ *
+ * Columns are read in place with absolute gets, so the index lives in the page
+ * cache rather than the heap, is shared by every process mapping the same file,
+ * and opening it costs one mmap call. Stations are only decoded in toStation.
+ */
+public class MappedStationIndex implements StationIndex {
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int rows;
+    private final int latitudes;
+    private final int longitudes;
+    private final int connectorMasks;
+    private final int amenityMasks;
+    private final int costsPerKwh;
+    private final int costConfidences;
+    private final int maxPowers;
+    private final int ocmOrder;
+    private final int openingSchedules;
+    private final int flagBytes;
+    private final int ocmIds;
+    private final int stringOffsets;
+    private final int stringData;
+    private final int scheduleOffsets;
+    private final int scheduleData;
+
+    private MappedStationIndex(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+
+        if (buffer.capacity() < StationSnapshotFormat.HEADER_BYTES || buffer.getInt(0) != StationSnapshotFormat.MAGIC) {
+            throw new IOException("Not a station snapshot: " + path);
+        }
+        if (buffer.getInt(4) != StationSnapshotFormat.VERSION) {
+            throw new IOException("Unsupported station snapshot version " + buffer.getInt(4) + ": " + path);
+        }
+
+        this.rows = buffer.getInt(8);
+        this.latitudes = (int) StationSnapshotFormat.position(IntColumn.LATITUDE, rows);
+        this.longitudes = (int) StationSnapshotFormat.position(IntColumn.LONGITUDE, rows);
+        this.connectorMasks = (int) StationSnapshotFormat.position(IntColumn.CONNECTOR_MASK, rows);
+        this.amenityMasks = (int) StationSnapshotFormat.position(IntColumn.AMENITY_MASK, rows);
+        this.costsPerKwh = (int) StationSnapshotFormat.position(IntColumn.COST_PER_KWH, rows);
+        this.costConfidences = (int) StationSnapshotFormat.position(ShortColumn.COST_CONFIDENCE, rows);
+        this.maxPowers = (int) StationSnapshotFormat.position(ShortColumn.MAX_POWER_KW, rows);
+        this.ocmOrder = (int) StationSnapshotFormat.position(IntColumn.OCM_ORDER, rows);
+        this.openingSchedules = (int) StationSnapshotFormat.position(IntColumn.OPENING_SCHEDULE, rows);
+        this.flagBytes = (int) StationSnapshotFormat.position(ByteColumn.FLAGS, rows);
+        this.ocmIds = (int) StationSnapshotFormat.position(StringColumn.OCM_ID, rows);
+        this.stringOffsets = (int) StationSnapshotFormat.stringOffsetsPosition(rows);
+        this.stringData = (int) buffer.getLong(16);
+
+        int schedulePosition = (int) buffer.getLong(24);
+        this.scheduleOffsets = schedulePosition + Integer.BYTES;
+        this.scheduleData = scheduleOffsets + (buffer.getInt(schedulePosition) + 1) * Integer.BYTES;
+    }
+
+    /**
+     * Map a snapshot file read-only
+     */
+    public static MappedStationIndex open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Station snapshot too large to map: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(StationSnapshotFormat.ORDER);
+            return new MappedStationIndex(path, buffer);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public int size() {
+        return rows;
+    }
+
+    @Override
+    public double latitude(int row) {
+        return buffer.getInt(latitudes + row * Integer.BYTES) / StationSnapshotFormat.COORDINATE_SCALE;
+    }
+
+    @Override
+    public double longitude(int row) {
+        return buffer.getInt(longitudes + row * Integer.BYTES) / StationSnapshotFormat.COORDINATE_SCALE;
+    }
+
+    /**
+     * Connector types of a row as a ConnectorType bitmask
+     */
+    public int connectorMask(int row) {
+        return buffer.getInt(connectorMasks + row * Integer.BYTES);
+    }
+
+    @Override
+    public int amenityMask(int row) {
+        return buffer.getInt(amenityMasks + row * Integer.BYTES);
+    }
+
+    @Override
+    public double costPerKwh(int row) {
+        int value = buffer.getInt(costsPerKwh + row * Integer.BYTES);
+        return value == StationSnapshotFormat.NULL_INT ? Double.NaN : value / StationSnapshotFormat.COST_SCALE;
+    }
+
+    @Override
+    public double costConfidence(int row) {
+        short value = buffer.getShort(costConfidences + row * Short.BYTES);
+        return value == StationSnapshotFormat.NULL_SHORT ? 0 : value / (double) StationSnapshotFormat.RATING_SCALE;
+    }
+
+    @Override
+    public double maxPowerKw(int row) {
+        short value = buffer.getShort(maxPowers + row * Short.BYTES);
+        return value == StationSnapshotFormat.NULL_SHORT ? Double.NaN : value / (double) StationSnapshotFormat.POWER_SCALE;
+    }
+
+    @Override
+    public boolean isFree(int row) {
+        return (buffer.get(flagBytes + row) & StationSnapshotFormat.FLAG_FREE) != 0;
+    }
+
+    @Override
+    public boolean isOpenAt(int row, int minuteOfWeek) {
+        if ((buffer.get(flagBytes + row) & StationSnapshotFormat.FLAG_OPEN_24H) != 0) {
+            return true;
+        }
+        int ref = buffer.getInt(openingSchedules + row * Integer.BYTES);
+        if (ref == StationSnapshotFormat.NULL_SCHEDULE) {
+            return true;
+        }
+
+        // Intervals are sorted, so stop at the first one opening after the minute
+        int end = buffer.getInt(scheduleOffsets + (ref + 1) * Integer.BYTES);
+        for (int i = buffer.getInt(scheduleOffsets + ref * Integer.BYTES); i + 1 < end; i += 2) {
+            if (minuteOfWeek < buffer.getInt(scheduleData + i * Integer.BYTES)) {
+                return false;
+            }
+            if (minuteOfWeek < buffer.getInt(scheduleData + (i + 1) * Integer.BYTES)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int findRow(String ocmId) {
+        if (ocmId == null) {
+            return -1;
+        }
+
+        // Binary search over rows ordered by OCM ID; null IDs sort last
+        int low = 0, high = rows - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int row = buffer.getInt(ocmOrder + mid * Integer.BYTES);
+            String candidate = string(ocmIds, row);
+            int comparison = candidate == null ? 1 : candidate.compareTo(ocmId);
+            if (comparison == 0) {
+                return row;
+            } else if (comparison < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void scan(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude, IntConsumer visitor) {
+        int minLat = (int) Math.floor(minLatitude * StationSnapshotFormat.COORDINATE_SCALE);
+        int maxLat = (int) Math.ceil(maxLatitude * StationSnapshotFormat.COORDINATE_SCALE);
+        int minLon = (int) Math.floor(minLongitude * StationSnapshotFormat.COORDINATE_SCALE);
+        int maxLon = (int) Math.ceil(maxLongitude * StationSnapshotFormat.COORDINATE_SCALE);
+
+        for (int row = firstRowAtOrAbove(minLat); row < rows; row++) {
+            int lat = buffer.getInt(latitudes + row * Integer.BYTES);
+            if (lat > maxLat) {
+                break;
+            }
+            int lon = buffer.getInt(longitudes + row * Integer.BYTES);
+            if (lon >= minLon && lon <= maxLon) {
+                visitor.accept(row);
+            }
+        }
+    }
+
+    /**
+     * Lower bound of a fixed-point latitude in the sorted latitude column
+     */
+    private int firstRowAtOrAbove(int latitude) {
+        int low = 0, high = rows;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getInt(latitudes + mid * Integer.BYTES) < latitude) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public Station toStation(int row) {
+        int flags = buffer.get(flagBytes + row);
+        BigDecimal costConfidence = rating(ShortColumn.COST_CONFIDENCE, row);
+
+        return Station.builder()
+            .id(nullableLong(LongColumn.ID, row))
+            .ocmId(string(StringColumn.OCM_ID, row))
+            .ocmUuid(string(StringColumn.OCM_UUID, row))
+            .googlePlaceId(string(StringColumn.GOOGLE_PLACE_ID, row))
+            .name(string(StringColumn.NAME, row))
+            .address(string(StringColumn.ADDRESS, row))
+            .city(string(StringColumn.CITY, row))
+            .state(string(StringColumn.STATE, row))
+            .postalCode(string(StringColumn.POSTAL_CODE, row))
+            .country(string(StringColumn.COUNTRY, row))
+            .latitude(degrees(buffer.getInt(latitudes + row * Integer.BYTES)))
+            .longitude(degrees(buffer.getInt(longitudes + row * Integer.BYTES)))
+            .phone(string(StringColumn.PHONE, row))
+            .isOperational((flags & StationSnapshotFormat.FLAG_OPERATIONAL) != 0)
+            .totalConnectors(intValue(IntColumn.TOTAL_CONNECTORS, row))
+            .connectors(string(StringColumn.CONNECTORS, row))
+            .maxPowerKw(power(row))
+            .operatorName(string(StringColumn.OPERATOR_NAME, row))
+            .operatorWebsite(string(StringColumn.OPERATOR_WEBSITE, row))
+            .operatorPhone(string(StringColumn.OPERATOR_PHONE, row))
+            .operatorEmail(string(StringColumn.OPERATOR_EMAIL, row))
+            .usageType(string(StringColumn.USAGE_TYPE, row))
+            .requiresMembership((flags & StationSnapshotFormat.FLAG_REQUIRES_MEMBERSHIP) != 0)
+            .payAtLocation((flags & StationSnapshotFormat.FLAG_PAY_AT_LOCATION) != 0)
+            .requiresAccessKey((flags & StationSnapshotFormat.FLAG_REQUIRES_ACCESS_KEY) != 0)
+            .usageCost(string(StringColumn.USAGE_COST, row))
+            .costPerKwh(cost(IntColumn.COST_PER_KWH, row))
+            .costPerMinute(cost(IntColumn.COST_PER_MINUTE, row))
+            .sessionFee(cost(IntColumn.SESSION_FEE, row))
+            .isFree(costConfidence != null ? (flags & StationSnapshotFormat.FLAG_FREE) != 0 : null)
+            .costConfidence(costConfidence)
+            .ocmRating(rating(ShortColumn.OCM_RATING, row))
+            .ocmReviewCount(intValue(IntColumn.OCM_REVIEW_COUNT, row))
+            .googleRating(rating(ShortColumn.GOOGLE_RATING, row))
+            .googleReviewCount(intValue(IntColumn.GOOGLE_REVIEW_COUNT, row))
+            .combinedRating(rating(ShortColumn.COMBINED_RATING, row))
+            .totalReviews(intValue(IntColumn.TOTAL_REVIEWS, row))
+            .openingHours(string(StringColumn.OPENING_HOURS, row))
+            .isOpen24h((flags & StationSnapshotFormat.FLAG_OPEN_24H) != 0)
+            .openingIntervals(openingSchedule(row))
+            .photoReferences(string(StringColumn.PHOTO_REFERENCES, row))
+            .amenities(string(StringColumn.AMENITIES, row))
+            .amenityMask(amenityMask(row))
+            .lastVerifiedAt(dateTime(LongColumn.LAST_VERIFIED_AT, row))
+            .isRecentlyVerified((flags & StationSnapshotFormat.FLAG_RECENTLY_VERIFIED) != 0)
+            .lastSyncAt(dateTime(LongColumn.LAST_SYNC_AT, row))
+            .contentHash(string(StringColumn.CONTENT_HASH, row))
+            .build();
+    }
+
+    private String string(StringColumn column, int row) {
+        return string((int) StationSnapshotFormat.position(column, rows), row);
+    }
+
+    private String string(int columnPosition, int row) {
+        int ref = buffer.getInt(columnPosition + row * Integer.BYTES);
+        if (ref == StationSnapshotFormat.NULL_STRING) {
+            return null;
+        }
+        int start = buffer.getInt(stringOffsets + ref * Integer.BYTES);
+        int end = buffer.getInt(stringOffsets + (ref + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        buffer.get(stringData + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int[] openingSchedule(int row) {
+        int ref = buffer.getInt(openingSchedules + row * Integer.BYTES);
+        if (ref == StationSnapshotFormat.NULL_SCHEDULE) {
+            return null;
+        }
+        int start = buffer.getInt(scheduleOffsets + ref * Integer.BYTES);
+        int end = buffer.getInt(scheduleOffsets + (ref + 1) * Integer.BYTES);
+        int[] schedule = new int[end - start];
+        for (int i = 0; i < schedule.length; i++) {
+            schedule[i] = buffer.getInt(scheduleData + (start + i) * Integer.BYTES);
+        }
+        return schedule;
+    }
+
+    private int intValue(IntColumn column, int row) {
+        return buffer.getInt((int) StationSnapshotFormat.position(column, rows) + row * Integer.BYTES);
+    }
+
+    private Long nullableLong(LongColumn column, int row) {
+        long value = buffer.getLong((int) StationSnapshotFormat.position(column, rows) + row * Long.BYTES);
+        return value == StationSnapshotFormat.NULL_LONG ? null : value;
+    }
+
+    private LocalDateTime dateTime(LongColumn column, int row) {
+        Long seconds = nullableLong(column, row);
+        return seconds != null ? LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC) : null;
+    }
+
+    private BigDecimal rating(ShortColumn column, int row) {
+        short value = buffer.getShort((int) StationSnapshotFormat.position(column, rows) + row * Short.BYTES);
+        return value == StationSnapshotFormat.NULL_SHORT ? null : BigDecimal.valueOf(value, 2);
+    }
+
+    private BigDecimal power(int row) {
+        short value = buffer.getShort(maxPowers + row * Short.BYTES);
+        return value == StationSnapshotFormat.NULL_SHORT ? null : BigDecimal.valueOf(value, 1);
+    }
+
+    private BigDecimal cost(IntColumn column, int row) {
+        int value = intValue(column, row);
+        if (value == StationSnapshotFormat.NULL_INT) {
+            return null;
+        }
+        BigDecimal amount = BigDecimal.valueOf(value, 4).stripTrailingZeros();
+        return amount.scale() < 0 ? amount.setScale(0) : amount;
+    }
+
+    private static BigDecimal degrees(int fixedPoint) {
+        BigDecimal degrees = BigDecimal.valueOf(fixedPoint, 7).stripTrailingZeros();
+        return degrees.scale() < 0 ? degrees.setScale(0) : degrees;
+    }
+}
@@ -0,0 +1,133 @@
+package com.barbatech.natomada.stations.infrastructure.snapshot;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the columnar station snapshot file.
+ *
+ * <pre>
+ * header   magic, version, rows, strings (int each), stringDataPosition, scheduleTablePosition (long each)
+ * long[]   one block of `rows` values per LongColumn
+ * int[]    one block per IntColumn, then one block of string refs per StringColumn
+ * short[]  one block per ShortColumn
+ * byte[]   one block per ByteColumn
+ * int[]    string table offsets (strings + 1 entries, 4-byte aligned)
+ * byte[]   UTF-8 string data
+ * int[]    schedule table (4-byte aligned): schedules, offsets (schedules + 1 entries), then
+ *          the opening intervals of every distinct schedule as minute-of-week pairs
+ * </pre>
+ *
+ * Rows are sorted by latitude so a bounding box scan is a binary search plus
+ * a linear walk. Every block is naturally aligned and all values are little endian.
+ */
+final class StationSnapshotFormat {
+
+    static final int MAGIC = 0x4E54534E; // "NSTN"
+    static final int VERSION = 5;
+    static final int HEADER_BYTES = 32;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Coordinates are stored as fixed-point ints (1e-7 degree, about 1 cm)
+     */
+    static final double COORDINATE_SCALE = 1e7;
+
+    /**
+     * Ratings are stored as fixed-point shorts (hundredths)
+     */
+    static final int RATING_SCALE = 100;
+
+    /**
+     * Prices are stored as fixed-point ints (1e-4 of the local currency)
+     */
+    static final double COST_SCALE = 1e4;
+
+    static final long NULL_LONG = Long.MIN_VALUE;
+    static final int NULL_INT = Integer.MIN_VALUE;
+    static final short NULL_SHORT = Short.MIN_VALUE;
+    static final int NULL_STRING = -1;
+    static final int NULL_SCHEDULE = -1;
+
+    static final int FLAG_OPERATIONAL = 1;
+    static final int FLAG_OPEN_24H = 1 << 1;
+    static final int FLAG_REQUIRES_MEMBERSHIP = 1 << 2;
+    static final int FLAG_PAY_AT_LOCATION = 1 << 3;
+    static final int FLAG_REQUIRES_ACCESS_KEY = 1 << 4;
+    static final int FLAG_RECENTLY_VERIFIED = 1 << 5;
+    static final int FLAG_FREE = 1 << 6;
+
+    enum LongColumn { ID, LAST_VERIFIED_AT, LAST_SYNC_AT }
+
+    /**
+     * OCM_ORDER holds row numbers sorted by OCM ID, for binary search lookups.
+     * OPENING_SCHEDULE refers to the schedule table, deduplicated like strings.
+     * Cost columns are fixed point (COST_SCALE), NULL_INT when not stated.
+     */
+    enum IntColumn {
+        LATITUDE, LONGITUDE, CONNECTOR_MASK, TOTAL_CONNECTORS,
+        OCM_REVIEW_COUNT, GOOGLE_REVIEW_COUNT, TOTAL_REVIEWS, OCM_ORDER, OPENING_SCHEDULE, AMENITY_MASK,
+        COST_PER_KWH, COST_PER_MINUTE, SESSION_FEE
+    }
+
+    enum StringColumn {
+        OCM_ID, OCM_UUID, GOOGLE_PLACE_ID, NAME, ADDRESS, CITY, STATE, POSTAL_CODE, COUNTRY, PHONE,
+        CONNECTORS, OPERATOR_NAME, OPERATOR_WEBSITE, OPERATOR_PHONE, OPERATOR_EMAIL,
+        USAGE_TYPE, USAGE_COST, OPENING_HOURS, PHOTO_REFERENCES, AMENITIES, CONTENT_HASH
+    }
+
+    /**
+     * Charging power is stored as fixed-point shorts (tenths of a kW, up to 3276 kW)
+     */
+    static final int POWER_SCALE = 10;
+
+    /**
+     * COST_CONFIDENCE is in hundredths like the ratings; NULL_SHORT means no parsed cost.
+     * MAX_POWER_KW is in tenths of a kW (POWER_SCALE); NULL_SHORT means unknown.
+     */
+    enum ShortColumn { OCM_RATING, GOOGLE_RATING, COMBINED_RATING, COST_CONFIDENCE, MAX_POWER_KW }
+
+    enum ByteColumn { FLAGS }
+
+    private StationSnapshotFormat() {
+    }
+
+    static long position(LongColumn column, int rows) {
+        return HEADER_BYTES + (long) column.ordinal() * rows * Long.BYTES;
+    }
+
+    static long position(IntColumn column, int rows) {
+        return intsStart(rows) + (long) column.ordinal() * rows * Integer.BYTES;
+    }
+
+    static long position(StringColumn column, int rows) {
+        return intsStart(rows) + (long) (IntColumn.values().length + column.ordinal()) * rows * Integer.BYTES;
+    }
+
+    static long position(ShortColumn column, int rows) {
+        return shortsStart(rows) + (long) column.ordinal() * rows * Short.BYTES;
+    }
+
+    static long position(ByteColumn column, int rows) {
+        return bytesStart(rows) + (long) column.ordinal() * rows;
+    }
+
+    /**
+     * Start of the string table offsets
+     */
+    static long stringOffsetsPosition(int rows) {
+        long end = bytesStart(rows) + (long) ByteColumn.values().length * rows;
+        return (end + 3) & ~3L;
+    }
+
+    private static long intsStart(int rows) {
+        return HEADER_BYTES + (long) LongColumn.values().length * rows * Long.BYTES;
+    }
+
+    private static long shortsStart(int rows) {
+        return intsStart(rows) + (long) (IntColumn.values().length + StringColumn.values().length) * rows * Integer.BYTES;
+    }
+
+    private static long bytesStart(int rows) {
+        return shortsStart(rows) + (long) ShortColumn.values().length * rows * Short.BYTES;
+    }
+}
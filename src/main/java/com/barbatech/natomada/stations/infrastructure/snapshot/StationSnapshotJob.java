@@ -0,0 +1,118 @@
+package com.barbatech.natomada.stations.infrastructure.snapshot;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.index.StationIndexRegistry;
+import com.barbatech.natomada.stations.infrastructure.offline.OfflineStationProperties;
+import com.barbatech.natomada.stations.infrastructure.repositories.StationRepository;
+import com.barbatech.natomada.stations.infrastructure.shard.StationShardMap;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+/**
+ * Writes the station snapshot from the database and maps it into the station index
+ *
+ * Every node maps the snapshot at startup and re-maps it when the file changes;
+ * only the configured writer node rebuilds it. When stations are sharded the
+ * writer produces one snapshot per node ({path}.{node}) holding the partitions
+ * that node owns, and each node maps its own file.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StationSnapshotJob {
+
+    private final StationSnapshotProperties properties;
+    private final OfflineStationProperties offlineProperties;
+    private final StationSnapshotWriter snapshotWriter;
+    private final StationRepository stationRepository;
+    private final StationIndexRegistry stationIndexRegistry;
+    private final StationShardMap stationShardMap;
+
+    private volatile FileTime loadedVersion;
+
+    @PostConstruct
+    public void mapAtStartup() {
+        if (isEnabled()) {
+            remapIfChanged();
+        }
+    }
+
+    /**
+     * Rebuild (writer node only) and pick up a newer snapshot
+     */
+    @Scheduled(
+        fixedDelayString = "${stations.snapshot.refresh-interval:PT15M}",
+        initialDelayString = "${stations.snapshot.refresh-interval:PT15M}"
+    )
+    public void refresh() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        if (properties.isWriter()) {
+            try {
+                List<Station> stations = stationRepository.findByRemovedAtIsNull();
+                if (stationShardMap.isEnabled()) {
+                    for (String node : stationShardMap.nodes()) {
+                        List<Station> owned = stations.stream()
+                            .filter(stationShardMap.ownedBy(node))
+                            .toList();
+                        snapshotWriter.write(owned, snapshotPath(node));
+                    }
+                } else {
+                    snapshotWriter.write(stations, Path.of(properties.getPath()));
+                }
+            } catch (Exception e) {
+                log.error("Error writing station snapshot: {}", e.getMessage(), e);
+                return;
+            }
+        }
+
+        remapIfChanged();
+    }
+
+    private void remapIfChanged() {
+        Path path = stationShardMap.isEnabled()
+            ? snapshotPath(stationShardMap.self())
+            : Path.of(properties.getPath());
+        try {
+            if (!Files.exists(path)) {
+                log.info("No station snapshot at {} yet", path);
+                return;
+            }
+
+            FileTime version = Files.getLastModifiedTime(path);
+            if (version.equals(loadedVersion)) {
+                return;
+            }
+
+            long started = System.nanoTime();
+            MappedStationIndex index = MappedStationIndex.open(path);
+            stationIndexRegistry.publish(index);
+            loadedVersion = version;
+            log.info("Mapped station snapshot {} ({} stations) in {}µs",
+                     path, index.size(), (System.nanoTime() - started) / 1000);
+        } catch (Exception e) {
+            log.error("Error mapping station snapshot {}: {}", path, e.getMessage(), e);
+        }
+    }
+
+    private Path snapshotPath(String node) {
+        return Path.of(properties.getPath() + "." + node);
+    }
+
+    /**
+     * Snapshots are off without a path, and in offline mode the export file owns the index
+     */
+    private boolean isEnabled() {
+        return properties.getPath() != null && !properties.getPath().isBlank() && !offlineProperties.isEnabled();
+    }
+}
@@ -0,0 +1,31 @@
+package com.barbatech.natomada.stations.infrastructure.snapshot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the memory-mapped station snapshot
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stations.snapshot")
+public class StationSnapshotProperties {
+
+    /**
+     * Snapshot file, usually on a volume shared by all nodes. Empty disables snapshots
+     */
+    private String path;
+
+    /**
+     * Whether this node rebuilds the snapshot from the database (one writer per deployment)
+     */
+    private boolean writer = false;
+
+    /**
+     * How often the writer rebuilds the snapshot and readers check for a newer file
+     */
+    private Duration refreshInterval = Duration.ofMinutes(15);
+}
@@ -0,0 +1,319 @@
+package com.barbatech.natomada.stations.infrastructure.snapshot;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.domain.enums.ConnectorType;
+import com.barbatech.natomada.stations.infrastructure.snapshot.StationSnapshotFormat.ByteColumn;
+import com.barbatech.natomada.stations.infrastructure.snapshot.StationSnapshotFormat.IntColumn;
+import com.barbatech.natomada.stations.infrastructure.snapshot.StationSnapshotFormat.LongColumn;
+import com.barbatech.natomada.stations.infrastructure.snapshot.StationSnapshotFormat.ShortColumn;
+import com.barbatech.natomada.stations.infrastructure.snapshot.StationSnapshotFormat.StringColumn;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes stations to a columnar snapshot file (see StationSnapshotFormat)
+ *
+ * The file is written next to the target and moved into place atomically, so
+ * readers that already mapped the previous snapshot keep a consistent view.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StationSnapshotWriter {
+
+    private static final TypeReference<List<Map<String, Object>>> CONNECTOR_LIST = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write a snapshot; stations without coordinates are skipped
+     *
+     * @return Number of stations written
+     */
+    public int write(List<Station> source, Path target) throws IOException {
+        List<Station> stations = source.stream()
+            .filter(station -> station.getLatitude() != null && station.getLongitude() != null)
+            .sorted(Comparator.comparing(Station::getLatitude))
+            .toList();
+        int rows = stations.size();
+
+        // Deduplicated string table: cities, countries, operators and usage types repeat a lot
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int[][] refs = new int[StringColumn.values().length][rows];
+        long dataBytes = 0;
+
+        for (StringColumn column : StringColumn.values()) {
+            for (int row = 0; row < rows; row++) {
+                String value = stringValue(column, stations.get(row));
+                if (value == null) {
+                    refs[column.ordinal()][row] = StationSnapshotFormat.NULL_STRING;
+                    continue;
+                }
+                Integer id = stringIds.get(value);
+                if (id == null) {
+                    byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                    id = strings.size();
+                    strings.add(encoded);
+                    stringIds.put(value, id);
+                    dataBytes += encoded.length;
+                }
+                refs[column.ordinal()][row] = id;
+            }
+        }
+
+        // Deduplicated schedule table: most stations share a handful of opening schedules
+        Map<String, Integer> scheduleIds = new HashMap<>();
+        List<int[]> schedules = new ArrayList<>();
+        int[] scheduleRefs = new int[rows];
+        long scheduleInts = 0;
+
+        for (int row = 0; row < rows; row++) {
+            int[] schedule = stations.get(row).getOpeningIntervals();
+            if (schedule == null) {
+                scheduleRefs[row] = StationSnapshotFormat.NULL_SCHEDULE;
+                continue;
+            }
+            Integer id = scheduleIds.get(Arrays.toString(schedule));
+            if (id == null) {
+                id = schedules.size();
+                schedules.add(schedule);
+                scheduleIds.put(Arrays.toString(schedule), id);
+                scheduleInts += schedule.length;
+            }
+            scheduleRefs[row] = id;
+        }
+
+        List<Integer> ocmOrder = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            ocmOrder.add(row);
+        }
+        ocmOrder.sort(Comparator.comparing(row -> stations.get(row).getOcmId(),
+            Comparator.nullsLast(Comparator.naturalOrder())));
+
+        long offsetsPosition = StationSnapshotFormat.stringOffsetsPosition(rows);
+        long dataPosition = offsetsPosition + (long) (strings.size() + 1) * Integer.BYTES;
+        long schedulePosition = (dataPosition + dataBytes + 3) & ~3L;
+        long size = schedulePosition + (1 + schedules.size() + 1 + scheduleInts) * Integer.BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Station snapshot too large to map: " + size + " bytes");
+        }
+
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.order(StationSnapshotFormat.ORDER);
+
+                buffer.putInt(0, StationSnapshotFormat.MAGIC);
+                buffer.putInt(4, StationSnapshotFormat.VERSION);
+                buffer.putInt(8, rows);
+                buffer.putInt(12, strings.size());
+                buffer.putLong(16, dataPosition);
+                buffer.putLong(24, schedulePosition);
+
+                for (int row = 0; row < rows; row++) {
+                    writeRow(buffer, rows, row, stations.get(row), ocmOrder.get(row));
+                    putInt(buffer, IntColumn.OPENING_SCHEDULE, rows, row, scheduleRefs[row]);
+                }
+
+                for (StringColumn column : StringColumn.values()) {
+                    int base = (int) StationSnapshotFormat.position(column, rows);
+                    int[] columnRefs = refs[column.ordinal()];
+                    for (int row = 0; row < rows; row++) {
+                        buffer.putInt(base + row * Integer.BYTES, columnRefs[row]);
+                    }
+                }
+
+                int offset = 0;
+                for (int id = 0; id < strings.size(); id++) {
+                    byte[] encoded = strings.get(id);
+                    buffer.putInt((int) offsetsPosition + id * Integer.BYTES, offset);
+                    buffer.put((int) dataPosition + offset, encoded);
+                    offset += encoded.length;
+                }
+                buffer.putInt((int) offsetsPosition + strings.size() * Integer.BYTES, offset);
+
+                int scheduleOffsets = (int) schedulePosition + Integer.BYTES;
+                int scheduleData = scheduleOffsets + (schedules.size() + 1) * Integer.BYTES;
+                buffer.putInt((int) schedulePosition, schedules.size());
+                int intOffset = 0;
+                for (int id = 0; id < schedules.size(); id++) {
+                    buffer.putInt(scheduleOffsets + id * Integer.BYTES, intOffset);
+                    for (int value : schedules.get(id)) {
+                        buffer.putInt(scheduleData + intOffset * Integer.BYTES, value);
+                        intOffset++;
+                    }
+                }
+                buffer.putInt(scheduleOffsets + schedules.size() * Integer.BYTES, intOffset);
+
+                buffer.force();
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        log.info("Wrote station snapshot {}: {} stations, {} strings, {} schedules, {} bytes",
+                 target, rows, strings.size(), schedules.size(), size);
+        return rows;
+    }
+
+    private void writeRow(MappedByteBuffer buffer, int rows, int row, Station station, int ocmOrderRow) {
+        putLong(buffer, LongColumn.ID, rows, row, station.getId() != null ? station.getId() : StationSnapshotFormat.NULL_LONG);
+        putLong(buffer, LongColumn.LAST_VERIFIED_AT, rows, row, epochSeconds(station.getLastVerifiedAt()));
+        putLong(buffer, LongColumn.LAST_SYNC_AT, rows, row, epochSeconds(station.getLastSyncAt()));
+
+        putInt(buffer, IntColumn.LATITUDE, rows, row, fixedPoint(station.getLatitude()));
+        putInt(buffer, IntColumn.LONGITUDE, rows, row, fixedPoint(station.getLongitude()));
+        putInt(buffer, IntColumn.CONNECTOR_MASK, rows, row, connectorMask(station));
+        putInt(buffer, IntColumn.AMENITY_MASK, rows, row, orZero(station.getAmenityMask()));
+        putInt(buffer, IntColumn.TOTAL_CONNECTORS, rows, row, orZero(station.getTotalConnectors()));
+        putInt(buffer, IntColumn.OCM_REVIEW_COUNT, rows, row, orZero(station.getOcmReviewCount()));
+        putInt(buffer, IntColumn.GOOGLE_REVIEW_COUNT, rows, row, orZero(station.getGoogleReviewCount()));
+        putInt(buffer, IntColumn.TOTAL_REVIEWS, rows, row, orZero(station.getTotalReviews()));
+        putInt(buffer, IntColumn.OCM_ORDER, rows, row, ocmOrderRow);
+        putInt(buffer, IntColumn.COST_PER_KWH, rows, row, cost(station.getCostPerKwh()));
+        putInt(buffer, IntColumn.COST_PER_MINUTE, rows, row, cost(station.getCostPerMinute()));
+        putInt(buffer, IntColumn.SESSION_FEE, rows, row, cost(station.getSessionFee()));
+
+        putShort(buffer, ShortColumn.OCM_RATING, rows, row, rating(station.getOcmRating()));
+        putShort(buffer, ShortColumn.GOOGLE_RATING, rows, row, rating(station.getGoogleRating()));
+        putShort(buffer, ShortColumn.COMBINED_RATING, rows, row, rating(station.getCombinedRating()));
+        putShort(buffer, ShortColumn.COST_CONFIDENCE, rows, row, rating(station.getCostConfidence()));
+        putShort(buffer, ShortColumn.MAX_POWER_KW, rows, row, power(station.getMaxPowerKw()));
+
+        int flags = 0;
+        if (Boolean.TRUE.equals(station.getIsOperational())) flags |= StationSnapshotFormat.FLAG_OPERATIONAL;
+        if (Boolean.TRUE.equals(station.getIsOpen24h())) flags |= StationSnapshotFormat.FLAG_OPEN_24H;
+        if (Boolean.TRUE.equals(station.getRequiresMembership())) flags |= StationSnapshotFormat.FLAG_REQUIRES_MEMBERSHIP;
+        if (Boolean.TRUE.equals(station.getPayAtLocation())) flags |= StationSnapshotFormat.FLAG_PAY_AT_LOCATION;
+        if (Boolean.TRUE.equals(station.getRequiresAccessKey())) flags |= StationSnapshotFormat.FLAG_REQUIRES_ACCESS_KEY;
+        if (Boolean.TRUE.equals(station.getIsRecentlyVerified())) flags |= StationSnapshotFormat.FLAG_RECENTLY_VERIFIED;
+        if (Boolean.TRUE.equals(station.getIsFree())) flags |= StationSnapshotFormat.FLAG_FREE;
+        buffer.put((int) StationSnapshotFormat.position(ByteColumn.FLAGS, rows) + row, (byte) flags);
+    }
+
+    /**
+     * Bitmask of the normalized connector types in the connectors JSON
+     */
+    private int connectorMask(Station station) {
+        if (station.getConnectors() == null || station.getConnectors().isEmpty()) {
+            return 0;
+        }
+        try {
+            int mask = 0;
+            for (Map<String, Object> connector : objectMapper.readValue(station.getConnectors(), CONNECTOR_LIST)) {
+                Object type = connector.get("type");
+                if (type != null) {
+                    mask |= ConnectorType.fromTitle(type.toString()).mask();
+                }
+            }
+            return mask;
+        } catch (Exception e) {
+            log.debug("Could not parse connectors for station {}: {}", station.getOcmId(), e.getMessage());
+            return 0;
+        }
+    }
+
+    private static String stringValue(StringColumn column, Station station) {
+        return switch (column) {
+            case OCM_ID -> station.getOcmId();
+            case OCM_UUID -> station.getOcmUuid();
+            case GOOGLE_PLACE_ID -> station.getGooglePlaceId();
+            case NAME -> station.getName();
+            case ADDRESS -> station.getAddress();
+            case CITY -> station.getCity();
+            case STATE -> station.getState();
+            case POSTAL_CODE -> station.getPostalCode();
+            case COUNTRY -> station.getCountry();
+            case PHONE -> station.getPhone();
+            case CONNECTORS -> station.getConnectors();
+            case OPERATOR_NAME -> station.getOperatorName();
+            case OPERATOR_WEBSITE -> station.getOperatorWebsite();
+            case OPERATOR_PHONE -> station.getOperatorPhone();
+            case OPERATOR_EMAIL -> station.getOperatorEmail();
+            case USAGE_TYPE -> station.getUsageType();
+            case USAGE_COST -> station.getUsageCost();
+            case OPENING_HOURS -> station.getOpeningHours();
+            case PHOTO_REFERENCES -> station.getPhotoReferences();
+            case AMENITIES -> station.getAmenities();
+            case CONTENT_HASH -> station.getContentHash();
+        };
+    }
+
+    private static void putLong(MappedByteBuffer buffer, LongColumn column, int rows, int row, long value) {
+        buffer.putLong((int) StationSnapshotFormat.position(column, rows) + row * Long.BYTES, value);
+    }
+
+    private static void putInt(MappedByteBuffer buffer, IntColumn column, int rows, int row, int value) {
+        buffer.putInt((int) StationSnapshotFormat.position(column, rows) + row * Integer.BYTES, value);
+    }
+
+    private static void putShort(MappedByteBuffer buffer, ShortColumn column, int rows, int row, short value) {
+        buffer.putShort((int) StationSnapshotFormat.position(column, rows) + row * Short.BYTES, value);
+    }
+
+    private static int fixedPoint(BigDecimal degrees) {
+        return (int) Math.round(degrees.doubleValue() * StationSnapshotFormat.COORDINATE_SCALE);
+    }
+
+    private static short rating(BigDecimal rating) {
+        if (rating == null) {
+            return StationSnapshotFormat.NULL_SHORT;
+        }
+        return rating.multiply(BigDecimal.valueOf(StationSnapshotFormat.RATING_SCALE))
+            .setScale(0, RoundingMode.HALF_UP)
+            .shortValue();
+    }
+
+    private static short power(BigDecimal kw) {
+        if (kw == null) {
+            return StationSnapshotFormat.NULL_SHORT;
+        }
+        return (short) Math.min(Short.MAX_VALUE, Math.round(kw.doubleValue() * StationSnapshotFormat.POWER_SCALE));
+    }
+
+    private static int cost(BigDecimal amount) {
+        if (amount == null) {
+            return StationSnapshotFormat.NULL_INT;
+        }
+        return amount.multiply(BigDecimal.valueOf(StationSnapshotFormat.COST_SCALE))
+            .setScale(0, RoundingMode.HALF_UP)
+            .intValue();
+    }
+
+    private static long epochSeconds(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) : StationSnapshotFormat.NULL_LONG;
+    }
+
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.barbatech.natomada.stations.infrastructure.sync;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for ingesting fetched stations off the request path
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stations.ingest")
+public class StationIngestProperties {
+
+    /**
+     * Fetched stations are queued in memory and ingested at this interval
+     */
+    private Duration flushInterval = Duration.ofSeconds(2);
+
+    /**
+     * Stations ingested per transaction (one change log lock each)
+     */
+    private int batchSize = 500;
+
+    /**
+     * Stations queued beyond this are dropped (database down); the next search fetches them again
+     */
+    private int maxPending = 20_000;
+}
@@ -0,0 +1,133 @@
+package com.barbatech.natomada.stations.infrastructure.sync;
+
+import com.barbatech.natomada.stations.application.services.StationSyncService;
+import com.barbatech.natomada.stations.domain.entities.Station;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetched stations waiting to be persisted into the change log
+ *
+ * Searches queue what they fetched and answer right away; a background flush
+ * ingests the queue in batches, each in one transaction holding the change
+ * log lock once. Nearby and detail reads therefore never take the lock nor
+ * a second connection, and the lock is contended by one flusher per node.
+ * A search may pass a callback that runs once its stations are committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StationIngestQueue {
+
+    private final StationSyncService stationSyncService;
+    private final StationIngestProperties properties;
+
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private record Pending(StationSyncService.Fetch fetch, Runnable onIngested) {
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Queue stations for ingest. They are copied, so the caller may keep decorating its own.
+     *
+     * @param supersededIds IDs of stations merged into the fetched ones
+     */
+    public void enqueue(List<Station> stations, Set<String> supersededIds) {
+        enqueue(stations, supersededIds, null);
+    }
+
+    /**
+     * Queue stations for ingest, running a callback once they are committed
+     *
+     * @param onIngested Runs on the flushing thread after the stations are stored, or never if they
+     *                   are dropped or fail to store; null for none
+     */
+    public void enqueue(List<Station> stations, Set<String> supersededIds, Runnable onIngested) {
+        if (stations.isEmpty() && supersededIds.isEmpty()) {
+            run(onIngested);
+            return;
+        }
+        if (pendingCount.addAndGet(stations.size()) > properties.getMaxPending()) {
+            pendingCount.addAndGet(-stations.size());
+            log.warn("Station ingest queue full, dropping {} fetched stations", stations.size());
+            return;
+        }
+
+        List<Station> copies = new ArrayList<>(stations.size());
+        for (Station station : stations) {
+            copies.add(station.toBuilder().build());
+        }
+        pending.add(new Pending(new StationSyncService.Fetch(copies, Set.copyOf(supersededIds)), onIngested));
+    }
+
+    /**
+     * Ingest the queued searches in batches
+     */
+    @Scheduled(fixedDelayString = "${stations.ingest.flush-interval:PT2S}")
+    public void flush() {
+        List<Pending> batch = new ArrayList<>();
+        int stations = 0;
+        Pending next;
+        while ((next = pending.poll()) != null) {
+            pendingCount.addAndGet(-next.fetch().stations().size());
+            batch.add(next);
+            stations += next.fetch().stations().size();
+            if (stations >= properties.getBatchSize()) {
+                ingest(batch);
+                batch = new ArrayList<>();
+                stations = 0;
+            }
+        }
+        if (!batch.isEmpty()) {
+            ingest(batch);
+        }
+    }
+
+    private void ingest(List<Pending> batch) {
+        try {
+            stationSyncService.ingestAll(batch.stream().map(Pending::fetch).toList());
+        } catch (Exception e) {
+            // One bad search shouldn't cost the others; retry each in its own transaction
+            log.warn("Error ingesting {} queued searches, retrying one by one: {}", batch.size(), e.getMessage());
+            for (Pending search : batch) {
+                try {
+                    stationSyncService.ingest(search.fetch().stations(), search.fetch().supersededIds());
+                    run(search.onIngested());
+                } catch (Exception retryError) {
+                    log.error("Error persisting fetched stations: {}", retryError.getMessage(), retryError);
+                }
+            }
+            return;
+        }
+        for (Pending search : batch) {
+            run(search.onIngested());
+        }
+    }
+
+    private void run(Runnable onIngested) {
+        if (onIngested == null) {
+            return;
+        }
+        try {
+            onIngested.run();
+        } catch (Exception e) {
+            log.warn("Error running ingest callback: {}", e.getMessage());
+        }
+    }
+}
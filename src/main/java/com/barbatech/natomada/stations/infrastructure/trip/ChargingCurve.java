@@ -0,0 +1,77 @@
+package com.barbatech.natomada.stations.infrastructure.trip;
+
+/**
+ * Tapered DC charging curve shared by trip planning and charging estimates.
+ *
+ * A car draws its peak power up to 50% state of charge, tapers linearly to 55%
+ * of it at 80% and to 15% at 100%. Time between two states of charge is read
+ * from a cumulative table built once, so an estimate is two lookups and a
+ * division.
+ */
+public final class ChargingCurve {
+
+    /**
+     * Peak-power hours per kWh accumulated from 0% to each whole percent, in units of 1% of the battery
+     */
+    private static final double[] CUMULATIVE = new double[101];
+
+    static {
+        for (int percent = 0; percent < 100; percent++) {
+            CUMULATIVE[percent + 1] = CUMULATIVE[percent] + 1 / powerShare(percent + 0.5);
+        }
+    }
+
+    private ChargingCurve() {
+    }
+
+    /**
+     * Share (0-1) of the peak power drawn at a state of charge (percent)
+     */
+    public static double powerShare(double percent) {
+        if (percent <= 50) {
+            return 1;
+        }
+        if (percent <= 80) {
+            return 1 - (percent - 50) / 30 * 0.45;
+        }
+        return 0.55 - (Math.min(percent, 100) - 80) / 20 * 0.40;
+    }
+
+    /**
+     * Minutes to charge from one state of charge to another (percent) at a peak power
+     *
+     * @param capacityKwh Usable battery capacity
+     * @param peakPowerKw Power the car and the charger can both sustain
+     * @return Minutes, 0 when there is nothing to charge, +Infinity without power
+     */
+    public static double minutes(double capacityKwh, double peakPowerKw, double fromPercent, double toPercent) {
+        if (toPercent <= fromPercent) {
+            return 0;
+        }
+        if (!(peakPowerKw > 0)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return unitMinutes(fromPercent, toPercent) * capacityKwh / peakPowerKw;
+    }
+
+    /**
+     * Minutes to charge a 1 kWh battery at 1 kW between two states of charge (percent).
+     * Time scales with capacity / power, so a batch of estimates for one car and one
+     * charge window costs a single curve lookup and a division per charger.
+     */
+    public static double unitMinutes(double fromPercent, double toPercent) {
+        if (toPercent <= fromPercent) {
+            return 0;
+        }
+        return (cumulative(toPercent) - cumulative(fromPercent)) / 100 * 60;
+    }
+
+    private static double cumulative(double percent) {
+        double clamped = Math.max(0, Math.min(100, percent));
+        int whole = (int) clamped;
+        if (whole == 100) {
+            return CUMULATIVE[100];
+        }
+        return CUMULATIVE[whole] + (clamped - whole) * (CUMULATIVE[whole + 1] - CUMULATIVE[whole]);
+    }
+}
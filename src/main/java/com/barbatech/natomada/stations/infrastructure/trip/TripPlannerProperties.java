@@ -0,0 +1,69 @@
+package com.barbatech.natomada.stations.infrastructure.trip;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for EV trip planning.
+ * States of charge are in percent of the usable battery.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stations.trip")
+public class TripPlannerProperties {
+
+    /**
+     * Energy used per driven km; the car catalog has no consumption figure
+     */
+    private double consumptionKwhPerKm = 0.18;
+
+    private double averageSpeedKmh = 80;
+
+    /**
+     * Distance off the route a charging stop may be
+     */
+    private int corridorWidthMeters = 5000;
+
+    /**
+     * Slower chargers aren't considered as stops
+     */
+    private double minStopPowerKw = 40;
+
+    /**
+     * Stations fetched from the corridor, in driving order
+     */
+    private int maxFetchedStations = 1000;
+
+    /**
+     * Stations the search considers, keeping the fastest of each stretch of route
+     */
+    private int maxCandidates = 300;
+
+    /**
+     * Lowest state of charge allowed when arriving at a charger
+     */
+    private int reservePercent = 10;
+
+    /**
+     * Charging stops end at most here, where the curve gets too slow to be worth it
+     */
+    private int maxChargePercent = 90;
+
+    /**
+     * Granularity of the charge targets tried at each stop
+     */
+    private int chargeStepPercent = 5;
+
+    /**
+     * Time lost per stop: detour parking, plugging in and paying
+     */
+    private Duration stopOverhead = Duration.ofMinutes(5);
+
+    /**
+     * Search states expanded before giving up, so a plan always answers synchronously
+     */
+    private int maxExpandedStates = 200_000;
+}
@@ -0,0 +1,11 @@
+package com.barbatech.natomada.stations.infrastructure.trip;
+
+/**
+ * What charging estimates need to know about a car
+ *
+ * @param capacityKwh Usable battery capacity
+ * @param peakPowerKw Highest DC power the car accepts
+ * @param connectorMask ConnectorType mask of the station connectors the car plugs into, 0 if unknown
+ */
+public record VehicleBattery(double capacityKwh, double peakPowerKw, int connectorMask) {
+}
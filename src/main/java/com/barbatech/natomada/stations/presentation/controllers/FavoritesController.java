@@ -3,9 +3,12 @@ package com.barbatech.natomada.stations.presentation.controllers;
 import com.barbatech.natomada.auth.application.dtos.MessageResponseDto;
 import com.barbatech.natomada.stations.application.dtos.AddFavoriteRequestDto;
 import com.barbatech.natomada.stations.application.dtos.FavoriteResponseDto;
+import com.barbatech.natomada.stations.application.mappers.StationFieldSet;
 import com.barbatech.natomada.stations.application.services.FavoritesService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -14,6 +17,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -37,18 +41,24 @@ public class FavoritesController {
      */
     @Operation(summary = "Listar favoritos", description = "Retorna todas as estações favoritas do usuário autenticado")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Favoritos recuperados com sucesso"),
+        @ApiResponse(responseCode = "200", description = "Favoritos recuperados com sucesso",
+            content = @Content(schema = @Schema(implementation = FavoritesResponse.class))),
         @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
     @GetMapping("/favorites")
-    public ResponseEntity<FavoritesResponse> getUserFavorites(Authentication authentication) {
+    public ResponseEntity<MappingJacksonValue> getUserFavorites(
+        Authentication authentication,
+        @Parameter(description = "Campos da estação a retornar, separados por vírgula (ex: id,name,latitude,longitude)")
+        @RequestParam(required = false) String fields
+    ) {
         Long userId = Long.parseLong(authentication.getName());
-        List<FavoriteResponseDto> favorites = favoritesService.getUserFavorites(userId);
+        StationFieldSet fieldSet = StationFieldSet.parse(fields);
+        List<FavoriteResponseDto> favorites = favoritesService.getUserFavorites(userId, fieldSet);
 
-        return ResponseEntity.ok(FavoritesResponse.builder()
+        return ResponseEntity.ok(fieldSet.wrap(FavoritesResponse.builder()
             .success(true)
             .data(favorites)
-            .build());
+            .build()));
     }
 
     /**
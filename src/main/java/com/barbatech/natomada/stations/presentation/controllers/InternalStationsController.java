@@ -0,0 +1,127 @@
+package com.barbatech.natomada.stations.presentation.controllers;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.index.Polyline;
+import com.barbatech.natomada.stations.infrastructure.index.RouteCorridor;
+import com.barbatech.natomada.stations.infrastructure.index.StationFilter;
+import com.barbatech.natomada.stations.infrastructure.index.StationSort;
+import com.barbatech.natomada.stations.infrastructure.shard.ShardedStationSearch;
+import com.barbatech.natomada.stations.infrastructure.shard.StationShardProperties;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Peer endpoints used by scatter-gather between station shard nodes.
+ * They only read the local index, so a request never fans out again.
+ */
+@Hidden
+@RestController
+@RequestMapping("/internal/stations")
+@RequiredArgsConstructor
+public class InternalStationsController {
+
+    private final ShardedStationSearch shardedStationSearch;
+    private final StationShardProperties shardProperties;
+
+    /**
+     * Nearby search on this node's partitions
+     * GET /internal/stations/nearby?latitude=-23.56&longitude=-46.65&radius=5000&limit=20&openAt=600&amenities=264&maxCostPerKwh=2.5&minPowerKw=50&sort=cost
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<Station>> nearby(
+        @RequestHeader(value = ShardedStationSearch.TOKEN_HEADER, required = false) String token,
+        @RequestParam double latitude,
+        @RequestParam double longitude,
+        @RequestParam double radius,
+        @RequestParam int limit,
+        @RequestParam(required = false) Integer openAt,
+        @RequestParam(required = false) Integer amenities,
+        @RequestParam(required = false) Double maxCostPerKwh,
+        @RequestParam(required = false) Boolean free,
+        @RequestParam(required = false) Double minCostConfidence,
+        @RequestParam(required = false) Double minPowerKw,
+        @RequestParam(required = false) String sort
+    ) {
+        if (!isAuthorized(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        StationFilter filter = StationFilter.builder()
+            .openAtMinute(openAt)
+            .amenityMask(amenities)
+            .maxCostPerKwh(maxCostPerKwh)
+            .freeOnly(free)
+            .minCostConfidence(minCostConfidence)
+            .minPowerKw(minPowerKw)
+            .build();
+        return ResponseEntity.ok(shardedStationSearch.nearbyLocal(
+            latitude, longitude, radius, Math.min(limit, 1000), filter, StationSort.fromKey(sort)));
+    }
+
+    /**
+     * Route corridor search on this node's partitions; the polyline is the body, since long ones don't fit a URL
+     * POST /internal/stations/route?width=2000&limit=50&openAt=600
+     */
+    @PostMapping(value = "/route", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<List<Station>> alongRoute(
+        @RequestHeader(value = ShardedStationSearch.TOKEN_HEADER, required = false) String token,
+        @RequestBody String polyline,
+        @RequestParam double width,
+        @RequestParam int limit,
+        @RequestParam(required = false) Integer openAt,
+        @RequestParam(required = false) Integer amenities,
+        @RequestParam(required = false) Double maxCostPerKwh,
+        @RequestParam(required = false) Boolean free,
+        @RequestParam(required = false) Double minCostConfidence,
+        @RequestParam(required = false) Double minPowerKw
+    ) {
+        if (!isAuthorized(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        StationFilter filter = StationFilter.builder()
+            .openAtMinute(openAt)
+            .amenityMask(amenities)
+            .maxCostPerKwh(maxCostPerKwh)
+            .freeOnly(free)
+            .minCostConfidence(minCostConfidence)
+            .minPowerKw(minPowerKw)
+            .build();
+        try {
+            RouteCorridor corridor = RouteCorridor.of(Polyline.decode(polyline), width);
+            return ResponseEntity.ok(shardedStationSearch.alongRouteLocal(corridor, Math.min(limit, 1000), filter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Station lookup on this node's partitions
+     * GET /internal/stations/ocm_123456
+     */
+    @GetMapping("/{ocmId}")
+    public ResponseEntity<Station> findByOcmId(
+        @RequestHeader(value = ShardedStationSearch.TOKEN_HEADER, required = false) String token,
+        @PathVariable String ocmId
+    ) {
+        if (!isAuthorized(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Station station = shardedStationSearch.findLocal(ocmId);
+        return station != null ? ResponseEntity.ok(station) : ResponseEntity.notFound().build();
+    }
+
+    private boolean isAuthorized(String token) {
+        String expected = shardProperties.getToken();
+        if (expected == null || expected.isBlank() || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
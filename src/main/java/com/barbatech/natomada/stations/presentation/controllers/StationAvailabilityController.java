@@ -0,0 +1,56 @@
+package com.barbatech.natomada.stations.presentation.controllers;
+
+import com.barbatech.natomada.stations.application.services.StationAvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Controller for live connector availability
+ */
+@RestController
+@RequestMapping("/api/stations")
+@RequiredArgsConstructor
+@Tag(name = "Stations", description = "Endpoints para busca e consulta de estações de recarga")
+public class StationAvailabilityController {
+
+    private final StationAvailabilityService stationAvailabilityService;
+
+    /**
+     * Stream connector availability of a set of stations
+     * GET /api/stations/availability/stream?ids=ocm_1,ocm_2
+     */
+    @Operation(
+        summary = "Acompanhar disponibilidade de conectores",
+        description = "Abre um stream Server-Sent Events com eventos \"availability\": o estado atual de cada estação " +
+            "e, depois, somente as mudanças de disponibilidade dos conectores"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream aberto"),
+        @ApiResponse(responseCode = "400", description = "Lista de estações vazia ou com mais de 25 IDs")
+    })
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(
+        @Parameter(description = "IDs das estações separados por vírgula", example = "ocm_217270,ocm_188927", required = true)
+        @RequestParam @NotEmpty @Size(max = 25) List<String> ids,
+
+        HttpServletResponse response
+    ) {
+        // Events must reach the client as they happen, not when a proxy buffer fills
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");
+        return stationAvailabilityService.subscribe(ids);
+    }
+}
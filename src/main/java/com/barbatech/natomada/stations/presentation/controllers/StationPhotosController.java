@@ -0,0 +1,100 @@
+package com.barbatech.natomada.stations.presentation.controllers;
+
+import com.barbatech.natomada.stations.application.services.StationPhotoService;
+import com.barbatech.natomada.stations.infrastructure.photos.DiskPhotoCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Controller for station photos, proxied from Google through a disk cache
+ */
+@RestController
+@RequestMapping("/api/stations")
+@RequiredArgsConstructor
+@Tag(name = "Stations", description = "Endpoints para busca e consulta de estações de recarga")
+public class StationPhotosController {
+
+    // Tomcat sends files set in these attributes with sendfile(2) once the handler returns
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final StationPhotoService stationPhotoService;
+
+    /**
+     * Get a station photo
+     * GET /api/stations/{id}/photos/{index}?width=400
+     */
+    @Operation(
+        summary = "Buscar foto da estação",
+        description = "Retorna a foto da estação na posição informada, servida a partir do cache do servidor"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Foto encontrada"),
+        @ApiResponse(responseCode = "404", description = "Estação ou foto não encontrada")
+    })
+    @GetMapping("/{id}/photos/{index}")
+    public void getStationPhoto(
+        @Parameter(description = "ID da estação", example = "ocm_217270", required = true)
+        @PathVariable String id,
+
+        @Parameter(description = "Posição da foto na lista photoUrls", example = "0", required = true)
+        @PathVariable @Min(0) @Max(9) Integer index,
+
+        @Parameter(description = "Largura desejada em pixels (arredondada para 200, 400, 800 ou 1600)", example = "800")
+        @RequestParam(required = false) @Min(1) @Max(4096) Integer width,
+
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        Optional<DiskPhotoCache.CachedPhoto> photo = stationPhotoService.getPhoto(id, index, width);
+        if (photo.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        DiskPhotoCache.CachedPhoto cached = photo.get();
+        response.setContentType(cached.contentType());
+        response.setContentLengthLong(cached.size());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, stationPhotoService.cacheControl().getHeaderValue());
+
+        // Zero-copy: let the connector sendfile the cached file straight to the socket.
+        // It opens the file after we return; the cache keeps evicted files around long enough for that
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, cached.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, cached.size());
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(cached.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < cached.size()) {
+                long sent = channel.transferTo(position, cached.size() - position, out);
+                if (sent <= 0) {
+                    break; // evicted and truncated underneath us
+                }
+                position += sent;
+            }
+        }
+    }
+}
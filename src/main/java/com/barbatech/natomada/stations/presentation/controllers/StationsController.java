@@ -1,18 +1,46 @@
 package com.barbatech.natomada.stations.presentation.controllers;
 
+import com.barbatech.natomada.stations.application.dtos.NearbySearch;
 import com.barbatech.natomada.stations.application.dtos.StationResponseDto;
+import com.barbatech.natomada.stations.application.dtos.StationSyncResponseDto;
+import com.barbatech.natomada.stations.application.dtos.StationsAlongRouteRequestDto;
+import com.barbatech.natomada.stations.application.mappers.StationFieldSet;
+import com.barbatech.natomada.stations.application.services.ChargingEstimateService;
 import com.barbatech.natomada.stations.application.services.StationsService;
+import com.barbatech.natomada.stations.domain.enums.Amenity;
+import com.barbatech.natomada.stations.infrastructure.index.Polyline;
+import com.barbatech.natomada.stations.infrastructure.index.RouteCorridor;
+import com.barbatech.natomada.stations.infrastructure.index.StationFilter;
+import com.barbatech.natomada.stations.infrastructure.index.StationSort;
+import com.barbatech.natomada.stations.presentation.http.NearbyTile;
+import com.barbatech.natomada.stations.presentation.http.RedisNearbyEtagStore;
+import com.barbatech.natomada.stations.presentation.http.StationHttpCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Controller for stations endpoints
@@ -24,6 +52,9 @@ import java.util.List;
 public class StationsController {
 
     private final StationsService stationsService;
+    private final ChargingEstimateService chargingEstimateService;
+    private final StationHttpCache stationHttpCache;
+    private final RedisNearbyEtagStore nearbyEtagStore;
 
     /**
      * Get station by ID
@@ -35,34 +66,55 @@ public class StationsController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Estação encontrada com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Estação não mudou desde o ETag informado em If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Estação não encontrada")
     })
     @GetMapping("/{id}")
     public ResponseEntity<StationDetailResponse> getStationById(
         @Parameter(description = "ID da estação (pode ser ocm_123 ou external ID)", example = "ocm_217270", required = true)
-        @PathVariable String id
+        @PathVariable String id,
+        WebRequest request
     ) {
+        // Answer revalidations from the local copy while it is fresh, without calling external APIs
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> contentHash = stationsService.findFreshContentHash(id, stationHttpCache.getDetailMaxAge());
+            if (contentHash.isPresent() && request.checkNotModified(stationHttpCache.etag(contentHash.get(), request))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(stationHttpCache.detailCacheControl())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+            }
+        }
+
         StationResponseDto station = stationsService.getStationById(id);
 
-        return ResponseEntity.ok(StationDetailResponse.builder()
-            .data(station)
-            .build());
+        return ResponseEntity.ok()
+            .eTag(stationHttpCache.etag(station.getContentHash(), request))
+            .cacheControl(stationHttpCache.detailCacheControl())
+            .varyBy(HttpHeaders.ACCEPT)
+            .body(StationDetailResponse.builder()
+                .data(station)
+                .build());
     }
 
     /**
      * Get nearby stations
-     * GET /api/stations/nearby?latitude=-23.5629&longitude=-46.6544&radius=5000&limit=20
+     * GET /api/stations/nearby?latitude=-23.5629&longitude=-46.6544&radius=5000&limit=20&fields=id,name,latitude,longitude&openNow=true&amenities=restroom,food&maxCostPerKwh=2.5&sort=cost
+     * GET /api/stations/nearby?latitude=-23.5629&longitude=-46.6544&chargeFrom=20&chargeTo=80&fields=id,name,chargingMinutes
      */
     @Operation(
         summary = "Buscar estações próximas",
         description = "Retorna estações de recarga próximas a uma localização específica, com dados do OpenChargeMap enriquecidos com Google Places"
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Estações encontradas com sucesso"),
+        @ApiResponse(responseCode = "200", description = "Estações encontradas com sucesso",
+            content = @Content(schema = @Schema(implementation = NearbyStationsResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Resultado não mudou desde o ETag informado em If-None-Match"),
+        @ApiResponse(responseCode = "308", description = "Redireciona para a URL canônica do tile que contém a localização"),
         @ApiResponse(responseCode = "400", description = "Parâmetros de busca inválidos")
     })
     @GetMapping("/nearby")
-    public ResponseEntity<NearbyStationsResponse> getNearbyStations(
+    public ResponseEntity<MappingJacksonValue> getNearbyStations(
         @Parameter(description = "Latitude da localização de busca", example = "-23.5629", required = true)
         @RequestParam @NotNull(message = "Latitude é obrigatória")
         @DecimalMin(value = "-90.0") @DecimalMax(value = "90.0") Double latitude,
@@ -77,25 +129,334 @@ public class StationsController {
 
         @Parameter(description = "Limite de resultados", example = "20")
         @RequestParam(required = false, defaultValue = "20")
-        @Min(value = 1) @Max(value = 100) Integer limit
+        @Min(value = 1) @Max(value = 100) Integer limit,
+
+        @Parameter(description = "Campos a retornar, separados por vírgula (ex: id,name,latitude,longitude)")
+        @RequestParam(required = false) String fields,
+
+        @Parameter(description = "Minutos até a chegada, usados em likelyFreeAtEta (padrão: agora)", example = "30")
+        @RequestParam(required = false) @Min(value = 0) @Max(value = 1440) Integer etaMinutes,
+
+        @Parameter(description = "Apenas estações abertas agora (estações sem horário conhecido são mantidas)", example = "true")
+        @RequestParam(required = false) Boolean openNow,
+
+        @Parameter(description = "Apenas estações abertas neste horário (ISO 8601, ex: 2026-01-15T22:30:00-03:00)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime openAt,
+
+        @Parameter(description = "Apenas estações com todas estas comodidades, separadas por vírgula " +
+                                 "(parking, restaurant, cafe, food, shopping, convenience_store, gas_station, atm, " +
+                                 "restroom, pharmacy, hospital, gym, spa, entertainment, wheelchair_accessible)",
+                   example = "restroom,food")
+        @RequestParam(required = false) List<String> amenities,
+
+        @Parameter(description = "Apenas estações com preço por kWh conhecido até este valor, em moeda local " +
+                                 "(estações gratuitas contam como 0)", example = "2.5")
+        @RequestParam(required = false) @DecimalMin(value = "0.0") Double maxCostPerKwh,
+
+        @Parameter(description = "Apenas estações gratuitas", example = "true")
+        @RequestParam(required = false) Boolean free,
+
+        @Parameter(description = "Apenas estações com algum conector de pelo menos esta potência, em kW", example = "50")
+        @RequestParam(required = false) @DecimalMin(value = "0.0") Double minPowerKw,
+
+        @Parameter(description = "Ordenação: distance (mais próximas primeiro), cost (menor preço por kWh primeiro; " +
+                                 "estações sem preço conhecido por último) ou personalized (distância, avaliação, " +
+                                 "compatibilidade com o veículo principal, favoritos e disponibilidade)", example = "cost")
+        @RequestParam(required = false, defaultValue = "distance") String sort,
+
+        @Parameter(description = "Estima chargingMinutes: tempo para carregar o veículo do usuário até esta carga, em %", example = "80")
+        @RequestParam(required = false) @Min(value = 1) @Max(value = 100) Integer chargeTo,
+
+        @Parameter(description = "Carga da bateria ao chegar, em %, usada com chargeTo", example = "20")
+        @RequestParam(required = false, defaultValue = "20") @Min(value = 0) @Max(value = 99) Integer chargeFrom,
+
+        @Parameter(description = "Veículo do usuário usado com chargeTo (padrão: veículo principal)", example = "3")
+        @RequestParam(required = false) Long vehicleId,
+
+        Authentication authentication,
+        WebRequest request
+    ) {
+        // Snap the search to a tile centre so nearby clients share one cacheable URL
+        NearbyTile tile = NearbyTile.of(latitude, longitude, radius);
+        if (!tile.isCentre(latitude, longitude) && stationHttpCache.isCanonicalRedirect()) {
+            URI canonical = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("latitude", tile.latitudeParam())
+                .replaceQueryParam("longitude", tile.longitudeParam())
+                .build()
+                .toUri();
+
+            return ResponseEntity.status(HttpStatus.PERMANENT_REDIRECT)
+                .location(canonical)
+                .cacheControl(stationHttpCache.nearbyCacheControl())
+                .build();
+        }
+
+        // An unknown amenity would otherwise filter nothing and look like a match
+        Integer amenityMask;
+        try {
+            amenityMask = amenities != null ? Amenity.parseMask(amenities) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StationFieldSet fieldSet = StationFieldSet.parse(fields);
+        Instant eta = etaMinutes != null ? Instant.now().plus(Duration.ofMinutes(etaMinutes)) : null;
+        Instant openTime = openAt != null ? openAt.toInstant() : Boolean.TRUE.equals(openNow) ? Instant.now() : null;
+        StationFilter filter = StationFilter.builder()
+            .openAtMinute(openTime != null ? stationsService.minuteOfWeek(openTime) : null)
+            .amenityMask(amenityMask)
+            .maxCostPerKwh(maxCostPerKwh)
+            .freeOnly(free)
+            .minPowerKw(minPowerKw)
+            .build();
+        StationSort order = StationSort.fromKey(sort);
+        Long userId = order == StationSort.PERSONALIZED && authentication != null ? Long.parseLong(authentication.getName()) : null;
+
+        // Shared results: answer revalidations from the tile's last ETag, before fetching anything
+        boolean shared = order != StationSort.PERSONALIZED && chargeTo == null;
+        String searchKey = shared ? stationHttpCache.nearbySearchKey(tile, request) : null;
+        if (shared && request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> lastEtag = nearbyEtagStore.find(searchKey);
+            if (lastEtag.isPresent() && request.checkNotModified(lastEtag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(stationHttpCache.nearbyCacheControl())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+            }
+        }
+
+        ChargingEstimateService.Charge charge = null;
+        if (chargeTo != null && chargeTo > chargeFrom && authentication != null) {
+            try {
+                charge = chargingEstimateService.findBattery(Long.parseLong(authentication.getName()), vehicleId)
+                    .map(battery -> new ChargingEstimateService.Charge(battery, chargeFrom, chargeTo))
+                    .orElse(null);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        NearbySearch search = NearbySearch.builder()
+            .latitude(tile.latitude())
+            .longitude(tile.longitude())
+            .radius(radius)
+            .limit(limit)
+            .fieldSet(fieldSet)
+            .eta(eta)
+            .filter(filter)
+            .sort(order)
+            .userId(userId)
+            .charge(charge)
+            .build();
+
+        List<StationResponseDto> stations = stationsService.getNearbyStations(search);
+        String etag = stationHttpCache.etag(stations, request);
+        if (shared) {
+            nearbyEtagStore.save(searchKey, etag, stationHttpCache.getNearbyMaxAge());
+        }
+
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(order == StationSort.PERSONALIZED || charge != null
+                ? stationHttpCache.personalizedCacheControl()
+                : stationHttpCache.nearbyCacheControl())
+            .varyBy(HttpHeaders.ACCEPT)
+            .body(fieldSet.wrap(NearbyStationsResponse.builder()
+                .data(stations)
+                .meta(NearbyStationsResponse.MetaDto.builder()
+                    .total(stations.size())
+                    .latitude(tile.latitude())
+                    .longitude(tile.longitude())
+                    .radius(radius)
+                    .sources(NearbyStationsResponse.SourcesDto.builder()
+                        .primary("OpenChargeMap")
+                        .enrichment("Google Places")
+                        .build())
+                    .build())
+                .build()));
+    }
+
+    /**
+     * Get stations along a route
+     * GET /api/stations/route?polyline=nnseF~kszG...&width=2000&limit=50&fields=id,name,distanceAlongRouteMeters
+     *
+     * Long polylines can exceed the server's header size limit; those go through POST /api/stations/route
+     */
+    @Operation(
+        summary = "Buscar estações ao longo de uma rota",
+        description = "Retorna as estações dentro de um corredor ao redor da rota, na ordem em que aparecem no trajeto. " +
+                      "A rota é uma polyline codificada (precisão 5, como nas APIs de rotas do Google e OSRM)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estações encontradas com sucesso",
+            content = @Content(schema = @Schema(implementation = RouteStationsResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Polyline inválida, rota longa demais ou comodidade desconhecida")
+    })
+    @GetMapping("/route")
+    public ResponseEntity<MappingJacksonValue> getStationsAlongRoute(
+        @Parameter(description = "Rota como polyline codificada", required = true)
+        @RequestParam @NotBlank(message = "Polyline é obrigatória") String polyline,
+
+        @Parameter(description = "Distância máxima da rota em metros, para cada lado", example = "2000")
+        @RequestParam(required = false, defaultValue = "2000")
+        @Min(value = 100) @Max(value = 20000) Integer width,
+
+        @Parameter(description = "Limite de resultados, a partir do início da rota", example = "50")
+        @RequestParam(required = false, defaultValue = "50")
+        @Min(value = 1) @Max(value = 200) Integer limit,
+
+        @Parameter(description = "Campos a retornar, separados por vírgula (ex: id,name,distanceAlongRouteMeters)")
+        @RequestParam(required = false) String fields,
+
+        @Parameter(description = "Minutos até a chegada, usados em likelyFreeAtEta (padrão: agora)", example = "30")
+        @RequestParam(required = false) @Min(value = 0) @Max(value = 1440) Integer etaMinutes,
+
+        @Parameter(description = "Apenas estações abertas neste horário (ISO 8601, ex: 2026-01-15T22:30:00-03:00)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime openAt,
+
+        @Parameter(description = "Apenas estações com todas estas comodidades, separadas por vírgula", example = "restroom,food")
+        @RequestParam(required = false) List<String> amenities,
+
+        @Parameter(description = "Apenas estações com preço por kWh conhecido até este valor, em moeda local", example = "2.5")
+        @RequestParam(required = false) @DecimalMin(value = "0.0") Double maxCostPerKwh,
+
+        @Parameter(description = "Apenas estações gratuitas", example = "true")
+        @RequestParam(required = false) Boolean free,
+
+        @Parameter(description = "Apenas estações com algum conector de pelo menos esta potência, em kW", example = "50")
+        @RequestParam(required = false) @DecimalMin(value = "0.0") Double minPowerKw,
+
+        WebRequest request
     ) {
-        List<StationResponseDto> stations = stationsService.getNearbyStations(
-            latitude, longitude, radius, limit
+        StationsAlongRouteRequestDto search = StationsAlongRouteRequestDto.builder()
+            .polyline(polyline)
+            .width(width)
+            .limit(limit)
+            .fields(fields)
+            .etaMinutes(etaMinutes)
+            .openAt(openAt)
+            .amenities(amenities)
+            .maxCostPerKwh(maxCostPerKwh)
+            .free(free)
+            .minPowerKw(minPowerKw)
+            .build();
+
+        return stationsAlongRoute(search, request);
+    }
+
+    /**
+     * Get stations along a route given in the request body
+     * POST /api/stations/route {"polyline": "nnseF~kszG...", "width": 2000, "fields": "id,name,distanceAlongRouteMeters"}
+     */
+    @Operation(
+        summary = "Buscar estações ao longo de uma rota (polyline no corpo)",
+        description = "Igual ao GET /api/stations/route, com os parâmetros no corpo da requisição. " +
+                      "Use para rotas longas, cuja polyline não cabe na URL"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estações encontradas com sucesso",
+            content = @Content(schema = @Schema(implementation = RouteStationsResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Polyline inválida, rota longa demais ou comodidade desconhecida"),
+        @ApiResponse(responseCode = "422", description = "Dados de entrada inválidos")
+    })
+    @PostMapping("/route")
+    public ResponseEntity<MappingJacksonValue> searchStationsAlongRoute(
+        @Valid @RequestBody StationsAlongRouteRequestDto dto
+    ) {
+        return stationsAlongRoute(dto, null);
+    }
+
+    /**
+     * Stations along a route; GET responses (request given) carry an ETag and may be cached, POST responses don't
+     */
+    private ResponseEntity<MappingJacksonValue> stationsAlongRoute(StationsAlongRouteRequestDto search, WebRequest request) {
+        int width = search.getWidth() != null ? search.getWidth() : 2000;
+        RouteCorridor corridor;
+        Integer amenityMask;
+        try {
+            corridor = RouteCorridor.of(Polyline.decode(search.getPolyline()), width);
+            amenityMask = search.getAmenities() != null ? Amenity.parseMask(search.getAmenities()) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StationFieldSet fieldSet = StationFieldSet.parse(search.getFields());
+        Instant eta = search.getEtaMinutes() != null ? Instant.now().plus(Duration.ofMinutes(search.getEtaMinutes())) : null;
+        StationFilter filter = StationFilter.builder()
+            .openAtMinute(search.getOpenAt() != null ? stationsService.minuteOfWeek(search.getOpenAt().toInstant()) : null)
+            .amenityMask(amenityMask)
+            .maxCostPerKwh(search.getMaxCostPerKwh())
+            .freeOnly(search.getFree())
+            .minPowerKw(search.getMinPowerKw())
+            .build();
+        List<StationResponseDto> stations = stationsService.getStationsAlongRoute(
+            search.getPolyline(), corridor, search.getLimit() != null ? search.getLimit() : 50, fieldSet, eta, filter
         );
 
-        return ResponseEntity.ok(NearbyStationsResponse.builder()
+        MappingJacksonValue body = fieldSet.wrap(RouteStationsResponse.builder()
             .data(stations)
-            .meta(NearbyStationsResponse.MetaDto.builder()
+            .meta(RouteStationsResponse.MetaDto.builder()
                 .total(stations.size())
-                .latitude(latitude)
-                .longitude(longitude)
-                .radius(radius)
-                .sources(NearbyStationsResponse.SourcesDto.builder()
-                    .primary("OpenChargeMap")
-                    .enrichment("Google Places")
-                    .build())
+                .lengthMeters(Math.round(corridor.lengthMeters()))
+                .width(width)
                 .build())
             .build());
+
+        if (request == null) {
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.ok()
+            .eTag(stationHttpCache.etag(stations, request))
+            .cacheControl(stationHttpCache.nearbyCacheControl())
+            .varyBy(HttpHeaders.ACCEPT)
+            .body(body);
+    }
+
+    /**
+     * Get station changes since a sync cursor
+     * GET /api/stations/sync?minLatitude=-23.7&maxLatitude=-23.4&minLongitude=-46.8&maxLongitude=-46.4&cursor=0
+     */
+    @Operation(
+        summary = "Sincronização incremental de estações",
+        description = "Retorna apenas as estações adicionadas, alteradas ou removidas na região desde o cursor informado. " +
+                      "Envie o nextCursor retornado na próxima sincronização"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Alterações recuperadas com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Parâmetros de sincronização inválidos")
+    })
+    @GetMapping("/sync")
+    public ResponseEntity<StationSyncResponse> syncStations(
+        @Parameter(description = "Latitude mínima da região", example = "-23.7", required = true)
+        @RequestParam @NotNull @DecimalMin(value = "-90.0") @DecimalMax(value = "90.0") Double minLatitude,
+
+        @Parameter(description = "Latitude máxima da região", example = "-23.4", required = true)
+        @RequestParam @NotNull @DecimalMin(value = "-90.0") @DecimalMax(value = "90.0") Double maxLatitude,
+
+        @Parameter(description = "Longitude mínima da região", example = "-46.8", required = true)
+        @RequestParam @NotNull @DecimalMin(value = "-180.0") @DecimalMax(value = "180.0") Double minLongitude,
+
+        @Parameter(description = "Longitude máxima da região", example = "-46.4", required = true)
+        @RequestParam @NotNull @DecimalMin(value = "-180.0") @DecimalMax(value = "180.0") Double maxLongitude,
+
+        @Parameter(description = "Cursor da última sincronização (0 para sincronização completa)", example = "0")
+        @RequestParam(required = false, defaultValue = "0") @Min(value = 0) Long cursor,
+
+        @Parameter(description = "Máximo de alterações por página", example = "500")
+        @RequestParam(required = false, defaultValue = "500") @Min(value = 1) @Max(value = 1000) Integer limit
+    ) {
+        StationSyncResponseDto changes = stationsService.getStationChanges(
+            Math.min(minLatitude, maxLatitude),
+            Math.max(minLatitude, maxLatitude),
+            Math.min(minLongitude, maxLongitude),
+            Math.max(minLongitude, maxLongitude),
+            cursor,
+            limit
+        );
+
+        return ResponseEntity.ok(StationSyncResponse.builder()
+            .data(changes)
+            .build());
     }
 
     // Response wrapper classes
@@ -107,6 +468,33 @@ public class StationsController {
         private StationResponseDto data;
     }
 
+    @lombok.Data
+    @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class StationSyncResponse {
+        private StationSyncResponseDto data;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class RouteStationsResponse {
+        private List<StationResponseDto> data;
+        private MetaDto meta;
+
+        @lombok.Data
+        @lombok.Builder
+        @lombok.NoArgsConstructor
+        @lombok.AllArgsConstructor
+        public static class MetaDto {
+            private Integer total;
+            private Long lengthMeters;
+            private Integer width;
+        }
+    }
+
     @lombok.Data
     @lombok.Builder
     @lombok.NoArgsConstructor
@@ -0,0 +1,138 @@
+package com.barbatech.natomada.stations.presentation.controllers;
+
+import com.barbatech.natomada.stations.application.dtos.TripPlanRequestDto;
+import com.barbatech.natomada.stations.application.dtos.TripPlanResponseDto;
+import com.barbatech.natomada.stations.application.services.TripPlannerService;
+import com.barbatech.natomada.stations.infrastructure.index.Polyline;
+import com.barbatech.natomada.stations.infrastructure.index.RouteCorridor;
+import com.barbatech.natomada.stations.infrastructure.trip.TripPlannerProperties;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for EV trip planning endpoints (authenticated)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/trips")
+@RequiredArgsConstructor
+@Tag(name = "Trips", description = "Endpoints para planejamento de viagens com paradas de recarga")
+@SecurityRequirement(name = "bearerAuth")
+public class TripPlannerController {
+
+    private final TripPlannerService tripPlannerService;
+    private final TripPlannerProperties tripPlannerProperties;
+
+    /**
+     * Plan the charging stops of a trip
+     * GET /api/trips/plan?polyline=nnseF~kszG...&vehicleId=3&startSoc=80&arrivalSoc=10
+     *
+     * Long polylines can exceed the server's header size limit; those go through POST /api/trips/plan
+     */
+    @Operation(
+        summary = "Planejar viagem",
+        description = "Escolhe as paradas de recarga ao longo da rota que minimizam o tempo total de viagem " +
+                      "(direção + recarga) com o veículo do usuário. A rota é uma polyline codificada (precisão 5)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Plano calculado; feasible=false quando nenhuma combinação de paradas chega ao destino",
+            content = @Content(schema = @Schema(implementation = TripPlanResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Polyline inválida, rota longa demais ou veículo não encontrado"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    @GetMapping("/plan")
+    public ResponseEntity<TripPlanResponse> planTrip(
+        Authentication authentication,
+
+        @Parameter(description = "Rota como polyline codificada", required = true)
+        @RequestParam @NotBlank(message = "Polyline é obrigatória") String polyline,
+
+        @Parameter(description = "Veículo do usuário (padrão: veículo principal)", example = "3")
+        @RequestParam(required = false) Long vehicleId,
+
+        @Parameter(description = "Carga da bateria na partida, em %", example = "80")
+        @RequestParam(required = false, defaultValue = "80")
+        @Min(value = 1) @Max(value = 100) Integer startSoc,
+
+        @Parameter(description = "Carga mínima desejada na chegada, em %", example = "10")
+        @RequestParam(required = false, defaultValue = "10")
+        @Min(value = 0) @Max(value = 80) Integer arrivalSoc,
+
+        @Parameter(description = "Distância máxima das paradas até a rota em metros (padrão: 5000)", example = "5000")
+        @RequestParam(required = false) @Min(value = 100) @Max(value = 20000) Integer width
+    ) {
+        TripPlanRequestDto trip = TripPlanRequestDto.builder()
+            .polyline(polyline)
+            .vehicleId(vehicleId)
+            .startSoc(startSoc)
+            .arrivalSoc(arrivalSoc)
+            .width(width)
+            .build();
+
+        return plan(Long.parseLong(authentication.getName()), trip);
+    }
+
+    /**
+     * Plan the charging stops of a trip given in the request body
+     * POST /api/trips/plan {"polyline": "nnseF~kszG...", "vehicleId": 3, "startSoc": 80, "arrivalSoc": 10}
+     */
+    @Operation(
+        summary = "Planejar viagem (polyline no corpo)",
+        description = "Igual ao GET /api/trips/plan, com os parâmetros no corpo da requisição. " +
+                      "Use para rotas longas, cuja polyline não cabe na URL"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Plano calculado; feasible=false quando nenhuma combinação de paradas chega ao destino",
+            content = @Content(schema = @Schema(implementation = TripPlanResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Polyline inválida, rota longa demais ou veículo não encontrado"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado"),
+        @ApiResponse(responseCode = "422", description = "Dados de entrada inválidos")
+    })
+    @PostMapping("/plan")
+    public ResponseEntity<TripPlanResponse> planTripFromBody(
+        Authentication authentication,
+        @Valid @RequestBody TripPlanRequestDto dto
+    ) {
+        return plan(Long.parseLong(authentication.getName()), dto);
+    }
+
+    private ResponseEntity<TripPlanResponse> plan(Long userId, TripPlanRequestDto trip) {
+        int width = trip.getWidth() != null ? trip.getWidth() : tripPlannerProperties.getCorridorWidthMeters();
+        int startSoc = trip.getStartSoc() != null ? trip.getStartSoc() : 80;
+        int arrivalSoc = trip.getArrivalSoc() != null ? trip.getArrivalSoc() : 10;
+
+        try {
+            RouteCorridor corridor = RouteCorridor.of(Polyline.decode(trip.getPolyline()), width);
+            TripPlanResponseDto plan = tripPlannerService.planTrip(userId, trip.getVehicleId(), trip.getPolyline(),
+                corridor, startSoc, arrivalSoc);
+            return ResponseEntity.ok(TripPlanResponse.builder().data(plan).build());
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected trip plan for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Response wrapper classes
+    @lombok.Data
+    @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class TripPlanResponse {
+        private TripPlanResponseDto data;
+    }
+}
@@ -0,0 +1,78 @@
+package com.barbatech.natomada.stations.presentation.http;
+
+import com.barbatech.natomada.stations.infrastructure.index.GeoMath;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Map tile a nearby search is snapped to.
+ *
+ * Searches are answered for the tile centre instead of the exact client
+ * position, so every client looking at the same area hits the same URL
+ * and a CDN or reverse proxy can serve it from cache.
+ */
+public record NearbyTile(double latitude, double longitude, double step) {
+
+    /**
+     * Tile sizes in degrees; all are multiples of 0.0001 so centres fit in 5 decimals.
+     * The smallest keeps the error under 1/10 of the radius down to ~80 m.
+     */
+    private static final double[] STEPS = {0.0001, 0.0002, 0.0005, 0.001, 0.002, 0.005, 0.01, 0.02, 0.05, 0.1};
+
+    /**
+     * Snapping moves the search centre by at most half a tile diagonal;
+     * keep that under ~1/10 of the radius
+     */
+    private static final double RADIUS_TO_STEP = 7.0;
+
+    private static final int SCALE = 5;
+
+    /**
+     * Tile containing a position, sized for the search radius
+     */
+    public static NearbyTile of(double latitude, double longitude, int radiusMeters) {
+        double step = stepFor(radiusMeters);
+        return new NearbyTile(centre(latitude, step), centre(longitude, step), step);
+    }
+
+    /**
+     * Largest tile step that keeps the snapping error small relative to the radius
+     */
+    static double stepFor(int radiusMeters) {
+        double target = radiusMeters / (GeoMath.METERS_PER_DEGREE * RADIUS_TO_STEP);
+        double step = STEPS[0];
+        for (double candidate : STEPS) {
+            if (candidate <= target) {
+                step = candidate;
+            }
+        }
+        return step;
+    }
+
+    private static double centre(double value, double step) {
+        double centre = (Math.floor(value / step) + 0.5) * step;
+        return BigDecimal.valueOf(centre).setScale(SCALE, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    /**
+     * Whether a position is already this tile's canonical centre
+     */
+    public boolean isCentre(double latitude, double longitude) {
+        return Math.abs(latitude - this.latitude) < 1e-9 && Math.abs(longitude - this.longitude) < 1e-9;
+    }
+
+    /**
+     * Centre latitude as a plain decimal for URLs
+     */
+    public String latitudeParam() {
+        return BigDecimal.valueOf(latitude).setScale(SCALE, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Centre longitude as a plain decimal for URLs
+     */
+    public String longitudeParam() {
+        return BigDecimal.valueOf(longitude).setScale(SCALE, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,49 @@
+package com.barbatech.natomada.stations.presentation.http;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Last ETag served for each nearby search, shared by all API nodes
+ *
+ * Keys:
+ * - natomada:stations:nearby-etag:{searchKey}  ETag (with the nearby max-age as TTL)
+ *
+ * Lets revalidations of a tile be answered with 304 before any station is
+ * fetched. Like a CDN copy, a stored ETag may lag station changes by up to
+ * the nearby max-age.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisNearbyEtagStore {
+
+    private static final String PREFIX = "natomada:stations:nearby-etag:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * ETag last served for a search, or empty if none is stored or Redis is unavailable
+     */
+    public Optional<String> find(String searchKey) {
+        try {
+            return Optional.ofNullable(redisTemplate.opsForValue().get(PREFIX + searchKey));
+        } catch (Exception e) {
+            log.warn("Could not read nearby ETag: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void save(String searchKey, String etag, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(PREFIX + searchKey, etag, ttl);
+        } catch (Exception e) {
+            log.warn("Could not store nearby ETag: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.barbatech.natomada.stations.presentation.http;
+
+import com.barbatech.natomada.stations.application.dtos.StationResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * HTTP caching policy for station responses: validators and Cache-Control
+ *
+ * ETags are derived from station content hashes (see StationSyncService#fingerprint),
+ * so they only change when client-visible station data changes. Sync timestamps
+ * are deliberately not part of the validator.
+ */
+@Component
+public class StationHttpCache {
+
+    @Value("${stations.http-cache.detail-max-age:300s}")
+    private Duration detailMaxAge;
+
+    @Value("${stations.http-cache.nearby-max-age:60s}")
+    private Duration nearbyMaxAge;
+
+    @Value("${stations.http-cache.canonical-redirect:true}")
+    private boolean canonicalRedirect;
+
+    public Duration getDetailMaxAge() {
+        return detailMaxAge;
+    }
+
+    public Duration getNearbyMaxAge() {
+        return nearbyMaxAge;
+    }
+
+    public boolean isCanonicalRedirect() {
+        return canonicalRedirect;
+    }
+
+    public CacheControl detailCacheControl() {
+        return CacheControl.maxAge(detailMaxAge).cachePublic();
+    }
+
+    public CacheControl nearbyCacheControl() {
+        return CacheControl.maxAge(nearbyMaxAge).cachePublic();
+    }
+
+    /**
+     * Personalized results differ per user, so shared caches must not keep them
+     */
+    public CacheControl personalizedCacheControl() {
+        return CacheControl.maxAge(nearbyMaxAge).cachePrivate();
+    }
+
+    /**
+     * ETag for a single station representation
+     */
+    public String etag(String contentHash, WebRequest request) {
+        return digest(contentHash + '|' + variant(request));
+    }
+
+    /**
+     * ETag for a list of stations; order matters because it is part of the response
+     */
+    public String etag(List<StationResponseDto> stations, WebRequest request) {
+        StringBuilder builder = new StringBuilder(stations.size() * 33 + 64);
+        for (StationResponseDto station : stations) {
+            builder.append(station.getContentHash());
+            if (station.getLikelyFreeAtEta() != null) {
+                builder.append(':').append(station.getLikelyFreeAtEta());
+            }
+            builder.append(',');
+        }
+        builder.append('|').append(variant(request));
+        return digest(builder.toString());
+    }
+
+    /**
+     * Key of a nearby search: its tile plus every other parameter and the negotiated encoding
+     */
+    public String nearbySearchKey(NearbyTile tile, WebRequest request) {
+        StringBuilder builder = new StringBuilder(128)
+            .append(tile.latitudeParam()).append(',').append(tile.longitudeParam());
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            if (!name.equals("latitude") && !name.equals("longitude")) {
+                builder.append('|').append(name).append('=').append(String.join(",", values));
+            }
+        });
+        builder.append('|').append(request.getHeader(HttpHeaders.ACCEPT));
+        return DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Representation selectors: the fieldset and the negotiated encoding
+     */
+    private String variant(WebRequest request) {
+        return request.getParameter("fields") + '|' + request.getHeader(HttpHeaders.ACCEPT);
+    }
+
+    private String digest(String value) {
+        return '"' + DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+}
@@ -0,0 +1,33 @@
+-- Align stations table with the Station entity so fetched stations can be persisted
+ALTER TABLE stations ALTER COLUMN ocm_id TYPE VARCHAR(255) USING ocm_id::text;
+ALTER TABLE stations ALTER COLUMN external_id DROP NOT NULL;
+ALTER TABLE stations ADD COLUMN IF NOT EXISTS amenities JSONB;
+
+-- Sync metadata
+ALTER TABLE stations ADD COLUMN IF NOT EXISTS content_hash VARCHAR(32);
+ALTER TABLE stations ADD COLUMN IF NOT EXISTS change_version BIGINT;
+ALTER TABLE stations ADD COLUMN IF NOT EXISTS removed_at TIMESTAMP;
+
+-- Create station_changes table (append-only change log for delta sync)
+CREATE TABLE station_changes (
+    version BIGSERIAL PRIMARY KEY,
+    station_id BIGINT NOT NULL,
+    ocm_id VARCHAR(255) NOT NULL,
+    change_type VARCHAR(10) NOT NULL,
+    latitude DECIMAL(10, 7) NOT NULL,
+    longitude DECIMAL(10, 7) NOT NULL,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_station_change_station FOREIGN KEY (station_id)
+        REFERENCES stations(id) ON DELETE CASCADE
+);
+
+-- Create indexes for station_changes
+CREATE INDEX idx_station_change_location ON station_changes(latitude, longitude);
+CREATE INDEX idx_station_change_station_id ON station_changes(station_id);
+
+-- Comments
+COMMENT ON TABLE station_changes IS 'Ordered log of station additions, updates and removals used by delta sync';
+COMMENT ON COLUMN station_changes.version IS 'Monotonically increasing sync cursor';
+COMMENT ON COLUMN stations.content_hash IS 'Fingerprint of the station content used to detect changes';
+COMMENT ON COLUMN stations.change_version IS 'Version of the latest change log entry for this station';
@@ -0,0 +1,21 @@
+-- Create station_sources table (links canonical stations to the source records merged into them)
+CREATE TABLE station_sources (
+    id BIGSERIAL PRIMARY KEY,
+    station_id BIGINT NOT NULL,
+    source_type VARCHAR(10) NOT NULL,
+    source_id VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_station_source_station FOREIGN KEY (station_id)
+        REFERENCES stations(id) ON DELETE CASCADE,
+    CONSTRAINT uk_station_source UNIQUE (source_type, source_id)
+);
+
+-- Create indexes for station_sources
+CREATE INDEX idx_station_source_station_id ON station_sources(station_id);
+CREATE INDEX idx_station_source_source_id ON station_sources(source_id);
+
+-- Comments
+COMMENT ON TABLE station_sources IS 'OpenChargeMap and Google Places records resolved into each canonical station';
+COMMENT ON COLUMN station_sources.source_id IS 'OCM ID (ocm_123) or Google place ID';
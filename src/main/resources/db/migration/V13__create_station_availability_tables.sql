@@ -0,0 +1,40 @@
+-- Create station_availability_samples table (connector availability observed from Google, one partition per month)
+CREATE TABLE station_availability_samples (
+    ocm_id VARCHAR(255) NOT NULL,
+    sampled_at TIMESTAMP NOT NULL,
+    hour_of_week SMALLINT NOT NULL,
+    total_count SMALLINT NOT NULL,
+    available_count SMALLINT NOT NULL,
+    out_of_service_count SMALLINT NOT NULL
+) PARTITION BY RANGE (sampled_at);
+
+-- Catches samples for months whose partition doesn't exist yet (monthly partitions are created ahead by the app)
+CREATE TABLE station_availability_samples_default PARTITION OF station_availability_samples DEFAULT;
+
+CREATE INDEX idx_availability_sample_sampled_at ON station_availability_samples(sampled_at);
+
+-- Create station_occupancy_histograms table (samples rolled up per station and hour of the week)
+CREATE TABLE station_occupancy_histograms (
+    ocm_id VARCHAR(255) NOT NULL,
+    hour_of_week SMALLINT NOT NULL,
+    samples INTEGER NOT NULL DEFAULT 0,
+    free_samples INTEGER NOT NULL DEFAULT 0,
+    occupancy_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_station_occupancy_histogram PRIMARY KEY (ocm_id, hour_of_week)
+);
+
+-- Create station_occupancy_rollups table (how far samples have been rolled up; one row)
+CREATE TABLE station_occupancy_rollups (
+    id SMALLINT PRIMARY KEY,
+    rolled_up_until TIMESTAMP NOT NULL
+);
+
+INSERT INTO station_occupancy_rollups (id, rolled_up_until) VALUES (1, TIMESTAMP '1970-01-01 00:00:00');
+
+-- Comments
+COMMENT ON TABLE station_availability_samples IS 'Connector availability observed from Google Places, partitioned by month of sampled_at';
+COMMENT ON COLUMN station_availability_samples.hour_of_week IS 'Hour of the week in the configured zone, 0 = Monday 00h';
+COMMENT ON TABLE station_occupancy_histograms IS 'Per-station, per-hour-of-week occupancy rolled up from station_availability_samples';
+COMMENT ON COLUMN station_occupancy_histograms.free_samples IS 'Samples with at least one connector available';
@@ -0,0 +1,8 @@
+-- Add opening_intervals column to stations table
+-- Opening hours parsed once at ingest, so "open now" filters never parse weekday text
+
+ALTER TABLE stations
+ADD COLUMN opening_intervals INTEGER[];
+
+-- Add comment for documentation
+COMMENT ON COLUMN stations.opening_intervals IS 'Sorted [open, close) minute-of-week pairs (0 = Monday 00:00) parsed from opening_hours; NULL when unknown';
@@ -0,0 +1,33 @@
+-- Add amenity_mask column to stations table
+-- Amenities as a bitmask (bit = ordinal of the Amenity enum), so amenity filters are a bitwise AND
+
+ALTER TABLE stations
+ADD COLUMN amenity_mask INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill from the amenities JSON array
+UPDATE stations s
+SET amenity_mask = (
+    SELECT COALESCE(SUM(DISTINCT bits.bit), 0)
+    FROM jsonb_array_elements_text(s.amenities) AS amenity(name)
+    JOIN (VALUES
+        ('parking', 1),
+        ('restaurant', 2),
+        ('cafe', 4),
+        ('food', 8),
+        ('shopping', 16),
+        ('convenience_store', 32),
+        ('gas_station', 64),
+        ('atm', 128),
+        ('restroom', 256),
+        ('pharmacy', 512),
+        ('hospital', 1024),
+        ('gym', 2048),
+        ('spa', 4096),
+        ('entertainment', 8192),
+        ('wheelchair_accessible', 16384)
+    ) AS bits(name, bit) ON bits.name = amenity.name
+)
+WHERE s.amenities IS NOT NULL AND jsonb_typeof(s.amenities) = 'array';
+
+-- Add comment for documentation
+COMMENT ON COLUMN stations.amenity_mask IS 'Bitmask of amenities (see Amenity enum, bits are append-only)';
@@ -0,0 +1,19 @@
+-- Add structured cost columns to stations table
+-- Parsed at ingest from the usage_cost free text, so cost filters and ranking compare numbers
+
+ALTER TABLE stations
+ADD COLUMN cost_per_kwh NUMERIC(10, 4),
+ADD COLUMN cost_per_minute NUMERIC(10, 4),
+ADD COLUMN session_fee NUMERIC(10, 2),
+ADD COLUMN is_free BOOLEAN,
+ADD COLUMN cost_confidence NUMERIC(3, 2);
+
+-- Cheapest-first ranking reads stations by price
+CREATE INDEX idx_stations_cost_per_kwh ON stations (cost_per_kwh) WHERE cost_per_kwh IS NOT NULL;
+
+-- Add comment for documentation
+COMMENT ON COLUMN stations.cost_per_kwh IS 'Price per kWh parsed from usage_cost (local currency), NULL when not stated';
+COMMENT ON COLUMN stations.cost_per_minute IS 'Price per minute parsed from usage_cost (hourly prices divided by 60)';
+COMMENT ON COLUMN stations.session_fee IS 'Fixed fee per charging session parsed from usage_cost';
+COMMENT ON COLUMN stations.is_free IS 'Whether charging is free, NULL when usage_cost does not say';
+COMMENT ON COLUMN stations.cost_confidence IS '0-1 confidence of the parsed cost';
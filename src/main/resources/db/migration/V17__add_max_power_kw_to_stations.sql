@@ -0,0 +1,24 @@
+-- Add max_power_kw column to stations table
+-- Highest rated connector power, computed at ingest so trip planning and charging estimates never parse connectors
+
+ALTER TABLE stations
+ADD COLUMN max_power_kw NUMERIC(6, 1);
+
+-- Backfill from the connectors JSON (OCM PowerKW, Google maxChargeRateKw)
+UPDATE stations s
+SET max_power_kw = (
+    SELECT MAX(GREATEST(
+        CASE WHEN jsonb_typeof(c -> 'powerKW') = 'number' THEN (c ->> 'powerKW')::NUMERIC END,
+        CASE WHEN jsonb_typeof(c -> 'maxChargeRateKw') = 'number' THEN (c ->> 'maxChargeRateKw')::NUMERIC END
+    ))
+    FROM jsonb_array_elements(s.connectors) AS c
+)
+WHERE s.connectors IS NOT NULL AND jsonb_typeof(s.connectors) = 'array';
+
+UPDATE stations SET max_power_kw = NULL WHERE max_power_kw <= 0;
+
+-- Trip planning looks for fast chargers only
+CREATE INDEX idx_stations_max_power_kw ON stations (max_power_kw) WHERE max_power_kw IS NOT NULL;
+
+-- Add comment for documentation
+COMMENT ON COLUMN stations.max_power_kw IS 'Highest rated power among the connectors (kW), NULL when unknown';
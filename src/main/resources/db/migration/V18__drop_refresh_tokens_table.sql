@@ -0,0 +1,4 @@
+-- Drop refresh_tokens table
+-- Refresh tokens now live in Redis (hashed, with native TTL); outstanding sessions sign in again
+
+DROP TABLE IF EXISTS refresh_tokens;
@@ -0,0 +1,4 @@
+-- Drop otp_tokens table
+-- OTP codes now live in Redis (hashed, with native TTL and per-recipient attempt counters)
+
+DROP TABLE IF EXISTS otp_tokens;
@@ -0,0 +1,24 @@
+-- Drop the DEFAULT partition of station_availability_samples
+-- Rows caught there block creating the partition of their month and are never dropped by retention.
+-- Monthly partitions are created ahead by the app, so samples go to them only; rows already caught move to theirs.
+
+DO $$
+DECLARE
+    month DATE;
+BEGIN
+    ALTER TABLE station_availability_samples DETACH PARTITION station_availability_samples_default;
+
+    FOR month IN
+        SELECT DISTINCT date_trunc('month', sampled_at)::date FROM station_availability_samples_default
+    LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF station_availability_samples FOR VALUES FROM (%L) TO (%L)',
+            'station_availability_samples_' || to_char(month, '"y"YYYY"m"MM'),
+            month::timestamp,
+            (month + INTERVAL '1 month')::timestamp
+        );
+    END LOOP;
+
+    INSERT INTO station_availability_samples SELECT * FROM station_availability_samples_default;
+    DROP TABLE station_availability_samples_default;
+END $$;
@@ -3,15 +3,20 @@ package com.barbatech.natomada.auth.application.services;
 import com.barbatech.natomada.auth.application.dtos.LoginRequestDto;
 import com.barbatech.natomada.auth.application.dtos.LoginResponseDto;
 import com.barbatech.natomada.auth.application.dtos.RegisterRequestDto;
+import com.barbatech.natomada.auth.application.dtos.SendOtpRequestDto;
+import com.barbatech.natomada.auth.application.dtos.VerifyOtpRequestDto;
 import com.barbatech.natomada.auth.application.exceptions.EmailAlreadyExistsException;
 import com.barbatech.natomada.auth.application.exceptions.InvalidCredentialsException;
+import com.barbatech.natomada.auth.application.exceptions.InvalidTokenException;
 import com.barbatech.natomada.auth.application.exceptions.UserNotFoundException;
-import com.barbatech.natomada.auth.domain.entities.RefreshToken;
 import com.barbatech.natomada.auth.domain.entities.User;
+import com.barbatech.natomada.auth.domain.enums.OtpDeliveryMethod;
 import com.barbatech.natomada.auth.infrastructure.config.JwtProperties;
-import com.barbatech.natomada.auth.infrastructure.repositories.RefreshTokenRepository;
 import com.barbatech.natomada.auth.infrastructure.repositories.UserRepository;
 import com.barbatech.natomada.auth.infrastructure.security.JwtUtil;
+import com.barbatech.natomada.auth.infrastructure.tokens.RedisOtpStore;
+import com.barbatech.natomada.auth.infrastructure.tokens.RedisRefreshTokenStore;
+import com.barbatech.natomada.infrastructure.i18n.MessageSourceService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -43,7 +48,10 @@ class AuthServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private RefreshTokenRepository refreshTokenRepository;
+    private RedisRefreshTokenStore refreshTokenStore;
+
+    @Mock
+    private RedisOtpStore otpStore;
 
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -57,6 +65,9 @@ class AuthServiceTest {
     @Mock
     private com.barbatech.natomada.infrastructure.kafka.EventPublisher eventPublisher;
 
+    @Mock
+    private MessageSourceService messageService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -145,7 +156,28 @@ class AuthServiceTest {
         assertThat(result.getUser()).isNotNull();
         assertThat(result.getUser().getEmail()).isEqualTo("test@example.com");
 
-        verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
+        verify(refreshTokenStore, times(1)).save(1L, "refreshToken");
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should rehash the password on login when the stored cost is stale")
+    void shouldUpgradeStalePasswordHashOnLogin() {
+        // Arrange
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("Password@123", "hashedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("hashedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("Password@123")).thenReturn("strongerHash");
+        when(jwtUtil.generateAccessToken(anyLong(), anyString())).thenReturn("accessToken");
+        when(jwtUtil.generateRefreshToken()).thenReturn("refreshToken");
+        when(jwtProperties.getExpiresIn()).thenReturn(3600000L);
+
+        // Act
+        authService.login(loginDto);
+
+        // Assert
+        assertThat(testUser.getPassword()).isEqualTo("strongerHash");
+        verify(userRepository, times(1)).save(testUser);
     }
 
     @Test
@@ -160,7 +192,7 @@ class AuthServiceTest {
             .isInstanceOf(InvalidCredentialsException.class)
             .hasMessageContaining("Email ou senha incorretos");
 
-        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+        verify(refreshTokenStore, never()).save(anyLong(), anyString());
     }
 
     @Test
@@ -180,7 +212,7 @@ class AuthServiceTest {
     void shouldLogoutSuccessfully() {
         // Arrange
         Long userId = 1L;
-        doNothing().when(refreshTokenRepository).deleteAllByUserId(userId);
+        doNothing().when(refreshTokenStore).revokeAll(userId);
 
         // Act
         var result = authService.logout(userId);
@@ -188,7 +220,7 @@ class AuthServiceTest {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getMessage()).contains("Logout realizado com sucesso");
-        verify(refreshTokenRepository, times(1)).deleteAllByUserId(userId);
+        verify(refreshTokenStore, times(1)).revokeAll(userId);
     }
 
     @Test
@@ -218,4 +250,97 @@ class AuthServiceTest {
             .isInstanceOf(UserNotFoundException.class)
             .hasMessageContaining("Usuário não encontrado");
     }
+
+    @Test
+    @DisplayName("Should refresh the access token from a stored refresh token")
+    void shouldRefreshAccessToken() {
+        // Arrange
+        when(refreshTokenStore.findUserId("refreshToken")).thenReturn(Optional.of(1L));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(jwtUtil.generateAccessToken(anyLong(), anyString())).thenReturn("newAccessToken");
+        when(jwtProperties.getExpiresIn()).thenReturn(3600000L);
+
+        // Act
+        LoginResponseDto result = authService.refreshToken("refreshToken");
+
+        // Assert
+        assertThat(result.getAccessToken()).isEqualTo("newAccessToken");
+        assertThat(result.getRefreshToken()).isEqualTo("refreshToken");
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should reject an expired or revoked refresh token")
+    void shouldRejectUnknownRefreshToken() {
+        // Arrange
+        when(refreshTokenStore.findUserId(anyString())).thenReturn(Optional.empty());
+        when(messageService.getMessage("token.refresh.expired")).thenReturn("Refresh token expirado");
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.refreshToken("revoked"))
+            .isInstanceOf(InvalidTokenException.class)
+            .hasMessageContaining("Refresh token expirado");
+    }
+
+    @Test
+    @DisplayName("Should log in with a matching OTP")
+    void shouldLoginWithValidOtp() {
+        // Arrange
+        VerifyOtpRequestDto dto = VerifyOtpRequestDto.builder()
+            .deliveryMethod(OtpDeliveryMethod.EMAIL)
+            .email("test@example.com")
+            .code("123456")
+            .build();
+        when(otpStore.verify(OtpDeliveryMethod.EMAIL, "test@example.com", "123456"))
+            .thenReturn(RedisOtpStore.Verification.VERIFIED);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(jwtUtil.generateAccessToken(anyLong(), anyString())).thenReturn("accessToken");
+        when(jwtUtil.generateRefreshToken()).thenReturn("refreshToken");
+        when(jwtProperties.getExpiresIn()).thenReturn(3600000L);
+
+        // Act
+        LoginResponseDto result = authService.verifyOtp(dto);
+
+        // Assert
+        assertThat(result.getAccessToken()).isEqualTo("accessToken");
+        verify(refreshTokenStore, times(1)).save(1L, "refreshToken");
+    }
+
+    @Test
+    @DisplayName("Should reject an OTP once the recipient ran out of attempts")
+    void shouldRejectOtpWhenLockedOut() {
+        // Arrange
+        VerifyOtpRequestDto dto = VerifyOtpRequestDto.builder()
+            .deliveryMethod(OtpDeliveryMethod.SMS)
+            .phoneNumber("+5511999999999")
+            .code("123456")
+            .build();
+        when(otpStore.verify(OtpDeliveryMethod.SMS, "+5511999999999", "123456"))
+            .thenReturn(RedisOtpStore.Verification.LOCKED);
+        when(messageService.getMessage("otp.too.many.attempts")).thenReturn("Muitas tentativas incorretas");
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.verifyOtp(dto))
+            .isInstanceOf(InvalidTokenException.class)
+            .hasMessageContaining("Muitas tentativas incorretas");
+        verify(userRepository, never()).findByPhone(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not send an OTP while the recipient is locked out")
+    void shouldNotSendOtpWhenLockedOut() {
+        // Arrange
+        SendOtpRequestDto dto = SendOtpRequestDto.builder()
+            .deliveryMethod(OtpDeliveryMethod.SMS)
+            .phoneNumber("+5511999999999")
+            .build();
+        when(otpStore.isLocked(OtpDeliveryMethod.SMS, "+5511999999999")).thenReturn(true);
+        when(messageService.getMessage("otp.too.many.attempts")).thenReturn("Muitas tentativas incorretas");
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.sendOtp(dto))
+            .isInstanceOf(InvalidTokenException.class)
+            .hasMessageContaining("Muitas tentativas incorretas");
+        verify(otpStore, never()).save(any(), anyString(), anyString());
+    }
 }
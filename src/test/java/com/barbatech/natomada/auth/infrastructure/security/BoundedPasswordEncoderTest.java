@@ -0,0 +1,85 @@
+package com.barbatech.natomada.auth.infrastructure.security;
+
+import com.barbatech.natomada.auth.application.exceptions.PasswordHashingBusyException;
+import com.barbatech.natomada.auth.infrastructure.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for BoundedPasswordEncoder
+ */
+@DisplayName("BoundedPasswordEncoder Tests")
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hash and match on the pool, recording hash and queue times")
+    void shouldHashOnPool() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(properties(6, Duration.ofSeconds(5)), meterRegistry);
+
+        // Act
+        String hash = encoder.encode("Password@123");
+
+        // Assert
+        assertThat(encoder.matches("Password@123", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("auth.password.queue").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should flag hashes below the configured cost for upgrade only when enabled")
+    void shouldFlagStaleCost() {
+        // Arrange
+        String stale = new BCryptPasswordEncoder(4).encode("Password@123");
+        PasswordHashingProperties upgrading = properties(6, Duration.ofSeconds(5));
+        upgrading.setUpgradeOnLogin(true);
+        encoder = new BoundedPasswordEncoder(properties(6, Duration.ofSeconds(5)), meterRegistry);
+        BoundedPasswordEncoder upgradingEncoder = new BoundedPasswordEncoder(upgrading, new SimpleMeterRegistry());
+
+        // Act & Assert
+        try {
+            assertThat(encoder.upgradeEncoding(stale)).isFalse();
+            assertThat(upgradingEncoder.upgradeEncoding(stale)).isTrue();
+            assertThat(upgradingEncoder.upgradeEncoding(upgradingEncoder.encode("Password@123"))).isFalse();
+        } finally {
+            upgradingEncoder.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should shed hashes that waited past the queue-time SLO")
+    void shouldShedPastQueueTime() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(properties(4, Duration.ZERO), meterRegistry);
+
+        // Act & Assert
+        assertThatThrownBy(() -> encoder.encode("Password@123")).isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+    }
+
+    private static PasswordHashingProperties properties(int strength, Duration maxQueueTime) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setStrength(strength);
+        properties.setThreads(1);
+        properties.setMaxQueueTime(maxQueueTime);
+        return properties;
+    }
+}
@@ -0,0 +1,63 @@
+package com.barbatech.natomada.auth.infrastructure.security;
+
+import com.barbatech.natomada.auth.infrastructure.config.JwtProperties;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for JwtUtil
+ */
+@DisplayName("JwtUtil Tests")
+class JwtUtilTest {
+
+    private static final String SECRET = "16f15045ff973f54d30b7c62665543b0db2da6e828c0d8c1b74b8c8c152084a5";
+
+    private JwtProperties properties;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiresIn(3_600_000L);
+        jwtUtil = new JwtUtil(properties);
+        jwtUtil.init();
+    }
+
+    @Test
+    @DisplayName("Should verify a token once and answer repeats from the cache")
+    void shouldVerifyAndCacheToken() {
+        // Arrange
+        String token = jwtUtil.generateAccessToken(42L, "user@example.com");
+
+        // Act
+        JwtUtil.VerifiedToken first = jwtUtil.verify(token);
+        JwtUtil.VerifiedToken second = jwtUtil.verify(token);
+
+        // Assert
+        assertThat(first.userId()).isEqualTo(42L);
+        assertThat(first.expiresAt()).isGreaterThan(System.currentTimeMillis());
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should reject tampered and expired tokens")
+    void shouldRejectInvalidTokens() {
+        // Arrange
+        String token = jwtUtil.generateAccessToken(42L, "user@example.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        properties.setExpiresIn(-1_000L);
+        String expired = jwtUtil.generateAccessToken(42L, "user@example.com");
+
+        // Act & Assert
+        assertThatThrownBy(() -> jwtUtil.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtUtil.verify(expired)).isInstanceOf(ExpiredJwtException.class);
+    }
+}
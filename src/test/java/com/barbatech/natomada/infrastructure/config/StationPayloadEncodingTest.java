@@ -0,0 +1,125 @@
+package com.barbatech.natomada.infrastructure.config;
+
+import com.barbatech.natomada.stations.application.dtos.StationResponseDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the Smile and CBOR station encodings
+ */
+@DisplayName("Station payload encoding Tests")
+class StationPayloadEncodingTest {
+
+    private static final int STATIONS = 50;
+    private static final TypeReference<List<StationResponseDto>> STATION_LIST = new TypeReference<>() {};
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper smileMapper;
+    private ObjectMapper cborMapper;
+    private List<StationResponseDto> stations;
+
+    @BeforeEach
+    void setUp() {
+        jsonMapper = new JacksonConfig().objectMapper();
+        smileMapper = ContentNegotiationConfig.smileMapper(jsonMapper);
+        cborMapper = ContentNegotiationConfig.cborMapper(jsonMapper);
+        stations = buildStations();
+    }
+
+    @Test
+    @DisplayName("Smile payload should decode back to the same stations")
+    void smilePayloadShouldRoundTrip() throws Exception {
+        // Act
+        byte[] payload = smileMapper.writeValueAsBytes(stations);
+        List<StationResponseDto> decoded = smileMapper.readValue(payload, STATION_LIST);
+
+        // Assert
+        assertThat(decoded).isEqualTo(stations);
+    }
+
+    @Test
+    @DisplayName("CBOR payload should decode back to the same stations")
+    void cborPayloadShouldRoundTrip() throws Exception {
+        // Act
+        byte[] payload = cborMapper.writeValueAsBytes(stations);
+        List<StationResponseDto> decoded = cborMapper.readValue(payload, STATION_LIST);
+
+        // Assert
+        assertThat(decoded).isEqualTo(stations);
+    }
+
+    @Test
+    @DisplayName("Binary encodings should be smaller than JSON")
+    void binaryEncodingsShouldBeSmallerThanJson() throws Exception {
+        // Act
+        int json = jsonMapper.writeValueAsBytes(stations).length;
+        int smile = smileMapper.writeValueAsBytes(stations).length;
+        int cbor = cborMapper.writeValueAsBytes(stations).length;
+
+        // Assert
+        assertThat(smile).isLessThan(json);
+        assertThat(cbor).isLessThan(json);
+    }
+
+    private List<StationResponseDto> buildStations() {
+        List<StationResponseDto> list = new ArrayList<>(STATIONS);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+        for (int i = 0; i < STATIONS; i++) {
+            list.add(StationResponseDto.builder()
+                .id((long) i)
+                .ocmId("ocm_" + (180000 + i))
+                .ocmUuid("3F2504E0-4F89-11D3-9A0C-0305E82C" + String.format("%04d", i))
+                .googlePlaceId("ChIJ" + Integer.toHexString(0x5A5A5A + i) + "xYzAbCdEf")
+                .name("Eletroposto Shopping " + i)
+                .address("Av. Paulista, " + (1000 + i))
+                .city("São Paulo")
+                .state("SP")
+                .postalCode("01310-100")
+                .country("Brazil")
+                .latitude(new BigDecimal("-23.5629").add(BigDecimal.valueOf(i, 4)))
+                .longitude(new BigDecimal("-46.6544").add(BigDecimal.valueOf(i, 4)))
+                .phone("+55 11 3333-4444")
+                .isOperational(true)
+                .totalConnectors(4)
+                .connectors("[{\"type\":\"Type 2 (Mennekes)\",\"powerKW\":22.0,\"quantity\":2,\"status\":\"Operational\"}," +
+                            "{\"type\":\"CCS (Type 2)\",\"powerKW\":50.0,\"quantity\":2,\"status\":\"Operational\"}]")
+                .operator(StationResponseDto.OperatorDto.builder()
+                    .name("EDP Smart")
+                    .website("https://www.edpsmart.com.br")
+                    .build())
+                .usageType(StationResponseDto.UsageTypeDto.builder()
+                    .title("Public - Pay At Location")
+                    .requiresMembership(false)
+                    .payAtLocation(true)
+                    .requiresAccessKey(false)
+                    .build())
+                .usageCost("R$ 2,00/kWh")
+                .rating(StationResponseDto.RatingDto.builder()
+                    .google(new BigDecimal("4.50"))
+                    .googleCount(120 + i)
+                    .ocmCount(0)
+                    .combined(new BigDecimal("4.50"))
+                    .build())
+                .totalReviews(120 + i)
+                .isOpen24h(false)
+                .photoUrls(List.of("https://maps.googleapis.com/maps/api/place/photo?maxwidth=800&photo_reference=AUc7tXX" + i))
+                .amenities(List.of("parking", "restroom", "food"))
+                .lastVerifiedAt(now)
+                .isRecentlyVerified(false)
+                .lastSyncAt(now)
+                .build());
+        }
+        return list;
+    }
+}
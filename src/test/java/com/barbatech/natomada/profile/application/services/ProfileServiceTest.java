@@ -2,8 +2,8 @@ package com.barbatech.natomada.profile.application.services;
 
 import com.barbatech.natomada.auth.application.exceptions.UserNotFoundException;
 import com.barbatech.natomada.auth.domain.entities.User;
-import com.barbatech.natomada.auth.infrastructure.repositories.RefreshTokenRepository;
 import com.barbatech.natomada.auth.infrastructure.repositories.UserRepository;
+import com.barbatech.natomada.auth.infrastructure.tokens.RedisRefreshTokenStore;
 import com.barbatech.natomada.profile.application.dtos.ChangePasswordRequestDto;
 import com.barbatech.natomada.profile.application.dtos.ProfileResponseDto;
 import com.barbatech.natomada.profile.application.dtos.UpdateProfileRequestDto;
@@ -36,7 +36,7 @@ class ProfileServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private RefreshTokenRepository refreshTokenRepository;
+    private RedisRefreshTokenStore refreshTokenStore;
 
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -130,7 +130,7 @@ class ProfileServiceTest {
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
         when(passwordEncoder.encode(anyString())).thenReturn("newHashedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
-        doNothing().when(refreshTokenRepository).deleteAllByUserId(anyLong());
+        doNothing().when(refreshTokenStore).revokeAll(anyLong());
 
         // Act
         var result = profileService.changePassword(1L, dto);
@@ -138,7 +138,7 @@ class ProfileServiceTest {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getMessage()).contains("Senha alterada com sucesso");
-        verify(refreshTokenRepository, times(1)).deleteAllByUserId(1L);
+        verify(refreshTokenStore, times(1)).revokeAll(1L);
     }
 
     @Test
@@ -160,7 +160,7 @@ class ProfileServiceTest {
             .hasMessageContaining("Senha atual incorreta");
 
         verify(userRepository, never()).save(any(User.class));
-        verify(refreshTokenRepository, never()).deleteAllByUserId(anyLong());
+        verify(refreshTokenStore, never()).revokeAll(anyLong());
     }
 
     @Test
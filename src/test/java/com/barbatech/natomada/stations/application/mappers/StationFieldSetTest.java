@@ -0,0 +1,107 @@
+package com.barbatech.natomada.stations.application.mappers;
+
+import com.barbatech.natomada.infrastructure.config.JacksonConfig;
+import com.barbatech.natomada.stations.application.dtos.StationResponseDto;
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.photos.StationPhotoProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for StationFieldSet
+ */
+@DisplayName("StationFieldSet Tests")
+class StationFieldSetTest {
+
+    private ObjectMapper objectMapper;
+    private StationResponseMapper mapper;
+    private Station station;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        mapper = new StationResponseMapper(objectMapper, new StationPhotoProperties());
+        station = Station.builder()
+            .id(1L)
+            .ocmId("217270")
+            .name("Shopping Eldorado")
+            .latitude(new BigDecimal("-23.5629"))
+            .longitude(new BigDecimal("-46.6544"))
+            .photoReferences("[\"streetview:https://example.com/photo.jpg\"]")
+            .amenities("[\"wifi\",\"restroom\"]")
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should select all fields when fields is blank or only unknown names")
+    void shouldSelectAllWhenBlankOrUnknown() {
+        assertThat(StationFieldSet.parse(null)).isSameAs(StationFieldSet.ALL);
+        assertThat(StationFieldSet.parse(" ")).isSameAs(StationFieldSet.ALL);
+        assertThat(StationFieldSet.parse("foo,bar")).isSameAs(StationFieldSet.ALL);
+    }
+
+    @Test
+    @DisplayName("Should reuse the compiled fieldset for the same fields value")
+    void shouldCacheCompiledFieldSet() {
+        StationFieldSet first = StationFieldSet.parse("id,name");
+        StationFieldSet second = StationFieldSet.parse("id,name");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.isAll()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should compute only the selected fields")
+    void shouldComputeOnlySelectedFields() {
+        // Arrange
+        StationFieldSet fieldSet = StationFieldSet.parse("id, name,latitude,unknown");
+
+        // Act
+        StationResponseDto dto = mapper.toResponse(station, fieldSet);
+
+        // Assert
+        assertThat(dto.getId()).isEqualTo(1L);
+        assertThat(dto.getName()).isEqualTo("Shopping Eldorado");
+        assertThat(dto.getLatitude()).isEqualByComparingTo("-23.5629");
+        assertThat(dto.getLongitude()).isNull();
+        assertThat(dto.getPhotoUrls()).isNull();
+        assertThat(dto.getAmenities()).isNull();
+        assertThat(dto.getRating()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should serialize only the selected properties")
+    void shouldSerializeOnlySelectedProperties() throws Exception {
+        // Arrange
+        StationFieldSet fieldSet = StationFieldSet.parse("id,name");
+        MappingJacksonValue value = fieldSet.wrap(mapper.toResponse(station, fieldSet));
+
+        // Act
+        JsonNode json = objectMapper.readTree(objectMapper.writer(value.getFilters()).writeValueAsString(value.getValue()));
+
+        // Assert
+        assertThat(json.size()).isEqualTo(2);
+        assertThat(json.get("id").asLong()).isEqualTo(1L);
+        assertThat(json.get("name").asText()).isEqualTo("Shopping Eldorado");
+    }
+
+    @Test
+    @DisplayName("Should serialize every property without a fieldset")
+    void shouldSerializeAllPropertiesByDefault() throws Exception {
+        // Act
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(mapper.toResponse(station)));
+
+        // Assert
+        assertThat(json.get("photoUrls").get(0).asText()).startsWith("/api/stations/217270/photos/0?v=");
+        assertThat(json.get("amenities")).hasSize(2);
+        assertThat(json.has("rating")).isTrue();
+    }
+}
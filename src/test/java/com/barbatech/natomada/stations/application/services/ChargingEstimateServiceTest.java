@@ -0,0 +1,80 @@
+package com.barbatech.natomada.stations.application.services;
+
+import com.barbatech.natomada.cars.domain.entities.Car;
+import com.barbatech.natomada.cars.domain.entities.UserVehicle;
+import com.barbatech.natomada.cars.infrastructure.repositories.UserVehicleRepository;
+import com.barbatech.natomada.infrastructure.i18n.MessageSourceService;
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.connectors.StationConnectorParser;
+import com.barbatech.natomada.stations.infrastructure.trip.VehicleBattery;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ChargingEstimateService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChargingEstimateService Tests")
+class ChargingEstimateServiceTest {
+
+    @Mock
+    private UserVehicleRepository userVehicleRepository;
+
+    @Mock
+    private MessageSourceService messageService;
+
+    private ChargingEstimateService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ChargingEstimateService(userVehicleRepository, new StationConnectorParser(new ObjectMapper()), messageService);
+    }
+
+    @Test
+    @DisplayName("Should estimate every station in one pass from the fastest connector the car plugs into")
+    void shouldEstimateChargingMinutes() {
+        // Arrange
+        Car car = Car.builder().batteryCapacity(new BigDecimal("60.00")).fastChargingPower(150).connector("CCS2").build();
+        when(userVehicleRepository.findByUserIdWithCar(1L)).thenReturn(List.of(UserVehicle.builder().car(car).build()));
+        VehicleBattery battery = service.findBattery(1L, null).orElseThrow();
+
+        Station slow = station("[{\"type\":\"CCS (Type 2)\",\"powerKW\":50}]");
+        Station mixed = station("[{\"type\":\"Type 2 (Socket Only)\",\"powerKW\":22},{\"type\":\"EV_CONNECTOR_TYPE_CCS_COMBO_2\",\"maxChargeRateKw\":300}]");
+        Station tesla = station("[{\"type\":\"Tesla Supercharger\",\"powerKW\":250}]");
+        Station unknown = station(null);
+
+        // Act
+        service.applyChargingMinutes(List.of(slow, mixed, tesla, unknown), new ChargingEstimateService.Charge(battery, 20, 80));
+
+        // Assert: 36 kWh at 150 kW would take 14.4 minutes without the taper above 50%
+        assertThat(mixed.getChargingMinutes()).isEqualTo(17);
+        assertThat(slow.getChargingMinutes()).isEqualTo(51);
+        assertThat(tesla.getChargingMinutes()).isNull();
+        assertThat(unknown.getChargingMinutes()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should find no battery for a user without vehicles")
+    void shouldFindNoBatteryWithoutVehicles() {
+        // Arrange
+        when(userVehicleRepository.findByUserIdWithCar(1L)).thenReturn(List.of());
+
+        // Act & Assert
+        assertThat(service.findBattery(1L, null)).isEmpty();
+    }
+
+    private static Station station(String connectors) {
+        return Station.builder().connectors(connectors).build();
+    }
+}
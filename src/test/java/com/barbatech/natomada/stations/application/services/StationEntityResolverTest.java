@@ -0,0 +1,155 @@
+package com.barbatech.natomada.stations.application.services;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.domain.entities.StationSource;
+import com.barbatech.natomada.stations.infrastructure.external.ExternalStationMapper;
+import com.barbatech.natomada.stations.infrastructure.external.google.AmenityMapper;
+import com.barbatech.natomada.stations.infrastructure.external.opencm.UsageCostParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for StationEntityResolver
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StationEntityResolver Tests")
+class StationEntityResolverTest {
+
+    // ~10m, ~20m, ~100m and ~1km of latitude
+    private static final double TEN_METERS = 10 / 111_320.0;
+    private static final double TWENTY_METERS = 20 / 111_320.0;
+    private static final double HUNDRED_METERS = 100 / 111_320.0;
+    private static final double ONE_KM = 1000 / 111_320.0;
+
+    @Mock
+    private ExternalStationMapper externalStationMapper;
+
+    private StationEntityResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new StationEntityResolver(externalStationMapper);
+    }
+
+    @Test
+    @DisplayName("Should keep only meaningful name tokens")
+    void shouldNormalizeNames() {
+        assertThat(StationEntityResolver.normalizeName("Eletroposto Shell - Av. Paulista")).isEqualTo("shell av paulista");
+        assertThat(StationEntityResolver.normalizeName("Estação de Recarga Pão de Açúcar")).isEqualTo("pao acucar");
+        assertThat(StationEntityResolver.normalizeName("Charging Station")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should score names sharing all tokens as identical and unrelated names low")
+    void shouldScoreNameSimilarity() {
+        assertThat(StationEntityResolver.nameSimilarity("shell", "shell recharge")).isEqualTo(1.0);
+        assertThat(StationEntityResolver.nameSimilarity("shopping eldorado", "shoping eldorado")).isGreaterThan(0.8);
+        assertThat(StationEntityResolver.nameSimilarity("shell", "ipiranga")).isLessThan(StationEntityResolver.MIN_NAME_SIMILARITY);
+    }
+
+    @Test
+    @DisplayName("Should cluster same-site listings and close listings with similar names")
+    void shouldClusterNeighbours() {
+        // Arrange
+        double lat = -23.5629, lon = -46.6544;
+        double[] latitudes = {lat, lat + TEN_METERS, lat + HUNDRED_METERS, lat + HUNDRED_METERS, lat + ONE_KM, Double.NaN};
+        double[] longitudes = {lon, lon, lon, lon + TEN_METERS, lon, Double.NaN};
+        String[] names = {"shell", "ipiranga", "shell paulista", "petrobras", "shell", "shell"};
+        String[] operators = {"zletric", "zletric", "", "", "", ""};
+
+        // Act
+        int[] labels = StationEntityResolver.cluster(latitudes, longitudes, names, operators);
+
+        // Assert
+        assertThat(labels[1]).isEqualTo(labels[0]);      // same site and operator, different name
+        assertThat(labels[2]).isEqualTo(labels[0]);      // 100m away, similar name
+        assertThat(labels[3]).isNotEqualTo(labels[2]);   // same site, unknown operator, different name
+        assertThat(labels[4]).isNotEqualTo(labels[0]);   // too far away
+        assertThat(labels[5]).isNotIn(labels[0], labels[4]);
+    }
+
+    @Test
+    @DisplayName("Should merge duplicate OCM listings into the oldest one and link both sources")
+    void shouldMergeDuplicateListings() {
+        // Arrange
+        Station duplicate = station("ocm_200", "Shell Recharge", -23.5629 + TEN_METERS);
+        duplicate.setPhone("+55 11 5555-0000");
+        Station original = station("ocm_100", "Posto Shell", -23.5629);
+        Station other = station("ocm_300", "Shell", -23.5629 + ONE_KM);
+
+        // Act
+        StationEntityResolver.Resolution resolution = resolver.resolve(List.of(duplicate, original, other), List.of());
+
+        // Assert
+        assertThat(resolution.stations()).extracting(Station::getOcmId).containsExactly("ocm_100", "ocm_300");
+        assertThat(resolution.supersededIds()).containsExactly("ocm_200");
+        assertThat(resolution.stations().get(0).getSources())
+            .extracting(StationSource::getSourceId)
+            .containsExactlyInAnyOrder("ocm_100", "ocm_200");
+        assertThat(resolution.stations().get(0).getPhone()).isEqualTo("+55 11 5555-0000");
+    }
+
+    @Test
+    @DisplayName("Should keep listings of different operators apart even at the same site")
+    void shouldKeepDifferentOperatorsApart() {
+        // Arrange
+        Station zletric = station("ocm_100", "Shopping Eldorado", -23.5629);
+        zletric.setOperatorName("Zletric");
+        Station tupinamba = station("ocm_200", "Shopping Eldorado", -23.5629 + TWENTY_METERS);
+        tupinamba.setOperatorName("Tupinambá Energia");
+
+        // Act
+        StationEntityResolver.Resolution resolution = resolver.resolve(List.of(zletric, tupinamba), List.of());
+
+        // Assert
+        assertThat(resolution.stations()).extracting(Station::getOcmId).containsExactly("ocm_100", "ocm_200");
+        assertThat(resolution.supersededIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the connectors of every merged listing")
+    void shouldUnionConnectorsOfMergedListings() {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper();
+        resolver = new StationEntityResolver(
+            new ExternalStationMapper(objectMapper, mock(AmenityMapper.class), mock(UsageCostParser.class)));
+        Station original = station("ocm_100", "Zletric Paulista", -23.5629);
+        original.setOperatorName("Zletric");
+        original.setConnectors("[{\"type\":\"Type 2 (Socket Only)\",\"powerKW\":22.0,\"quantity\":2}]");
+        Station duplicate = station("ocm_200", "Zletric", -23.5629 + TWENTY_METERS);
+        duplicate.setOperatorName("Zletric");
+        duplicate.setConnectors("[{\"type\":\"Type 2 (Socket Only)\",\"powerKW\":22.0,\"quantity\":1},"
+            + "{\"type\":\"CCS (Type 2)\",\"powerKW\":60.0,\"quantity\":1}]");
+
+        // Act
+        StationEntityResolver.Resolution resolution = resolver.resolve(List.of(original, duplicate), List.of());
+
+        // Assert
+        Station merged = resolution.stations().get(0);
+        assertThat(resolution.stations()).hasSize(1);
+        assertThat(merged.getConnectors()).contains("CCS (Type 2)");
+        assertThat(merged.getTotalConnectors()).isEqualTo(3);
+        assertThat(merged.getMaxPowerKw()).isEqualByComparingTo("60.0");
+    }
+
+    private Station station(String ocmId, String name, double latitude) {
+        return Station.builder()
+            .ocmId(ocmId)
+            .name(name)
+            .latitude(BigDecimal.valueOf(latitude))
+            .longitude(BigDecimal.valueOf(-46.6544))
+            .totalConnectors(2)
+            .build();
+    }
+}
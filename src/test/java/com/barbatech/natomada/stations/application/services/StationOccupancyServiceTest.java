@@ -0,0 +1,72 @@
+package com.barbatech.natomada.stations.application.services;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.availability.AvailabilityHistoryStore;
+import com.barbatech.natomada.stations.infrastructure.availability.StationOccupancyProperties;
+import com.barbatech.natomada.stations.infrastructure.connectors.StationConnectorParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for StationOccupancyService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StationOccupancyService Tests")
+class StationOccupancyServiceTest {
+
+    private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+
+    @Mock
+    private AvailabilityHistoryStore historyStore;
+
+    private StationOccupancyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StationOccupancyService(historyStore, new StationOccupancyProperties(), new StationConnectorParser(new ObjectMapper()));
+    }
+
+    @Test
+    @DisplayName("Should count hours of the week from Monday midnight")
+    void shouldComputeHourOfWeek() {
+        assertThat(StationOccupancyService.hourOfWeek(ZonedDateTime.of(2026, 10, 19, 0, 30, 0, 0, SAO_PAULO))).isZero();
+        assertThat(StationOccupancyService.hourOfWeek(ZonedDateTime.of(2026, 10, 21, 18, 0, 0, 0, SAO_PAULO))).isEqualTo(66);
+        assertThat(StationOccupancyService.hourOfWeek(ZonedDateTime.of(2026, 10, 25, 23, 59, 0, 0, SAO_PAULO))).isEqualTo(167);
+    }
+
+    @Test
+    @DisplayName("Should score stations with enough history and weigh neighbouring hours by half")
+    void shouldScoreFromHistograms() {
+        // Arrange - Wednesday 18h in São Paulo
+        Instant eta = ZonedDateTime.of(2026, 10, 21, 18, 10, 0, 0, SAO_PAULO).toInstant();
+        when(historyStore.findBuckets(anyCollection(), any())).thenReturn(List.of(
+            new AvailabilityHistoryStore.HourBucket("ocm_1", 66, 8, 2),
+            new AvailabilityHistoryStore.HourBucket("ocm_1", 67, 4, 4),
+            new AvailabilityHistoryStore.HourBucket("ocm_2", 66, 2, 2)
+        ));
+        Station busy = Station.builder().ocmId("ocm_1").build();
+        Station unknown = Station.builder().ocmId("ocm_2").build();
+
+        // Act
+        service.applyLikelyFree(List.of(busy, unknown), eta);
+
+        // Assert - (2 + 0.5 * 4 + 1) / (8 + 0.5 * 4 + 2)
+        assertThat(busy.getLikelyFreeAtEta()).isEqualTo(0.42);
+        assertThat(unknown.getLikelyFreeAtEta()).isNull();
+    }
+}
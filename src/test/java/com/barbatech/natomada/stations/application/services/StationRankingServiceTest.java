@@ -0,0 +1,141 @@
+package com.barbatech.natomada.stations.application.services;
+
+import com.barbatech.natomada.cars.domain.entities.Car;
+import com.barbatech.natomada.cars.domain.entities.UserVehicle;
+import com.barbatech.natomada.cars.infrastructure.repositories.UserVehicleRepository;
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.availability.RedisAvailabilityFeed;
+import com.barbatech.natomada.stations.infrastructure.connectors.StationConnectorParser;
+import com.barbatech.natomada.stations.infrastructure.ranking.StationRankingProperties;
+import com.barbatech.natomada.stations.infrastructure.repositories.FavoriteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for StationRankingService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StationRankingService Tests")
+class StationRankingServiceTest {
+
+    private static final double LATITUDE = -23.5629;
+    private static final double LONGITUDE = -46.6544;
+
+    @Mock
+    private FavoriteRepository favoriteRepository;
+
+    @Mock
+    private UserVehicleRepository userVehicleRepository;
+
+    @Mock
+    private RedisAvailabilityFeed availabilityFeed;
+
+    private StationRankingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StationRankingService(favoriteRepository, userVehicleRepository, availabilityFeed,
+            new StationRankingProperties(), new StationConnectorParser(new ObjectMapper()));
+    }
+
+    @Test
+    @DisplayName("Should rank a compatible favorite above a closer incompatible station and keep the top k")
+    void shouldRankByUserFeatures() {
+        // Arrange
+        when(availabilityFeed.findAll(anyCollection())).thenReturn(Map.of());
+        when(favoriteRepository.findFavoriteKeysByUserId(1L)).thenReturn(List.<Object[]>of(new Object[]{20L, "ocm_2", "Shell Recharge"}));
+        when(userVehicleRepository.findByUserIdWithCar(1L)).thenReturn(List.of(vehicle("CCS")));
+
+        Station closeChademo = station(10L, "ocm_1", "-23.5640", "[{\"type\":\"CHAdeMO\"}]");
+        Station favoriteCcs = station(20L, "ocm_2", "-23.5800", "[{\"type\":\"CCS (Type 2)\"}]");
+        Station farType2 = station(30L, "ocm_3", "-23.5900", "[{\"type\":\"Type 2 (Socket Only)\"}]");
+
+        // Act
+        List<Station> ranked = service.rank(List.of(closeChademo, favoriteCcs, farType2), LATITUDE, LONGITUDE, 5000, 2, 1L);
+
+        // Assert
+        assertThat(ranked).extracting(Station::getOcmId).containsExactly("ocm_2", "ocm_3");
+    }
+
+    @Test
+    @DisplayName("Should rank anonymous searches by distance when nothing else is known")
+    void shouldRankAnonymousByDistance() {
+        // Arrange
+        when(availabilityFeed.findAll(anyCollection())).thenReturn(Map.of());
+        Station far = station(1L, "ocm_1", "-23.5900", null);
+        Station close = station(2L, "ocm_2", "-23.5650", null);
+
+        // Act
+        List<Station> ranked = service.rank(List.of(far, close), LATITUDE, LONGITUDE, 5000, 10, null);
+
+        // Assert
+        assertThat(ranked).extracting(Station::getOcmId).containsExactly("ocm_2", "ocm_1");
+    }
+
+    @Test
+    @DisplayName("Should rank on the predicted chance of a free connector when there is no live feed")
+    void shouldRankOnPredictionWithoutLiveFeed() {
+        // Arrange
+        when(availabilityFeed.findAll(anyCollection())).thenReturn(Map.of());
+        Station usuallyBusy = station(1L, "ocm_1", "-23.5650", null);
+        usuallyBusy.setLikelyFreeAtEta(0.0);
+        Station usuallyFree = station(2L, "ocm_2", "-23.5700", null);
+        usuallyFree.setLikelyFreeAtEta(1.0);
+
+        // Act
+        List<Station> ranked = service.rank(List.of(usuallyBusy, usuallyFree), LATITUDE, LONGITUDE, 5000, 10, null);
+
+        // Assert
+        assertThat(ranked).extracting(Station::getOcmId).containsExactly("ocm_2", "ocm_1");
+    }
+
+    @Test
+    @DisplayName("Should cache a user profile until it is invalidated")
+    void shouldCacheProfiles() {
+        // Arrange
+        when(favoriteRepository.findFavoriteKeysByUserId(1L)).thenReturn(List.of());
+        when(userVehicleRepository.findByUserIdWithCar(1L)).thenReturn(List.of(vehicle("CCS")));
+
+        // Act
+        service.profile(1L);
+        StationRankingService.UserProfile profile = service.profile(1L);
+        service.invalidate(1L);
+        service.profile(1L);
+
+        // Assert
+        assertThat(profile.connectorMask()).isNotZero();
+        verify(userVehicleRepository, times(2)).findByUserIdWithCar(1L);
+    }
+
+    private static Station station(Long id, String ocmId, String latitude, String connectors) {
+        return Station.builder()
+            .id(id)
+            .ocmId(ocmId)
+            .latitude(new BigDecimal(latitude))
+            .longitude(BigDecimal.valueOf(LONGITUDE))
+            .connectors(connectors)
+            .build();
+    }
+
+    private static UserVehicle vehicle(String connector) {
+        return UserVehicle.builder()
+            .car(Car.builder().connector(connector).build())
+            .isPrimary(true)
+            .build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.barbatech.natomada.stations.application.services;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.domain.entities.StationChange;
+import com.barbatech.natomada.stations.domain.enums.StationChangeType;
+import com.barbatech.natomada.stations.infrastructure.repositories.StationChangeRepository;
+import com.barbatech.natomada.stations.infrastructure.repositories.StationRepository;
+import com.barbatech.natomada.stations.infrastructure.repositories.StationSourceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StationSyncService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StationSyncService Tests")
+class StationSyncServiceTest {
+
+    @Mock
+    private StationRepository stationRepository;
+
+    @Mock
+    private StationChangeRepository stationChangeRepository;
+
+    @Mock
+    private StationSourceRepository stationSourceRepository;
+
+    private StationSyncService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StationSyncService(stationRepository, stationChangeRepository, stationSourceRepository, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Should return the latest change per station after the cursor and advance it to the last version read")
+    void shouldPageChangesAfterCursor() {
+        // Arrange
+        Station updated = Station.builder().id(2L).ocmId("ocm_2").build();
+        when(stationChangeRepository.findChangesInRegion(eq(10L), any(), any(), any(), any(), any())).thenReturn(List.of(
+            change(11L, 1L, "ocm_1", StationChangeType.ADDED),
+            change(12L, 2L, "ocm_2", StationChangeType.UPDATED),
+            change(13L, 1L, "ocm_1", StationChangeType.REMOVED)));
+        when(stationRepository.findAllById(Set.of(2L))).thenReturn(List.of(updated));
+
+        // Act
+        StationSyncService.ChangesPage page = service.findChanges(-24.0, -23.0, -47.0, -46.0, 10L, 3);
+
+        // Assert: ocm_1 was added then removed, so clients only see the removal, after ocm_2
+        assertThat(page.changes()).extracting(StationChange::getVersion).containsExactly(12L, 13L);
+        assertThat(page.stations()).containsOnlyKeys(2L);
+        assertThat(page.nextCursor()).isEqualTo(13L);
+        assertThat(page.hasMore()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep the cursor when nothing changed")
+    void shouldKeepCursorWithoutChanges() {
+        // Arrange
+        when(stationChangeRepository.findChangesInRegion(eq(42L), any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        StationSyncService.ChangesPage page = service.findChanges(-24.0, -23.0, -47.0, -46.0, 42L, 100);
+
+        // Assert
+        assertThat(page.changes()).isEmpty();
+        assertThat(page.nextCursor()).isEqualTo(42L);
+        assertThat(page.hasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should log a new station once and leave the log alone when it comes back unchanged")
+    void shouldRecordOnlyContentChanges() {
+        // Arrange
+        Station first = station();
+        when(stationRepository.findByOcmIdIn(anyCollection())).thenReturn(List.of(), List.of(first));
+        when(stationRepository.save(any(Station.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(stationChangeRepository.save(any(StationChange.class))).thenAnswer(invocation -> {
+            StationChange change = invocation.getArgument(0);
+            change.setVersion(7L);
+            return change;
+        });
+
+        // Act
+        service.ingest(List.of(first), Set.of());
+        service.ingest(List.of(station()), Set.of());
+
+        // Assert
+        ArgumentCaptor<StationChange> changes = ArgumentCaptor.forClass(StationChange.class);
+        verify(stationChangeRepository, times(1)).save(changes.capture());
+        assertThat(changes.getValue().getChangeType()).isEqualTo(StationChangeType.ADDED);
+        assertThat(first.getChangeVersion()).isEqualTo(7L);
+        verify(stationChangeRepository, times(2)).lockChangeLog(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should prepare stations for serving without locking or writing")
+    void shouldPrepareWithoutWriting() {
+        // Arrange
+        Station fresh = station();
+        fresh.setIsOperational(null);
+
+        // Act
+        List<Station> prepared = service.prepare(List.of(fresh));
+
+        // Assert
+        assertThat(prepared).containsExactly(fresh);
+        assertThat(fresh.getIsOperational()).isTrue();
+        assertThat(fresh.getContentHash()).isEqualTo(service.fingerprint(fresh));
+        verify(stationChangeRepository, never()).lockChangeLog(anyLong());
+        verify(stationRepository, never()).save(any(Station.class));
+    }
+
+    private static StationChange change(long version, long stationId, String ocmId, StationChangeType type) {
+        return StationChange.builder()
+            .version(version)
+            .stationId(stationId)
+            .ocmId(ocmId)
+            .changeType(type)
+            .build();
+    }
+
+    private static Station station() {
+        return Station.builder()
+            .ocmId("ocm_1")
+            .name("Eletroposto Paulista")
+            .address("Av. Paulista, 1000")
+            .country("BR")
+            .latitude(new BigDecimal("-23.5613"))
+            .longitude(new BigDecimal("-46.6565"))
+            .build();
+    }
+}
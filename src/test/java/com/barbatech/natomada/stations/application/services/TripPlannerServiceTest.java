@@ -0,0 +1,164 @@
+package com.barbatech.natomada.stations.application.services;
+
+import com.barbatech.natomada.cars.domain.entities.Car;
+import com.barbatech.natomada.cars.domain.entities.UserVehicle;
+import com.barbatech.natomada.cars.infrastructure.repositories.UserVehicleRepository;
+import com.barbatech.natomada.infrastructure.i18n.MessageSourceService;
+import com.barbatech.natomada.stations.application.dtos.TripPlanResponseDto;
+import com.barbatech.natomada.stations.application.mappers.StationResponseMapper;
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.infrastructure.connectors.StationConnectorParser;
+import com.barbatech.natomada.stations.infrastructure.index.Polyline;
+import com.barbatech.natomada.stations.infrastructure.index.RouteCorridor;
+import com.barbatech.natomada.stations.infrastructure.trip.TripPlannerProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TripPlannerService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TripPlannerService Tests")
+class TripPlannerServiceTest {
+
+    private static final String CCS2 = "CCS (Type 2)";
+
+    @Mock
+    private StationsService stationsService;
+
+    @Mock
+    private UserVehicleRepository userVehicleRepository;
+
+    @Mock
+    private StationResponseMapper stationResponseMapper;
+
+    @Mock
+    private MessageSourceService messageService;
+
+    private TripPlannerService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TripPlannerService(stationsService,
+            new ChargingEstimateService(userVehicleRepository, new StationConnectorParser(new ObjectMapper()), messageService),
+            stationResponseMapper, new TripPlannerProperties(), messageService);
+    }
+
+    @Test
+    @DisplayName("Should drive straight through when the battery covers the trip")
+    void shouldPlanWithoutStopsForShortTrips() {
+        // Arrange
+        givenPrimaryCar();
+        givenStations();
+
+        // Act
+        TripPlanResponseDto plan = service.planTrip(1L, null, "route", corridor(100_000), 80, 10);
+
+        // Assert
+        assertThat(plan.getFeasible()).isTrue();
+        assertThat(plan.getStops()).isEmpty();
+        assertThat(plan.getDrivingMinutes()).isEqualTo(75);
+        assertThat(plan.getArrivalSoc()).isBetween(49, 50);
+    }
+
+    @Test
+    @DisplayName("Should stop at the fastest compatible charger and arrive above the wanted charge")
+    void shouldStopAtFastestCompatibleCharger() {
+        // Arrange
+        givenPrimaryCar();
+        givenStations(
+            station("slow", 150_000, 200, 50, CCS2),
+            station("tesla", 160_000, 100, 250, "Tesla Supercharger"),
+            station("fast", 160_000, 500, 150, CCS2));
+
+        // Act
+        TripPlanResponseDto plan = service.planTrip(1L, null, "route", corridor(400_000), 80, 10);
+
+        // Assert
+        assertThat(plan.getFeasible()).isTrue();
+        assertThat(plan.getStops()).singleElement().satisfies(stop -> {
+            assertThat(stop.getDistanceAlongRouteMeters()).isEqualTo(160_000);
+            assertThat(stop.getChargingPowerKw()).isEqualTo(150);
+            assertThat(stop.getArrivalSoc()).isGreaterThanOrEqualTo(10);
+            assertThat(stop.getDepartureSoc()).isGreaterThan(stop.getArrivalSoc()).isLessThanOrEqualTo(90);
+        });
+        assertThat(plan.getArrivalSoc()).isGreaterThanOrEqualTo(10);
+        assertThat(plan.getTotalMinutes()).isCloseTo(plan.getDrivingMinutes() + plan.getChargingMinutes() + 5, within(1L));
+    }
+
+    @Test
+    @DisplayName("Should report an infeasible trip when no chargers bridge the route")
+    void shouldReportInfeasibleTrips() {
+        // Arrange
+        givenPrimaryCar();
+        givenStations(station("slow", 150_000, 200, 50, CCS2));
+
+        // Act
+        TripPlanResponseDto plan = service.planTrip(1L, null, "route", corridor(800_000), 80, 10);
+
+        // Assert
+        assertThat(plan.getFeasible()).isFalse();
+        assertThat(plan.getStops()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should refuse a vehicle the user doesn't own")
+    void shouldRefuseUnknownVehicle() {
+        // Arrange
+        when(userVehicleRepository.findByIdAndUserId(9L, 1L)).thenReturn(Optional.empty());
+        when(messageService.getMessage("vehicle.not.found")).thenReturn("Veículo não encontrado");
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.planTrip(1L, 9L, "route", corridor(100_000), 80, 10))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Veículo não encontrado");
+    }
+
+    private void givenPrimaryCar() {
+        Car car = Car.builder()
+            .batteryCapacity(new BigDecimal("60.00"))
+            .fastChargingPower(150)
+            .connector("CCS2")
+            .build();
+        when(userVehicleRepository.findByUserIdWithCar(1L)).thenReturn(List.of(UserVehicle.builder().car(car).build()));
+    }
+
+    private void givenStations(Station... stations) {
+        when(stationsService.findStationsAlongRoute(anyString(), any(), anyInt(), any())).thenReturn(List.of(stations));
+    }
+
+    /**
+     * Straight route east along the equator
+     */
+    private static RouteCorridor corridor(double lengthMeters) {
+        double longitude = lengthMeters / 111_194.93;
+        return RouteCorridor.of(new Polyline(new double[]{0, 0}, new double[]{0, longitude}), 5000);
+    }
+
+    private static Station station(String ocmId, double along, double offset, double maxPowerKw, String connector) {
+        return Station.builder()
+            .ocmId(ocmId)
+            .connectors("[{\"type\":\"" + connector + "\",\"powerKW\":" + maxPowerKw + "}]")
+            .maxPowerKw(BigDecimal.valueOf(maxPowerKw))
+            .distanceAlongRouteMeters(along)
+            .distanceFromRouteMeters(offset)
+            .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.barbatech.natomada.stations.domain.enums;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for Amenity
+ */
+@DisplayName("Amenity Tests")
+class AmenityTest {
+
+    @Test
+    @DisplayName("Should build the filter mask from known amenity names")
+    void shouldParseKnownNames() {
+        // Act
+        int mask = Amenity.parseMask(List.of("restroom", " Food ", ""));
+
+        // Assert
+        assertThat(mask).isEqualTo(Amenity.RESTROOM.mask() | Amenity.FOOD.mask());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown names in a filter instead of matching everything")
+    void shouldRejectUnknownNamesInFilter() {
+        // Act & Assert
+        assertThatThrownBy(() -> Amenity.parseMask(List.of("restroom", "wifi")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("wifi");
+    }
+
+    @Test
+    @DisplayName("Should ignore unknown names in stored amenities")
+    void shouldIgnoreUnknownNamesInStoredAmenities() {
+        // Act
+        int mask = Amenity.maskOf(List.of("restroom", "wifi"));
+
+        // Assert
+        assertThat(mask).isEqualTo(Amenity.RESTROOM.mask());
+    }
+}
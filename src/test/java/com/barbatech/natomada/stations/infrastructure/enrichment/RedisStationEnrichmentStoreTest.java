@@ -0,0 +1,63 @@
+package com.barbatech.natomada.stations.infrastructure.enrichment;
+
+import com.barbatech.natomada.stations.application.mappers.StationFieldSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RedisStationEnrichmentStore freshness rules
+ */
+@DisplayName("RedisStationEnrichmentStore Tests")
+class RedisStationEnrichmentStoreTest {
+
+    private RedisStationEnrichmentStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RedisStationEnrichmentStore(null, new StationEnrichmentProperties(), null, null);
+    }
+
+    @Test
+    @DisplayName("Should only require the facets behind the selected fields")
+    void shouldMapFieldsToFacets() {
+        assertThat(EnrichmentFacet.requiredFor(StationFieldSet.parse("id,name,rating")))
+            .containsExactlyInAnyOrder(EnrichmentFacet.MATCH, EnrichmentFacet.RATINGS);
+        assertThat(EnrichmentFacet.requiredFor(StationFieldSet.ALL))
+            .isEqualTo(EnumSet.allOf(EnrichmentFacet.class));
+    }
+
+    @Test
+    @DisplayName("Should keep slow facets fresh after availability went stale")
+    void shouldExpireFacetsIndependently() {
+        // Arrange
+        StationEnrichment entry = entry("places/abc", Duration.ofHours(1));
+
+        // Act & Assert
+        assertThat(store.isFresh(entry, Set.of(EnrichmentFacet.MATCH, EnrichmentFacet.RATINGS))).isTrue();
+        assertThat(store.isFresh(entry, Set.of(EnrichmentFacet.MATCH, EnrichmentFacet.AVAILABILITY))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep an unmatched station fresh for the match TTL only")
+    void shouldUseMatchTtlWithoutPlace() {
+        Set<EnrichmentFacet> all = EnumSet.allOf(EnrichmentFacet.class);
+
+        assertThat(store.isFresh(entry(null, Duration.ofHours(1)), all)).isTrue();
+        assertThat(store.isFresh(entry(null, Duration.ofDays(2)), all)).isFalse();
+        assertThat(store.isFresh(null, all)).isFalse();
+    }
+
+    private StationEnrichment entry(String placeId, Duration age) {
+        return StationEnrichment.builder()
+            .placeId(placeId)
+            .fetchedAt(System.currentTimeMillis() - age.toMillis())
+            .build();
+    }
+}
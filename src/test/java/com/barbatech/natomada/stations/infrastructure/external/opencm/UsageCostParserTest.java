@@ -0,0 +1,78 @@
+package com.barbatech.natomada.stations.infrastructure.external.opencm;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for UsageCostParser
+ */
+@DisplayName("UsageCostParser Tests")
+class UsageCostParserTest {
+
+    private final UsageCostParser parser = new UsageCostParser();
+
+    @Test
+    @DisplayName("Should parse a per kWh price and a session fee with Brazilian decimals")
+    void shouldParsePerKwhAndSessionFee() {
+        // Act
+        UsageCostParser.ParsedCost cost = parser.parse("R$ 2,50/kWh + R$ 5,00 taxa de conexão");
+
+        // Assert
+        assertThat(cost.perKwh()).isEqualByComparingTo("2.5");
+        assertThat(cost.sessionFee()).isEqualByComparingTo("5");
+        assertThat(cost.perMinute()).isNull();
+        assertThat(cost.free()).isFalse();
+        assertThat(cost.confidence()).isEqualByComparingTo("0.9");
+    }
+
+    @Test
+    @DisplayName("Should convert hourly prices to per minute")
+    void shouldConvertHourlyPrices() {
+        // Act
+        UsageCostParser.ParsedCost cost = parser.parse("R$ 30,00 por hora");
+
+        // Assert
+        assertThat(cost.perMinute()).isEqualByComparingTo("0.5");
+        assertThat(cost.perKwh()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should recognize free charging, with lower confidence when qualified")
+    void shouldRecognizeFree() {
+        // Act
+        UsageCostParser.ParsedCost free = parser.parse("Gratuito");
+        UsageCostParser.ParsedCost forGuests = parser.parse("Free for hotel guests");
+
+        // Assert
+        assertThat(free.free()).isTrue();
+        assertThat(free.perKwh()).isEqualByComparingTo("0");
+        assertThat(free.confidence()).isEqualByComparingTo("0.9");
+        assertThat(forGuests.free()).isTrue();
+        assertThat(forGuests.confidence()).isEqualByComparingTo("0.6");
+    }
+
+    @Test
+    @DisplayName("Should not read power ratings or opening hours as prices")
+    void shouldIgnoreNonPrices() {
+        assertThat(parser.parse("22 kW, 24h")).isNull();
+        assertThat(parser.parse("")).isNull();
+        assertThat(parser.parse(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should give bare amounts and paid-but-unknown texts low confidence")
+    void shouldScoreVagueTextsLow() {
+        // Act
+        UsageCostParser.ParsedCost bare = parser.parse("R$ 1,99");
+        UsageCostParser.ParsedCost paid = parser.parse("Pago no local");
+
+        // Assert
+        assertThat(bare.perKwh()).isEqualByComparingTo("1.99");
+        assertThat(bare.confidence()).isEqualByComparingTo("0.3");
+        assertThat(paid.free()).isFalse();
+        assertThat(paid.perKwh()).isNull();
+        assertThat(paid.confidence()).isEqualByComparingTo("0.2");
+    }
+}
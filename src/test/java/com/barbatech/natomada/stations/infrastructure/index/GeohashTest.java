@@ -0,0 +1,40 @@
+package com.barbatech.natomada.stations.infrastructure.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for Geohash
+ */
+@DisplayName("Geohash Tests")
+class GeohashTest {
+
+    @Test
+    @DisplayName("Should encode positions to the reference geohash")
+    void shouldEncodeToReferenceGeohash() {
+        assertThat(Geohash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(Geohash.encode(-23.5629, -46.6544, 5)).isEqualTo("6gycf");
+    }
+
+    @Test
+    @DisplayName("Should cover a box inside one cell with that cell only")
+    void shouldCoverBoxInsideOneCell() {
+        // Act
+        var cells = Geohash.covering(-23.6, -23.5, -46.7, -46.6, 2);
+
+        // Assert
+        assertThat(cells).containsExactly("6g");
+    }
+
+    @Test
+    @DisplayName("Should cover every cell touched by a box across cell borders")
+    void shouldCoverCellsAcrossBorders() {
+        // Act
+        var cells = Geohash.covering(-1, 1, -1, 1, 1);
+
+        // Assert
+        assertThat(cells).containsExactly("7", "e", "k", "s");
+    }
+}
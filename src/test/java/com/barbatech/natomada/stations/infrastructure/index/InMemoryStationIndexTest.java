@@ -0,0 +1,93 @@
+package com.barbatech.natomada.stations.infrastructure.index;
+
+import com.barbatech.natomada.stations.domain.entities.Station;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for InMemoryStationIndex
+ */
+@DisplayName("InMemoryStationIndex Tests")
+class InMemoryStationIndexTest {
+
+    private StationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryStationIndex(List.of(
+            station("ocm_1", "-23.5629", "-46.6544"),   // origin
+            station("ocm_2", "-23.5700", "-46.6500"),   // ~900m
+            station("ocm_3", "-23.5900", "-46.6800"),   // ~4km
+            station("ocm_4", "-22.9068", "-43.1729"),   // Rio de Janeiro
+            Station.builder().ocmId("ocm_5").name("No coordinates").build()
+        ));
+    }
+
+    @Test
+    @DisplayName("Should skip stations without coordinates")
+    void shouldSkipStationsWithoutCoordinates() {
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.findByOcmId("ocm_5")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return stations within radius closest first")
+    void shouldReturnNearbyClosestFirst() {
+        // Act
+        List<Station> stations = index.nearby(-23.5629, -46.6544, 5000, 10);
+
+        // Assert
+        assertThat(stations).extracting(Station::getOcmId).containsExactly("ocm_1", "ocm_2", "ocm_3");
+    }
+
+    @Test
+    @DisplayName("Should keep only the closest stations up to the limit")
+    void shouldRespectLimit() {
+        // Act
+        List<Station> stations = index.nearby(-23.5900, -46.6800, 5000, 2);
+
+        // Assert
+        assertThat(stations).extracting(Station::getOcmId).containsExactly("ocm_3", "ocm_2");
+    }
+
+    @Test
+    @DisplayName("Should return stations inside a route corridor in driving order")
+    void shouldReturnStationsAlongRoute() {
+        // Arrange: from ocm_3 to ocm_1, passing ~850m from ocm_2
+        Polyline route = new Polyline(new double[]{-23.5900, -23.5629}, new double[]{-46.6800, -46.6544});
+
+        // Act
+        List<Station> stations = index.alongRoute(RouteCorridor.of(route, 1000), 10, null);
+
+        // Assert
+        assertThat(stations).extracting(Station::getOcmId).containsExactly("ocm_3", "ocm_2", "ocm_1");
+        assertThat(stations.get(0).getDistanceAlongRouteMeters()).isZero();
+        assertThat(stations.get(1).getDistanceFromRouteMeters()).isBetween(700.0, 1000.0);
+    }
+
+    @Test
+    @DisplayName("Should return detached copies")
+    void shouldReturnDetachedCopies() {
+        // Act
+        Station copy = index.findByOcmId("ocm_1");
+        copy.setName("Changed");
+
+        // Assert
+        assertThat(index.findByOcmId("ocm_1").getName()).isEqualTo("Station ocm_1");
+    }
+
+    private Station station(String ocmId, String latitude, String longitude) {
+        return Station.builder()
+            .ocmId(ocmId)
+            .name("Station " + ocmId)
+            .latitude(new BigDecimal(latitude))
+            .longitude(new BigDecimal(longitude))
+            .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.barbatech.natomada.stations.infrastructure.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for OpeningSchedule
+ */
+@DisplayName("OpeningSchedule Tests")
+class OpeningScheduleTest {
+
+    private static final int MONDAY = 0;
+    private static final int SUNDAY = 6 * OpeningSchedule.MINUTES_PER_DAY;
+
+    @Test
+    @DisplayName("Should parse Google weekday descriptions with narrow spaces and en dashes")
+    void shouldParseGoogleWeekdayText() {
+        // Act
+        int[] schedule = OpeningSchedule.parse(List.of(
+            "Monday: 8:00 AM – 6:00 PM",
+            "Tuesday: Closed"
+        ));
+
+        // Assert
+        assertThat(schedule).containsExactly(MONDAY + 8 * 60, MONDAY + 18 * 60);
+        assertThat(OpeningSchedule.isOpenAt(schedule, MONDAY + 12 * 60)).isTrue();
+        assertThat(OpeningSchedule.isOpenAt(schedule, MONDAY + 18 * 60)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should split days into ranges and inherit the closing meridiem")
+    void shouldParseSplitRanges() {
+        // Act
+        int[] schedule = OpeningSchedule.parse(List.of("Monday: 11:00 – 2:00 PM, 5:00 – 10:00 PM"));
+
+        // Assert
+        assertThat(schedule).containsExactly(11 * 60, 14 * 60, 17 * 60, 22 * 60);
+    }
+
+    @Test
+    @DisplayName("Should wrap ranges past midnight on Sunday into Monday")
+    void shouldWrapOvernightRanges() {
+        // Act
+        int[] schedule = OpeningSchedule.parse(List.of("Sunday: 6:00 PM – 2:00 AM"));
+
+        // Assert
+        assertThat(schedule).containsExactly(0, 2 * 60, SUNDAY + 18 * 60, OpeningSchedule.MINUTES_PER_WEEK);
+        assertThat(OpeningSchedule.isOpenAt(schedule, 60)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should merge a week open 24 hours into the always-open schedule")
+    void shouldRecognizeAlwaysOpen() {
+        // Act
+        int[] schedule = OpeningSchedule.parse(List.of(
+            "Monday: Open 24 hours", "Tuesday: Open 24 hours", "Wednesday: Open 24 hours",
+            "Thursday: Open 24 hours", "Friday: Open 24 hours", "Saturday: Open 24 hours", "Sunday: Open 24 hours"
+        ));
+
+        // Assert
+        assertThat(OpeningSchedule.isAlwaysOpen(schedule)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should parse Portuguese 24-hour descriptions and reject unknown text")
+    void shouldParsePortugueseAndRejectUnknown() {
+        assertThat(OpeningSchedule.parse(List.of("segunda-feira: 08:00 – 22:00", "domingo: Fechado")))
+            .containsExactly(8 * 60, 22 * 60);
+        assertThat(OpeningSchedule.parse(List.of("Horário variável"))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should count minutes of the week from Monday midnight")
+    void shouldComputeMinuteOfWeek() {
+        // Arrange
+        ZonedDateTime wednesday = ZonedDateTime.of(2026, 1, 14, 10, 30, 0, 0, ZoneId.of("America/Sao_Paulo"));
+
+        // Act & Assert
+        assertThat(OpeningSchedule.minuteOfWeek(wednesday)).isEqualTo(2 * OpeningSchedule.MINUTES_PER_DAY + 10 * 60 + 30);
+    }
+}
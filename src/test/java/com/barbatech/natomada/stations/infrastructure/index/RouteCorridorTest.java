@@ -0,0 +1,72 @@
+package com.barbatech.natomada.stations.infrastructure.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for RouteCorridor and Polyline
+ */
+@DisplayName("RouteCorridor Tests")
+class RouteCorridorTest {
+
+    @Test
+    @DisplayName("Should decode the reference encoded polyline")
+    void shouldDecodeReferencePolyline() {
+        // Act
+        Polyline route = Polyline.decode("_p~iF~ps|U_ulLnnqC_mqNvxq`@");
+
+        // Assert
+        assertThat(route.latitudes()).containsExactly(38.5, 40.7, 43.252);
+        assertThat(route.longitudes()).containsExactly(-120.2, -120.95, -126.453);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed polylines")
+    void shouldRejectMalformedPolylines() {
+        assertThatThrownBy(() -> Polyline.decode("")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Polyline.decode("_p~iF~ps|")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Polyline.decode("_p~iF ps|U")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should place points near the route by driving distance and leave far ones out")
+    void shouldLocatePointsAlongRoute() {
+        // Arrange: east along the equator for ~22 km, then north for ~11 km
+        Polyline route = new Polyline(new double[]{0, 0, 0.1}, new double[]{0, 0.2, 0.2});
+        RouteCorridor corridor = RouteCorridor.of(route, 1000);
+
+        // Act
+        RouteCorridor.Position onFirstLeg = corridor.locate(0.005, 0.1);
+        RouteCorridor.Position onSecondLeg = corridor.locate(0.05, 0.205);
+        RouteCorridor.Position outside = corridor.locate(0.05, 0.1);
+
+        // Assert
+        assertThat(corridor.lengthMeters()).isCloseTo(33_360, within(50.0));
+        assertThat(onFirstLeg.alongMeters()).isCloseTo(11_120, within(20.0));
+        assertThat(onFirstLeg.offsetMeters()).isCloseTo(556, within(5.0));
+        assertThat(onSecondLeg.alongMeters()).isCloseTo(27_800, within(30.0));
+        assertThat(onSecondLeg.offsetMeters()).isCloseTo(556, within(5.0));
+        assertThat(outside).isNull();
+    }
+
+    @Test
+    @DisplayName("Should cover the corridor with merged boxes around the route only")
+    void shouldCoverCorridorWithBoxes() {
+        // Arrange
+        Polyline route = new Polyline(new double[]{0, 0, 0.1}, new double[]{0, 0.2, 0.2});
+
+        // Act
+        RouteCorridor corridor = RouteCorridor.of(route, 1000);
+        RouteCorridor.Box bounds = corridor.bounds();
+
+        // Assert
+        assertThat(corridor.boxes()).allSatisfy(box -> assertThat(box.minLatitude() < 0.02 || box.minLongitude() > 0.17).isTrue());
+        assertThat(bounds.minLatitude()).isLessThanOrEqualTo(-0.009);
+        assertThat(bounds.maxLatitude()).isGreaterThanOrEqualTo(0.109);
+        assertThat(bounds.maxLongitude()).isGreaterThanOrEqualTo(0.209);
+    }
+}
@@ -0,0 +1,119 @@
+package com.barbatech.natomada.stations.infrastructure.photos;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for DiskPhotoCache
+ */
+@DisplayName("DiskPhotoCache Tests")
+class DiskPhotoCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private StationPhotoProperties properties;
+    private DiskPhotoCache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new StationPhotoProperties();
+        properties.setCacheDir(directory.toString());
+        properties.setMaxSize(DataSize.ofBytes(250));
+        cache = new DiskPhotoCache(properties);
+        cache.open();
+    }
+
+    @Test
+    @DisplayName("Should load a photo once and serve later requests from disk")
+    void shouldLoadOnce() throws Exception {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        DiskPhotoCache.CachedPhoto first = cache.get("800:ref", () -> bytes(100, loads));
+        DiskPhotoCache.CachedPhoto second = cache.get("800:ref", () -> bytes(100, loads));
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second.path()).isEqualTo(first.path());
+        assertThat(Files.size(second.path())).isEqualTo(100);
+        assertThat(second.contentType()).isEqualTo("image/jpeg");
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used photo when full")
+    void shouldEvictLeastRecentlyUsed() throws Exception {
+        // Arrange
+        properties.setEvictionGrace(Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        DiskPhotoCache.CachedPhoto a = cache.get("a", () -> bytes(100, loads));
+        DiskPhotoCache.CachedPhoto b = cache.get("b", () -> bytes(100, loads));
+        cache.get("a", () -> bytes(100, loads)); // a is now more recent than b
+
+        // Act
+        cache.get("c", () -> bytes(100, loads));
+
+        // Assert
+        assertThat(Files.exists(a.path())).isTrue();
+        assertThat(Files.exists(b.path())).isFalse();
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep an evicted photo on disk during the grace period")
+    void shouldKeepEvictedPhotoDuringGrace() throws Exception {
+        // Arrange
+        properties.setEvictionGrace(Duration.ofHours(1));
+        AtomicInteger loads = new AtomicInteger();
+        DiskPhotoCache.CachedPhoto a = cache.get("a", () -> bytes(100, loads));
+        cache.get("b", () -> bytes(100, loads));
+
+        // Act
+        cache.get("c", () -> bytes(100, loads));
+        cache.get("d", () -> bytes(100, loads));
+
+        // Assert: a left the index, but a sendfile handed its path can still open it
+        assertThat(Files.exists(a.path())).isTrue();
+        cache.get("a", () -> bytes(100, loads));
+        assertThat(loads.get()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should keep cached photos across restarts")
+    void shouldReopenExistingPhotos() throws Exception {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("a", () -> bytes(100, loads));
+
+        // Act
+        DiskPhotoCache reopened = new DiskPhotoCache(properties);
+        reopened.open();
+        reopened.get("a", () -> bytes(100, loads));
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache a missing photo")
+    void shouldNotCacheMissingPhoto() throws Exception {
+        assertThat(cache.get("missing", () -> null)).isNull();
+        assertThat(cache.get("missing", () -> new byte[0])).isNull();
+    }
+
+    private byte[] bytes(int size, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new byte[size];
+    }
+}
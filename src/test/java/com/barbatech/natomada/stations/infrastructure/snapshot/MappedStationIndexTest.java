@@ -0,0 +1,177 @@
+package com.barbatech.natomada.stations.infrastructure.snapshot;
+
+import com.barbatech.natomada.infrastructure.config.JacksonConfig;
+import com.barbatech.natomada.stations.domain.entities.Station;
+import com.barbatech.natomada.stations.domain.enums.Amenity;
+import com.barbatech.natomada.stations.domain.enums.ConnectorType;
+import com.barbatech.natomada.stations.infrastructure.index.StationFilter;
+import com.barbatech.natomada.stations.infrastructure.index.StationSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round-trip tests for StationSnapshotWriter and MappedStationIndex
+ */
+@DisplayName("MappedStationIndex Tests")
+class MappedStationIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MappedStationIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StationSnapshotWriter writer = new StationSnapshotWriter(new JacksonConfig().objectMapper());
+        Path snapshot = tempDir.resolve("stations.snapshot");
+
+        writer.write(List.of(
+            Station.builder()
+                .id(10L)
+                .ocmId("ocm_2")
+                .name("Posto São João")
+                .city("São Paulo")
+                .latitude(new BigDecimal("-23.5700"))
+                .longitude(new BigDecimal("-46.6500"))
+                .connectors("[{\"type\":\"CCS (Type 2)\"},{\"type\":\"Type 2 (Socket Only)\"}]")
+                .totalConnectors(2)
+                .googleRating(new BigDecimal("4.5"))
+                .amenityMask(Amenity.RESTROOM.mask() | Amenity.FOOD.mask())
+                .costPerKwh(new BigDecimal("1.50"))
+                .sessionFee(new BigDecimal("5.00"))
+                .isFree(false)
+                .costConfidence(new BigDecimal("0.90"))
+                .isOperational(true)
+                .lastSyncAt(LocalDateTime.of(2026, 1, 15, 10, 30))
+                .contentHash("abc123")
+                .build(),
+            Station.builder()
+                .ocmId("ocm_1")
+                .name("Shopping Eldorado")
+                .city("São Paulo")
+                .latitude(new BigDecimal("-23.5629"))
+                .longitude(new BigDecimal("-46.6544"))
+                .isOperational(false)
+                .openingIntervals(new int[]{8 * 60, 18 * 60})
+                .build(),
+            Station.builder()
+                .ocmId("ocm_3")
+                .name("Rio")
+                .latitude(new BigDecimal("-22.9068"))
+                .longitude(new BigDecimal("-43.1729"))
+                .build()
+        ), snapshot);
+
+        index = MappedStationIndex.open(snapshot);
+    }
+
+    @Test
+    @DisplayName("Should round-trip station fields through the snapshot")
+    void shouldRoundTripStation() {
+        // Act
+        Station station = index.findByOcmId("ocm_2");
+
+        // Assert
+        assertThat(station.getId()).isEqualTo(10L);
+        assertThat(station.getName()).isEqualTo("Posto São João");
+        assertThat(station.getCity()).isEqualTo("São Paulo");
+        assertThat(station.getLatitude()).isEqualByComparingTo("-23.57");
+        assertThat(station.getLongitude()).isEqualByComparingTo("-46.65");
+        assertThat(station.getGoogleRating()).isEqualByComparingTo("4.5");
+        assertThat(station.getCombinedRating()).isNull();
+        assertThat(station.getIsOperational()).isTrue();
+        assertThat(station.getTotalConnectors()).isEqualTo(2);
+        assertThat(station.getLastSyncAt()).isEqualTo(LocalDateTime.of(2026, 1, 15, 10, 30));
+        assertThat(station.getContentHash()).isEqualTo("abc123");
+        assertThat(station.getOcmUuid()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should store connector types as a bitmask")
+    void shouldStoreConnectorMask() {
+        // Act
+        int mask = index.connectorMask(index.findRow("ocm_2"));
+
+        // Assert
+        assertThat(ConnectorType.CCS_2.in(mask)).isTrue();
+        assertThat(ConnectorType.TYPE_2.in(mask)).isTrue();
+        assertThat(ConnectorType.CHADEMO.in(mask)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should find nearby stations closest first and miss unknown IDs")
+    void shouldSearchNearby() {
+        // Act
+        List<Station> stations = index.nearby(-23.5629, -46.6544, 5000, 10);
+
+        // Assert
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(stations).extracting(Station::getOcmId).containsExactly("ocm_1", "ocm_2");
+        assertThat(index.findRow("ocm_99")).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should filter nearby stations by opening hours, keeping unknown hours")
+    void shouldFilterByOpeningHours() {
+        // Arrange
+        StationFilter mondayNight = StationFilter.builder().openAtMinute(22 * 60).build();
+
+        // Act
+        List<Station> stations = index.nearby(-23.5629, -46.6544, 5000, 10, mondayNight);
+
+        // Assert
+        assertThat(stations).extracting(Station::getOcmId).containsExactly("ocm_2");
+        assertThat(index.isOpenAt(index.findRow("ocm_1"), 9 * 60)).isTrue();
+        assertThat(index.findByOcmId("ocm_1").getOpeningIntervals()).containsExactly(8 * 60, 18 * 60);
+    }
+
+    @Test
+    @DisplayName("Should keep only stations having every requested amenity")
+    void shouldFilterByAmenities() {
+        // Arrange
+        StationFilter restroom = StationFilter.builder().amenityMask(Amenity.RESTROOM.mask()).build();
+        StationFilter restroomAndParking = StationFilter.builder()
+            .amenityMask(Amenity.RESTROOM.mask() | Amenity.PARKING.mask())
+            .build();
+
+        // Act & Assert
+        assertThat(index.nearby(-23.5629, -46.6544, 5000, 10, restroom))
+            .extracting(Station::getOcmId).containsExactly("ocm_2");
+        assertThat(index.nearby(-23.5629, -46.6544, 5000, 10, restroomAndParking)).isEmpty();
+        assertThat(index.findByOcmId("ocm_2").getAmenityMask()).isEqualTo(Amenity.RESTROOM.mask() | Amenity.FOOD.mask());
+    }
+
+    @Test
+    @DisplayName("Should filter and rank nearby stations by parsed cost, unknown prices last")
+    void shouldFilterAndRankByCost() {
+        // Arrange
+        StationFilter trusted = StationFilter.builder().minCostConfidence(0.5).build();
+        StationFilter upToTwo = StationFilter.builder().maxCostPerKwh(2.0).minCostConfidence(0.5).build();
+        StationFilter strict = StationFilter.builder().maxCostPerKwh(2.0).minCostConfidence(0.95).build();
+
+        // Act & Assert
+        assertThat(index.nearby(-23.5629, -46.6544, 5000, 10, trusted, StationSort.COST))
+            .extracting(Station::getOcmId).containsExactly("ocm_2", "ocm_1");
+        assertThat(index.nearby(-23.5629, -46.6544, 5000, 1, trusted, StationSort.COST))
+            .extracting(Station::getOcmId).containsExactly("ocm_2");
+        assertThat(index.nearby(-23.5629, -46.6544, 5000, 10, upToTwo))
+            .extracting(Station::getOcmId).containsExactly("ocm_2");
+        assertThat(index.nearby(-23.5629, -46.6544, 5000, 10, strict)).isEmpty();
+
+        Station station = index.findByOcmId("ocm_2");
+        assertThat(station.getCostPerKwh()).isEqualByComparingTo("1.5");
+        assertThat(station.getSessionFee()).isEqualByComparingTo("5");
+        assertThat(station.getCostPerMinute()).isNull();
+        assertThat(station.getIsFree()).isFalse();
+        assertThat(index.findByOcmId("ocm_1").getIsFree()).isNull();
+    }
+}
@@ -0,0 +1,71 @@
+package com.barbatech.natomada.stations.presentation.http;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for NearbyTile
+ */
+@DisplayName("NearbyTile Tests")
+class NearbyTileTest {
+
+    @Test
+    @DisplayName("Should grow the tile with the search radius")
+    void shouldPickStepFromRadius() {
+        assertThat(NearbyTile.stepFor(100)).isEqualTo(0.0001);
+        assertThat(NearbyTile.stepFor(1000)).isEqualTo(0.001);
+        assertThat(NearbyTile.stepFor(5000)).isEqualTo(0.005);
+        assertThat(NearbyTile.stepFor(50000)).isEqualTo(0.05);
+    }
+
+    @Test
+    @DisplayName("Should snap nearby positions to the same tile centre")
+    void shouldSnapToSameCentre() {
+        // Act
+        NearbyTile first = NearbyTile.of(-23.5629, -46.6544, 5000);
+        NearbyTile second = NearbyTile.of(-23.5611, -46.6521, 5000);
+
+        // Assert
+        assertThat(second).isEqualTo(first);
+        assertThat(first.latitudeParam()).isEqualTo("-23.5625");
+        assertThat(first.longitudeParam()).isEqualTo("-46.6525");
+    }
+
+    @Test
+    @DisplayName("Should recognise its own centre as canonical")
+    void shouldRecogniseCentre() {
+        // Arrange
+        NearbyTile tile = NearbyTile.of(-23.5629, -46.6544, 5000);
+
+        // Assert
+        assertThat(tile.isCentre(-23.5629, -46.6544)).isFalse();
+        assertThat(tile.isCentre(tile.latitude(), tile.longitude())).isTrue();
+        assertThat(NearbyTile.of(tile.latitude(), tile.longitude(), 5000)).isEqualTo(tile);
+    }
+
+    @Test
+    @DisplayName("Should keep snapping error small relative to the radius")
+    void shouldBoundSnappingError() {
+        // Arrange
+        NearbyTile tile = NearbyTile.of(-23.5629, -46.6544, 1000);
+
+        // Assert - less than 1/10 of the radius in degrees
+        assertThat(tile.latitude()).isCloseTo(-23.5629, within(1000 / 111_320.0 / 10));
+        assertThat(tile.longitude()).isCloseTo(-46.6544, within(1000 / 111_320.0 / 10));
+    }
+
+    @Test
+    @DisplayName("Should keep snapping error small at the smallest allowed radius")
+    void shouldBoundSnappingErrorAtMinimumRadius() {
+        // Arrange
+        NearbyTile tile = NearbyTile.of(-23.56293, -46.65447, 100);
+
+        // Assert - less than 1/10 of the radius in degrees
+        assertThat(tile.latitude()).isCloseTo(-23.56293, within(100 / 111_320.0 / 10));
+        assertThat(tile.longitude()).isCloseTo(-46.65447, within(100 / 111_320.0 / 10));
+        assertThat(tile.latitudeParam()).isEqualTo("-23.56295");
+    }
+}
@@ -0,0 +1,56 @@
+package com.barbatech.natomada.stations.presentation.http;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for StationHttpCache
+ */
+@DisplayName("StationHttpCache Tests")
+class StationHttpCacheTest {
+
+    private final StationHttpCache cache = new StationHttpCache();
+
+    @Test
+    @DisplayName("Should key nearby searches in the same tile alike, whatever the exact position or parameter order")
+    void shouldKeySearchesByTile() {
+        // Arrange
+        NearbyTile tile = NearbyTile.of(-23.5629, -46.6544, 5000);
+        ServletWebRequest first = request("latitude", "-23.5629", "longitude", "-46.6544", "radius", "5000", "fields", "id,name");
+        ServletWebRequest second = request("fields", "id,name", "radius", "5000", "longitude", "-46.6521", "latitude", "-23.5611");
+
+        // Act & Assert
+        assertThat(cache.nearbySearchKey(tile, second)).isEqualTo(cache.nearbySearchKey(tile, first));
+    }
+
+    @Test
+    @DisplayName("Should key nearby searches apart when a filter or the encoding differs")
+    void shouldKeySearchesBySelectors() {
+        // Arrange
+        NearbyTile tile = NearbyTile.of(-23.5629, -46.6544, 5000);
+        ServletWebRequest plain = request("radius", "5000");
+        ServletWebRequest filtered = request("radius", "5000", "free", "true");
+        ServletWebRequest smile = request("radius", "5000");
+        ((MockHttpServletRequest) smile.getRequest()).addHeader(HttpHeaders.ACCEPT, "application/x-jackson-smile");
+
+        // Act
+        String key = cache.nearbySearchKey(tile, plain);
+
+        // Assert
+        assertThat(cache.nearbySearchKey(tile, filtered)).isNotEqualTo(key);
+        assertThat(cache.nearbySearchKey(tile, smile)).isNotEqualTo(key);
+    }
+
+    private static ServletWebRequest request(String... parameters) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/stations/nearby");
+        for (int i = 0; i < parameters.length; i += 2) {
+            request.addParameter(parameters[i], parameters[i + 1]);
+        }
+        return new ServletWebRequest(request);
+    }
+}